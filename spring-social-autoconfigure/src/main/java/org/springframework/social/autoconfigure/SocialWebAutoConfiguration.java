@@ -71,7 +71,8 @@ import org.springframework.web.servlet.view.BeanNameViewResolver;
 public class SocialWebAutoConfiguration {
 
 	@Configuration
-	@EnableSocial
+	@EnableSocial(connectionCacheSize = "${spring.social.connection-cache.size:0}",
+			connectionCacheTimeToLive = "${spring.social.connection-cache.time-to-live:300}")
 	@ConditionalOnWebApplication(type = Type.SERVLET)
 	protected static class SocialAutoConfigurationAdapter
 			extends SocialConfigurerAdapter {
@@ -133,7 +134,8 @@ public class SocialWebAutoConfiguration {
 	}
 
 	@Configuration
-	@EnableSocial
+	@EnableSocial(connectionCacheSize = "${spring.social.connection-cache.size:0}",
+			connectionCacheTimeToLive = "${spring.social.connection-cache.time-to-live:300}")
 	@ConditionalOnWebApplication(type = Type.SERVLET)
 	@ConditionalOnMissingClass("org.springframework.security.core.context.SecurityContextHolder")
 	protected static class AnonymousUserIdSourceConfig extends SocialConfigurerAdapter {
@@ -146,7 +148,8 @@ public class SocialWebAutoConfiguration {
 	}
 
 	@Configuration
-	@EnableSocial
+	@EnableSocial(connectionCacheSize = "${spring.social.connection-cache.size:0}",
+			connectionCacheTimeToLive = "${spring.social.connection-cache.time-to-live:300}")
 	@ConditionalOnWebApplication(type = Type.SERVLET)
 	@ConditionalOnClass(SecurityContextHolder.class)
 	protected static class AuthenticationUserIdSourceConfig
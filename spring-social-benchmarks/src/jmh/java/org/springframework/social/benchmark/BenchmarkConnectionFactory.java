@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.benchmark;
+
+import org.springframework.social.connect.ApiAdapter;
+import org.springframework.social.connect.ConnectionValues;
+import org.springframework.social.connect.UserProfile;
+import org.springframework.social.connect.UserProfileBuilder;
+import org.springframework.social.connect.support.OAuth2ConnectionFactory;
+import org.springframework.social.oauth2.AbstractOAuth2ServiceProvider;
+import org.springframework.social.oauth2.OAuth2Template;
+
+/**
+ * {@link OAuth2ConnectionFactory} for the {@link BenchmarkApi}. Never talks to a real provider.
+ */
+public class BenchmarkConnectionFactory extends OAuth2ConnectionFactory<BenchmarkApi> {
+
+	private final BenchmarkServiceProvider serviceProvider;
+
+	public BenchmarkConnectionFactory() {
+		this(new BenchmarkServiceProvider());
+	}
+
+	private BenchmarkConnectionFactory(BenchmarkServiceProvider serviceProvider) {
+		super("benchmark", serviceProvider, new BenchmarkApiAdapter());
+		this.serviceProvider = serviceProvider;
+	}
+
+	/**
+	 * Creates an API binding directly, bypassing any {@link org.springframework.social.connect.Connection} proxy.
+	 * @param accessToken the access token
+	 * @return the API binding
+	 */
+	public BenchmarkApi createApi(String accessToken) {
+		return serviceProvider.getApi(accessToken);
+	}
+
+	private static class BenchmarkServiceProvider extends AbstractOAuth2ServiceProvider<BenchmarkApi> {
+
+		public BenchmarkServiceProvider() {
+			super(new OAuth2Template("clientId", "clientSecret", "https://provider.example.com/oauth/authorize", "https://provider.example.com/oauth/token"));
+		}
+
+		public BenchmarkApi getApi(String accessToken) {
+			return new BenchmarkTemplate(accessToken);
+		}
+
+	}
+
+	private static class BenchmarkTemplate implements BenchmarkApi {
+
+		private final String accessToken;
+
+		public BenchmarkTemplate(String accessToken) {
+			this.accessToken = accessToken;
+		}
+
+		public String getAccessToken() {
+			return accessToken;
+		}
+
+		public String echo(String message) {
+			return message;
+		}
+
+	}
+
+	private static class BenchmarkApiAdapter implements ApiAdapter<BenchmarkApi> {
+
+		public boolean test(BenchmarkApi api) {
+			return true;
+		}
+
+		public void setConnectionValues(BenchmarkApi api, ConnectionValues values) {
+			values.setProviderUserId("benchmark-user");
+			values.setDisplayName("@benchmark");
+		}
+
+		public UserProfile fetchUserProfile(BenchmarkApi api) {
+			return new UserProfileBuilder().setName("Benchmark User").setUsername("benchmark").build();
+		}
+
+		public void updateStatus(BenchmarkApi api, String message) {
+		}
+
+	}
+
+}
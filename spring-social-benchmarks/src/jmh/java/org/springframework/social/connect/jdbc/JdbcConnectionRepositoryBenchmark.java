@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.social.benchmark.BenchmarkConnectionFactory;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionRepository;
+import org.springframework.social.connect.support.ConnectionFactoryRegistry;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Measures {@link JdbcConnectionRepository#findAllConnections()} against an embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JdbcConnectionRepositoryBenchmark {
+
+	@Param({ "1", "10" })
+	private int connectionsPerUser;
+
+	private EmbeddedDatabase database;
+
+	private ConnectionRepository connectionRepository;
+
+	@Setup
+	public void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("classpath:org/springframework/social/connect/jdbc/JdbcUsersConnectionRepository.sql").build();
+		BenchmarkConnectionFactory connectionFactory = new BenchmarkConnectionFactory();
+		ConnectionFactoryRegistry registry = new ConnectionFactoryRegistry();
+		registry.addConnectionFactory(connectionFactory);
+		JdbcUsersConnectionRepository usersConnectionRepository = new JdbcUsersConnectionRepository(database, registry, Encryptors.noOpText());
+		for (int user = 0; user < 100; user++) {
+			ConnectionRepository userRepository = usersConnectionRepository.createConnectionRepository("user" + user);
+			for (int i = 0; i < connectionsPerUser; i++) {
+				String providerUserId = user + "-" + i;
+				userRepository.addConnection(connectionFactory.createConnection(new ConnectionData("benchmark", providerUserId, "@" + providerUserId,
+						"https://provider.example.com/" + providerUserId, null, "accessToken" + providerUserId, null, "refreshToken", null)));
+			}
+		}
+		connectionRepository = usersConnectionRepository.createConnectionRepository("user50");
+	}
+
+	@TearDown
+	public void tearDown() {
+		database.shutdown();
+	}
+
+	@Benchmark
+	public MultiValueMap<String, Connection<?>> findAllConnections() {
+		return connectionRepository.findAllConnections();
+	}
+
+}
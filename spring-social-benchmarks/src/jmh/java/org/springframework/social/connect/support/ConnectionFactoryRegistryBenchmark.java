@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.support;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.social.benchmark.BenchmarkApi;
+import org.springframework.social.benchmark.BenchmarkConnectionFactory;
+import org.springframework.social.connect.ConnectionFactory;
+
+/**
+ * Measures {@link ConnectionFactoryRegistry} lookups, performed whenever a connection is restored or an API type is resolved to a provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConnectionFactoryRegistryBenchmark {
+
+	private ConnectionFactoryRegistry registry;
+
+	@Setup
+	public void setUp() {
+		registry = new ConnectionFactoryRegistry();
+		registry.addConnectionFactory(new BenchmarkConnectionFactory());
+	}
+
+	@Benchmark
+	public ConnectionFactory<?> getConnectionFactoryByProviderId() {
+		return registry.getConnectionFactory("benchmark");
+	}
+
+	@Benchmark
+	public ConnectionFactory<BenchmarkApi> getConnectionFactoryByApiType() {
+		return registry.getConnectionFactory(BenchmarkApi.class);
+	}
+
+}
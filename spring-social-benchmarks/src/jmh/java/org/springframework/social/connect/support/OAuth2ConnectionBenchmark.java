@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.support;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.social.benchmark.BenchmarkApi;
+import org.springframework.social.benchmark.BenchmarkConnectionFactory;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+
+/**
+ * Measures calls made through the API proxy of an {@link OAuth2Connection}, which checks the connection's expiration before dispatching to the binding.
+ * The contended variant shares one connection between threads, as when a connection is held by a singleton.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OAuth2ConnectionBenchmark {
+
+	private BenchmarkApi api;
+
+	private BenchmarkApi target;
+
+	@Setup
+	public void setUp() {
+		BenchmarkConnectionFactory connectionFactory = new BenchmarkConnectionFactory();
+		Connection<BenchmarkApi> connection = connectionFactory.createConnection(
+				new ConnectionData("benchmark", "benchmark-user", "@benchmark", null, null, "accessToken", null, "refreshToken", System.currentTimeMillis() + 3600 * 1000L));
+		api = connection.getApi();
+		target = connectionFactory.createApi("accessToken");
+	}
+
+	@Benchmark
+	public String directCall() {
+		return target.echo("message");
+	}
+
+	@Benchmark
+	public String proxyCall() {
+		return api.echo("message");
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String proxyCallContended() {
+		return api.echo("message");
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth1;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Measures building OAuth 1 authorization headers, which happens on every request made through an OAuth 1 API binding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SigningSupportBenchmark {
+
+	private SigningSupport signingSupport;
+
+	private URI uri;
+
+	private MultiValueMap<String, String> additionalParameters;
+
+	private HttpRequest request;
+
+	private byte[] body;
+
+	private OAuth1Credentials credentials;
+
+	@Setup
+	public void setUp() throws Exception {
+		signingSupport = new SigningSupport();
+		uri = new URI("https://api.example.com/1.1/statuses/update.json?include_entities=true");
+		additionalParameters = new LinkedMultiValueMap<String, String>();
+		additionalParameters.add("include_entities", "true");
+		additionalParameters.add("status", "Hello Ladies + Gentlemen, a signed OAuth request!");
+		request = new SimpleClientHttpRequestFactory().createRequest(uri, HttpMethod.POST);
+		request.getHeaders().setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+		body = "status=Hello+Ladies+%2B+Gentlemen%2C+a+signed+OAuth+request%21".getBytes("UTF-8");
+		credentials = new OAuth1Credentials("xvz1evFS4wEEPTGEFPHBog", "kAcSOqF21Fu85e7zjz7ZN2U4ZRhfV3WpwPAoE3Z7kBw",
+				"370773112-GmHxMAgYyLbNEtIKZeRNFsMKPR9EyMZeS9weJAEb", "LswwdoUaIvS8ltyTt5jkRh4J50vUPVVHtR2YPi5kE");
+	}
+
+	@Benchmark
+	public String buildAuthorizationHeaderValueFromParameters() {
+		return signingSupport.buildAuthorizationHeaderValue(HttpMethod.POST, uri, signingSupport.commonOAuthParameters(credentials.getConsumerKey()),
+				additionalParameters, credentials.getConsumerSecret(), credentials.getAccessTokenSecret());
+	}
+
+	@Benchmark
+	public String buildAuthorizationHeaderValueFromRequest() {
+		return signingSupport.buildAuthorizationHeaderValue(request, body, credentials);
+	}
+
+}
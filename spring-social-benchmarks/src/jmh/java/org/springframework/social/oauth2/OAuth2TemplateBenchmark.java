@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures building the authorize URL a user is redirected to at the start of the OAuth 2 dance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OAuth2TemplateBenchmark {
+
+	private OAuth2Template oauth2Template;
+
+	private OAuth2Parameters parameters;
+
+	@Setup
+	public void setUp() {
+		oauth2Template = new OAuth2Template("clientId", "clientSecret", "https://provider.example.com/oauth/authorize", "https://provider.example.com/oauth/token");
+		parameters = new OAuth2Parameters();
+		parameters.setRedirectUri("https://www.example.com/connect/provider");
+		parameters.setScope("read,write,profile");
+		parameters.setState("b59a1c3e-0e7b-4b9b-8d3e-1f5d2c6a7e90");
+	}
+
+	@Benchmark
+	public String buildAuthorizeUrl() {
+		return oauth2Template.buildAuthorizeUrl(parameters);
+	}
+
+	@Benchmark
+	public String buildAuthorizeUrlImplicitGrant() {
+		return oauth2Template.buildAuthorizeUrl(GrantType.IMPLICIT_GRANT, parameters);
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.support;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Measures {@link URIBuilder}, used by API bindings to build request URIs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class URIBuilderBenchmark {
+
+	private MultiValueMap<String, String> params;
+
+	@Setup
+	public void setUp() {
+		params = new LinkedMultiValueMap<String, String>();
+		params.add("fields", "id,name,email,picture");
+		params.add("limit", "25");
+		params.add("after", "QVFIUmxtZAVZAzQjRqNzFmOGdGQ");
+	}
+
+	@Benchmark
+	public URI buildWithoutParameters() {
+		return URIBuilder.fromUri("https://graph.example.com/v2.10/me/friends").build();
+	}
+
+	@Benchmark
+	public URI buildWithQueryParam() {
+		return URIBuilder.fromUri("https://graph.example.com/v2.10/me/friends").queryParam("q", "spring social & friends").build();
+	}
+
+	@Benchmark
+	public URI buildWithQueryParams() {
+		return URIBuilder.fromUri("https://graph.example.com/v2.10/me/friends").queryParams(params).build();
+	}
+
+}
@@ -23,6 +23,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import org.springframework.context.annotation.Import;
+import org.springframework.social.connect.support.CachingUsersConnectionRepository;
 
 /**
  * Add this annotation to an {@code @Configuration} class to have the Spring MVC
@@ -36,4 +37,22 @@ import org.springframework.context.annotation.Import;
 @Inherited
 @Import(SocialConfiguration.class)
 public @interface EnableSocial {
+
+	/**
+	 * The maximum number of users whose connections are cached in front of the configured UsersConnectionRepository.
+	 * When greater than 0, the UsersConnectionRepository is wrapped in a {@link CachingUsersConnectionRepository}.
+	 * Supports property placeholders. Defaults to "0", meaning connections are not cached.
+	 * Read from the {@code @EnableSocial} class that imports {@link SocialConfiguration}.
+	 * @return the connection cache size
+	 */
+	String connectionCacheSize() default "0";
+
+	/**
+	 * The number of seconds a user's cached connections are used before they are reloaded.
+	 * Only applies when {@link #connectionCacheSize()} is greater than 0.
+	 * Supports property placeholders. Defaults to "300".
+	 * @return the connection cache time-to-live, in seconds
+	 */
+	String connectionCacheTimeToLive() default "300";
+
 }
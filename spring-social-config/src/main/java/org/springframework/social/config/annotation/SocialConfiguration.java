@@ -20,13 +20,17 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportAware;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.social.UserIdSource;
 import org.springframework.social.connect.ConnectionFactoryLocator;
 import org.springframework.social.connect.ConnectionRepository;
 import org.springframework.social.connect.UsersConnectionRepository;
+import org.springframework.social.connect.support.CachingUsersConnectionRepository;
 import org.springframework.util.Assert;
 
 /**
@@ -34,15 +38,21 @@ import org.springframework.util.Assert;
  * @author Craig Walls
  */
 @Configuration
-public class SocialConfiguration {
+public class SocialConfiguration implements ImportAware {
 
 	private static boolean securityEnabled = isSocialSecurityAvailable();
 	
 	@Autowired
 	private Environment environment;
-	
+
 	private List<SocialConfigurer> socialConfigurers;
 
+	private AnnotationAttributes enableSocial;
+
+	public void setImportMetadata(AnnotationMetadata importMetadata) {
+		this.enableSocial = AnnotationAttributes.fromMap(importMetadata.getAnnotationAttributes(EnableSocial.class.getName()));
+	}
+
 	@Autowired
 	public void setSocialConfigurers(List<SocialConfigurer> socialConfigurers) {
 		Assert.notNull(socialConfigurers, "At least one configuration class must implement SocialConfigurer (or subclass SocialConfigurerAdapter)");
@@ -92,7 +102,7 @@ public class SocialConfiguration {
 			}
 		}
 		Assert.notNull(usersConnectionRepository, "One configuration class must implement getUsersConnectionRepository from SocialConfigurer.");
-		return usersConnectionRepository;
+		return decorateWithConnectionCache(usersConnectionRepository, connectionFactoryLocator);
 	}
 
 	@Bean
@@ -101,6 +111,21 @@ public class SocialConfiguration {
 		return usersConnectionRepository.createConnectionRepository(userIdSource().getUserId());
 	}
 
+	private UsersConnectionRepository decorateWithConnectionCache(UsersConnectionRepository usersConnectionRepository, ConnectionFactoryLocator connectionFactoryLocator) {
+		if (enableSocial == null) {
+			return usersConnectionRepository;
+		}
+		int cacheSize = Integer.parseInt(environment.resolvePlaceholders(enableSocial.getString("connectionCacheSize")));
+		if (cacheSize <= 0) {
+			return usersConnectionRepository;
+		}
+		int cacheTimeToLive = Integer.parseInt(environment.resolvePlaceholders(enableSocial.getString("connectionCacheTimeToLive")));
+		CachingUsersConnectionRepository cachingRepository = new CachingUsersConnectionRepository(usersConnectionRepository, connectionFactoryLocator);
+		cachingRepository.setMaxSize(cacheSize);
+		cachingRepository.setTimeToLive(cacheTimeToLive);
+		return cachingRepository;
+	}
+
 	private static boolean isSocialSecurityAvailable() {
 		try {
 			Class.forName("org.springframework.social.security.SocialAuthenticationServiceLocator");
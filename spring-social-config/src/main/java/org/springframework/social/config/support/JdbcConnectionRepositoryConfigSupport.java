@@ -33,13 +33,25 @@ public abstract class JdbcConnectionRepositoryConfigSupport extends AbstractConn
 
 	public BeanDefinition registerJdbcConnectionRepositoryBeans(BeanDefinitionRegistry registry, String connectionRepositoryId, String usersConnectionRepositoryId, 
 			String connectionFactoryLocatorRef, String dataSourceRef, String encryptorRef, String userIdSourceRef, String connectionSignUpRef) {
-		registerUsersConnectionRepositoryBeanDefinition(registry, usersConnectionRepositoryId, connectionFactoryLocatorRef, dataSourceRef, encryptorRef, connectionSignUpRef);
+		return registerJdbcConnectionRepositoryBeans(registry, connectionRepositoryId, usersConnectionRepositoryId, connectionFactoryLocatorRef, dataSourceRef, encryptorRef, userIdSourceRef, connectionSignUpRef, null, null);
+	}
+
+	/**
+	 * Registers the repository beans, with the lookups of the {@link JdbcUsersConnectionRepository} going to a read replica of the database.
+	 * @param readDataSourceRef the id of the DataSource bean for the read replica; null or empty to read from the DataSource of dataSourceRef
+	 * @param readYourWritesWindow the number of seconds a user reads from the primary database after writing a connection; null or empty for the default
+	 * @see JdbcUsersConnectionRepository#setReadDataSource(javax.sql.DataSource)
+	 * @see JdbcUsersConnectionRepository#setReadYourWritesWindow(int)
+	 */
+	public BeanDefinition registerJdbcConnectionRepositoryBeans(BeanDefinitionRegistry registry, String connectionRepositoryId, String usersConnectionRepositoryId, 
+			String connectionFactoryLocatorRef, String dataSourceRef, String encryptorRef, String userIdSourceRef, String connectionSignUpRef, String readDataSourceRef, String readYourWritesWindow) {
+		registerUsersConnectionRepositoryBeanDefinition(registry, usersConnectionRepositoryId, connectionFactoryLocatorRef, dataSourceRef, encryptorRef, connectionSignUpRef, readDataSourceRef, readYourWritesWindow);
 		return registerConnectionRepository(registry, usersConnectionRepositoryId, connectionRepositoryId, userIdSourceRef);		
 	}
 	
 	
 	private BeanDefinition registerUsersConnectionRepositoryBeanDefinition(BeanDefinitionRegistry registry, String usersConnectionRepositoryId, 
-			String connectionFactoryLocatorRef, String dataSourceRef, String encryptorRef, String connectionSignUpRef) {
+			String connectionFactoryLocatorRef, String dataSourceRef, String encryptorRef, String connectionSignUpRef, String readDataSourceRef, String readYourWritesWindow) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Registering JdbcUsersConnectionRepository bean");
 		}				
@@ -50,6 +62,12 @@ public abstract class JdbcConnectionRepositoryConfigSupport extends AbstractConn
 		if (connectionSignUpRef != null && connectionSignUpRef.length() > 0) {
 			usersConnectionRepositoryBeanBuilder.addPropertyReference("connectionSignUp", connectionSignUpRef);
 		}
+		if (readDataSourceRef != null && readDataSourceRef.length() > 0) {
+			usersConnectionRepositoryBeanBuilder.addPropertyReference("readDataSource", readDataSourceRef);
+		}
+		if (readYourWritesWindow != null && readYourWritesWindow.length() > 0) {
+			usersConnectionRepositoryBeanBuilder.addPropertyValue("readYourWritesWindow", readYourWritesWindow);
+		}
 		BeanDefinition usersConnectionRepositoryBD = usersConnectionRepositoryBeanBuilder.getBeanDefinition();
 		BeanDefinition scopedProxyBean = decorateWithScopedProxy(usersConnectionRepositoryId, usersConnectionRepositoryBD, registry);
 		registry.registerBeanDefinition(usersConnectionRepositoryId, scopedProxyBean);
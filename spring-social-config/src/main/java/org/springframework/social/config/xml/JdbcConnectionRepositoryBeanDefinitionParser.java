@@ -38,7 +38,10 @@ class JdbcConnectionRepositoryBeanDefinitionParser extends JdbcConnectionReposit
 		String encryptorRef = element.getAttribute("encryptor-ref");
 		String userIdSourceRef = element.getAttribute("user-id-source-ref");
 		String connectionSignUpRef = element.getAttribute("connection-signup-ref");
-		return registerJdbcConnectionRepositoryBeans(parserContext.getRegistry(), connectionRepositoryId, usersConnectionRepositoryId, connectionFactoryLocatorRef, dataSourceRef, encryptorRef, userIdSourceRef, connectionSignUpRef);
+		String readDataSourceRef = element.getAttribute("read-data-source-ref");
+		String readYourWritesWindow = element.getAttribute("read-your-writes-window");
+		return registerJdbcConnectionRepositoryBeans(parserContext.getRegistry(), connectionRepositoryId, usersConnectionRepositoryId, connectionFactoryLocatorRef, dataSourceRef, encryptorRef, userIdSourceRef, connectionSignUpRef,
+				readDataSourceRef, readYourWritesWindow);
 	}
 	
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.config.annotation;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.social.UserIdSource;
+import org.springframework.social.config.SimpleUserIdSource;
+import org.springframework.social.connect.UsersConnectionRepository;
+import org.springframework.social.connect.mem.InMemoryUsersConnectionRepository;
+import org.springframework.social.connect.support.CachingUsersConnectionRepository;
+
+public class SocialConfigConnectionCacheTest {
+
+	@Test
+	public void connectionCacheDisabledByDefault() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(MyAwesomeSocialConfig.class);
+		try {
+			assertTrue(context.getBean(UsersConnectionRepository.class) instanceof InMemoryUsersConnectionRepository);
+		} finally {
+			context.close();
+		}
+	}
+
+	@Test
+	public void connectionCacheEnabled() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(CachedSocialConfig.class);
+		try {
+			UsersConnectionRepository usersConnectionRepository = context.getBean(UsersConnectionRepository.class);
+			assertTrue(usersConnectionRepository instanceof CachingUsersConnectionRepository);
+			assertTrue(((CachingUsersConnectionRepository) usersConnectionRepository).getTargetRepository() instanceof InMemoryUsersConnectionRepository);
+		} finally {
+			context.close();
+		}
+	}
+
+	@Configuration
+	@EnableSocial(connectionCacheSize = "${fake.connectionCacheSize}", connectionCacheTimeToLive = "60")
+	@PropertySource("classpath:/org/springframework/social/config/annotation/app.properties")
+	static class CachedSocialConfig extends SocialConfigurerAdapter {
+
+		public UserIdSource getUserIdSource() {
+			return new SimpleUserIdSource();
+		}
+
+	}
+
+}
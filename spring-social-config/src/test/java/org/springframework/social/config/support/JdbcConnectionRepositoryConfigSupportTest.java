@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.config.support;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.social.connect.jdbc.JdbcUsersConnectionRepository;
+
+public class JdbcConnectionRepositoryConfigSupportTest {
+
+	@Test
+	public void registerJdbcConnectionRepositoryBeans() {
+		MutablePropertyValues properties = registerUsersConnectionRepository(null, null);
+		assertFalse(properties.contains("readDataSource"));
+		assertFalse(properties.contains("readYourWritesWindow"));
+	}
+
+	@Test
+	public void registerJdbcConnectionRepositoryBeansWithReadReplica() {
+		MutablePropertyValues properties = registerUsersConnectionRepository("replicaDataSource", "10");
+		assertEquals("replicaDataSource", ((RuntimeBeanReference) properties.getPropertyValue("readDataSource").getValue()).getBeanName());
+		assertEquals("10", properties.getPropertyValue("readYourWritesWindow").getValue());
+	}
+
+	private MutablePropertyValues registerUsersConnectionRepository(String readDataSourceRef, String readYourWritesWindow) {
+		DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
+		new JdbcConnectionRepositoryConfigSupport() {}.registerJdbcConnectionRepositoryBeans(registry, "connectionRepository", "usersConnectionRepository",
+				"connectionFactoryLocator", "dataSource", "textEncryptor", "userIdSource", "", readDataSourceRef, readYourWritesWindow);
+		assertEquals(JdbcUsersConnectionRepository.class.getName(), registry.getBeanDefinition("scopedTarget.usersConnectionRepository").getBeanClassName());
+		return registry.getBeanDefinition("scopedTarget.usersConnectionRepository").getPropertyValues();
+	}
+
+}
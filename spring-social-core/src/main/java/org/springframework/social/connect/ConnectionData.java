@@ -19,6 +19,7 @@ import java.io.Serializable;
 
 import org.springframework.social.connect.support.OAuth1Connection;
 import org.springframework.social.connect.support.OAuth2Connection;
+import org.springframework.util.ObjectUtils;
 
 /**
  * A data transfer object that allows the internal state of a Connection to be persisted and transferred between layers of an application.
@@ -135,95 +136,52 @@ public class ConnectionData implements Serializable {
 		return expireTime;
 	}
 
+	// equality is defined on the getters, so subclasses that compute a field lazily compare by value
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result
-				+ ((accessToken == null) ? 0 : accessToken.hashCode());
-		result = prime * result
-				+ ((displayName == null) ? 0 : displayName.hashCode());
-		result = prime * result
-				+ ((expireTime == null) ? 0 : expireTime.hashCode());
-		result = prime * result
-				+ ((imageUrl == null) ? 0 : imageUrl.hashCode());
-		result = prime * result
-				+ ((profileUrl == null) ? 0 : profileUrl.hashCode());
-		result = prime * result
-				+ ((providerId == null) ? 0 : providerId.hashCode());
-		result = prime * result
-				+ ((providerUserId == null) ? 0 : providerUserId.hashCode());
-		result = prime * result
-				+ ((refreshToken == null) ? 0 : refreshToken.hashCode());
-		result = prime * result + ((secret == null) ? 0 : secret.hashCode());
+		result = prime * result + ObjectUtils.nullSafeHashCode(getAccessToken());
+		result = prime * result + ObjectUtils.nullSafeHashCode(getDisplayName());
+		result = prime * result + ObjectUtils.nullSafeHashCode(getExpireTime());
+		result = prime * result + ObjectUtils.nullSafeHashCode(getImageUrl());
+		result = prime * result + ObjectUtils.nullSafeHashCode(getProfileUrl());
+		result = prime * result + ObjectUtils.nullSafeHashCode(getProviderId());
+		result = prime * result + ObjectUtils.nullSafeHashCode(getProviderUserId());
+		result = prime * result + ObjectUtils.nullSafeHashCode(getRefreshToken());
+		result = prime * result + ObjectUtils.nullSafeHashCode(getSecret());
 		return result;
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		if (this == obj)
+		if (this == obj) {
 			return true;
-		if (obj == null)
-			return false;
-		if (!(obj instanceof ConnectionData))
+		}
+		if (!(obj instanceof ConnectionData)) {
 			return false;
+		}
 		ConnectionData other = (ConnectionData) obj;
-		if (accessToken == null) {
-			if (other.accessToken != null)
-				return false;
-		} else if (!accessToken.equals(other.accessToken))
-			return false;
-		if (displayName == null) {
-			if (other.displayName != null)
-				return false;
-		} else if (!displayName.equals(other.displayName))
-			return false;
-		if (expireTime == null) {
-			if (other.expireTime != null)
-				return false;
-		} else if (!expireTime.equals(other.expireTime))
-			return false;
-		if (imageUrl == null) {
-			if (other.imageUrl != null)
-				return false;
-		} else if (!imageUrl.equals(other.imageUrl))
-			return false;
-		if (profileUrl == null) {
-			if (other.profileUrl != null)
-				return false;
-		} else if (!profileUrl.equals(other.profileUrl))
-			return false;
-		if (providerId == null) {
-			if (other.providerId != null)
-				return false;
-		} else if (!providerId.equals(other.providerId))
-			return false;
-		if (providerUserId == null) {
-			if (other.providerUserId != null)
-				return false;
-		} else if (!providerUserId.equals(other.providerUserId))
-			return false;
-		if (refreshToken == null) {
-			if (other.refreshToken != null)
-				return false;
-		} else if (!refreshToken.equals(other.refreshToken))
-			return false;
-		if (secret == null) {
-			if (other.secret != null)
-				return false;
-		} else if (!secret.equals(other.secret))
-			return false;
-		return true;
+		return ObjectUtils.nullSafeEquals(getAccessToken(), other.getAccessToken())
+				&& ObjectUtils.nullSafeEquals(getDisplayName(), other.getDisplayName())
+				&& ObjectUtils.nullSafeEquals(getExpireTime(), other.getExpireTime())
+				&& ObjectUtils.nullSafeEquals(getImageUrl(), other.getImageUrl())
+				&& ObjectUtils.nullSafeEquals(getProfileUrl(), other.getProfileUrl())
+				&& ObjectUtils.nullSafeEquals(getProviderId(), other.getProviderId())
+				&& ObjectUtils.nullSafeEquals(getProviderUserId(), other.getProviderUserId())
+				&& ObjectUtils.nullSafeEquals(getRefreshToken(), other.getRefreshToken())
+				&& ObjectUtils.nullSafeEquals(getSecret(), other.getSecret());
 	}
 
 	@Override
 	public String toString() {
-		return "ConnectionData [providerId=" + providerId + ", providerUserId="
-				+ providerUserId + ", displayName=" + displayName
-				+ ", profileUrl=" + profileUrl + ", imageUrl=" + imageUrl
-				+ ", accessToken=" + accessToken + ", secret=" + secret
-				+ ", refreshToken=" + refreshToken + ", expireTime="
-				+ expireTime + "]";
+		return "ConnectionData [providerId=" + getProviderId() + ", providerUserId="
+				+ getProviderUserId() + ", displayName=" + getDisplayName()
+				+ ", profileUrl=" + getProfileUrl() + ", imageUrl=" + getImageUrl()
+				+ ", accessToken=" + getAccessToken() + ", secret=" + getSecret()
+				+ ", refreshToken=" + getRefreshToken() + ", expireTime="
+				+ getExpireTime() + "]";
 	}
 
 }
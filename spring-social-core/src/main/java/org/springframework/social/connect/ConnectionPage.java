@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect;
+
+import java.util.List;
+
+/**
+ * A page of a user's connections to a provider, in rank order.
+ * Returned by {@link ConnectionRepository#findConnections(String, int, int)}; the next page starts after {@link #getLastRank()}.
+ */
+public final class ConnectionPage {
+
+	private final List<Connection<?>> connections;
+
+	private final int lastRank;
+
+	private final boolean hasMore;
+
+	/**
+	 * Creates a page of connections.
+	 * @param connections the connections on the page
+	 * @param lastRank the rank of the last connection on the page, or the rank the page was requested after if it is empty
+	 * @param hasMore whether the user has further connections to the provider after this page
+	 */
+	public ConnectionPage(List<Connection<?>> connections, int lastRank, boolean hasMore) {
+		this.connections = connections;
+		this.lastRank = lastRank;
+		this.hasMore = hasMore;
+	}
+
+	/**
+	 * The connections on this page, in rank order.
+	 * @return the connections on this page
+	 */
+	public List<Connection<?>> getConnections() {
+		return connections;
+	}
+
+	/**
+	 * The rank of the last connection on this page; pass it as the afterRank argument to fetch the next page.
+	 * @return the rank of the last connection on this page
+	 */
+	public int getLastRank() {
+		return lastRank;
+	}
+
+	/**
+	 * Whether the user has further connections to the provider after this page.
+	 * @return true if there is a next page
+	 */
+	public boolean hasMore() {
+		return hasMore;
+	}
+
+}
@@ -15,8 +15,11 @@
  */
 package org.springframework.social.connect;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
 
 /**
@@ -56,6 +59,27 @@ public interface ConnectionRepository {
 	 */
 	List<Connection<?>> findConnections(String providerId);
 
+	/**
+	 * Find a page of the connections the current user has to the provider, for users connected to a provider many times over.
+	 * Connections are in rank order: the page starts with the connection ranked right after afterRank and holds at most limit connections.
+	 * Ranks are positive and may skip values, so callers should page from 0 and continue after {@link ConnectionPage#getLastRank()}.
+	 * The default implementation ranks connections by their position in {@link #findConnections(String)}, loading all of them,
+	 * so removing a connection between two calls shifts the ones after it back and the next page skips one.
+	 * Implementations that store ranks, such as the JDBC and in-memory repositories, page on them instead.
+	 * @param providerId the provider id e.g. "facebook"
+	 * @param afterRank the rank the page starts after, 0 for the first page
+	 * @param limit the maximum number of connections on the page
+	 * @return a page of connections the current user has to the provider
+	 */
+	default ConnectionPage findConnections(String providerId, int afterRank, int limit) {
+		Assert.isTrue(afterRank >= 0, "afterRank cannot be negative");
+		Assert.isTrue(limit > 0, "limit must be greater than 0");
+		List<Connection<?>> connections = findConnections(providerId);
+		int from = Math.min(afterRank, connections.size());
+		int to = Math.min(from + limit, connections.size());
+		return new ConnectionPage(new ArrayList<Connection<?>>(connections.subList(from, to)), to == from ? afterRank : to, to < connections.size());
+	}
+
 	/**
 	 * Find the connections the current user has to the provider of the given API e.g. Facebook.class.
 	 * Semantically equivalent to {@link #findConnections(String)}, but uses the apiType as the provider key instead of the providerId.
@@ -125,6 +149,19 @@ public interface ConnectionRepository {
 	 */
 	void addConnection(Connection<?> connection);
 
+	/**
+	 * Add several new connections to this repository for the current user.
+	 * Semantically equivalent to calling {@link #addConnection(Connection)} for each connection in iteration order, so connections to the same provider are ranked in that order,
+	 * but allows implementations to write them in a handful of round trips.
+	 * @param connections the new connections to add to this repository
+	 * @throws DuplicateConnectionException if the user already has one of the connections
+	 */
+	default void addConnections(Collection<Connection<?>> connections) {
+		for (Connection<?> connection : connections) {
+			addConnection(connection);
+		}
+	}
+
 	/**
 	 * Update a Connection already added to this repository.
 	 * Merges the field values of the given connection object with the values stored in the repository.
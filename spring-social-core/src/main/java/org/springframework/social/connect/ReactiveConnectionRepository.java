@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect;
+
+import org.springframework.util.MultiValueMap;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking counterpart of {@link ConnectionRepository}, for saving and restoring the Connection objects of a specific local user in reactive applications.
+ * Every operation is performed when the returned publisher is subscribed to, and signals failures such as {@link DuplicateConnectionException} as errors.
+ * @see ReactiveUsersConnectionRepository
+ */
+public interface ReactiveConnectionRepository {
+
+	/**
+	 * Find all connections the current user has across all providers.
+	 * @return the connections keyed by providerId, as {@link ConnectionRepository#findAllConnections()} returns them
+	 */
+	Mono<MultiValueMap<String, Connection<?>>> findAllConnections();
+
+	/**
+	 * Find the connections the current user has to the provider registered by the given id e.g. 'facebook'.
+	 * The connections are emitted in rank order, so the first one is the user's primary connection.
+	 * @param providerId the provider id e.g. "facebook"
+	 * @return the connections the user has to the provider, or an empty Flux if none
+	 */
+	Flux<Connection<?>> findConnections(String providerId);
+
+	/**
+	 * Find the connections the current user has to the provider of the given API e.g. Facebook.class.
+	 * Semantically equivalent to {@link #findConnections(String)}, but uses the apiType as the provider key instead of the providerId.
+	 * @param <A> the API parameterized type
+	 * @param apiType the API type e.g. Facebook.class or Twitter.class
+	 * @return the connections the user has to the provider of the API, or an empty Flux if none
+	 */
+	<A> Flux<Connection<A>> findConnections(Class<A> apiType);
+
+	/**
+	 * Find the connections the current user has to the given provider users.
+	 * The returned map has the structure and order of the providerUserIds map, as {@link ConnectionRepository#findConnectionsToUsers(MultiValueMap)} returns it,
+	 * with a null value at the position of each provider user the current user is not connected to.
+	 * @param providerUserIds the provider users map
+	 * @return the provider user connection map
+	 */
+	Mono<MultiValueMap<String, Connection<?>>> findConnectionsToUsers(MultiValueMap<String, String> providerUserIds);
+
+	/**
+	 * Get a connection for the current user by its key, which consists of the providerId + providerUserId.
+	 * @param connectionKey the service provider connection key
+	 * @return the connection; signals {@link NoSuchConnectionException} if no such connection exists for the current user
+	 */
+	Mono<Connection<?>> getConnection(ConnectionKey connectionKey);
+
+	/**
+	 * Get a connection between the current user and the given provider user.
+	 * Semantically equivalent to {@link #getConnection(ConnectionKey)}, but uses the apiType as the provider key instead of the providerId.
+	 * @param <A> the API parameterized type
+	 * @param apiType the API type e.g. Facebook.class or Twitter.class
+	 * @param providerUserId the provider user e.g. "126500".
+	 * @return the connection; signals {@link NoSuchConnectionException} if no such connection exists for the current user
+	 */
+	<A> Mono<Connection<A>> getConnection(Class<A> apiType, String providerUserId);
+
+	/**
+	 * Get the "primary" connection the current user has to the provider of the given API e.g. Facebook.class.
+	 * @param <A> the API parameterized type
+	 * @param apiType the API type e.g. Facebook.class or Twitter.class
+	 * @return the connection with the top rank; signals {@link NotConnectedException} if the user is not connected to the provider of the API
+	 */
+	<A> Mono<Connection<A>> getPrimaryConnection(Class<A> apiType);
+
+	/**
+	 * Find the "primary" connection the current user has to the provider registered by the given id e.g. 'facebook'.
+	 * @param providerId the provider id e.g. "facebook"
+	 * @return the connection with the top rank, or an empty Mono if the user is not connected to the provider
+	 */
+	Mono<Connection<?>> findPrimaryConnection(String providerId);
+
+	/**
+	 * Find the "primary" connection the current user has to the provider of the given API e.g. Facebook.class.
+	 * Semantically equivalent to {@link #getPrimaryConnection(Class)} but completes empty if no connection is found instead of signaling an error.
+	 * @param <A> the API parameterized type
+	 * @param apiType the API type e.g. Facebook.class or Twitter.class
+	 * @return the connection with the top rank, or an empty Mono if the user is not connected to the provider of the API
+	 */
+	<A> Mono<Connection<A>> findPrimaryConnection(Class<A> apiType);
+
+	/**
+	 * Add a new connection to this repository for the current user.
+	 * @param connection the new connection to add to this repository
+	 * @return completes once the connection is added; signals {@link DuplicateConnectionException} if the user already has this connection
+	 */
+	Mono<Void> addConnection(Connection<?> connection);
+
+	/**
+	 * Update a Connection already added to this repository.
+	 * Merges the field values of the given connection object with the values stored in the repository.
+	 * @param connection the existing connection to update in this repository
+	 * @return completes once the connection is updated
+	 */
+	Mono<Void> updateConnection(Connection<?> connection);
+
+	/**
+	 * Remove all Connections between the current user and the provider from this repository.
+	 * Does nothing if no provider connections exist.
+	 * @param providerId the provider id e.g. 'facebook'
+	 * @return completes once the connections are removed
+	 */
+	Mono<Void> removeConnections(String providerId);
+
+	/**
+	 * Remove a single Connection for the current user from this repository.
+	 * Does nothing if no such connection exists.
+	 * @param connectionKey the connection key
+	 * @return completes once the connection is removed
+	 */
+	Mono<Void> removeConnection(ConnectionKey connectionKey);
+
+}
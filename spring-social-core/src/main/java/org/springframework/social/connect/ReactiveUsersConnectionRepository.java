@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect;
+
+import java.util.Set;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * The non-blocking counterpart of {@link UsersConnectionRepository}, for managing a global store of users connections to service providers in reactive applications.
+ * Also acts as a factory for a user-specific {@link ReactiveConnectionRepository}.
+ * @see ReactiveConnectionRepository
+ */
+public interface ReactiveUsersConnectionRepository {
+
+	/**
+	 * Find the ids for local application users that have the given {@link Connection}.
+	 * Used to support the provider sign-in scenario, as described at {@link UsersConnectionRepository#findUserIdsWithConnection(Connection)}.
+	 * @param connection the service provider connection resulting from the provider sign-in attempt
+	 * @return the user ids associated with the connection
+	 */
+	Flux<String> findUserIdsWithConnection(Connection<?> connection);
+
+	/**
+	 * Find the ids of the users who are connected to the specific provider user accounts.
+	 * @param providerId the provider id, e.g. "facebook"
+	 * @param providerUserIds the set of provider user ids e.g. ("125600", "131345", "54321").
+	 * @return the distinct ids of the users connected to those service provider users, or an empty Flux if none
+	 */
+	Flux<String> findUserIdsConnectedTo(String providerId, Set<String> providerUserIds);
+
+	/**
+	 * Create a single-user {@link ReactiveConnectionRepository} instance for the user assigned the given id.
+	 * All operations on the returned repository instance are relative to the user.
+	 * @param userId the id of the local user account.
+	 * @return the ReactiveConnectionRepository, exposing a number of operations for accessing and updating the given user's provider connections.
+	 */
+	ReactiveConnectionRepository createConnectionRepository(String userId);
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Implemented by {@link UsersConnectionRepository} implementations that can import the connections of many local users at once.
+ * Kept apart from UsersConnectionRepository, as restoring connections from their data takes a {@link ConnectionFactoryLocator} that interface doesn't have.
+ * @see org.springframework.social.connect.jdbc.JdbcUsersConnectionRepository
+ * @see org.springframework.social.connect.mem.InMemoryUsersConnectionRepository
+ */
+public interface UsersConnectionImporter {
+
+	/**
+	 * Import the connections of many local users at once, such as when migrating connections from another system.
+	 * Each element pairs the id of a local user with the data of one of the user's connections.
+	 * A user's connections to a provider are ranked in the order they are streamed, after the connections the user already has to the provider.
+	 * Implementations write the connections in batches as the stream is consumed, so the stream may be larger than would fit in memory.
+	 * Fails if a user already has one of the connections; whether the connections imported up to that point remain depends on the implementation and any surrounding transaction.
+	 * @param connections the data of the connections to import, keyed by the id of the local user each connection belongs to
+	 * @return the number of connections imported
+	 * @throws DuplicateConnectionException if a user already has one of the connections
+	 */
+	int importConnections(Stream<? extends Map.Entry<String, ConnectionData>> connections);
+
+}
@@ -15,8 +15,17 @@
  */
 package org.springframework.social.connect;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 
 /**
  * A data access interface for managing a global store of users connections to service providers.
@@ -45,6 +54,68 @@ public interface UsersConnectionRepository {
 	 * @return the set of user ids connected to those service provider users, or empty if none.
 	 */
 	Set<String> findUserIdsConnectedTo(String providerId, Set<String> providerUserIds);
+
+	/**
+	 * Find which local user each of the given provider user accounts is connected to, across providers, such as when importing contacts to tell which of them already use the application.
+	 * The returned map contains an entry for each provider at least one of the provider users is connected to.
+	 * Its value maps each connected provider user id to the id of the local user connected to it; should several local users be connected to the same provider user, the lowest user id is given.
+	 * The default implementation finds the users connected to each provider's users with {@link #findUserIdsConnectedTo(String, Set)},
+	 * then asks the {@link ConnectionRepository} of each of them which of the provider users it is connected to;
+	 * implementations are expected to look the provider users up in a handful of queries.
+	 * @param providerUsers the provider user ids to look up, keyed by provider id
+	 * @return the local user id of each connected provider user, keyed by provider id and then by provider user id, or an empty map if none
+	 */
+	default Map<String, Map<String, String>> findUserIdsConnectedTo(MultiValueMap<String, String> providerUsers) {
+		Map<String, Map<String, String>> userIdsConnectedTo = new LinkedHashMap<String, Map<String, String>>();
+		for (Map.Entry<String, List<String>> entry : providerUsers.entrySet()) {
+			Set<String> providerUserIds = new LinkedHashSet<String>(entry.getValue());
+			if (providerUserIds.isEmpty()) {
+				continue;
+			}
+			MultiValueMap<String, String> lookup = new LinkedMultiValueMap<String, String>();
+			lookup.put(entry.getKey(), new ArrayList<String>(providerUserIds));
+			Map<String, String> connectedUserIds = new HashMap<String, String>();
+			// users visited in order, so a provider user several users are connected to maps to the lowest user id
+			for (String userId : new TreeSet<String>(findUserIdsConnectedTo(entry.getKey(), providerUserIds))) {
+				for (Connection<?> connection : createConnectionRepository(userId).findConnectionsToUsers(lookup).get(entry.getKey())) {
+					if (connection != null) {
+						connectedUserIds.putIfAbsent(connection.getKey().getProviderUserId(), userId);
+					}
+				}
+			}
+			Map<String, String> userIds = new LinkedHashMap<String, String>();
+			for (String providerUserId : providerUserIds) {
+				if (connectedUserIds.containsKey(providerUserId)) {
+					userIds.put(providerUserId, connectedUserIds.get(providerUserId));
+				}
+			}
+			if (!userIds.isEmpty()) {
+				userIdsConnectedTo.put(entry.getKey(), userIds);
+			}
+		}
+		return userIdsConnectedTo;
+	}
+
+	/**
+	 * Find the connections the given local users have to the provider registered by the given id e.g. 'facebook'.
+	 * Semantically equivalent to calling {@link ConnectionRepository#findConnections(String)} on the {@link ConnectionRepository} of each user,
+	 * but allows implementations to load the connections of many users in a handful of round trips.
+	 * The returned map contains an entry for each user that has at least one connection to the provider.
+	 * The key for each entry is the user id, and the value is the list of that user's connections ordered by rank, so the first element is the user's primary connection.
+	 * @param userIds the ids of the local user accounts
+	 * @param providerId the provider id e.g. "facebook"
+	 * @return the connections the users have to the provider keyed by user id, or an empty map if none
+	 */
+	default MultiValueMap<String, Connection<?>> findConnectionsForUsers(Set<String> userIds, String providerId) {
+		MultiValueMap<String, Connection<?>> connectionsForUsers = new LinkedMultiValueMap<String, Connection<?>>();
+		for (String userId : userIds) {
+			List<Connection<?>> connections = createConnectionRepository(userId).findConnections(providerId);
+			if (!connections.isEmpty()) {
+				connectionsForUsers.put(userId, connections);
+			}
+		}
+		return connectionsForUsers;
+	}
 	
 	/**
 	 * Create a single-user {@link ConnectionRepository} instance for the user assigned the given id.
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Implemented by {@link UsersConnectionRepository} implementations that can walk all connections to a provider.
+ * @see org.springframework.social.connect.jdbc.JdbcUsersConnectionRepository
+ * @see org.springframework.social.connect.mem.InMemoryUsersConnectionRepository
+ */
+public interface UsersConnectionScanner {
+
+	/**
+	 * Walk all connections to the given provider, such as for a token audit or a revocation sweep.
+	 * The connections are passed to the callback one at a time, ordered by provider user id and then local user id, without the repository holding the whole result in memory.
+	 * Implementations may hand out ConnectionData that decrypts the tokens the first time they are asked for, so callers that don't need them don't pay for them.
+	 * @param providerId the provider id, e.g. "facebook"
+	 * @param callback invoked with the id of the local user and the data of each connection
+	 */
+	void scanConnections(String providerId, BiConsumer<String, ConnectionData> callback);
+
+}
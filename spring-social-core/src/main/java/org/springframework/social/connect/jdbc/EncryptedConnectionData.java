@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.social.connect.ConnectionData;
+
+/**
+ * {@link ConnectionData} read from the UserConnection table that holds the token columns as stored, decrypting each one the first time it is asked for.
+ * Callers that only look at the provider user id or the profile fields never pay for decryption.
+ * Serializes as a plain, decrypted ConnectionData.
+ */
+@SuppressWarnings("serial")
+final class EncryptedConnectionData extends ConnectionData {
+
+	private final transient TextEncryptor textEncryptor;
+
+	private final String encryptedAccessToken;
+
+	private final String encryptedSecret;
+
+	private final String encryptedRefreshToken;
+
+	private volatile String accessToken;
+
+	private volatile String secret;
+
+	private volatile String refreshToken;
+
+	EncryptedConnectionData(String providerId, String providerUserId, String displayName, String profileUrl, String imageUrl,
+			String encryptedAccessToken, String encryptedSecret, String encryptedRefreshToken, Long expireTime, TextEncryptor textEncryptor) {
+		super(providerId, providerUserId, displayName, profileUrl, imageUrl, null, null, null, expireTime);
+		this.textEncryptor = textEncryptor;
+		this.encryptedAccessToken = encryptedAccessToken;
+		this.encryptedSecret = encryptedSecret;
+		this.encryptedRefreshToken = encryptedRefreshToken;
+	}
+
+	@Override
+	public String getAccessToken() {
+		if (accessToken == null) {
+			accessToken = decrypt(encryptedAccessToken);
+		}
+		return accessToken;
+	}
+
+	@Override
+	public String getSecret() {
+		if (secret == null) {
+			secret = decrypt(encryptedSecret);
+		}
+		return secret;
+	}
+
+	@Override
+	public String getRefreshToken() {
+		if (refreshToken == null) {
+			refreshToken = decrypt(encryptedRefreshToken);
+		}
+		return refreshToken;
+	}
+
+	// internal helpers
+
+	private String decrypt(String encryptedText) {
+		return encryptedText != null ? textEncryptor.decrypt(encryptedText) : encryptedText;
+	}
+
+	private Object writeReplace() {
+		return new ConnectionData(getProviderId(), getProviderUserId(), getDisplayName(), getProfileUrl(), getImageUrl(), getAccessToken(), getSecret(), getRefreshToken(), getExpireTime());
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.DuplicateConnectionException;
+
+/**
+ * Writes connections to the UserConnection table with JDBC batch updates.
+ * Ranks are assigned up front, after the ranks each user already has for the provider, so every batch takes one query and one batch insert.
+ * A connection a user already has, or that is given twice, fails the batch with a {@link DuplicateConnectionException}.
+ * Used by {@link JdbcUsersConnectionRepository#importConnections(java.util.stream.Stream)} and {@link JdbcConnectionRepository#addConnections(java.util.Collection)}.
+ */
+final class JdbcConnectionImporter {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	private final TextEncryptor textEncryptor;
+
+	private final UserConnectionSql sql;
+
+	private final int batchSize;
+
+	private final int inClauseLimit;
+
+	JdbcConnectionImporter(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate, TextEncryptor textEncryptor, UserConnectionSql sql, int batchSize, int inClauseLimit) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+		this.textEncryptor = textEncryptor;
+		this.sql = sql;
+		this.batchSize = batchSize;
+		this.inClauseLimit = inClauseLimit;
+	}
+
+	/**
+	 * Inserts the given connections, keyed by the id of the user they belong to, batchSize connections at a time.
+	 * @return the number of connections inserted
+	 * @throws DuplicateConnectionException if a user already has one of the connections
+	 */
+	int importConnections(Iterator<? extends Entry<String, ConnectionData>> connections) {
+		int imported = 0;
+		List<Entry<String, ConnectionData>> batch = new ArrayList<Entry<String, ConnectionData>>(batchSize);
+		while (connections.hasNext()) {
+			batch.add(connections.next());
+			if (batch.size() == batchSize || !connections.hasNext()) {
+				insertBatch(batch);
+				imported += batch.size();
+				batch.clear();
+			}
+		}
+		return imported;
+	}
+
+	// internal helpers
+
+	private void insertBatch(List<Entry<String, ConnectionData>> batch) {
+		Map<List<String>, Integer> nextRanks = findNextRanks(batch);
+		Set<List<String>> batchKeys = new HashSet<List<String>>();
+		int[] ranks = new int[batch.size()];
+		List<Object[]> rows = new ArrayList<Object[]>(batch.size());
+		for (int i = 0; i < ranks.length; i++) {
+			String userId = batch.get(i).getKey();
+			ConnectionData data = batch.get(i).getValue();
+			if (!batchKeys.add(Arrays.asList(userId, data.getProviderId(), data.getProviderUserId()))) {
+				throw new DuplicateConnectionException(new ConnectionKey(data.getProviderId(), data.getProviderUserId()));
+			}
+			List<String> rankKey = Arrays.asList(userId, data.getProviderId());
+			Integer rank = nextRanks.get(rankKey);
+			ranks[i] = rank != null ? rank : 1;
+			nextRanks.put(rankKey, ranks[i] + 1);
+			rows.add(toRow(userId, data, ranks[i]));
+		}
+		try {
+			jdbcTemplate.batchUpdate(sql.insertConnection, rows);
+		} catch (DuplicateKeyException e) {
+			ConnectionKey existingConnection = findExistingConnection(batch, ranks);
+			if (existingConnection != null) {
+				throw new DuplicateConnectionException(existingConnection);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Finds the first connection of a failed batch that its user had before the batch, telling it by a rank other than the one the batch gave it.
+	 * Returns null if there is none, such as when a concurrent insert took a rank, or if the connections can't be read.
+	 */
+	private ConnectionKey findExistingConnection(List<Entry<String, ConnectionData>> batch, int[] ranks) {
+		try {
+			for (int i = 0; i < ranks.length; i++) {
+				ConnectionData data = batch.get(i).getValue();
+				List<Integer> rank = jdbcTemplate.queryForList(sql.getRank, Integer.class, batch.get(i).getKey(), data.getProviderId(), data.getProviderUserId());
+				if (!rank.isEmpty() && rank.get(0) != ranks[i]) {
+					return new ConnectionKey(data.getProviderId(), data.getProviderUserId());
+				}
+			}
+		} catch (DataAccessException e) {
+			// such as a transaction the failed batch aborted
+		}
+		return null;
+	}
+
+	private Map<List<String>, Integer> findNextRanks(List<Entry<String, ConnectionData>> batch) {
+		Set<String> userIds = new LinkedHashSet<String>();
+		for (Entry<String, ConnectionData> entry : batch) {
+			userIds.add(entry.getKey());
+		}
+		Map<List<String>, Integer> nextRanks = new HashMap<List<String>, Integer>();
+		List<String> userIdList = new ArrayList<String>(userIds);
+		for (int from = 0; from < userIdList.size(); from += inClauseLimit) {
+			MapSqlParameterSource parameters = new MapSqlParameterSource("userIds", UserConnectionSql.padInClause(userIdList.subList(from, Math.min(from + inClauseLimit, userIdList.size())), inClauseLimit));
+			namedParameterJdbcTemplate.query(sql.findMaxRanks, parameters, rs -> {
+				nextRanks.put(Arrays.asList(rs.getString("userId"), rs.getString("providerId")), rs.getInt("rank") + 1);
+			});
+		}
+		return nextRanks;
+	}
+
+	private Object[] toRow(String userId, ConnectionData data, int rank) {
+		return new Object[] { userId, data.getProviderId(), data.getProviderUserId(), rank, data.getDisplayName(), data.getProfileUrl(), data.getImageUrl(),
+				encrypt(data.getAccessToken()), encrypt(data.getSecret()), encrypt(data.getRefreshToken()), data.getExpireTime() };
+	}
+
+	private String encrypt(String text) {
+		return text != null ? textEncryptor.encrypt(text) : text;
+	}
+
+	static final int DEFAULT_BATCH_SIZE = 1000;
+
+}
@@ -17,31 +17,40 @@ package org.springframework.social.connect.jdbc;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionHolder;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 import org.springframework.social.connect.Connection;
 import org.springframework.social.connect.ConnectionData;
-import org.springframework.social.connect.ConnectionFactory;
 import org.springframework.social.connect.ConnectionFactoryLocator;
 import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.ConnectionPage;
 import org.springframework.social.connect.ConnectionRepository;
 import org.springframework.social.connect.DuplicateConnectionException;
 import org.springframework.social.connect.NoSuchConnectionException;
 import org.springframework.social.connect.NotConnectedException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -50,23 +59,45 @@ public class JdbcConnectionRepository implements ConnectionRepository {
 	private final String userId;
 	
 	private final JdbcTemplate jdbcTemplate;
+
+	private final ReadReplicaRouter readReplicaRouter;
 	
 	private final ConnectionFactoryLocator connectionFactoryLocator;
 
 	private final TextEncryptor textEncryptor;
 
-	private final String tablePrefix;
+	private final UserConnectionSql sql;
+
+	private final ServiceProviderConnectionMapper connectionMapper;
+
+	private final JdbcConnectionImporter connectionImporter;
+
+	private final int inClauseLimit;
 
 	public JdbcConnectionRepository(String userId, JdbcTemplate jdbcTemplate, ConnectionFactoryLocator connectionFactoryLocator, TextEncryptor textEncryptor, String tablePrefix) {
+		this(userId, jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate), connectionFactoryLocator, textEncryptor, new UserConnectionSql(tablePrefix, UserConnectionSql.detectDatabaseName(jdbcTemplate.getDataSource())));
+	}
+
+	private JdbcConnectionRepository(String userId, JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate, ConnectionFactoryLocator connectionFactoryLocator, TextEncryptor textEncryptor, UserConnectionSql sql) {
+		this(userId, jdbcTemplate, new ReadReplicaRouter(jdbcTemplate, namedParameterJdbcTemplate), connectionFactoryLocator, textEncryptor, sql,
+				new JdbcConnectionImporter(jdbcTemplate, namedParameterJdbcTemplate, textEncryptor, sql, JdbcConnectionImporter.DEFAULT_BATCH_SIZE, 1), JdbcUsersConnectionRepository.DEFAULT_IN_CLAUSE_LIMIT);
+	}
+
+	JdbcConnectionRepository(String userId, JdbcTemplate jdbcTemplate, ReadReplicaRouter readReplicaRouter, ConnectionFactoryLocator connectionFactoryLocator, TextEncryptor textEncryptor, UserConnectionSql sql,
+			JdbcConnectionImporter connectionImporter, int inClauseLimit) {
 		this.userId = userId;
 		this.jdbcTemplate = jdbcTemplate;
+		this.readReplicaRouter = readReplicaRouter;
 		this.connectionFactoryLocator = connectionFactoryLocator;
 		this.textEncryptor = textEncryptor;
-		this.tablePrefix = tablePrefix;
+		this.sql = sql;
+		this.connectionMapper = new ServiceProviderConnectionMapper(connectionFactoryLocator, textEncryptor);
+		this.connectionImporter = connectionImporter;
+		this.inClauseLimit = inClauseLimit;
 	}
 	
 	public MultiValueMap<String, Connection<?>> findAllConnections() {
-		List<Connection<?>> resultList = jdbcTemplate.query(selectFromUserConnection() + " where userId = ? order by providerId, `rank`", connectionMapper, userId);
+		List<Connection<?>> resultList = readJdbcTemplate().query(sql.findAllConnections, connectionMapper, userId);
 		MultiValueMap<String, Connection<?>> connections = new LinkedMultiValueMap<String, Connection<?>>();
 		Set<String> registeredProviderIds = connectionFactoryLocator.registeredProviderIds();
 		for (String registeredProviderId : registeredProviderIds) {
@@ -83,7 +114,31 @@ public class JdbcConnectionRepository implements ConnectionRepository {
 	}
 
 	public List<Connection<?>> findConnections(String providerId) {
-		return jdbcTemplate.query(selectFromUserConnection() + " where userId = ? and providerId = ? order by `rank`", connectionMapper, userId, providerId);
+		return readJdbcTemplate().query(sql.findConnections, connectionMapper, userId, providerId);
+	}
+
+	public ConnectionPage findConnections(String providerId, final int afterRank, final int limit) {
+		Assert.isTrue(afterRank >= 0, "afterRank cannot be negative");
+		Assert.isTrue(limit > 0, "limit must be greater than 0");
+		// the page and the row telling whether there is a next one
+		int maxRows = limit < Integer.MAX_VALUE ? limit + 1 : 0;
+		return readJdbcTemplate().query(new PageStatementCreator(sql.findConnectionsAfterRank, maxRows, 0, userId, providerId, afterRank), new ResultSetExtractor<ConnectionPage>() {
+			public ConnectionPage extractData(ResultSet rs) throws SQLException, DataAccessException {
+				List<Connection<?>> connections = new ArrayList<Connection<?>>(Math.min(limit, 16));
+				int lastRank = afterRank;
+				// read one row past the page to tell whether there is a next one
+				boolean hasMore = false;
+				while (rs.next()) {
+					if (connections.size() == limit) {
+						hasMore = true;
+						break;
+					}
+					connections.add(connectionMapper.mapRow(rs, connections.size()));
+					lastRank = rs.getInt("rank");
+				}
+				return new ConnectionPage(connections, lastRank, hasMore);
+			}
+		});
 	}
 
 	@SuppressWarnings("unchecked")
@@ -92,46 +147,51 @@ public class JdbcConnectionRepository implements ConnectionRepository {
 		return (List<Connection<A>>) connections;
 	}
 	
+	/**
+	 * Finds the connections with a single query per {@link JdbcUsersConnectionRepository#setInClauseLimit(int) inClauseLimit} provider user ids, whichever providers they belong to.
+	 * Each connection found is placed at the position of its provider user id through a map built up front, so large lists of provider user ids cost no more than their length.
+	 */
 	public MultiValueMap<String, Connection<?>> findConnectionsToUsers(MultiValueMap<String, String> providerUsers) {
 		if (providerUsers == null || providerUsers.isEmpty()) {
 			throw new IllegalArgumentException("Unable to execute find: no providerUsers provided");
 		}
-		StringBuilder providerUsersCriteriaSql = new StringBuilder();
-		MapSqlParameterSource parameters = new MapSqlParameterSource();
-		parameters.addValue("userId", userId);
-		for (Iterator<Entry<String, List<String>>> it = providerUsers.entrySet().iterator(); it.hasNext();) {
-			Entry<String, List<String>> entry = it.next();
-			String providerId = entry.getKey();
-			providerUsersCriteriaSql.append("providerId = :providerId_").append(providerId).append(" and providerUserId in (:providerUserIds_").append(providerId).append(")");
-			parameters.addValue("providerId_" + providerId, providerId);
-			parameters.addValue("providerUserIds_" + providerId, entry.getValue());
-			if (it.hasNext()) {
-				providerUsersCriteriaSql.append(" or " );
+		final Map<String, Map<String, Integer>> providerUserIndexes = new LinkedHashMap<String, Map<String, Integer>>();
+		Map<String, Set<String>> distinctProviderUsers = new LinkedHashMap<String, Set<String>>();
+		for (Entry<String, List<String>> entry : providerUsers.entrySet()) {
+			Map<String, Integer> indexes = new LinkedHashMap<String, Integer>();
+			List<String> providerUserIds = entry.getValue();
+			for (int i = 0; i < providerUserIds.size(); i++) {
+				indexes.putIfAbsent(providerUserIds.get(i), i);
+			}
+			if (!indexes.isEmpty()) {
+				providerUserIndexes.put(entry.getKey(), indexes);
+				distinctProviderUsers.put(entry.getKey(), indexes.keySet());
 			}
 		}
-		List<Connection<?>> resultList = new NamedParameterJdbcTemplate(jdbcTemplate).query(selectFromUserConnection() + " where userId = :userId and " + providerUsersCriteriaSql + " order by providerId, `rank`", parameters, connectionMapper);
-		MultiValueMap<String, Connection<?>> connectionsForUsers = new LinkedMultiValueMap<String, Connection<?>>();
-		for (Connection<?> connection : resultList) {
-			String providerId = connection.getKey().getProviderId();
-			List<String> userIds = providerUsers.get(providerId);
-			List<Connection<?>> connections = connectionsForUsers.get(providerId);
-			if (connections == null) {
-				connections = new ArrayList<Connection<?>>(userIds.size());
-				for (int i = 0; i < userIds.size(); i++) {
-					connections.add(null);
+		final MultiValueMap<String, Connection<?>> connectionsForUsers = new LinkedMultiValueMap<String, Connection<?>>();
+		RowCallbackHandler placeConnection = new RowCallbackHandler() {
+			public void processRow(ResultSet rs) throws SQLException {
+				Connection<?> connection = connectionMapper.mapRow(rs, 0);
+				String providerId = connection.getKey().getProviderId();
+				List<Connection<?>> connections = connectionsForUsers.get(providerId);
+				if (connections == null) {
+					connections = new ArrayList<Connection<?>>(Collections.<Connection<?>>nCopies(providerUsers.get(providerId).size(), null));
+					connectionsForUsers.put(providerId, connections);
 				}
-				connectionsForUsers.put(providerId, connections);
+				connections.set(providerUserIndexes.get(providerId).get(connection.getKey().getProviderUserId()), connection);
 			}
-			String providerUserId = connection.getKey().getProviderUserId();
-			int connectionIndex = userIds.indexOf(providerUserId);
-			connections.set(connectionIndex, connection);
-		}
+		};
+		NamedParameterJdbcTemplate namedParameterJdbcTemplate = readReplicaRouter.getReadNamedParameterJdbcTemplate(userId);
+		UserConnectionSql.forEachProviderUsersChunk(distinctProviderUsers, inClauseLimit, chunk -> {
+			MapSqlParameterSource parameters = new MapSqlParameterSource("userId", userId);
+			namedParameterJdbcTemplate.query(sql.selectFromUserConnection + " where userId = :userId and " + UserConnectionSql.providerUsersCriteria(chunk, inClauseLimit, parameters), parameters, placeConnection);
+		});
 		return connectionsForUsers;
 	}
 
 	public Connection<?> getConnection(ConnectionKey connectionKey) {
 		try {
-			return jdbcTemplate.queryForObject(selectFromUserConnection() + " where userId = ? and providerId = ? and providerUserId = ?", connectionMapper, userId, connectionKey.getProviderId(), connectionKey.getProviderUserId());
+			return readJdbcTemplate().queryForObject(sql.getConnection, connectionMapper, userId, connectionKey.getProviderId(), connectionKey.getProviderUserId());
 		} catch (EmptyResultDataAccessException e) {
 			throw new NoSuchConnectionException(connectionKey);
 		}
@@ -161,41 +221,81 @@ public class JdbcConnectionRepository implements ConnectionRepository {
 	
 	@Transactional
 	public void addConnection(Connection<?> connection) {
-		try {
-			ConnectionData data = connection.createData();
-			int rank = jdbcTemplate.queryForObject("select coalesce(max(`rank`) + 1, 1) as `rank` from " + tablePrefix + "UserConnection where userId = ? and providerId = ?", new Object[]{ userId, data.getProviderId() }, Integer.class);
-			jdbcTemplate.update("insert into " + tablePrefix + "UserConnection (userId, providerId, providerUserId, `rank`, displayName, profileUrl, imageUrl, accessToken, secret, refreshToken, expireTime) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
-					userId, data.getProviderId(), data.getProviderUserId(), rank, data.getDisplayName(), data.getProfileUrl(), data.getImageUrl(), encrypt(data.getAccessToken()), encrypt(data.getSecret()), encrypt(data.getRefreshToken()), data.getExpireTime());
-		} catch (DuplicateKeyException e) {
-			throw new DuplicateConnectionException(connection.getKey());
+		ConnectionData data = connection.createData();
+		for (int attempt = 1;; attempt++) {
+			Savepoint savepoint = createSavepoint();
+			try {
+				// the rank is assigned by the insert itself, next to the user's existing connections to the provider
+				jdbcTemplate.update(sql.addConnection,
+						userId, data.getProviderId(), data.getProviderUserId(), data.getDisplayName(), data.getProfileUrl(), data.getImageUrl(), encrypt(data.getAccessToken()), encrypt(data.getSecret()), encrypt(data.getRefreshToken()), data.getExpireTime(),
+						userId, data.getProviderId());
+				releaseSavepoint(savepoint);
+				readReplicaRouter.recordWrite(userId);
+				return;
+			} catch (DuplicateKeyException e) {
+				rollbackToSavepoint(savepoint);
+				if (connectionExists(connection.getKey())) {
+					throw new DuplicateConnectionException(connection.getKey());
+				}
+				if (attempt == MAX_RANK_ATTEMPTS) {
+					throw e;
+				}
+				// a concurrent insert took the rank: try again with the next one
+			}
 		}
 	}
 	
+	@Transactional
+	public void addConnections(Collection<Connection<?>> connections) {
+		Savepoint savepoint = createSavepoint();
+		if (savepoint == null) {
+			// without a transaction a failed batch could not be undone: add the connections one at a time
+			ConnectionRepository.super.addConnections(connections);
+			return;
+		}
+		List<Entry<String, ConnectionData>> connectionData = new ArrayList<Entry<String, ConnectionData>>(connections.size());
+		for (Connection<?> connection : connections) {
+			connectionData.add(new SimpleImmutableEntry<String, ConnectionData>(userId, connection.createData()));
+		}
+		try {
+			connectionImporter.importConnections(connectionData.iterator());
+			releaseSavepoint(savepoint);
+			readReplicaRouter.recordWrite(userId);
+		} catch (DuplicateKeyException | DuplicateConnectionException e) {
+			rollbackToSavepoint(savepoint);
+			// a duplicate connection or a rank taken by a concurrent insert: let addConnection tell them apart
+			ConnectionRepository.super.addConnections(connections);
+		}
+	}
+
 	@Transactional
 	public void updateConnection(Connection<?> connection) {
 		ConnectionData data = connection.createData();
-		jdbcTemplate.update("update " + tablePrefix + "UserConnection set displayName = ?, profileUrl = ?, imageUrl = ?, accessToken = ?, secret = ?, refreshToken = ?, expireTime = ? where userId = ? and providerId = ? and providerUserId = ?",
+		jdbcTemplate.update(sql.updateConnection,
 				data.getDisplayName(), data.getProfileUrl(), data.getImageUrl(), encrypt(data.getAccessToken()), encrypt(data.getSecret()), encrypt(data.getRefreshToken()), data.getExpireTime(), userId, data.getProviderId(), data.getProviderUserId());
+		readReplicaRouter.recordWrite(userId);
 	}
 
 	@Transactional
 	public void removeConnections(String providerId) {
-		jdbcTemplate.update("delete from " + tablePrefix + "UserConnection where userId = ? and providerId = ?", userId, providerId);
+		jdbcTemplate.update(sql.removeConnections, userId, providerId);
+		readReplicaRouter.recordWrite(userId);
 	}
 
 	@Transactional
 	public void removeConnection(ConnectionKey connectionKey) {
-		jdbcTemplate.update("delete from " + tablePrefix + "UserConnection where userId = ? and providerId = ? and providerUserId = ?", userId, connectionKey.getProviderId(), connectionKey.getProviderUserId());		
+		jdbcTemplate.update(sql.removeConnection, userId, connectionKey.getProviderId(), connectionKey.getProviderUserId());
+		readReplicaRouter.recordWrite(userId);
 	}
 
 	// internal helpers
-	
-	private String selectFromUserConnection() {
-		return "select userId, providerId, providerUserId, displayName, profileUrl, imageUrl, accessToken, secret, refreshToken, expireTime from " + tablePrefix + "UserConnection";
+
+	private JdbcTemplate readJdbcTemplate() {
+		return readReplicaRouter.getReadJdbcTemplate(userId);
 	}
 	
 	private Connection<?> findPrimaryConnection(String providerId) {
-		List<Connection<?>> connections = jdbcTemplate.query(selectFromUserConnection() + " where userId = ? and providerId = ? order by `rank`", connectionMapper, userId, providerId);
+		List<Connection<?>> connections = readJdbcTemplate().query(sql.findConnections, connectionMapper, userId, providerId);
 		if (connections.size() > 0) {
 			return connections.get(0);
 		} else {
@@ -203,29 +303,51 @@ public class JdbcConnectionRepository implements ConnectionRepository {
 		}		
 	}
 	
-	private final ServiceProviderConnectionMapper connectionMapper = new ServiceProviderConnectionMapper();
-	
-	private final class ServiceProviderConnectionMapper implements RowMapper<Connection<?>> {
-		
-		public Connection<?> mapRow(ResultSet rs, int rowNum) throws SQLException {
-			ConnectionData connectionData = mapConnectionData(rs);
-			ConnectionFactory<?> connectionFactory = connectionFactoryLocator.getConnectionFactory(connectionData.getProviderId());
-			return connectionFactory.createConnection(connectionData);
+	private boolean connectionExists(ConnectionKey connectionKey) {
+		return jdbcTemplate.queryForObject(sql.countConnection, Integer.class, userId, connectionKey.getProviderId(), connectionKey.getProviderUserId()) > 0;
+	}
+
+	/**
+	 * Marks the state of the surrounding transaction, if any, so a failed insert can be undone without aborting it.
+	 * Some databases, such as PostgreSQL, reject all further statements of a transaction once one of them failed.
+	 */
+	private Savepoint createSavepoint() {
+		ConnectionHolder connectionHolder = getTransactionalConnectionHolder();
+		if (connectionHolder == null) {
+			return null;
 		}
-		
-		private ConnectionData mapConnectionData(ResultSet rs) throws SQLException {
-			return new ConnectionData(rs.getString("providerId"), rs.getString("providerUserId"), rs.getString("displayName"), rs.getString("profileUrl"), rs.getString("imageUrl"),
-					decrypt(rs.getString("accessToken")), decrypt(rs.getString("secret")), decrypt(rs.getString("refreshToken")), expireTime(rs.getLong("expireTime")));
+		try {
+			return connectionHolder.createSavepoint();
+		} catch (SQLException e) {
+			throw jdbcTemplate.getExceptionTranslator().translate("create savepoint", null, e);
 		}
-		
-		private String decrypt(String encryptedText) {
-			return encryptedText != null ? textEncryptor.decrypt(encryptedText) : encryptedText;
+	}
+
+	private void releaseSavepoint(Savepoint savepoint) {
+		if (savepoint != null) {
+			try {
+				getTransactionalConnectionHolder().getConnection().releaseSavepoint(savepoint);
+			} catch (SQLException e) {
+				// released with the transaction at the latest
+			}
 		}
-		
-		private Long expireTime(long expireTime) {
-			return expireTime == 0 ? null : expireTime;
+	}
+
+	private void rollbackToSavepoint(Savepoint savepoint) {
+		if (savepoint != null) {
+			try {
+				getTransactionalConnectionHolder().getConnection().rollback(savepoint);
+			} catch (SQLException e) {
+				throw jdbcTemplate.getExceptionTranslator().translate("rollback to savepoint", null, e);
+			}
 		}
-		
+	}
+
+	private ConnectionHolder getTransactionalConnectionHolder() {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return null;
+		}
+		return (ConnectionHolder) TransactionSynchronizationManager.getResource(jdbcTemplate.getDataSource());
 	}
 
 	private <A> String getProviderId(Class<A> apiType) {
@@ -236,4 +358,6 @@ public class JdbcConnectionRepository implements ConnectionRepository {
 		return text != null ? textEncryptor.encrypt(text) : text;
 	}
 
+	private static final int MAX_RANK_ATTEMPTS = 10;
+
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.social.ExpiredAuthorizationException;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.support.RefreshLock;
+import org.springframework.social.oauth2.AccessGrant;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link RefreshLock} that coordinates refreshes through the UserConnection table of a {@link JdbcUsersConnectionRepository}.
+ * The caller's rows are told apart from those of other local users connected to the same provider user by the tokens being replaced:
+ * only the rows holding the caller's access token or refresh token are locked, with "select ... for update", for the duration of the refresh,
+ * and the new tokens are written to them before the lock is released.
+ * A process that obtains the lock after another one refreshed the connection finds the access token it meant to replace gone,
+ * and returns the grant persisted in its own row instead of redeeming the refresh token a second time.
+ * Must be given the same DataSource, TextEncryptor and table prefix as the repository.
+ */
+public class JdbcRefreshLock implements RefreshLock {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final TextEncryptor textEncryptor;
+
+	private String tablePrefix = "";
+
+	/**
+	 * Creates a refresh lock over the UserConnection table in the given DataSource.
+	 * @param dataSource the DataSource of the connection repository
+	 * @param textEncryptor the encryptor the connection repository protects tokens with
+	 */
+	public JdbcRefreshLock(DataSource dataSource, TextEncryptor textEncryptor) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		this.textEncryptor = textEncryptor;
+	}
+
+	/**
+	 * Sets a table name prefix. This will be prefixed to all the table names before queries are executed. Defaults to "".
+	 * @param tablePrefix the tablePrefix to set
+	 * @see JdbcUsersConnectionRepository#setTablePrefix(String)
+	 */
+	public void setTablePrefix(String tablePrefix) {
+		this.tablePrefix = tablePrefix;
+	}
+
+	/**
+	 * Refreshes the connection's grant while holding a lock on the caller's rows.
+	 * @throws ExpiredAuthorizationException if the connection is persisted for other users only, as when another process already replaced the caller's tokens with rotated ones
+	 */
+	public AccessGrant refresh(final ConnectionKey connectionKey, final String accessToken, final String refreshToken, final Supplier<AccessGrant> refresh) {
+		return transactionTemplate.execute(status -> {
+			List<PersistedGrant> persistedGrants = jdbcTemplate.query("select userId, accessToken, refreshToken, expireTime from " + tablePrefix + "UserConnection where providerId = ? and providerUserId = ?",
+					persistedGrantMapper, connectionKey.getProviderId(), connectionKey.getProviderUserId());
+			if (persistedGrants.isEmpty()) {
+				return refresh.get();
+			}
+			Set<String> ownUserIds = new TreeSet<String>();
+			for (PersistedGrant persistedGrant : persistedGrants) {
+				if (ObjectUtils.nullSafeEquals(accessToken, persistedGrant.accessToken) || (refreshToken != null && refreshToken.equals(persistedGrant.refreshToken))) {
+					ownUserIds.add(persistedGrant.userId);
+				}
+			}
+			if (ownUserIds.isEmpty()) {
+				// the tokens were replaced before we looked: the new grant can't be told apart from other users', and redeeming ours again would be a replay
+				throw new ExpiredAuthorizationException(connectionKey.getProviderId());
+			}
+			List<String> staleUserIds = new ArrayList<String>(ownUserIds.size());
+			PersistedGrant refreshed = null;
+			for (String userId : ownUserIds) {
+				// locked one by one, in user id order, so processes locking the same rows can't deadlock
+				List<PersistedGrant> locked = jdbcTemplate.query("select userId, accessToken, refreshToken, expireTime from " + tablePrefix + "UserConnection where userId = ? and providerId = ? and providerUserId = ? for update",
+						persistedGrantMapper, userId, connectionKey.getProviderId(), connectionKey.getProviderUserId());
+				for (PersistedGrant persistedGrant : locked) {
+					if (ObjectUtils.nullSafeEquals(accessToken, persistedGrant.accessToken)) {
+						staleUserIds.add(persistedGrant.userId);
+					} else {
+						refreshed = persistedGrant;
+					}
+				}
+			}
+			if (staleUserIds.isEmpty() && refreshed != null) {
+				// another process refreshed the connection while we were waiting for the lock
+				return refreshed.toAccessGrant();
+			}
+			AccessGrant accessGrant = refresh.get();
+			String newRefreshToken = accessGrant.getRefreshToken() != null ? accessGrant.getRefreshToken() : refreshToken;
+			for (String userId : staleUserIds) {
+				jdbcTemplate.update("update " + tablePrefix + "UserConnection set accessToken = ?, refreshToken = ?, expireTime = ? where userId = ? and providerId = ? and providerUserId = ?",
+						encrypt(accessGrant.getAccessToken()), encrypt(newRefreshToken), accessGrant.getExpireTime(), userId, connectionKey.getProviderId(), connectionKey.getProviderUserId());
+			}
+			return accessGrant;
+		});
+	}
+
+	// internal helpers
+
+	private final RowMapper<PersistedGrant> persistedGrantMapper = new RowMapper<PersistedGrant>() {
+		public PersistedGrant mapRow(ResultSet rs, int rowNum) throws SQLException {
+			long expireTime = rs.getLong("expireTime");
+			Long nullableExpireTime = rs.wasNull() ? null : expireTime;
+			return new PersistedGrant(rs.getString("userId"), decrypt(rs.getString("accessToken")), decrypt(rs.getString("refreshToken")), nullableExpireTime);
+		}
+	};
+
+	private String encrypt(String text) {
+		return text != null ? textEncryptor.encrypt(text) : text;
+	}
+
+	private String decrypt(String encryptedText) {
+		return encryptedText != null ? textEncryptor.decrypt(encryptedText) : encryptedText;
+	}
+
+	private static final class PersistedGrant {
+
+		private final String userId;
+
+		private final String accessToken;
+
+		private final String refreshToken;
+
+		private final Long expireTime;
+
+		public PersistedGrant(String userId, String accessToken, String refreshToken, Long expireTime) {
+			this.userId = userId;
+			this.accessToken = accessToken;
+			this.refreshToken = refreshToken;
+			this.expireTime = expireTime;
+		}
+
+		public AccessGrant toAccessGrant() {
+			Long expiresIn = expireTime != null ? (expireTime - System.currentTimeMillis()) / 1000 : null;
+			return new AccessGrant(accessToken, null, refreshToken, expiresIn);
+		}
+
+	}
+
+}
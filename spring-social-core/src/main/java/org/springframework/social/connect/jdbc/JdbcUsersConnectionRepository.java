@@ -17,34 +17,52 @@ package org.springframework.social.connect.jdbc;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
 import org.springframework.social.connect.ConnectionFactoryLocator;
 import org.springframework.social.connect.ConnectionKey;
 import org.springframework.social.connect.ConnectionRepository;
 import org.springframework.social.connect.ConnectionSignUp;
+import org.springframework.social.connect.UsersConnectionImporter;
 import org.springframework.social.connect.UsersConnectionRepository;
+import org.springframework.social.connect.UsersConnectionScanner;
+import org.springframework.util.Assert;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 
 /**
  * {@link UsersConnectionRepository} that uses the JDBC API to persist connection data to a relational database.
- * The supporting schema is defined in JdbcUsersConnectionRepository.sql.
+ * The supporting schema is defined in JdbcUsersConnectionRepository.sql; {@link JdbcUsersConnectionSchemaInitializer} creates it with the variant written for H2, PostgreSQL or MySQL.
  * @author Keith Donald
  */
-public class JdbcUsersConnectionRepository implements UsersConnectionRepository {
+public class JdbcUsersConnectionRepository implements UsersConnectionRepository, UsersConnectionImporter, UsersConnectionScanner {
 
 	private final JdbcTemplate jdbcTemplate;
+
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 	
 	private final ConnectionFactoryLocator connectionFactoryLocator;
 
@@ -52,12 +70,34 @@ public class JdbcUsersConnectionRepository implements UsersConnectionRepository
 
 	private ConnectionSignUp connectionSignUp;
 	
+	private final ServiceProviderConnectionMapper connectionMapper;
+
 	private String tablePrefix = "";
 
+	private String databaseName;
+
+	private volatile UserConnectionSql sql;
+
+	private int inClauseLimit = DEFAULT_IN_CLAUSE_LIMIT;
+
+	private int batchSize = JdbcConnectionImporter.DEFAULT_BATCH_SIZE;
+
+	private int fetchSize = DEFAULT_FETCH_SIZE;
+
+	private JdbcTemplate readJdbcTemplate;
+
+	private int readYourWritesWindow = DEFAULT_READ_YOUR_WRITES_WINDOW;
+
+	private ReadReplicaRouter readReplicaRouter;
+
 	public JdbcUsersConnectionRepository(DataSource dataSource, ConnectionFactoryLocator connectionFactoryLocator, TextEncryptor textEncryptor) {
 		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
 		this.connectionFactoryLocator = connectionFactoryLocator;
 		this.textEncryptor = textEncryptor;
+		this.connectionMapper = new ServiceProviderConnectionMapper(connectionFactoryLocator, textEncryptor);
+		this.readJdbcTemplate = jdbcTemplate;
+		this.readReplicaRouter = createReadReplicaRouter();
 	}
 
 	@Override
@@ -72,11 +112,83 @@ public class JdbcUsersConnectionRepository implements UsersConnectionRepository
 	 */
 	public void setTablePrefix(String tablePrefix) {
 		this.tablePrefix = tablePrefix;
+		this.sql = null;
+	}
+
+	/**
+	 * Sets the database the repository runs its SQL against, such as "h2", "postgresql" or "mysql", which decides how the rank column is quoted.
+	 * Defaults to the database product the DataSource reports when the repository is first used.
+	 * @param databaseName the database name
+	 */
+	public void setDatabaseName(String databaseName) {
+		this.databaseName = databaseName != null ? databaseName.toLowerCase() : null;
+		this.sql = null;
+	}
+
+	/**
+	 * Sets the maximum number of values bound to a single SQL "in" clause. Defaults to 500.
+	 * Larger inputs are split into several queries of at most this many values, keeping each statement within the bind parameter limits of the database.
+	 * Smaller ones are padded to the next power of two, at most this limit, so the database driver sees few distinct statements.
+	 * Also limits the provider user ids looked up per query by {@link #findUserIdsConnectedTo(MultiValueMap)} and {@link ConnectionRepository#findConnectionsToUsers(MultiValueMap)}.
+	 * @param inClauseLimit the maximum number of values per "in" clause
+	 */
+	public void setInClauseLimit(int inClauseLimit) {
+		Assert.isTrue(inClauseLimit > 0, "inClauseLimit must be greater than 0");
+		this.inClauseLimit = inClauseLimit;
+	}
+
+	/**
+	 * Sets the number of connections written per JDBC batch by {@link #importConnections(Stream)} and {@link ConnectionRepository#addConnections(Collection)}. Defaults to 1000.
+	 * @param batchSize the maximum number of connections per batch
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the number of rows {@link #scanConnections(String, BiConsumer)} reads per query, which is also the JDBC fetch size of that query. Defaults to 500.
+	 * @param fetchSize the number of rows per page of a scan
+	 */
+	public void setFetchSize(int fetchSize) {
+		Assert.isTrue(fetchSize > 0, "fetchSize must be greater than 0");
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Sets a DataSource for a read replica of the database, such as a pool of connections to replicas behind a load balancer.
+	 * Lookups go to the replica; adding, updating and removing connections goes to the DataSource the repository was constructed with.
+	 * A user who wrote a connection through this repository reads from the primary database for the {@link #setReadYourWritesWindow(int) readYourWritesWindow} after the write, as does any read made within a transaction on it.
+	 * Defaults to the DataSource the repository was constructed with.
+	 * @param readDataSource the DataSource of the read replica
+	 */
+	public void setReadDataSource(DataSource readDataSource) {
+		Assert.notNull(readDataSource, "readDataSource cannot be null");
+		this.readJdbcTemplate = new JdbcTemplate(readDataSource);
+		this.readReplicaRouter = createReadReplicaRouter();
+	}
+
+	/**
+	 * Sets the number of seconds a user reads from the primary database after writing a connection, when reads go to a {@link #setReadDataSource(DataSource) read replica}. Defaults to 5.
+	 * Should exceed the replication lag of the replica, so users see the connections they just added.
+	 * The writes are tracked in memory by each repository instance, so this only holds for reads on the same node as the write:
+	 * an application running on several nodes needs session affinity for users to see their own changes right away, as other nodes read from the replica.
+	 * @param readYourWritesWindow the number of seconds to read from the primary after a write; 0 to read from the replica right after a write
+	 */
+	public void setReadYourWritesWindow(int readYourWritesWindow) {
+		Assert.isTrue(readYourWritesWindow >= 0, "readYourWritesWindow cannot be negative");
+		this.readYourWritesWindow = readYourWritesWindow;
+		this.readReplicaRouter = createReadReplicaRouter();
 	}
 	
 	public List<String> findUserIdsWithConnection(Connection<?> connection) {
 		ConnectionKey key = connection.getKey();
-		List<String> localUserIds = jdbcTemplate.queryForList("select userId from " + tablePrefix + "UserConnection where providerId = ? and providerUserId = ?", String.class, key.getProviderId(), key.getProviderUserId());		
+		JdbcTemplate lookupTemplate = readReplicaRouter.getReadJdbcTemplate();
+		List<String> localUserIds = lookupTemplate.queryForList(sql().findUserIdsWithConnection, String.class, key.getProviderId(), key.getProviderUserId());
+		if (localUserIds.size() == 0 && lookupTemplate != jdbcTemplate) {
+			// the connection may not have reached the replica yet: make sure before sending the user to sign up
+			localUserIds = jdbcTemplate.queryForList(sql().findUserIdsWithConnection, String.class, key.getProviderId(), key.getProviderUserId());
+		}
 		if (localUserIds.size() == 0 && connectionSignUp != null) {
 			String newUserId = connectionSignUp.execute(connection);
 			if (newUserId != null)
@@ -88,27 +200,179 @@ public class JdbcUsersConnectionRepository implements UsersConnectionRepository
 		return localUserIds;
 	}
 
-	public Set<String> findUserIdsConnectedTo(String providerId, Set<String> providerUserIds) {
-		MapSqlParameterSource parameters = new MapSqlParameterSource();
-		parameters.addValue("providerId", providerId);
-		parameters.addValue("providerUserIds", providerUserIds);
+	public Set<String> findUserIdsConnectedTo(final String providerId, Set<String> providerUserIds) {
 		final Set<String> localUserIds = new HashSet<String>();
-		return new NamedParameterJdbcTemplate(jdbcTemplate).query("select userId from " + tablePrefix + "UserConnection where providerId = :providerId and providerUserId in (:providerUserIds)", parameters,
-			new ResultSetExtractor<Set<String>>() {
-				public Set<String> extractData(ResultSet rs) throws SQLException, DataAccessException {
-					while (rs.next()) {
-						localUserIds.add(rs.getString("userId"));
-					}
-					return localUserIds;
+		final RowCallbackHandler addUserId = new RowCallbackHandler() {
+			public void processRow(ResultSet rs) throws SQLException {
+				localUserIds.add(rs.getString("userId"));
+			}
+		};
+		final NamedParameterJdbcTemplate readNamedParameterJdbcTemplate = readReplicaRouter.getReadNamedParameterJdbcTemplate();
+		UserConnectionSql.forEachProviderUsersChunk(Collections.singletonMap(providerId, providerUserIds), inClauseLimit, chunk -> {
+			MapSqlParameterSource parameters = new MapSqlParameterSource();
+			parameters.addValue("providerId", providerId);
+			parameters.addValue("providerUserIds", UserConnectionSql.padInClause(chunk.get(providerId), inClauseLimit));
+			readNamedParameterJdbcTemplate.query(sql().findUserIdsConnectedTo, parameters, addUserId);
+		});
+		return localUserIds;
+	}
+
+	/**
+	 * Looks the provider users up with a query per {@link #setInClauseLimit(int) inClauseLimit} distinct provider user ids, whichever providers they belong to.
+	 * Each row is added to the result as it is read.
+	 */
+	public Map<String, Map<String, String>> findUserIdsConnectedTo(MultiValueMap<String, String> providerUsers) {
+		final Map<String, Map<String, String>> userIdsConnectedTo = new LinkedHashMap<String, Map<String, String>>();
+		Map<String, Set<String>> distinctProviderUsers = new LinkedHashMap<String, Set<String>>();
+		for (Entry<String, List<String>> entry : providerUsers.entrySet()) {
+			userIdsConnectedTo.put(entry.getKey(), new LinkedHashMap<String, String>());
+			distinctProviderUsers.put(entry.getKey(), new LinkedHashSet<String>(entry.getValue()));
+		}
+		final RowCallbackHandler putUserId = new RowCallbackHandler() {
+			public void processRow(ResultSet rs) throws SQLException {
+				userIdsConnectedTo.get(rs.getString("providerId")).merge(rs.getString("providerUserId"), rs.getString("userId"), (userId, otherUserId) -> userId.compareTo(otherUserId) <= 0 ? userId : otherUserId);
+			}
+		};
+		final NamedParameterJdbcTemplate readNamedParameterJdbcTemplate = readReplicaRouter.getReadNamedParameterJdbcTemplate();
+		UserConnectionSql.forEachProviderUsersChunk(distinctProviderUsers, inClauseLimit, chunk -> {
+			MapSqlParameterSource parameters = new MapSqlParameterSource();
+			readNamedParameterJdbcTemplate.query(sql().selectProviderUsers + " where " + UserConnectionSql.providerUsersCriteria(chunk, inClauseLimit, parameters), parameters, putUserId);
+		});
+		userIdsConnectedTo.values().removeIf(Map::isEmpty);
+		return userIdsConnectedTo;
+	}
+
+	public MultiValueMap<String, Connection<?>> findConnectionsForUsers(Set<String> userIds, String providerId) {
+		final MultiValueMap<String, Connection<?>> connectionsForUsers = new LinkedMultiValueMap<String, Connection<?>>();
+		if (userIds.isEmpty()) {
+			return connectionsForUsers;
+		}
+		NamedParameterJdbcTemplate readNamedParameterJdbcTemplate = readReplicaRouter.getReadNamedParameterJdbcTemplate();
+		List<String> userIdList = new ArrayList<String>(userIds);
+		for (int from = 0; from < userIdList.size(); from += inClauseLimit) {
+			MapSqlParameterSource parameters = new MapSqlParameterSource();
+			parameters.addValue("providerId", providerId);
+			parameters.addValue("userIds", UserConnectionSql.padInClause(userIdList.subList(from, Math.min(from + inClauseLimit, userIdList.size())), inClauseLimit));
+			readNamedParameterJdbcTemplate.query(sql().findConnectionsForUsers, parameters, new RowCallbackHandler() {
+				public void processRow(ResultSet rs) throws SQLException {
+					connectionsForUsers.add(rs.getString("userId"), connectionMapper.mapRow(rs, 0));
 				}
 			});
+		}
+		return connectionsForUsers;
+	}
+
+	/**
+	 * Walks the connections carrying a refresh token whose access token expires before the given time, soonest expiring first.
+	 * Used by {@link TokenRefreshScheduler} to refresh access tokens before they expire.
+	 * Reads a page of pageSize rows at a time, each continuing after the (expireTime, userId, providerId, providerUserId) of the last row of the previous one,
+	 * so connections the callback passes over don't keep it from reaching the ones after them.
+	 * Always reads from the primary database: a lagging read replica could hand out refresh tokens that have since been rotated.
+	 * @param expireTime the expiration time, in milliseconds since the epoch, connections should expire before
+	 * @param pageSize the number of rows read per page
+	 * @param callback invoked with the id of the local user, each expiring connection and its expiration time; returns false to end the scan
+	 */
+	void scanExpiringConnections(long expireTime, final int pageSize, final ExpiringConnectionCallback callback) {
+		final Object[] lastKey = new Object[4];
+		ResultSetExtractor<Boolean> pageExtractor = new ResultSetExtractor<Boolean>() {
+			public Boolean extractData(ResultSet rs) throws SQLException, DataAccessException {
+				int rows = 0;
+				while (rs.next()) {
+					lastKey[0] = rs.getLong("expireTime");
+					lastKey[1] = rs.getString("userId");
+					lastKey[2] = rs.getString("providerId");
+					lastKey[3] = rs.getString("providerUserId");
+					if (!callback.expiring((String) lastKey[1], connectionMapper.mapRow(rs, rows++), (Long) lastKey[0])) {
+						return false;
+					}
+				}
+				return rows == pageSize;
+			}
+		};
+		boolean morePages = jdbcTemplate.query(new PageStatementCreator(sql().scanExpiringConnections, pageSize, pageSize, expireTime), pageExtractor);
+		while (morePages) {
+			morePages = jdbcTemplate.query(new PageStatementCreator(sql().scanExpiringConnectionsAfter, pageSize, pageSize,
+					expireTime, lastKey[0], lastKey[0], lastKey[1], lastKey[1], lastKey[2], lastKey[2], lastKey[3]), pageExtractor);
+		}
+	}
+
+	/**
+	 * Imports the connections in batches of {@link #setBatchSize(int) batchSize}, each written with a single JDBC batch update.
+	 * Each batch is committed on its own unless the import runs within a transaction.
+	 * A connection that already exists, or that is streamed twice, fails the import with a {@link org.springframework.social.connect.DuplicateConnectionException}.
+	 */
+	public int importConnections(Stream<? extends Entry<String, ConnectionData>> connections) {
+		return createConnectionImporter().importConnections(connections.iterator());
+	}
+
+	/**
+	 * Scans the connections a page of {@link #setFetchSize(int) fetchSize} rows at a time.
+	 * Each page continues after the (providerUserId, userId) of the last row of the previous one, so the scan costs the same per row however far it has got and doesn't hold a cursor open between pages.
+	 * The tokens of the ConnectionData passed to the callback are decrypted the first time they are asked for.
+	 */
+	public void scanConnections(String providerId, final BiConsumer<String, ConnectionData> callback) {
+		JdbcTemplate readTemplate = readReplicaRouter.getReadJdbcTemplate();
+		final String[] lastKey = new String[2];
+		final int[] rows = new int[1];
+		RowCallbackHandler rowHandler = new RowCallbackHandler() {
+			public void processRow(ResultSet rs) throws SQLException {
+				lastKey[0] = rs.getString("providerUserId");
+				lastKey[1] = rs.getString("userId");
+				rows[0]++;
+				callback.accept(lastKey[1], connectionMapper.mapEncryptedConnectionData(rs));
+			}
+		};
+		readTemplate.query(new PageStatementCreator(sql().scanConnections, fetchSize, fetchSize, providerId), rowHandler);
+		while (rows[0] == fetchSize) {
+			rows[0] = 0;
+			readTemplate.query(new PageStatementCreator(sql().scanConnectionsAfter, fetchSize, fetchSize,
+					providerId, lastKey[0], lastKey[0], lastKey[1]), rowHandler);
+		}
 	}
 
 	public ConnectionRepository createConnectionRepository(String userId) {
 		if (userId == null) {
 			throw new IllegalArgumentException("userId cannot be null");
 		}
-		return new JdbcConnectionRepository(userId, jdbcTemplate, connectionFactoryLocator, textEncryptor, tablePrefix);
+		return new JdbcConnectionRepository(userId, jdbcTemplate, readReplicaRouter, connectionFactoryLocator, textEncryptor, sql(), createConnectionImporter(), inClauseLimit);
 	}
 
+	// internal helpers
+
+	private ReadReplicaRouter createReadReplicaRouter() {
+		if (readJdbcTemplate == jdbcTemplate) {
+			return new ReadReplicaRouter(jdbcTemplate, namedParameterJdbcTemplate);
+		}
+		return new ReadReplicaRouter(jdbcTemplate, namedParameterJdbcTemplate, readJdbcTemplate, new NamedParameterJdbcTemplate(readJdbcTemplate), readYourWritesWindow * 1000L);
+	}
+
+	private UserConnectionSql sql() {
+		UserConnectionSql sql = this.sql;
+		if (sql == null) {
+			sql = new UserConnectionSql(tablePrefix, databaseName != null ? databaseName : UserConnectionSql.detectDatabaseName(jdbcTemplate.getDataSource()));
+			this.sql = sql;
+		}
+		return sql;
+	}
+
+	private JdbcConnectionImporter createConnectionImporter() {
+		return new JdbcConnectionImporter(jdbcTemplate, namedParameterJdbcTemplate, textEncryptor, sql(), batchSize, inClauseLimit);
+	}
+
+	/**
+	 * Receives the connections walked by {@link JdbcUsersConnectionRepository#scanExpiringConnections(long, int, ExpiringConnectionCallback)}.
+	 * The expiration time is read from the row, so callers don't have to decrypt the connection's tokens to learn it.
+	 */
+	interface ExpiringConnectionCallback {
+
+		boolean expiring(String userId, Connection<?> connection, long expireTime);
+
+	}
+
+	static final int DEFAULT_IN_CLAUSE_LIMIT = 500;
+
+	private static final int DEFAULT_FETCH_SIZE = 500;
+
+	private static final int DEFAULT_READ_YOUR_WRITES_WINDOW = 5;
+
 }
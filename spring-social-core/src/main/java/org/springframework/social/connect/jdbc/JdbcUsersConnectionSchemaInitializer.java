@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.util.Assert;
+import org.springframework.util.FileCopyUtils;
+
+/**
+ * Creates the UserConnection table {@link JdbcUsersConnectionRepository} persists connections in, unless it already exists.
+ * Runs the script written for the database the DataSource connects to: JdbcUsersConnectionRepository-h2.sql, -postgresql.sql or -mysql.sql,
+ * falling back to the vendor-neutral JdbcUsersConnectionRepository.sql for other databases.
+ * Each creates the table with the index provider sign-in looks users up by.
+ */
+public class JdbcUsersConnectionSchemaInitializer implements InitializingBean {
+
+	private final static Log logger = LogFactory.getLog(JdbcUsersConnectionSchemaInitializer.class);
+
+	private final DataSource dataSource;
+
+	private String tablePrefix = "";
+
+	private String databaseName;
+
+	/**
+	 * Creates an initializer for the database of the given DataSource.
+	 * @param dataSource the DataSource of the database to create the table in
+	 */
+	public JdbcUsersConnectionSchemaInitializer(DataSource dataSource) {
+		Assert.notNull(dataSource, "dataSource cannot be null");
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Sets a table name prefix, as configured on the {@link JdbcUsersConnectionRepository#setTablePrefix(String) repository}. Defaults to "".
+	 * @param tablePrefix the tablePrefix to set
+	 */
+	public void setTablePrefix(String tablePrefix) {
+		this.tablePrefix = tablePrefix;
+	}
+
+	/**
+	 * Sets the database to create the table for: "h2", "postgresql" or "mysql".
+	 * Defaults to the database product the DataSource reports; other databases get the vendor-neutral script.
+	 * @param databaseName the database name
+	 */
+	public void setDatabaseName(String databaseName) {
+		this.databaseName = databaseName;
+	}
+
+	public void afterPropertiesSet() {
+		initialize();
+	}
+
+	/**
+	 * Creates the UserConnection table and its indexes if the table doesn't exist yet.
+	 * @return true if the table was created, false if it already existed
+	 */
+	public boolean initialize() {
+		if (tableExists()) {
+			return false;
+		}
+		String script = getScript(databaseName != null ? databaseName : detectDatabaseName());
+		if (logger.isInfoEnabled()) {
+			logger.info("Creating table " + tablePrefix + "UserConnection with " + script);
+		}
+		ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ByteArrayResource(prefixTableName(readScript(script)).getBytes(StandardCharsets.UTF_8)));
+		populator.execute(dataSource);
+		return true;
+	}
+
+	// internal helpers
+
+	private boolean tableExists() {
+		try {
+			new JdbcTemplate(dataSource).queryForObject("select count(*) from " + tablePrefix + "UserConnection where 1 = 0", Integer.class);
+			return true;
+		} catch (DataAccessException e) {
+			return false;
+		}
+	}
+
+	private String detectDatabaseName() {
+		try {
+			String productName = JdbcUtils.commonDatabaseName((String) JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName"));
+			return productName != null ? productName.toLowerCase() : null;
+		} catch (MetaDataAccessException e) {
+			logger.warn("Unable to detect the database product, creating " + tablePrefix + "UserConnection with the vendor-neutral script", e);
+			return null;
+		}
+	}
+
+	private String getScript(String databaseName) {
+		if (databaseName != null) {
+			switch (databaseName.toLowerCase()) {
+			case "h2":
+				return "JdbcUsersConnectionRepository-h2.sql";
+			case "postgresql":
+				return "JdbcUsersConnectionRepository-postgresql.sql";
+			case "mysql":
+			case "mariadb":
+				return "JdbcUsersConnectionRepository-mysql.sql";
+			}
+		}
+		return "JdbcUsersConnectionRepository.sql";
+	}
+
+	private String readScript(String script) {
+		try {
+			return FileCopyUtils.copyToString(new InputStreamReader(new ClassPathResource(script, JdbcUsersConnectionSchemaInitializer.class).getInputStream(), StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read " + script, e);
+		}
+	}
+
+	private String prefixTableName(String script) {
+		// only the table references are prefixed: index names stay as they are, which keeps a schema-qualifying prefix valid
+		return TABLE_REFERENCE.matcher(script).replaceAll(Matcher.quoteReplacement(tablePrefix) + "UserConnection");
+	}
+
+	private static final Pattern TABLE_REFERENCE = Pattern.compile("\\bUserConnection(?=\\s*\\()");
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+
+/**
+ * Prepares a query that reads at most a page of rows.
+ * Sets the row limit on the statement rather than on a JdbcTemplate of its own,
+ * so paged reads run on the repository's template and keep its query timeout and exception translation.
+ */
+final class PageStatementCreator implements PreparedStatementCreator, SqlProvider {
+
+	private final String sql;
+
+	private final int maxRows;
+
+	private final int fetchSize;
+
+	private final Object[] args;
+
+	/**
+	 * @param sql the query
+	 * @param maxRows the maximum number of rows to read; 0 for no limit
+	 * @param fetchSize the number of rows to fetch per round trip; 0 for the driver's default
+	 * @param args the arguments to bind to the query
+	 */
+	PageStatementCreator(String sql, int maxRows, int fetchSize, Object... args) {
+		this.sql = sql;
+		this.maxRows = maxRows;
+		this.fetchSize = fetchSize;
+		this.args = args;
+	}
+
+	public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+		PreparedStatement ps = connection.prepareStatement(sql);
+		ps.setMaxRows(maxRows);
+		if (fetchSize > 0) {
+			ps.setFetchSize(fetchSize);
+		}
+		new ArgumentPreparedStatementSetter(args).setValues(ps);
+		return ps;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+}
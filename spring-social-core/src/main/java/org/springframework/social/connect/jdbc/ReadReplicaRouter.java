@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Picks the database the reads of a {@link JdbcUsersConnectionRepository} go to: a read replica, unless the read should see a recent write.
+ * Reads made within a transaction on the primary database go to the primary, as do the reads of a user for a while after the user wrote a connection through this router.
+ * The times of those writes are kept in memory, so a user's reads only go to the primary on the node that made the write;
+ * another node serving the user reads from the replica and may not see the write until it has replicated.
+ * Writes always go to the primary database.
+ */
+final class ReadReplicaRouter {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	private final JdbcTemplate readJdbcTemplate;
+
+	private final NamedParameterJdbcTemplate readNamedParameterJdbcTemplate;
+
+	private final long readYourWritesWindow;
+
+	// the time of each user's last write, in milliseconds since the epoch, for users who wrote within the window
+	private final ConcurrentMap<String, Long> writeTimes = new ConcurrentHashMap<String, Long>();
+
+	private volatile long nextPurge;
+
+	/**
+	 * Creates a router sending all reads to the primary database.
+	 */
+	ReadReplicaRouter(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+		this(jdbcTemplate, namedParameterJdbcTemplate, jdbcTemplate, namedParameterJdbcTemplate, 0);
+	}
+
+	/**
+	 * Creates a router sending reads to the given read replica.
+	 * @param readYourWritesWindow the number of milliseconds after a write its user reads from the primary database
+	 */
+	ReadReplicaRouter(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate, JdbcTemplate readJdbcTemplate, NamedParameterJdbcTemplate readNamedParameterJdbcTemplate, long readYourWritesWindow) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+		this.readJdbcTemplate = readJdbcTemplate;
+		this.readNamedParameterJdbcTemplate = readNamedParameterJdbcTemplate;
+		this.readYourWritesWindow = readYourWritesWindow;
+	}
+
+	/**
+	 * The template for a read that spans users.
+	 */
+	JdbcTemplate getReadJdbcTemplate() {
+		return inPrimaryTransaction() ? jdbcTemplate : readJdbcTemplate;
+	}
+
+	/**
+	 * The template for a read of the given user's connections.
+	 */
+	JdbcTemplate getReadJdbcTemplate(String userId) {
+		return inPrimaryTransaction() || wroteRecently(userId) ? jdbcTemplate : readJdbcTemplate;
+	}
+
+	/**
+	 * The named parameter template for a read that spans users.
+	 */
+	NamedParameterJdbcTemplate getReadNamedParameterJdbcTemplate() {
+		return inPrimaryTransaction() ? namedParameterJdbcTemplate : readNamedParameterJdbcTemplate;
+	}
+
+	/**
+	 * The named parameter template for a read of the given user's connections.
+	 */
+	NamedParameterJdbcTemplate getReadNamedParameterJdbcTemplate(String userId) {
+		return inPrimaryTransaction() || wroteRecently(userId) ? namedParameterJdbcTemplate : readNamedParameterJdbcTemplate;
+	}
+
+	/**
+	 * Records that the given user wrote to the primary database, sending the user's reads on this node to the primary for the window that follows.
+	 */
+	void recordWrite(String userId) {
+		if (readJdbcTemplate == jdbcTemplate || readYourWritesWindow == 0) {
+			return;
+		}
+		final long now = System.currentTimeMillis();
+		writeTimes.put(userId, now);
+		if (now >= nextPurge) {
+			// forget the users whose window has passed, at most once per window
+			nextPurge = now + readYourWritesWindow;
+			writeTimes.values().removeIf(writeTime -> now - writeTime >= readYourWritesWindow);
+		}
+	}
+
+	// internal helpers
+
+	private boolean wroteRecently(String userId) {
+		Long writeTime = writeTimes.get(userId);
+		return writeTime != null && System.currentTimeMillis() - writeTime < readYourWritesWindow;
+	}
+
+	private boolean inPrimaryTransaction() {
+		return readJdbcTemplate != jdbcTemplate && TransactionSynchronizationManager.hasResource(jdbcTemplate.getDataSource());
+	}
+
+}
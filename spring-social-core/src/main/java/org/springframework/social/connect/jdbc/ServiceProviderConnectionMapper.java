@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionFactory;
+import org.springframework.social.connect.ConnectionFactoryLocator;
+
+/**
+ * Maps a row of the UserConnection table to a {@link Connection}, decrypting the token columns with the configured {@link TextEncryptor} when the connection first needs them.
+ * Shared by {@link JdbcUsersConnectionRepository} and the {@link JdbcConnectionRepository} instances it creates.
+ */
+final class ServiceProviderConnectionMapper implements RowMapper<Connection<?>> {
+
+	private final ConnectionFactoryLocator connectionFactoryLocator;
+
+	private final TextEncryptor textEncryptor;
+
+	ServiceProviderConnectionMapper(ConnectionFactoryLocator connectionFactoryLocator, TextEncryptor textEncryptor) {
+		this.connectionFactoryLocator = connectionFactoryLocator;
+		this.textEncryptor = textEncryptor;
+	}
+
+	public Connection<?> mapRow(ResultSet rs, int rowNum) throws SQLException {
+		// the connection reads the tokens, and so decrypts them, only once it is used
+		ConnectionData connectionData = mapEncryptedConnectionData(rs);
+		ConnectionFactory<?> connectionFactory = connectionFactoryLocator.getConnectionFactory(connectionData.getProviderId());
+		return connectionFactory.createConnection(connectionData);
+	}
+
+	/**
+	 * Maps the current row to {@link ConnectionData} whose token columns are decrypted on first access.
+	 */
+	ConnectionData mapEncryptedConnectionData(ResultSet rs) throws SQLException {
+		return new EncryptedConnectionData(rs.getString("providerId"), rs.getString("providerUserId"), rs.getString("displayName"), rs.getString("profileUrl"), rs.getString("imageUrl"),
+				rs.getString("accessToken"), rs.getString("secret"), rs.getString("refreshToken"), expireTime(rs.getLong("expireTime")), textEncryptor);
+	}
+
+	// internal helpers
+
+	private Long expireTime(long expireTime) {
+		return expireTime == 0 ? null : expireTime;
+	}
+
+}
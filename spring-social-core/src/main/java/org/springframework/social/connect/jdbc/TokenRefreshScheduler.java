@@ -0,0 +1,373 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.support.CachingUsersConnectionRepository;
+import org.springframework.social.oauth2.OAuth2Operations;
+import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadCreator;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Refreshes the access tokens of persisted OAuth2 connections in the background, shortly before they expire,
+ * so that requests made on behalf of users don't have to wait for a round trip to the provider's token endpoint.
+ * Periodically scans the UserConnection table of a {@link JdbcUsersConnectionRepository} for connections holding a refresh token whose expireTime falls within the refresh window.
+ * Each of them is refreshed through {@link OAuth2Operations#refreshAccess(String, MultiValueMap)} after a random delay that spreads the load on the token endpoints,
+ * and the new tokens are saved with {@link org.springframework.social.connect.ConnectionRepository#updateConnection(Connection)}.
+ * Refreshes run on a bounded pool of worker threads, with a limit on how many may be in flight against any single provider.
+ * A connection whose refresh fails is retried after a delay that doubles with each consecutive failure, so connections that keep failing,
+ * such as those whose refresh token has been revoked, don't crowd out the ones about to expire.
+ * Started and stopped with the bean lifecycle, or by calling {@link #start()} and {@link #stop()}.
+ */
+public class TokenRefreshScheduler implements InitializingBean, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(TokenRefreshScheduler.class);
+
+	private final JdbcUsersConnectionRepository usersConnectionRepository;
+
+	private final Set<List<String>> pendingRefreshes = ConcurrentHashMap.newKeySet();
+
+	private final ConcurrentMap<List<String>, RetryBackoff> retryBackoffs = new ConcurrentHashMap<List<String>, RetryBackoff>();
+
+	private final ConcurrentMap<String, Semaphore> providerPermits = new ConcurrentHashMap<String, Semaphore>();
+
+	private int poolSize = DEFAULT_POOL_SIZE;
+
+	private int concurrencyLimit = DEFAULT_CONCURRENCY_LIMIT;
+
+	private Map<String, Integer> providerConcurrencyLimits = Collections.emptyMap();
+
+	private long refreshWindow = DEFAULT_REFRESH_WINDOW;
+
+	private long scanInterval = DEFAULT_SCAN_INTERVAL;
+
+	private long maxJitter = DEFAULT_MAX_JITTER;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	private long retryDelay = DEFAULT_RETRY_DELAY;
+
+	private long maxRetryDelay = DEFAULT_MAX_RETRY_DELAY;
+
+	private CachingUsersConnectionRepository connectionCache;
+
+	private volatile ScheduledExecutorService executor;
+
+	/**
+	 * Creates a scheduler refreshing the connections persisted by the given repository.
+	 * @param usersConnectionRepository the repository to scan for expiring connections and to save refreshed connections to
+	 */
+	public TokenRefreshScheduler(JdbcUsersConnectionRepository usersConnectionRepository) {
+		Assert.notNull(usersConnectionRepository, "usersConnectionRepository cannot be null");
+		this.usersConnectionRepository = usersConnectionRepository;
+	}
+
+	/**
+	 * Sets the number of worker threads refreshing tokens. Defaults to 4.
+	 * @param poolSize the number of worker threads
+	 */
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "poolSize must be greater than 0");
+		this.poolSize = poolSize;
+	}
+
+	/**
+	 * Sets the maximum number of refreshes in flight against a single provider, unless overridden for the provider. Defaults to 2.
+	 * @param concurrencyLimit the maximum number of concurrent refreshes per provider
+	 */
+	public void setConcurrencyLimit(int concurrencyLimit) {
+		Assert.isTrue(concurrencyLimit > 0, "concurrencyLimit must be greater than 0");
+		this.concurrencyLimit = concurrencyLimit;
+	}
+
+	/**
+	 * Sets the maximum number of refreshes in flight against specific providers, overriding the {@link #setConcurrencyLimit(int) default limit}.
+	 * @param providerConcurrencyLimits the concurrency limits keyed by provider id
+	 */
+	public void setProviderConcurrencyLimits(Map<String, Integer> providerConcurrencyLimits) {
+		for (Integer limit : providerConcurrencyLimits.values()) {
+			Assert.isTrue(limit != null && limit > 0, "provider concurrency limits must be greater than 0");
+		}
+		this.providerConcurrencyLimits = new HashMap<String, Integer>(providerConcurrencyLimits);
+	}
+
+	/**
+	 * Sets how many seconds before its expiration an access token is refreshed. Defaults to 300.
+	 * @param refreshWindow the refresh window, in seconds
+	 */
+	public void setRefreshWindow(int refreshWindow) {
+		Assert.isTrue(refreshWindow > 0, "refreshWindow must be greater than 0");
+		this.refreshWindow = refreshWindow * 1000L;
+	}
+
+	/**
+	 * Sets the number of seconds between two scans for expiring connections. Defaults to 60.
+	 * Should be well below the {@link #setRefreshWindow(int) refresh window} so each token is seen before it expires.
+	 * @param scanInterval the scan interval, in seconds
+	 */
+	public void setScanInterval(int scanInterval) {
+		Assert.isTrue(scanInterval > 0, "scanInterval must be greater than 0");
+		this.scanInterval = scanInterval * 1000L;
+	}
+
+	/**
+	 * Sets the maximum number of seconds a refresh is randomly delayed by, spreading refreshes of tokens that expire together. Defaults to 30.
+	 * A refresh is never delayed by more than half the time left before the token expires.
+	 * @param maxJitter the maximum delay, in seconds; 0 to refresh as soon as a connection is found
+	 */
+	public void setMaxJitter(int maxJitter) {
+		Assert.isTrue(maxJitter >= 0, "maxJitter cannot be negative");
+		this.maxJitter = maxJitter * 1000L;
+	}
+
+	/**
+	 * Sets the maximum number of refreshes scheduled by a single scan, which is also the number of rows the scan reads at a time. Defaults to 500.
+	 * @param batchSize the maximum number of refreshes per scan
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the number of seconds a connection whose refresh failed waits before it is refreshed again. Defaults to 60.
+	 * The delay doubles with each consecutive failure of the same connection, up to the {@link #setMaxRetryDelay(int) maximum retry delay}.
+	 * @param retryDelay the delay after a first failure, in seconds; 0 to retry on the next scan
+	 */
+	public void setRetryDelay(int retryDelay) {
+		Assert.isTrue(retryDelay >= 0, "retryDelay cannot be negative");
+		this.retryDelay = retryDelay * 1000L;
+	}
+
+	/**
+	 * Sets the maximum number of seconds a connection whose refresh keeps failing waits before it is refreshed again. Defaults to 3600.
+	 * @param maxRetryDelay the maximum retry delay, in seconds
+	 */
+	public void setMaxRetryDelay(int maxRetryDelay) {
+		Assert.isTrue(maxRetryDelay > 0, "maxRetryDelay must be greater than 0");
+		this.maxRetryDelay = maxRetryDelay * 1000L;
+	}
+
+	/**
+	 * Sets the connection cache in front of the repository, if any.
+	 * A user's cached connections are evicted once one of them has been refreshed, so the cache doesn't keep handing out the replaced tokens.
+	 * @param connectionCache the caching repository wrapping the repository this scheduler refreshes the connections of
+	 */
+	public void setConnectionCache(CachingUsersConnectionRepository connectionCache) {
+		this.connectionCache = connectionCache;
+	}
+
+	public void afterPropertiesSet() {
+		start();
+	}
+
+	public void destroy() {
+		stop();
+	}
+
+	/**
+	 * Starts scanning for expiring connections, immediately and then every {@link #setScanInterval(int) scan interval}.
+	 */
+	public synchronized void start() {
+		if (executor != null) {
+			return;
+		}
+		CustomizableThreadCreator threadCreator = new CustomizableThreadCreator("token-refresh-");
+		threadCreator.setDaemon(true);
+		executor = new ScheduledThreadPoolExecutor(poolSize, threadCreator::createThread);
+		executor.scheduleWithFixedDelay(new Runnable() {
+			public void run() {
+				try {
+					refreshExpiringConnections();
+				} catch (RuntimeException e) {
+					// an exception escaping would cancel all further scans
+					logger.warn("Unable to scan for expiring connections", e);
+				}
+			}
+		}, 0, scanInterval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops scanning and abandons the refreshes that have not started yet.
+	 */
+	public synchronized void stop() {
+		if (executor == null) {
+			return;
+		}
+		executor.shutdownNow();
+		executor = null;
+		pendingRefreshes.clear();
+		retryBackoffs.clear();
+	}
+
+	/**
+	 * Scans for connections expiring within the refresh window and schedules their refresh, up to the {@link #setBatchSize(int) batch size}.
+	 * Connections whose refresh is already pending, or waiting to be retried after a failure, are skipped.
+	 * Called periodically once started; may also be called directly to trigger a scan.
+	 * @return the number of refreshes scheduled
+	 */
+	public int refreshExpiringConnections() {
+		ScheduledExecutorService executor = this.executor;
+		Assert.state(executor != null, "TokenRefreshScheduler has not been started");
+		final long now = System.currentTimeMillis();
+		// forget the failures of connections that haven't come up for retry in a long while, such as removed ones
+		retryBackoffs.values().removeIf(backoff -> now - backoff.nextAttempt > maxRetryDelay);
+		final int[] scheduled = new int[1];
+		usersConnectionRepository.scanExpiringConnections(now + refreshWindow, batchSize, (userId, connection, expireTime) -> {
+			ConnectionRefresh refresh = new ConnectionRefresh(userId, connection);
+			if (!backingOff(refresh.id, now) && pendingRefreshes.add(refresh.id)) {
+				if (refresh.schedule(executor, jitter(expireTime - now))) {
+					scheduled[0]++;
+				}
+			}
+			return scheduled[0] < batchSize;
+		});
+		return scheduled[0];
+	}
+
+	// internal helpers
+
+	private boolean backingOff(List<String> id, long now) {
+		RetryBackoff backoff = retryBackoffs.get(id);
+		return backoff != null && backoff.nextAttempt > now;
+	}
+
+	private void recordFailure(List<String> id) {
+		retryBackoffs.compute(id, (key, backoff) -> {
+			int failures = backoff != null ? backoff.failures + 1 : 1;
+			long delay = Math.min(retryDelay << Math.min(failures - 1, 20), maxRetryDelay);
+			return new RetryBackoff(failures, System.currentTimeMillis() + delay);
+		});
+	}
+
+	private long jitter(long expiresIn) {
+		long bound = Math.min(maxJitter, expiresIn / 2);
+		return bound > 0 ? ThreadLocalRandom.current().nextLong(bound) : 0;
+	}
+
+	private Semaphore getProviderPermits(String providerId) {
+		return providerPermits.computeIfAbsent(providerId, id -> {
+			Integer limit = providerConcurrencyLimits.get(id);
+			return new Semaphore(limit != null ? limit : concurrencyLimit);
+		});
+	}
+
+	private class ConnectionRefresh implements Runnable {
+
+		private final String userId;
+
+		private final Connection<?> connection;
+
+		private final List<String> id;
+
+		public ConnectionRefresh(String userId, Connection<?> connection) {
+			this.userId = userId;
+			this.connection = connection;
+			this.id = Arrays.asList(userId, connection.getKey().getProviderId(), connection.getKey().getProviderUserId());
+		}
+
+		public void run() {
+			Semaphore permits = getProviderPermits(connection.getKey().getProviderId());
+			if (!permits.tryAcquire()) {
+				// the provider is at its limit: try again shortly rather than holding a worker other providers could use
+				ScheduledExecutorService executor = TokenRefreshScheduler.this.executor;
+				if (executor != null) {
+					schedule(executor, PERMIT_RETRY_DELAY);
+				}
+				return;
+			}
+			try {
+				connection.refresh();
+				usersConnectionRepository.createConnectionRepository(userId).updateConnection(connection);
+				retryBackoffs.remove(id);
+				if (connectionCache != null) {
+					connectionCache.evict(userId);
+				}
+			} catch (RuntimeException e) {
+				// left for a later scan to pick up again once the retry delay has passed
+				recordFailure(id);
+				logger.warn("Unable to refresh the access token of connection " + connection.getKey() + " for user " + userId, e);
+			} finally {
+				permits.release();
+				pendingRefreshes.remove(id);
+			}
+		}
+
+		public boolean schedule(ScheduledExecutorService executor, long delay) {
+			try {
+				executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+				return true;
+			} catch (RejectedExecutionException e) {
+				// stopped meanwhile
+				pendingRefreshes.remove(id);
+				return false;
+			}
+		}
+
+	}
+
+	private static final class RetryBackoff {
+
+		private final int failures;
+
+		private final long nextAttempt;
+
+		public RetryBackoff(int failures, long nextAttempt) {
+			this.failures = failures;
+			this.nextAttempt = nextAttempt;
+		}
+
+	}
+
+	private static final int DEFAULT_POOL_SIZE = 4;
+
+	private static final int DEFAULT_CONCURRENCY_LIMIT = 2;
+
+	private static final long DEFAULT_REFRESH_WINDOW = 300 * 1000L;
+
+	private static final long DEFAULT_SCAN_INTERVAL = 60 * 1000L;
+
+	private static final long DEFAULT_MAX_JITTER = 30 * 1000L;
+
+	private static final int DEFAULT_BATCH_SIZE = 500;
+
+	private static final long DEFAULT_RETRY_DELAY = 60 * 1000L;
+
+	private static final long DEFAULT_MAX_RETRY_DELAY = 3600 * 1000L;
+
+	private static final long PERMIT_RETRY_DELAY = 250L;
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * The statements run against the UserConnection table, built once for a table prefix and database.
+ * Shared by a {@link JdbcUsersConnectionRepository} with the {@link JdbcConnectionRepository} instances and {@link JdbcConnectionImporter} it creates,
+ * so the same SQL strings are handed to the JDBC layer on every call.
+ */
+final class UserConnectionSql {
+
+	private final static Log logger = LogFactory.getLog(UserConnectionSql.class);
+
+	final String selectFromUserConnection;
+
+	final String findAllConnections;
+
+	final String findConnections;
+
+	final String findConnectionsAfterRank;
+
+	final String getConnection;
+
+	final String countConnection;
+
+	final String getRank;
+
+	final String addConnection;
+
+	final String insertConnection;
+
+	final String updateConnection;
+
+	final String removeConnections;
+
+	final String removeConnection;
+
+	final String findUserIdsWithConnection;
+
+	final String findUserIdsConnectedTo;
+
+	final String selectProviderUsers;
+
+	final String findConnectionsForUsers;
+
+	final String scanExpiringConnections;
+
+	final String scanExpiringConnectionsAfter;
+
+	final String scanConnections;
+
+	final String scanConnectionsAfter;
+
+	final String findMaxRanks;
+
+	UserConnectionSql(String tablePrefix, String databaseName) {
+		String table = tablePrefix + "UserConnection";
+		String rank = rankColumn(databaseName);
+		selectFromUserConnection = "select userId, providerId, providerUserId, displayName, profileUrl, imageUrl, accessToken, secret, refreshToken, expireTime from " + table;
+		findAllConnections = selectFromUserConnection + " where userId = ? order by providerId, " + rank;
+		findConnections = selectFromUserConnection + " where userId = ? and providerId = ? order by " + rank;
+		findConnectionsAfterRank = "select userId, providerId, providerUserId, " + rank + ", displayName, profileUrl, imageUrl, accessToken, secret, refreshToken, expireTime from " + table + " where userId = ? and providerId = ? and " + rank + " > ? order by " + rank;
+		getConnection = selectFromUserConnection + " where userId = ? and providerId = ? and providerUserId = ?";
+		countConnection = "select count(*) from " + table + " where userId = ? and providerId = ? and providerUserId = ?";
+		getRank = "select " + rank + " from " + table + " where userId = ? and providerId = ? and providerUserId = ?";
+		addConnection = "insert into " + table + " (userId, providerId, providerUserId, " + rank + ", displayName, profileUrl, imageUrl, accessToken, secret, refreshToken, expireTime) " +
+				"select ?, ?, ?, coalesce(max(" + rank + ") + 1, 1), ?, ?, ?, ?, ?, ?, ? from " + table + " where userId = ? and providerId = ?";
+		insertConnection = "insert into " + table + " (userId, providerId, providerUserId, " + rank + ", displayName, profileUrl, imageUrl, accessToken, secret, refreshToken, expireTime) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		updateConnection = "update " + table + " set displayName = ?, profileUrl = ?, imageUrl = ?, accessToken = ?, secret = ?, refreshToken = ?, expireTime = ? where userId = ? and providerId = ? and providerUserId = ?";
+		removeConnections = "delete from " + table + " where userId = ? and providerId = ?";
+		removeConnection = "delete from " + table + " where userId = ? and providerId = ? and providerUserId = ?";
+		findUserIdsWithConnection = "select userId from " + table + " where providerId = ? and providerUserId = ?";
+		findUserIdsConnectedTo = "select userId from " + table + " where providerId = :providerId and providerUserId in (:providerUserIds)";
+		selectProviderUsers = "select providerId, providerUserId, userId from " + table;
+		findConnectionsForUsers = selectFromUserConnection + " where providerId = :providerId and userId in (:userIds) order by userId, " + rank;
+		scanExpiringConnections = selectFromUserConnection + " where refreshToken is not null and expireTime < ? order by expireTime, userId, providerId, providerUserId";
+		scanExpiringConnectionsAfter = selectFromUserConnection + " where refreshToken is not null and expireTime < ? and (expireTime > ? or (expireTime = ? and (userId > ? or (userId = ? and (providerId > ? or (providerId = ? and providerUserId > ?))))))" +
+				" order by expireTime, userId, providerId, providerUserId";
+		scanConnections = selectFromUserConnection + " where providerId = ? order by providerUserId, userId";
+		scanConnectionsAfter = selectFromUserConnection + " where providerId = ? and (providerUserId > ? or (providerUserId = ? and userId > ?)) order by providerUserId, userId";
+		findMaxRanks = "select userId, providerId, max(" + rank + ") as " + rank + " from " + table + " where userId in (:userIds) group by userId, providerId";
+	}
+
+	/**
+	 * Returns the rank column as statements run against the given database refer to it.
+	 * MySQL reserves "rank" as of 8.0, so it is quoted with backticks there; PostgreSQL and most other databases reject backticks and take the plain name.
+	 * @param databaseName the lower-case database name, such as "h2", "postgresql" or "mysql"; null if unknown
+	 */
+	static String rankColumn(String databaseName) {
+		return "mysql".equals(databaseName) || "mariadb".equals(databaseName) ? "`rank`" : "rank";
+	}
+
+	/**
+	 * Detects the database the DataSource connects to from the product name it reports.
+	 * @param dataSource the DataSource to ask
+	 * @return the lower-case database name, such as "h2", "postgresql" or "mysql"; null if it couldn't be detected
+	 */
+	static String detectDatabaseName(DataSource dataSource) {
+		try {
+			String productName = JdbcUtils.commonDatabaseName((String) JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName"));
+			return productName != null ? productName.toLowerCase() : null;
+		} catch (MetaDataAccessException e) {
+			logger.warn("Unable to detect the database product, leaving the rank column of UserConnection unquoted", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Pads the values bound to an "in" clause to the next power of two, or to the in clause limit if that is smaller, by repeating the last value.
+	 * The repeats don't change what the clause matches, but they leave a handful of distinct expanded statements instead of one per list length,
+	 * which keeps driver-side statement caches effective.
+	 * Lists already at or beyond the limit are returned as they are.
+	 */
+	static <T> List<T> padInClause(Collection<T> values, int inClauseLimit) {
+		List<T> padded = new ArrayList<T>(values);
+		int size = padded.size();
+		if (size == 0 || size >= inClauseLimit) {
+			return padded;
+		}
+		int bucket = Math.min(Integer.highestOneBit(size - 1) << 1, inClauseLimit);
+		T last = padded.get(size - 1);
+		while (padded.size() < bucket) {
+			padded.add(last);
+		}
+		return padded;
+	}
+
+	/**
+	 * Splits provider user ids, keyed by provider id, into chunks of at most inClauseLimit ids, filling each chunk across providers in the order given.
+	 * A provider's ids are split between chunks where they don't fit; each chunk is handed to the query as soon as it is full.
+	 */
+	static void forEachProviderUsersChunk(Map<String, ? extends Collection<String>> providerUsers, int inClauseLimit, Consumer<Map<String, List<String>>> query) {
+		Map<String, List<String>> chunk = new LinkedHashMap<String, List<String>>();
+		int chunkSize = 0;
+		for (Entry<String, ? extends Collection<String>> entry : providerUsers.entrySet()) {
+			List<String> providerUserIds = new ArrayList<String>(entry.getValue());
+			for (int from = 0; from < providerUserIds.size();) {
+				int to = Math.min(providerUserIds.size(), from + inClauseLimit - chunkSize);
+				chunk.put(entry.getKey(), providerUserIds.subList(from, to));
+				chunkSize += to - from;
+				from = to;
+				if (chunkSize == inClauseLimit) {
+					query.accept(chunk);
+					chunk = new LinkedHashMap<String, List<String>>();
+					chunkSize = 0;
+				}
+			}
+		}
+		if (chunkSize > 0) {
+			query.accept(chunk);
+		}
+	}
+
+	/**
+	 * Builds the criteria matching the provider users of a chunk, one "in" clause per provider, binding their values to the parameters.
+	 * Parameters are named by position, so provider ids needn't be valid parameter names.
+	 * The ids of a chunk for a single provider, the common case, are padded like other "in" clauses.
+	 */
+	static String providerUsersCriteria(Map<String, List<String>> providerUsers, int inClauseLimit, MapSqlParameterSource parameters) {
+		StringBuilder criteria = new StringBuilder("(");
+		int provider = 0;
+		for (Entry<String, List<String>> entry : providerUsers.entrySet()) {
+			if (provider > 0) {
+				criteria.append(" or ");
+			}
+			criteria.append("(providerId = :providerId_").append(provider).append(" and providerUserId in (:providerUserIds_").append(provider).append("))");
+			parameters.addValue("providerId_" + provider, entry.getKey());
+			parameters.addValue("providerUserIds_" + provider, providerUsers.size() == 1 ? padInClause(entry.getValue(), inClauseLimit) : entry.getValue());
+			provider++;
+		}
+		return criteria.append(")").toString();
+	}
+
+}
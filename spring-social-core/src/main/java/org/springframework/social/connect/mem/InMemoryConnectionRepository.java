@@ -15,14 +15,19 @@
  */
 package org.springframework.social.connect.mem;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.springframework.social.connect.Connection;
 import org.springframework.social.connect.ConnectionFactoryLocator;
 import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.ConnectionPage;
 import org.springframework.social.connect.ConnectionRepository;
 import org.springframework.social.connect.DuplicateConnectionException;
 import org.springframework.social.connect.NoSuchConnectionException;
@@ -31,34 +36,83 @@ import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+/**
+ * {@link ConnectionRepository} that stores a single user's connections in memory.
+ * Safe for concurrent use: each provider's connections are held in a copy-on-write list, so finders never block and never observe a partially applied change,
+ * while writes are serialized per repository (and therefore per user) so duplicate checks and rank order stay consistent.
+ * @author Craig Walls
+ */
 public class InMemoryConnectionRepository implements ConnectionRepository {
 
 	// <providerId, Connection<provider API>>
-	private MultiValueMap<String, Connection<?>> connections;
-		
-	private ConnectionFactoryLocator connectionFactoryLocator;
+	private final ConcurrentMap<String, List<Connection<?>>> connections = new ConcurrentHashMap<String, List<Connection<?>>>();
+
+	// the rank each connection was given when added; a provider's list is in rank order
+	private final ConcurrentMap<ConnectionKey, Integer> ranks = new ConcurrentHashMap<ConnectionKey, Integer>();
+
+	private final Object writeMonitor = new Object();
+
+	private final ConnectionFactoryLocator connectionFactoryLocator;
+
+	private final String userId;
+
+	private final InMemoryUsersConnectionRepository usersConnectionRepository;
 
 	public InMemoryConnectionRepository(ConnectionFactoryLocator connectionFactoryLocator) {
+		this(null, connectionFactoryLocator, null);
+	}
+
+	/**
+	 * Creates a repository for the given user that keeps the provider user index of the {@link InMemoryUsersConnectionRepository} up to date.
+	 */
+	InMemoryConnectionRepository(String userId, ConnectionFactoryLocator connectionFactoryLocator, InMemoryUsersConnectionRepository usersConnectionRepository) {
 		this.connectionFactoryLocator = connectionFactoryLocator;
-		this.connections = new LinkedMultiValueMap<String, Connection<?>>();
+		this.userId = userId;
+		this.usersConnectionRepository = usersConnectionRepository;
 	}
-	
+
 	public MultiValueMap<String, Connection<?>> findAllConnections() {
-		if (connections.isEmpty()) {
-			MultiValueMap<String, Connection<?>> result = new LinkedMultiValueMap<String, Connection<?>>();
-			Set<String> registeredProviderIds = connectionFactoryLocator.registeredProviderIds();
-			for (String registeredProviderId : registeredProviderIds) {
-				result.put(registeredProviderId, Collections.<Connection<?>>emptyList());
+		MultiValueMap<String, Connection<?>> result = new LinkedMultiValueMap<String, Connection<?>>();
+		for (String registeredProviderId : connectionFactoryLocator.registeredProviderIds()) {
+			result.put(registeredProviderId, Collections.<Connection<?>>emptyList());
+		}
+		for (Entry<String, List<Connection<?>>> entry : connections.entrySet()) {
+			if (!entry.getValue().isEmpty()) {
+				result.put(entry.getKey(), new ArrayList<Connection<?>>(entry.getValue()));
 			}
-			return result;
-		} else {
-			return connections;
 		}
+		return result;
 	}
 
 	public List<Connection<?>> findConnections(String providerId) {
-		List<Connection<?>> emptyConnectionList = Collections.emptyList();
-		return connections.containsKey(providerId) ? connections.get(providerId) : emptyConnectionList;
+		List<Connection<?>> providerConnections = connections.get(providerId);
+		// copy, so the list handed out is a snapshot rather than a live view of later writes
+		return providerConnections != null ? Collections.unmodifiableList(new ArrayList<Connection<?>>(providerConnections)) : Collections.<Connection<?>>emptyList();
+	}
+
+	public ConnectionPage findConnections(String providerId, int afterRank, int limit) {
+		Assert.isTrue(afterRank >= 0, "afterRank cannot be negative");
+		Assert.isTrue(limit > 0, "limit must be greater than 0");
+		List<Connection<?>> page = new ArrayList<Connection<?>>(Math.min(limit, 16));
+		int lastRank = afterRank;
+		boolean hasMore = false;
+		List<Connection<?>> providerConnections = connections.get(providerId);
+		if (providerConnections != null) {
+			// iterates a snapshot; a connection removed meanwhile has lost its rank and is passed over
+			for (Connection<?> connection : providerConnections) {
+				Integer rank = ranks.get(connection.getKey());
+				if (rank == null || rank <= afterRank) {
+					continue;
+				}
+				if (page.size() == limit) {
+					hasMore = true;
+					break;
+				}
+				page.add(connection);
+				lastRank = rank;
+			}
+		}
+		return new ConnectionPage(page, lastRank, hasMore);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -73,13 +127,9 @@ public class InMemoryConnectionRepository implements ConnectionRepository {
 		for (Entry<String, List<String>> providerConnectionEntry : providerUserIds.entrySet()) {
 			String providerId = providerConnectionEntry.getKey();
 			List<String> userIds = providerConnectionEntry.getValue();
-			if (connections.containsKey(providerId)) {
-				List<Connection<?>> providerConnections = connections.get(providerId);
-				
-				for (Connection<?> connection : providerConnections) {
-					if (userIds.contains(connection.getKey().getProviderUserId())) {
-						connectionsToUsers.add(providerId, connection);
-					}
+			for (Connection<?> connection : findConnections(providerId)) {
+				if (userIds.contains(connection.getKey().getProviderUserId())) {
+					connectionsToUsers.add(providerId, connection);
 				}
 			}
 		}
@@ -87,12 +137,9 @@ public class InMemoryConnectionRepository implements ConnectionRepository {
 	}
 
 	public Connection<?> getConnection(ConnectionKey connectionKey) {
-		if (connections.containsKey(connectionKey.getProviderId())) {
-			List<Connection<?>> providerConnections = connections.get(connectionKey.getProviderId());
-			for (Connection<?> connection : providerConnections) {
-				if (connection.getKey().equals(connectionKey)) {
-					return connection;
-				}
+		for (Connection<?> connection : findConnections(connectionKey.getProviderId())) {
+			if (connection.getKey().equals(connectionKey)) {
+				return connection;
 			}
 		}
 		throw new NoSuchConnectionException(connectionKey);
@@ -113,41 +160,89 @@ public class InMemoryConnectionRepository implements ConnectionRepository {
 
 	@SuppressWarnings("unchecked")
 	public <A> Connection<A> findPrimaryConnection(Class<A> apiType) {
-		String providerId = getProviderId(apiType);
-		if (connections.containsKey(providerId)) {
-			return (Connection<A>) connections.get(providerId).get(0);
+		List<Connection<?>> providerConnections = connections.get(getProviderId(apiType));
+		if (providerConnections != null) {
+			// iterates a snapshot, so a concurrent removal can't leave us indexing past the end of the list
+			Iterator<Connection<?>> it = providerConnections.iterator();
+			if (it.hasNext()) {
+				return (Connection<A>) it.next();
+			}
 		}
 		return null;
 	}
 
 	public void addConnection(Connection<?> connection) {
-		try {
-			ConnectionKey connectionKey = connection.getKey();
-			getConnection(connectionKey);
-			throw new DuplicateConnectionException(connectionKey);
-		} catch (NoSuchConnectionException e) {
-			connections.add(connection.createData().getProviderId(), connection);
+		ConnectionKey connectionKey = connection.getKey();
+		synchronized (writeMonitor) {
+			if (indexOf(connectionKey) != -1) {
+				throw new DuplicateConnectionException(connectionKey);
+			}
+			List<Connection<?>> providerConnections = connections.computeIfAbsent(connectionKey.getProviderId(), providerId -> new CopyOnWriteArrayList<Connection<?>>());
+			// ranked after the last connection, as JdbcConnectionRepository does, and before it becomes visible to finders
+			ranks.put(connectionKey, providerConnections.isEmpty() ? 1 : ranks.get(providerConnections.get(providerConnections.size() - 1).getKey()) + 1);
+			providerConnections.add(connection);
+			index(connectionKey);
 		}
 	}
 
 	public void updateConnection(Connection<?> connection) {
-		connections.add(connection.createData().getProviderId(), connection);
+		ConnectionKey connectionKey = connection.getKey();
+		synchronized (writeMonitor) {
+			int index = indexOf(connectionKey);
+			if (index != -1) {
+				connections.get(connectionKey.getProviderId()).set(index, connection);
+			}
+		}
 	}
 
 	public void removeConnections(String providerId) {
-		connections.remove(providerId);
+		synchronized (writeMonitor) {
+			List<Connection<?>> providerConnections = connections.remove(providerId);
+			if (providerConnections != null) {
+				for (Connection<?> connection : providerConnections) {
+					ranks.remove(connection.getKey());
+					unindex(connection.getKey());
+				}
+			}
+		}
 	}
 
 	public void removeConnection(ConnectionKey connectionKey) {
-		String providerId = connectionKey.getProviderId();
-		if (connections.containsKey(providerId)) {
-			List<Connection<?>> providerConnections = connections.get(providerId);
-			for (Connection<?> connection : providerConnections) {
-				if (connection.getKey().equals(connectionKey)) {
-					providerConnections.remove(connection);
+		synchronized (writeMonitor) {
+			int index = indexOf(connectionKey);
+			if (index != -1) {
+				connections.get(connectionKey.getProviderId()).remove(index);
+				ranks.remove(connectionKey);
+				unindex(connectionKey);
+			}
+		}
+	}
+
+	// internal helpers
+
+	// must be called while holding the write monitor
+	private int indexOf(ConnectionKey connectionKey) {
+		List<Connection<?>> providerConnections = connections.get(connectionKey.getProviderId());
+		if (providerConnections != null) {
+			for (int i = 0; i < providerConnections.size(); i++) {
+				if (providerConnections.get(i).getKey().equals(connectionKey)) {
+					return i;
 				}
 			}
 		}
+		return -1;
+	}
+
+	private void index(ConnectionKey connectionKey) {
+		if (usersConnectionRepository != null) {
+			usersConnectionRepository.indexConnection(connectionKey, userId);
+		}
+	}
+
+	private void unindex(ConnectionKey connectionKey) {
+		if (usersConnectionRepository != null) {
+			usersConnectionRepository.unindexConnection(connectionKey, userId);
+		}
 	}
 
 	private <A> String getProviderId(Class<A> apiType) {
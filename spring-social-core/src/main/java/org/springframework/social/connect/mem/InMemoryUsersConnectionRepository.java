@@ -17,19 +17,33 @@ package org.springframework.social.connect.mem;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
 import org.springframework.social.connect.ConnectionFactoryLocator;
+import org.springframework.social.connect.ConnectionKey;
 import org.springframework.social.connect.ConnectionRepository;
 import org.springframework.social.connect.ConnectionSignUp;
-import org.springframework.social.connect.NoSuchConnectionException;
+import org.springframework.social.connect.UsersConnectionImporter;
 import org.springframework.social.connect.UsersConnectionRepository;
+import org.springframework.social.connect.UsersConnectionScanner;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 
 /**
  * {@link UsersConnectionRepository} that stores connections in memory.
@@ -37,17 +51,19 @@ import org.springframework.social.connect.UsersConnectionRepository;
  * Not intended for production use, as it will be cleared out when the application exits.
  * @author Craig Walls
  */
-public class InMemoryUsersConnectionRepository implements UsersConnectionRepository {
+public class InMemoryUsersConnectionRepository implements UsersConnectionRepository, UsersConnectionImporter, UsersConnectionScanner {
 
-	private ConnectionFactoryLocator connectionFactoryLocator;
+	private final ConnectionFactoryLocator connectionFactoryLocator;
 	
-	private Map<String, ConnectionRepository> connectionRepositories;
+	private final ConcurrentMap<String, InMemoryConnectionRepository> connectionRepositories = new ConcurrentHashMap<String, InMemoryConnectionRepository>();
+
+	// <(providerId, providerUserId), userIds>
+	private final ConcurrentMap<ConnectionKey, Set<String>> userIdsByConnectionKey = new ConcurrentHashMap<ConnectionKey, Set<String>>();
 
 	private ConnectionSignUp connectionSignUp;
 
 	public InMemoryUsersConnectionRepository(ConnectionFactoryLocator connectionFactoryLocator) {
 		this.connectionFactoryLocator = connectionFactoryLocator;
-		this.connectionRepositories= new HashMap<String, ConnectionRepository>(); 
 	}
 	
 	@Override
@@ -56,14 +72,7 @@ public class InMemoryUsersConnectionRepository implements UsersConnectionReposit
 	}
 	
 	public List<String> findUserIdsWithConnection(Connection<?> connection) {
-		List<String> localUserIds = new ArrayList<String>();
-		Set<Entry<String, ConnectionRepository>> connectionRepositoryEntries = connectionRepositories.entrySet();
-		for (Entry<String, ConnectionRepository> connectionRepositoryEntry : connectionRepositoryEntries) {
-			try {
-				connectionRepositoryEntry.getValue().getConnection(connection.getKey());
-				localUserIds.add(connectionRepositoryEntry.getKey());
-			} catch (NoSuchConnectionException e) {}
-		}
+		List<String> localUserIds = new ArrayList<String>(getIndexedUserIds(connection.getKey()));
 		if (localUserIds.size() == 0 && connectionSignUp != null) {
 			String newUserId = connectionSignUp.execute(connection);
 			if (newUserId != null)
@@ -76,25 +85,92 @@ public class InMemoryUsersConnectionRepository implements UsersConnectionReposit
 	}
 
 	public Set<String> findUserIdsConnectedTo(String providerId, Set<String> providerUserIds) {
-		List<String> localUserIds = new ArrayList<String>();
-		Set<Entry<String, ConnectionRepository>> connectionRepositoryEntries = connectionRepositories.entrySet();
-		for (Entry<String, ConnectionRepository> connectionRepositoryEntry : connectionRepositoryEntries) {
-			String localUserId = connectionRepositoryEntry.getKey();
-			List<Connection<?>> providerConnections = connectionRepositoryEntry.getValue().findConnections(providerId);
-			for (Connection<?> connection : providerConnections) {
-				if (providerUserIds.contains(connection.getKey().getProviderUserId())) {
-					localUserIds.add(localUserId);
+		Set<String> localUserIds = new HashSet<String>();
+		for (String providerUserId : providerUserIds) {
+			localUserIds.addAll(getIndexedUserIds(new ConnectionKey(providerId, providerUserId)));
+		}
+		return localUserIds;
+	}
+
+	public Map<String, Map<String, String>> findUserIdsConnectedTo(MultiValueMap<String, String> providerUsers) {
+		Map<String, Map<String, String>> userIdsConnectedTo = new LinkedHashMap<String, Map<String, String>>();
+		for (Entry<String, List<String>> entry : providerUsers.entrySet()) {
+			Map<String, String> userIds = new LinkedHashMap<String, String>();
+			for (String providerUserId : entry.getValue()) {
+				getIndexedUserIds(new ConnectionKey(entry.getKey(), providerUserId)).stream().min(Comparator.naturalOrder())
+						.ifPresent(userId -> userIds.put(providerUserId, userId));
+			}
+			if (!userIds.isEmpty()) {
+				userIdsConnectedTo.put(entry.getKey(), userIds);
+			}
+		}
+		return userIdsConnectedTo;
+	}
+
+	public MultiValueMap<String, Connection<?>> findConnectionsForUsers(Set<String> userIds, String providerId) {
+		MultiValueMap<String, Connection<?>> connectionsForUsers = new LinkedMultiValueMap<String, Connection<?>>();
+		for (String userId : userIds) {
+			ConnectionRepository connectionRepository = connectionRepositories.get(userId);
+			if (connectionRepository != null) {
+				List<Connection<?>> connections = connectionRepository.findConnections(providerId);
+				if (!connections.isEmpty()) {
+					connectionsForUsers.put(userId, new ArrayList<Connection<?>>(connections));
 				}
 			}
 		}
-		return new HashSet<String>(localUserIds);
+		return connectionsForUsers;
 	}
 
-	public ConnectionRepository createConnectionRepository(String userId) {
-		if (!connectionRepositories.containsKey(userId)) {
-			connectionRepositories.put(userId, new InMemoryConnectionRepository(connectionFactoryLocator));
+	public int importConnections(Stream<? extends Entry<String, ConnectionData>> connections) {
+		int imported = 0;
+		for (Iterator<? extends Entry<String, ConnectionData>> it = connections.iterator(); it.hasNext();) {
+			Entry<String, ConnectionData> entry = it.next();
+			ConnectionData data = entry.getValue();
+			createConnectionRepository(entry.getKey()).addConnection(connectionFactoryLocator.getConnectionFactory(data.getProviderId()).createConnection(data));
+			imported++;
+		}
+		return imported;
+	}
+
+	public void scanConnections(String providerId, BiConsumer<String, ConnectionData> callback) {
+		SortedMap<List<String>, ConnectionData> connections = new TreeMap<List<String>, ConnectionData>(SCAN_ORDER);
+		for (Entry<String, InMemoryConnectionRepository> entry : connectionRepositories.entrySet()) {
+			for (Connection<?> connection : entry.getValue().findConnections(providerId)) {
+				connections.put(Arrays.asList(connection.getKey().getProviderUserId(), entry.getKey()), connection.createData());
+			}
 		}
-		return connectionRepositories.get(userId);
+		for (Entry<List<String>, ConnectionData> entry : connections.entrySet()) {
+			callback.accept(entry.getKey().get(1), entry.getValue());
+		}
+	}
+
+	public ConnectionRepository createConnectionRepository(String userId) {
+		return connectionRepositories.computeIfAbsent(userId, id -> new InMemoryConnectionRepository(id, connectionFactoryLocator, this));
+	}
+
+	// internal helpers
+
+	void indexConnection(ConnectionKey connectionKey, String userId) {
+		userIdsByConnectionKey.compute(connectionKey, (key, userIds) -> {
+			Set<String> indexedUserIds = userIds != null ? userIds : ConcurrentHashMap.<String>newKeySet();
+			indexedUserIds.add(userId);
+			return indexedUserIds;
+		});
+	}
+
+	void unindexConnection(ConnectionKey connectionKey, String userId) {
+		userIdsByConnectionKey.computeIfPresent(connectionKey, (key, userIds) -> {
+			userIds.remove(userId);
+			return userIds.isEmpty() ? null : userIds;
+		});
 	}
 
+	private Set<String> getIndexedUserIds(ConnectionKey connectionKey) {
+		Set<String> userIds = userIdsByConnectionKey.get(connectionKey);
+		return userIds != null ? userIds : Collections.<String>emptySet();
+	}
+
+	// (providerUserId, userId) pairs, compared element by element
+	private static final Comparator<List<String>> SCAN_ORDER = Comparator.<List<String>, String>comparing(key -> key.get(0)).thenComparing(key -> key.get(1));
+
 }
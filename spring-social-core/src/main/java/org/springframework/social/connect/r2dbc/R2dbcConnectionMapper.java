@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.r2dbc;
+
+import java.util.function.Function;
+
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionFactory;
+import org.springframework.social.connect.ConnectionFactoryLocator;
+
+import io.r2dbc.spi.Row;
+
+/**
+ * Maps a row of the UserConnection table to a {@link Connection}, decrypting the token columns with the configured {@link TextEncryptor}.
+ * The R2DBC counterpart of the JDBC repository's row mapper.
+ */
+final class R2dbcConnectionMapper implements Function<Row, Connection<?>> {
+
+	private final ConnectionFactoryLocator connectionFactoryLocator;
+
+	private final TextEncryptor textEncryptor;
+
+	R2dbcConnectionMapper(ConnectionFactoryLocator connectionFactoryLocator, TextEncryptor textEncryptor) {
+		this.connectionFactoryLocator = connectionFactoryLocator;
+		this.textEncryptor = textEncryptor;
+	}
+
+	public Connection<?> apply(Row row) {
+		ConnectionData connectionData = mapConnectionData(row);
+		ConnectionFactory<?> connectionFactory = connectionFactoryLocator.getConnectionFactory(connectionData.getProviderId());
+		return connectionFactory.createConnection(connectionData);
+	}
+
+	private ConnectionData mapConnectionData(Row row) {
+		return new ConnectionData(row.get("providerId", String.class), row.get("providerUserId", String.class), row.get("displayName", String.class), row.get("profileUrl", String.class), row.get("imageUrl", String.class),
+				decrypt(row.get("accessToken", String.class)), decrypt(row.get("secret", String.class)), decrypt(row.get("refreshToken", String.class)), expireTime(row.get("expireTime", Long.class)));
+	}
+
+	private String decrypt(String encryptedText) {
+		return encryptedText != null ? textEncryptor.decrypt(encryptedText) : encryptedText;
+	}
+
+	private Long expireTime(Long expireTime) {
+		return expireTime == null || expireTime == 0 ? null : expireTime;
+	}
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.r2dbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionFactoryLocator;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.DuplicateConnectionException;
+import org.springframework.social.connect.NoSuchConnectionException;
+import org.springframework.social.connect.NotConnectedException;
+import org.springframework.social.connect.ReactiveConnectionRepository;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveConnectionRepository} that uses R2DBC to persist the connections of a single user to the UserConnection table.
+ * Created by {@link R2dbcUsersConnectionRepository#createConnectionRepository(String)}.
+ */
+public class R2dbcConnectionRepository implements ReactiveConnectionRepository {
+
+	private final String userId;
+
+	private final R2dbcStatements statements;
+
+	private final ConnectionFactoryLocator connectionFactoryLocator;
+
+	private final TextEncryptor textEncryptor;
+
+	private final String tablePrefix;
+
+	private final R2dbcConnectionMapper connectionMapper;
+
+	R2dbcConnectionRepository(String userId, R2dbcStatements statements, ConnectionFactoryLocator connectionFactoryLocator, TextEncryptor textEncryptor, String tablePrefix) {
+		this.userId = userId;
+		this.statements = statements;
+		this.connectionFactoryLocator = connectionFactoryLocator;
+		this.textEncryptor = textEncryptor;
+		this.tablePrefix = tablePrefix;
+		this.connectionMapper = new R2dbcConnectionMapper(connectionFactoryLocator, textEncryptor);
+	}
+
+	public Mono<MultiValueMap<String, Connection<?>>> findAllConnections() {
+		return statements.query(selectFromUserConnection() + " where userId = $1 order by providerId, rank", connectionMapper, userId).collectList().map(resultList -> {
+			MultiValueMap<String, Connection<?>> connections = new LinkedMultiValueMap<String, Connection<?>>();
+			for (String registeredProviderId : connectionFactoryLocator.registeredProviderIds()) {
+				connections.put(registeredProviderId, Collections.<Connection<?>>emptyList());
+			}
+			for (Connection<?> connection : resultList) {
+				String providerId = connection.getKey().getProviderId();
+				List<Connection<?>> providerConnections = connections.get(providerId);
+				if (providerConnections == null || providerConnections.size() == 0) {
+					connections.put(providerId, new LinkedList<Connection<?>>());
+				}
+				connections.add(providerId, connection);
+			}
+			return connections;
+		});
+	}
+
+	public Flux<Connection<?>> findConnections(String providerId) {
+		return statements.query(selectFromUserConnection() + " where userId = $1 and providerId = $2 order by rank", connectionMapper, userId, providerId);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <A> Flux<Connection<A>> findConnections(Class<A> apiType) {
+		return Flux.defer(() -> findConnections(getProviderId(apiType))).map(connection -> (Connection<A>) connection);
+	}
+
+	/**
+	 * Finds the connections with a query per provider, placing each connection found at the position of its provider user id through a map built up front.
+	 */
+	public Mono<MultiValueMap<String, Connection<?>>> findConnectionsToUsers(MultiValueMap<String, String> providerUsers) {
+		if (providerUsers == null || providerUsers.isEmpty()) {
+			return Mono.error(new IllegalArgumentException("Unable to execute find: no providerUsers provided"));
+		}
+		Map<String, Map<String, Integer>> providerUserIndexes = new LinkedHashMap<String, Map<String, Integer>>();
+		for (Entry<String, List<String>> entry : providerUsers.entrySet()) {
+			Map<String, Integer> indexes = new LinkedHashMap<String, Integer>();
+			List<String> providerUserIds = entry.getValue();
+			for (int i = 0; i < providerUserIds.size(); i++) {
+				indexes.putIfAbsent(providerUserIds.get(i), i);
+			}
+			if (!indexes.isEmpty()) {
+				providerUserIndexes.put(entry.getKey(), indexes);
+			}
+		}
+		return Flux.fromIterable(providerUserIndexes.entrySet())
+				.concatMap(entry -> {
+					StringBuilder sql = new StringBuilder(selectFromUserConnection()).append(" where userId = $1 and providerId = $2 and providerUserId in (");
+					Object[] args = new Object[entry.getValue().size() + 2];
+					args[0] = userId;
+					args[1] = entry.getKey();
+					int index = 2;
+					for (String providerUserId : entry.getValue().keySet()) {
+						if (index > 2) {
+							sql.append(", ");
+						}
+						args[index++] = providerUserId;
+						sql.append('$').append(index);
+					}
+					sql.append(')');
+					return statements.query(sql.toString(), connectionMapper, args);
+				})
+				.<MultiValueMap<String, Connection<?>>>collect(LinkedMultiValueMap::new, (connectionsForUsers, connection) -> {
+					String providerId = connection.getKey().getProviderId();
+					List<Connection<?>> connections = connectionsForUsers.get(providerId);
+					if (connections == null) {
+						connections = new ArrayList<Connection<?>>(Collections.<Connection<?>>nCopies(providerUsers.get(providerId).size(), null));
+						connectionsForUsers.put(providerId, connections);
+					}
+					connections.set(providerUserIndexes.get(providerId).get(connection.getKey().getProviderUserId()), connection);
+				});
+	}
+
+	public Mono<Connection<?>> getConnection(ConnectionKey connectionKey) {
+		return statements.query(selectFromUserConnection() + " where userId = $1 and providerId = $2 and providerUserId = $3", connectionMapper, userId, connectionKey.getProviderId(), connectionKey.getProviderUserId())
+				.next()
+				.switchIfEmpty(Mono.defer(() -> Mono.error(new NoSuchConnectionException(connectionKey))));
+	}
+
+	@SuppressWarnings("unchecked")
+	public <A> Mono<Connection<A>> getConnection(Class<A> apiType, String providerUserId) {
+		return Mono.defer(() -> getConnection(new ConnectionKey(getProviderId(apiType), providerUserId))).map(connection -> (Connection<A>) connection);
+	}
+
+	public <A> Mono<Connection<A>> getPrimaryConnection(Class<A> apiType) {
+		return findPrimaryConnection(apiType).switchIfEmpty(Mono.defer(() -> Mono.error(new NotConnectedException(getProviderId(apiType)))));
+	}
+
+	public Mono<Connection<?>> findPrimaryConnection(String providerId) {
+		return findConnections(providerId).next();
+	}
+
+	public <A> Mono<Connection<A>> findPrimaryConnection(Class<A> apiType) {
+		return findConnections(apiType).next();
+	}
+
+	public Mono<Void> addConnection(Connection<?> connection) {
+		return Mono.defer(() -> addConnection(connection.getKey(), connection.createData(), 1));
+	}
+
+	public Mono<Void> updateConnection(Connection<?> connection) {
+		return Mono.defer(() -> {
+			ConnectionData data = connection.createData();
+			return statements.update("update " + tablePrefix + "UserConnection set displayName = $1, profileUrl = $2, imageUrl = $3, accessToken = $4, secret = $5, refreshToken = $6, expireTime = $7 where userId = $8 and providerId = $9 and providerUserId = $10",
+					data.getDisplayName(), data.getProfileUrl(), data.getImageUrl(), encrypt(data.getAccessToken()), encrypt(data.getSecret()), encrypt(data.getRefreshToken()), R2dbcStatements.nullable(data.getExpireTime(), Long.class), userId, data.getProviderId(), data.getProviderUserId())
+				.then();
+		});
+	}
+
+	public Mono<Void> removeConnections(String providerId) {
+		return statements.update("delete from " + tablePrefix + "UserConnection where userId = $1 and providerId = $2", userId, providerId).then();
+	}
+
+	public Mono<Void> removeConnection(ConnectionKey connectionKey) {
+		return statements.update("delete from " + tablePrefix + "UserConnection where userId = $1 and providerId = $2 and providerUserId = $3", userId, connectionKey.getProviderId(), connectionKey.getProviderUserId()).then();
+	}
+
+	// internal helpers
+
+	private String selectFromUserConnection() {
+		return "select userId, providerId, providerUserId, displayName, profileUrl, imageUrl, accessToken, secret, refreshToken, expireTime from " + tablePrefix + "UserConnection";
+	}
+
+	private Mono<Void> addConnection(ConnectionKey connectionKey, ConnectionData data, int attempt) {
+		return statements.inTransaction(dbConnection -> R2dbcStatements.query(dbConnection, "select coalesce(max(rank) + 1, 1) as rank from " + tablePrefix + "UserConnection where userId = $1 and providerId = $2",
+					row -> row.get("rank", Integer.class), userId, data.getProviderId())
+				.next()
+				.flatMap(rank -> R2dbcStatements.update(dbConnection, "insert into " + tablePrefix + "UserConnection (userId, providerId, providerUserId, rank, displayName, profileUrl, imageUrl, accessToken, secret, refreshToken, expireTime) values ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11)",
+						userId, data.getProviderId(), data.getProviderUserId(), rank, data.getDisplayName(), data.getProfileUrl(), data.getImageUrl(), encrypt(data.getAccessToken()), encrypt(data.getSecret()), encrypt(data.getRefreshToken()), R2dbcStatements.nullable(data.getExpireTime(), Long.class))))
+			.then()
+			.onErrorResume(R2dbcDataIntegrityViolationException.class, e -> connectionExists(connectionKey).flatMap(exists -> {
+				if (exists) {
+					return Mono.error(new DuplicateConnectionException(connectionKey));
+				}
+				if (attempt == MAX_RANK_ATTEMPTS) {
+					return Mono.error(e);
+				}
+				// a concurrent insert took the rank: try again with the next one
+				return addConnection(connectionKey, data, attempt + 1);
+			}));
+	}
+
+	private Mono<Boolean> connectionExists(ConnectionKey connectionKey) {
+		return statements.query("select providerUserId from " + tablePrefix + "UserConnection where userId = $1 and providerId = $2 and providerUserId = $3",
+				row -> row.get("providerUserId", String.class), userId, connectionKey.getProviderId(), connectionKey.getProviderUserId()).hasElements();
+	}
+
+	private <A> String getProviderId(Class<A> apiType) {
+		return connectionFactoryLocator.getConnectionFactory(apiType).getProviderId();
+	}
+
+	private String encrypt(String text) {
+		return text != null ? textEncryptor.encrypt(text) : text;
+	}
+
+	private static final int MAX_RANK_ATTEMPTS = 10;
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.r2dbc;
+
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs the statements of the R2DBC repositories, taking care of opening and closing a connection for each unit of work.
+ * Statements use indexed bind markers, $1 being the first argument.
+ * A null argument is bound as a null String unless given with {@link #nullable(Object, Class)}.
+ * Shared by {@link R2dbcUsersConnectionRepository} and the {@link R2dbcConnectionRepository} instances it creates.
+ */
+final class R2dbcStatements {
+
+	private final ConnectionFactory connectionFactory;
+
+	R2dbcStatements(ConnectionFactory connectionFactory) {
+		this.connectionFactory = connectionFactory;
+	}
+
+	/**
+	 * Runs a query on a connection of its own.
+	 */
+	<T> Flux<T> query(String sql, Function<Row, T> rowMapper, Object... args) {
+		return withConnection(connection -> query(connection, sql, rowMapper, args));
+	}
+
+	/**
+	 * Runs an insert, update or delete statement on a connection of its own.
+	 */
+	Mono<Integer> update(String sql, Object... args) {
+		return withConnection(connection -> update(connection, sql, args)).reduce(0, Integer::sum);
+	}
+
+	/**
+	 * Runs the statements issued by the callback in a single transaction, rolled back if any of them fails.
+	 */
+	<T> Flux<T> inTransaction(Function<Connection, Publisher<T>> callback) {
+		return withConnection(connection -> Mono.from(connection.beginTransaction())
+				.thenMany(Flux.defer(() -> callback.apply(connection)))
+				.concatWith(Mono.from(connection.commitTransaction()).then(Mono.<T>empty()))
+				.onErrorResume(e -> Mono.from(connection.rollbackTransaction()).then(Mono.<T>error(e))));
+	}
+
+	static <T> Flux<T> query(Connection connection, String sql, Function<Row, T> rowMapper, Object... args) {
+		return Flux.from(bind(connection.createStatement(sql), args).execute())
+				.concatMap(result -> result.map((row, rowMetadata) -> rowMapper.apply(row)));
+	}
+
+	static Mono<Integer> update(Connection connection, String sql, Object... args) {
+		return Flux.from(bind(connection.createStatement(sql), args).execute())
+				.concatMap(Result::getRowsUpdated)
+				.reduce(0, Integer::sum);
+	}
+
+	/**
+	 * Wraps an argument that may be null, so a null value is bound with the given type.
+	 */
+	static Object nullable(Object value, Class<?> type) {
+		return value != null ? value : new NullValue(type);
+	}
+
+	// internal helpers
+
+	private <T> Flux<T> withConnection(Function<Connection, Publisher<T>> callback) {
+		return Mono.<Connection>from(connectionFactory.create()).flatMapMany(connection -> Flux.defer(() -> callback.apply(connection))
+				.concatWith(Mono.from(connection.close()).then(Mono.<T>empty()))
+				.onErrorResume(e -> Mono.from(connection.close()).then(Mono.<T>error(e)))
+				// a consumer taking only the first rows cancels the query
+				.doOnCancel(() -> Mono.from(connection.close()).subscribe()));
+	}
+
+	private static Statement bind(Statement statement, Object... args) {
+		for (int i = 0; i < args.length; i++) {
+			Object arg = args[i];
+			if (arg == null) {
+				statement.bindNull(i, String.class);
+			} else if (arg instanceof NullValue) {
+				statement.bindNull(i, ((NullValue) arg).type);
+			} else {
+				statement.bind(i, arg);
+			}
+		}
+		return statement;
+	}
+
+	private static final class NullValue {
+
+		private final Class<?> type;
+
+		public NullValue(Class<?> type) {
+			this.type = type;
+		}
+
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.r2dbc;
+
+import java.util.Set;
+
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionFactoryLocator;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.ConnectionSignUp;
+import org.springframework.social.connect.ReactiveConnectionRepository;
+import org.springframework.social.connect.ReactiveUsersConnectionRepository;
+import org.springframework.util.Assert;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link ReactiveUsersConnectionRepository} that uses R2DBC to persist connection data to a relational database without blocking.
+ * Works with the same UserConnection table as {@link org.springframework.social.connect.jdbc.JdbcUsersConnectionRepository}, whose schema is defined in JdbcUsersConnectionRepository.sql.
+ * Statements are issued with indexed bind markers ($1, $2, ...), as supported by the R2DBC drivers for H2 and PostgreSQL,
+ * and leave the rank column unquoted, as both databases accept.
+ */
+public class R2dbcUsersConnectionRepository implements ReactiveUsersConnectionRepository {
+
+	private final R2dbcStatements statements;
+
+	private final ConnectionFactoryLocator connectionFactoryLocator;
+
+	private final TextEncryptor textEncryptor;
+
+	private ConnectionSignUp connectionSignUp;
+
+	private Scheduler connectionSignUpScheduler = Schedulers.elastic();
+
+	private String tablePrefix = "";
+
+	/**
+	 * Creates a repository storing connections in the database of the given R2DBC ConnectionFactory.
+	 * @param connectionFactory the R2DBC ConnectionFactory to obtain database connections from
+	 * @param connectionFactoryLocator the locator of the service provider connection factories that restore persisted connections
+	 * @param textEncryptor the encryptor protecting the access token, secret and refresh token columns
+	 */
+	public R2dbcUsersConnectionRepository(ConnectionFactory connectionFactory, ConnectionFactoryLocator connectionFactoryLocator, TextEncryptor textEncryptor) {
+		this.statements = new R2dbcStatements(connectionFactory);
+		this.connectionFactoryLocator = connectionFactoryLocator;
+		this.textEncryptor = textEncryptor;
+	}
+
+	/**
+	 * The command to execute to create a new local user profile in the event no user id could be mapped to a connection.
+	 * Allows for implicitly creating a user profile from connection data during a provider sign-in attempt.
+	 * Defaults to null, indicating explicit sign-up will be required to complete the provider sign-in attempt.
+	 * @param connectionSignUp a {@link ConnectionSignUp} object
+	 * @see #findUserIdsWithConnection(Connection)
+	 */
+	public void setConnectionSignUp(ConnectionSignUp connectionSignUp) {
+		this.connectionSignUp = connectionSignUp;
+	}
+
+	/**
+	 * Sets the scheduler the {@link #setConnectionSignUp(ConnectionSignUp) ConnectionSignUp} is run on, as it may block.
+	 * Defaults to {@link Schedulers#elastic()}.
+	 * @param connectionSignUpScheduler the scheduler running the ConnectionSignUp
+	 */
+	public void setConnectionSignUpScheduler(Scheduler connectionSignUpScheduler) {
+		Assert.notNull(connectionSignUpScheduler, "connectionSignUpScheduler cannot be null");
+		this.connectionSignUpScheduler = connectionSignUpScheduler;
+	}
+
+	/**
+	 * Sets a table name prefix. This will be prefixed to all the table names before queries are executed. Defaults to "".
+	 * This can be used to qualify the table name with a schema or to distinguish Spring Social tables from other application tables.
+	 * @param tablePrefix the tablePrefix to set
+	 */
+	public void setTablePrefix(String tablePrefix) {
+		this.tablePrefix = tablePrefix;
+	}
+
+	public Flux<String> findUserIdsWithConnection(Connection<?> connection) {
+		ConnectionKey key = connection.getKey();
+		Flux<String> localUserIds = statements.query("select userId from " + tablePrefix + "UserConnection where providerId = $1 and providerUserId = $2", row -> row.get("userId", String.class), key.getProviderId(), key.getProviderUserId());
+		if (connectionSignUp == null) {
+			return localUserIds;
+		}
+		return localUserIds.switchIfEmpty(Mono.fromCallable(() -> connectionSignUp.execute(connection))
+				.subscribeOn(connectionSignUpScheduler)
+				.flatMap(newUserId -> createConnectionRepository(newUserId).addConnection(connection).then(Mono.just(newUserId))));
+	}
+
+	public Flux<String> findUserIdsConnectedTo(String providerId, Set<String> providerUserIds) {
+		if (providerUserIds.isEmpty()) {
+			return Flux.empty();
+		}
+		StringBuilder sql = new StringBuilder("select distinct userId from ").append(tablePrefix).append("UserConnection where providerId = $1 and providerUserId in (");
+		Object[] args = new Object[providerUserIds.size() + 1];
+		args[0] = providerId;
+		int index = 1;
+		for (String providerUserId : providerUserIds) {
+			if (index > 1) {
+				sql.append(", ");
+			}
+			args[index++] = providerUserId;
+			sql.append('$').append(index);
+		}
+		sql.append(')');
+		return statements.query(sql.toString(), row -> row.get("userId", String.class), args);
+	}
+
+	public ReactiveConnectionRepository createConnectionRepository(String userId) {
+		if (userId == null) {
+			throw new IllegalArgumentException("userId cannot be null");
+		}
+		return new R2dbcConnectionRepository(userId, statements, connectionFactoryLocator, textEncryptor, tablePrefix);
+	}
+
+}
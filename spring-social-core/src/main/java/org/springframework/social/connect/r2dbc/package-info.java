@@ -0,0 +1,4 @@
+/**
+ * R2DBC-based {@link org.springframework.social.connect.ReactiveConnectionRepository} implementation.
+ */
+package org.springframework.social.connect.r2dbc;
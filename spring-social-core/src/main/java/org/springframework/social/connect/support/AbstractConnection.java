@@ -21,6 +21,7 @@ import org.springframework.social.connect.ConnectionData;
 import org.springframework.social.connect.ConnectionKey;
 import org.springframework.social.connect.ConnectionValues;
 import org.springframework.social.connect.UserProfile;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Base support class for {@link Connection} implementations.
@@ -146,6 +147,18 @@ public abstract class AbstractConnection<A> implements Connection<A> {
 	protected Object getMonitor() {
 		return monitor;
 	}
+
+	/**
+	 * Provides subclasses with a way to tell whether the data a connection was restored from still describes it, so {@link #createData()} may return that data as is.
+	 * @param data the connection data
+	 * @return true if this connection's key and profile fields are those held by the data
+	 */
+	protected boolean hasValuesOf(ConnectionData data) {
+		synchronized (monitor) {
+			return key.equals(new ConnectionKey(data.getProviderId(), data.getProviderUserId())) && ObjectUtils.nullSafeEquals(displayName, data.getDisplayName())
+					&& ObjectUtils.nullSafeEquals(profileUrl, data.getProfileUrl()) && ObjectUtils.nullSafeEquals(imageUrl, data.getImageUrl());
+		}
+	}
 	
 	// identity
 	
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.ConnectionPage;
+import org.springframework.social.connect.ConnectionRepository;
+import org.springframework.social.connect.NoSuchConnectionException;
+import org.springframework.social.connect.NotConnectedException;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link ConnectionRepository} created by {@link CachingUsersConnectionRepository}.
+ * Answers finders from the cached {@link ConnectionData} of the user and writes through to the target repository, invalidating the user's cache entry.
+ */
+class CachingConnectionRepository implements ConnectionRepository {
+
+	private final String userId;
+
+	private final ConnectionRepository targetRepository;
+
+	private final CachingUsersConnectionRepository usersConnectionRepository;
+
+	public CachingConnectionRepository(String userId, ConnectionRepository targetRepository, CachingUsersConnectionRepository usersConnectionRepository) {
+		this.userId = userId;
+		this.targetRepository = targetRepository;
+		this.usersConnectionRepository = usersConnectionRepository;
+	}
+
+	public MultiValueMap<String, Connection<?>> findAllConnections() {
+		MultiValueMap<String, ConnectionData> connectionData = getConnectionData();
+		MultiValueMap<String, Connection<?>> connections = new LinkedMultiValueMap<String, Connection<?>>(connectionData.size());
+		for (Entry<String, List<ConnectionData>> entry : connectionData.entrySet()) {
+			connections.put(entry.getKey(), restoreConnections(entry.getValue()));
+		}
+		return connections;
+	}
+
+	public List<Connection<?>> findConnections(String providerId) {
+		List<ConnectionData> providerConnectionData = getConnectionData().get(providerId);
+		if (providerConnectionData == null || providerConnectionData.isEmpty()) {
+			return new ArrayList<Connection<?>>();
+		}
+		return restoreConnections(providerConnectionData);
+	}
+
+	public ConnectionPage findConnections(String providerId, int afterRank, int limit) {
+		// the cache doesn't hold ranks: page on the target's
+		return targetRepository.findConnections(providerId, afterRank, limit);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <A> List<Connection<A>> findConnections(Class<A> apiType) {
+		List<?> connections = findConnections(usersConnectionRepository.getProviderId(apiType));
+		return (List<Connection<A>>) connections;
+	}
+
+	public MultiValueMap<String, Connection<?>> findConnectionsToUsers(MultiValueMap<String, String> providerUserIds) {
+		return targetRepository.findConnectionsToUsers(providerUserIds);
+	}
+
+	public Connection<?> getConnection(ConnectionKey connectionKey) {
+		List<ConnectionData> providerConnectionData = getConnectionData().get(connectionKey.getProviderId());
+		if (providerConnectionData != null) {
+			for (ConnectionData data : providerConnectionData) {
+				if (ObjectUtils.nullSafeEquals(data.getProviderUserId(), connectionKey.getProviderUserId())) {
+					return usersConnectionRepository.restoreConnection(data);
+				}
+			}
+		}
+		throw new NoSuchConnectionException(connectionKey);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <A> Connection<A> getConnection(Class<A> apiType, String providerUserId) {
+		return (Connection<A>) getConnection(new ConnectionKey(usersConnectionRepository.getProviderId(apiType), providerUserId));
+	}
+
+	public <A> Connection<A> getPrimaryConnection(Class<A> apiType) {
+		Connection<A> connection = findPrimaryConnection(apiType);
+		if (connection == null) {
+			throw new NotConnectedException(usersConnectionRepository.getProviderId(apiType));
+		}
+		return connection;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <A> Connection<A> findPrimaryConnection(Class<A> apiType) {
+		List<ConnectionData> providerConnectionData = getConnectionData().get(usersConnectionRepository.getProviderId(apiType));
+		if (providerConnectionData == null || providerConnectionData.isEmpty()) {
+			return null;
+		}
+		return (Connection<A>) usersConnectionRepository.restoreConnection(providerConnectionData.get(0));
+	}
+
+	public void addConnection(Connection<?> connection) {
+		try {
+			targetRepository.addConnection(connection);
+		} finally {
+			usersConnectionRepository.evict(userId);
+		}
+	}
+
+	public void addConnections(Collection<Connection<?>> connections) {
+		try {
+			targetRepository.addConnections(connections);
+		} finally {
+			usersConnectionRepository.evict(userId);
+		}
+	}
+
+	public void updateConnection(Connection<?> connection) {
+		try {
+			targetRepository.updateConnection(connection);
+		} finally {
+			usersConnectionRepository.evict(userId);
+		}
+	}
+
+	public void removeConnections(String providerId) {
+		try {
+			targetRepository.removeConnections(providerId);
+		} finally {
+			usersConnectionRepository.evict(userId);
+		}
+	}
+
+	public void removeConnection(ConnectionKey connectionKey) {
+		try {
+			targetRepository.removeConnection(connectionKey);
+		} finally {
+			usersConnectionRepository.evict(userId);
+		}
+	}
+
+	// internal helpers
+
+	private MultiValueMap<String, ConnectionData> getConnectionData() {
+		return usersConnectionRepository.getConnectionData(userId, targetRepository);
+	}
+
+	private List<Connection<?>> restoreConnections(List<ConnectionData> connectionData) {
+		if (connectionData.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Connection<?>> connections = new ArrayList<Connection<?>>(connectionData.size());
+		for (ConnectionData data : connectionData) {
+			connections.add(usersConnectionRepository.restoreConnection(data));
+		}
+		return connections;
+	}
+
+}
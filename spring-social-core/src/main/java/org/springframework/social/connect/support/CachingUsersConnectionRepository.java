@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.support;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionFactoryLocator;
+import org.springframework.social.connect.ConnectionRepository;
+import org.springframework.social.connect.ConnectionSignUp;
+import org.springframework.social.connect.UsersConnectionImporter;
+import org.springframework.social.connect.UsersConnectionRepository;
+import org.springframework.social.connect.UsersConnectionScanner;
+import org.springframework.util.Assert;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * {@link UsersConnectionRepository} decorator that caches the {@link ConnectionData} of each user's connections in memory.
+ * The {@link ConnectionRepository} instances it creates answer their finders from the cache, loading a user's connections from the target repository on first use,
+ * and invalidate the user's entry whenever a connection is added, updated or removed through them.
+ * The cache is bounded by a maximum number of users, evicting the least recently used user first, and by a time-to-live after which entries are reloaded.
+ * Changes made directly against the target repository are only picked up once the affected entry expires.
+ */
+public class CachingUsersConnectionRepository implements UsersConnectionRepository, UsersConnectionImporter, UsersConnectionScanner {
+
+	private final UsersConnectionRepository targetRepository;
+
+	private final ConnectionFactoryLocator connectionFactoryLocator;
+
+	private final Map<String, CachedConnections> cache = new LinkedHashMap<String, CachedConnections>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Entry<String, CachedConnections> eldest) {
+			return size() > maxSize;
+		}
+	};
+
+	// the loads in progress, keyed by user id; guarded by the cache's monitor
+	private final Map<String, Loads> loads = new HashMap<String, Loads>();
+
+	private ConnectionSignUp connectionSignUp;
+
+	private volatile int maxSize = DEFAULT_MAX_SIZE;
+
+	private volatile long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+	/**
+	 * Creates a caching repository in front of the given target repository.
+	 * @param targetRepository the repository connections are loaded from and written to
+	 * @param connectionFactoryLocator the locator used to restore cached {@link ConnectionData} to {@link Connection} instances
+	 */
+	public CachingUsersConnectionRepository(UsersConnectionRepository targetRepository, ConnectionFactoryLocator connectionFactoryLocator) {
+		Assert.notNull(targetRepository, "targetRepository cannot be null");
+		Assert.notNull(connectionFactoryLocator, "connectionFactoryLocator cannot be null");
+		this.targetRepository = targetRepository;
+		this.connectionFactoryLocator = connectionFactoryLocator;
+	}
+
+	/**
+	 * Sets the maximum number of users whose connections are cached. Defaults to 1000.
+	 * When the limit is reached, the least recently used user is evicted.
+	 * @param maxSize the maximum number of cached users
+	 */
+	public void setMaxSize(int maxSize) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Sets the number of seconds a user's cached connections are used before they are reloaded from the target repository. Defaults to 300.
+	 * @param timeToLive the time-to-live of a cache entry, in seconds
+	 */
+	public void setTimeToLive(int timeToLive) {
+		Assert.isTrue(timeToLive > 0, "timeToLive must be greater than 0");
+		this.timeToLive = timeToLive * 1000L;
+	}
+
+	/**
+	 * The repository this cache delegates to.
+	 * @return the target repository
+	 */
+	public UsersConnectionRepository getTargetRepository() {
+		return targetRepository;
+	}
+
+	@Override
+	public void setConnectionSignUp(ConnectionSignUp connectionSignUp) {
+		this.connectionSignUp = connectionSignUp;
+		targetRepository.setConnectionSignUp(connectionSignUp);
+	}
+
+	public List<String> findUserIdsWithConnection(Connection<?> connection) {
+		List<String> userIds = targetRepository.findUserIdsWithConnection(connection);
+		if (connectionSignUp != null) {
+			// the target repository may have signed up a new user and added the connection behind our back
+			for (String userId : userIds) {
+				evict(userId);
+			}
+		}
+		return userIds;
+	}
+
+	public Set<String> findUserIdsConnectedTo(String providerId, Set<String> providerUserIds) {
+		return targetRepository.findUserIdsConnectedTo(providerId, providerUserIds);
+	}
+
+	public Map<String, Map<String, String>> findUserIdsConnectedTo(MultiValueMap<String, String> providerUsers) {
+		return targetRepository.findUserIdsConnectedTo(providerUsers);
+	}
+
+	public MultiValueMap<String, Connection<?>> findConnectionsForUsers(Set<String> userIds, String providerId) {
+		return targetRepository.findConnectionsForUsers(userIds, providerId);
+	}
+
+	/**
+	 * Forwards the import to the target repository, then evicts every cached user.
+	 * @throws UnsupportedOperationException if the target repository is not a {@link UsersConnectionImporter}
+	 */
+	public int importConnections(Stream<? extends Entry<String, ConnectionData>> connections) {
+		if (!(targetRepository instanceof UsersConnectionImporter)) {
+			throw new UnsupportedOperationException(targetRepository.getClass().getName() + " does not support importing connections");
+		}
+		try {
+			return ((UsersConnectionImporter) targetRepository).importConnections(connections);
+		} finally {
+			evictAll();
+		}
+	}
+
+	/**
+	 * Forwards the scan to the target repository, bypassing the cache.
+	 * @throws UnsupportedOperationException if the target repository is not a {@link UsersConnectionScanner}
+	 */
+	public void scanConnections(String providerId, BiConsumer<String, ConnectionData> callback) {
+		if (!(targetRepository instanceof UsersConnectionScanner)) {
+			throw new UnsupportedOperationException(targetRepository.getClass().getName() + " does not support scanning connections");
+		}
+		((UsersConnectionScanner) targetRepository).scanConnections(providerId, callback);
+	}
+
+	public ConnectionRepository createConnectionRepository(String userId) {
+		return new CachingConnectionRepository(userId, targetRepository.createConnectionRepository(userId), this);
+	}
+
+	/**
+	 * Removes the cached connections of the given user, if any.
+	 * @param userId the id of the local user account
+	 */
+	public void evict(String userId) {
+		synchronized (cache) {
+			cache.remove(userId);
+			Loads userLoads = loads.get(userId);
+			if (userLoads != null) {
+				userLoads.invalidations++;
+			}
+		}
+	}
+
+	/**
+	 * Removes the cached connections of all users.
+	 */
+	public void evictAll() {
+		synchronized (cache) {
+			cache.clear();
+			for (Loads userLoads : loads.values()) {
+				userLoads.invalidations++;
+			}
+		}
+	}
+
+	// subclassing hooks
+
+	/**
+	 * Returns the current time in milliseconds. Used to expire cache entries.
+	 * @return the current time
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	// internal helpers
+
+	MultiValueMap<String, ConnectionData> getConnectionData(String userId, ConnectionRepository userRepository) {
+		Loads userLoads;
+		long invalidationsBeforeLoad;
+		synchronized (cache) {
+			CachedConnections cached = cache.get(userId);
+			if (cached != null && cached.expireTime > currentTimeMillis()) {
+				return cached.connectionData;
+			}
+			userLoads = loads.computeIfAbsent(userId, id -> new Loads());
+			userLoads.inProgress++;
+			invalidationsBeforeLoad = userLoads.invalidations;
+		}
+		MultiValueMap<String, ConnectionData> connectionData = null;
+		try {
+			connectionData = loadConnectionData(userRepository);
+			return connectionData;
+		} finally {
+			synchronized (cache) {
+				// don't publish data that may have been read before a concurrent write to the user's connections
+				if (connectionData != null && userLoads.invalidations == invalidationsBeforeLoad) {
+					cache.put(userId, new CachedConnections(connectionData, currentTimeMillis() + timeToLive));
+				}
+				if (--userLoads.inProgress == 0) {
+					loads.remove(userId);
+				}
+			}
+		}
+	}
+
+	Connection<?> restoreConnection(ConnectionData data) {
+		return connectionFactoryLocator.getConnectionFactory(data.getProviderId()).createConnection(data);
+	}
+
+	<A> String getProviderId(Class<A> apiType) {
+		return connectionFactoryLocator.getConnectionFactory(apiType).getProviderId();
+	}
+
+	private MultiValueMap<String, ConnectionData> loadConnectionData(ConnectionRepository userRepository) {
+		MultiValueMap<String, Connection<?>> connections = userRepository.findAllConnections();
+		MultiValueMap<String, ConnectionData> connectionData = new LinkedMultiValueMap<String, ConnectionData>(connections.size());
+		for (Entry<String, List<Connection<?>>> entry : connections.entrySet()) {
+			List<ConnectionData> providerConnectionData = new ArrayList<ConnectionData>(entry.getValue().size());
+			for (Connection<?> connection : entry.getValue()) {
+				providerConnectionData.add(connection.createData());
+			}
+			connectionData.put(entry.getKey(), providerConnectionData);
+		}
+		return connectionData;
+	}
+
+	private static final class CachedConnections {
+
+		private final MultiValueMap<String, ConnectionData> connectionData;
+
+		private final long expireTime;
+
+		public CachedConnections(MultiValueMap<String, ConnectionData> connectionData, long expireTime) {
+			this.connectionData = connectionData;
+			this.expireTime = expireTime;
+		}
+
+	}
+
+	private static final class Loads {
+
+		private int inProgress;
+
+		private long invalidations;
+
+	}
+
+	private static final int DEFAULT_MAX_SIZE = 1000;
+
+	private static final long DEFAULT_TIME_TO_LIVE = 300 * 1000L;
+
+}
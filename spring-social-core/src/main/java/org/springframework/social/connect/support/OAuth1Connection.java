@@ -15,6 +15,9 @@
  */
 package org.springframework.social.connect.support;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
 import org.springframework.social.connect.ApiAdapter;
 import org.springframework.social.connect.Connection;
 import org.springframework.social.connect.ConnectionData;
@@ -38,7 +41,10 @@ public class OAuth1Connection<A> extends AbstractConnection<A> {
 	
 	private String secret;
 
-	private transient A api;
+	private transient volatile A api;
+
+	// the persisted state a connection restored from ConnectionData reads its tokens from on first use
+	private transient volatile ConnectionData data;
 
 	/**
 	 * Creates a new {@link OAuth1Connection} from a OAuth1 access token response.
@@ -55,13 +61,13 @@ public class OAuth1Connection<A> extends AbstractConnection<A> {
 		super(apiAdapter);
 		this.serviceProvider = serviceProvider;
 		initAccessTokens(accessToken, secret);
-		initApi();
 		initKey(providerId, providerUserId);
 	}
 
 	/**
 	 * Creates a new {@link OAuth1Connection} from the data provided.
 	 * Designed to be called when re-constituting an existing {@link Connection} using {@link ConnectionData}.
+	 * The tokens are not read from the data until the connection is first used, so data that decrypts them on access isn't decrypted for connections that are only listed.
 	 * @param data the data holding the state of this connection
 	 * @param serviceProvider the OAuth1-based ServiceProvider
 	 * @param apiAdapter the ApiAdapter for the ServiceProvider
@@ -69,17 +75,34 @@ public class OAuth1Connection<A> extends AbstractConnection<A> {
 	public OAuth1Connection(ConnectionData data, OAuth1ServiceProvider<A> serviceProvider, ApiAdapter<A> apiAdapter) {
 		super(data, apiAdapter);
 		this.serviceProvider = serviceProvider;
-		initAccessTokens(data.getAccessToken(), data.getSecret());
-		initApi();
+		this.data = data;
 	}
 
 	// implementing Connection
 	
 	public A getApi() {
+		initFromData();
+		A api = this.api;
+		// the service provider is not serialized, so a deserialized connection has no API binding
+		if (api == null && serviceProvider != null) {
+			synchronized (getMonitor()) {
+				api = this.api;
+				if (api == null) {
+					api = serviceProvider.getApi(accessToken, secret);
+					this.api = api;
+				}
+			}
+		}
 		return api;
 	}
 
 	public ConnectionData createData() {
+		ConnectionData data = this.data;
+		if (data != null && hasValuesOf(data)) {
+			// not used since it was restored: hand back its data as is, so tokens it decrypts on access stay undecrypted
+			return data;
+		}
+		initFromData();
 		synchronized (getMonitor()) {
 			return new ConnectionData(getKey().getProviderId(), getKey().getProviderUserId(), getDisplayName(), getProfileUrl(), getImageUrl(), accessToken, secret, null, null);
 		}
@@ -87,20 +110,29 @@ public class OAuth1Connection<A> extends AbstractConnection<A> {
 
 	// internal helpers
 	
+	private void initFromData() {
+		if (data != null) {
+			synchronized (getMonitor()) {
+				ConnectionData data = this.data;
+				if (data != null) {
+					initAccessTokens(data.getAccessToken(), data.getSecret());
+					this.data = null;
+				}
+			}
+		}
+	}
+
 	private void initAccessTokens(String accessToken, String secret) {
 		this.accessToken = accessToken;
 		this.secret = secret;
 	}
 
-	private void initApi() {
-		api = serviceProvider.getApi(accessToken, secret);
-	}
-
 	// equals() and hashCode() generated by Eclipse
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
+		initFromData();
 		result = prime * result + ((accessToken == null) ? 0 : accessToken.hashCode());
 		result = prime * result + ((secret == null) ? 0 : secret.hashCode());
 		return result;
@@ -113,7 +145,9 @@ public class OAuth1Connection<A> extends AbstractConnection<A> {
 		if (getClass() != obj.getClass()) return false;
 		@SuppressWarnings("rawtypes")
 		OAuth1Connection other = (OAuth1Connection) obj;
-		
+		initFromData();
+		other.initFromData();
+
 		if (accessToken == null) {
 			if (other.accessToken != null) return false;
 		} else if (!accessToken.equals(other.accessToken)) return false;
@@ -124,6 +158,12 @@ public class OAuth1Connection<A> extends AbstractConnection<A> {
 		
 		return true;
 	}
-	
-	
+
+	// serialization
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		initFromData();
+		out.defaultWriteObject();
+	}
+
 }
@@ -22,6 +22,7 @@ import org.springframework.social.connect.ConnectionFactory;
 import org.springframework.social.oauth1.OAuth1Operations;
 import org.springframework.social.oauth1.OAuth1ServiceProvider;
 import org.springframework.social.oauth1.OAuthToken;
+import org.springframework.social.oauth1.ReactiveOAuth1Operations;
 
 /**
  * Factory for creating OAuth1-based Connections.
@@ -30,6 +31,8 @@ import org.springframework.social.oauth1.OAuthToken;
  * @param <A> the service provider's API type.
  */
 public class OAuth1ConnectionFactory<A> extends ConnectionFactory<A> {
+
+	private ReactiveOAuth1Operations reactiveOAuthOperations;
 	
 	/**
 	 * Create a {@link OAuth1ConnectionFactory}.
@@ -48,6 +51,23 @@ public class OAuth1ConnectionFactory<A> extends ConnectionFactory<A> {
 		return getOAuth1ServiceProvider().getOAuthOperations();
 	}
 
+	/**
+	 * Sets the {@link ReactiveOAuth1Operations} reactive applications use to conduct the OAuth1 flow with the provider without blocking.
+	 * Null by default, in which case the reactive controllers fall back to running the blocking {@link #getOAuthOperations() OAuth1Operations} on a scheduler meant for blocking work.
+	 * @param reactiveOAuthOperations the reactive counterpart of the provider's OAuth1Operations
+	 */
+	public void setReactiveOAuthOperations(ReactiveOAuth1Operations reactiveOAuthOperations) {
+		this.reactiveOAuthOperations = reactiveOAuthOperations;
+	}
+
+	/**
+	 * @return the {@link ReactiveOAuth1Operations} that allows reactive applications to conduct the OAuth1 flow with the provider without blocking,
+	 * or null if none has been {@link #setReactiveOAuthOperations(ReactiveOAuth1Operations) set}
+	 */
+	public ReactiveOAuth1Operations getReactiveOAuthOperations() {
+		return reactiveOAuthOperations;
+	}
+
 	/**
 	 * Create a OAuth1-based Connection from the access token response returned after {@link #getOAuthOperations() completing the OAuth1 flow}.
 	 * @param accessToken the access token
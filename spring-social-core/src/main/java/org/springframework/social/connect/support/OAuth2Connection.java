@@ -15,6 +15,10 @@
  */
 package org.springframework.social.connect.support;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -33,6 +37,9 @@ import org.springframework.social.oauth2.OAuth2ServiceProvider;
  * An OAuth2-based Connection implementation.
  * In general, this implementation is expected to be suitable for all OAuth2-based providers and should not require subclassing.
  * Subclasses of {@link OAuth2ConnectionFactory} should be favored to encapsulate details specific to an OAuth2-based provider.
+ * The access tokens are held in an immutable snapshot that is replaced on {@link #refresh()}, along with the API binding created for them the first time {@link #getApi()} needs it,
+ * so calls made through {@link #getApi()} never block one another and may proceed concurrently from any number of threads.
+ * Concurrent refreshes of the same connection, even through different instances, are coalesced into a single request to the token endpoint.
  * @author Keith Donald
  * @param <A> the service provider's API type
  * @see OAuth2ConnectionFactory
@@ -41,16 +48,24 @@ public class OAuth2Connection<A> extends AbstractConnection<A> {
 
 	private static final long serialVersionUID = 4057584084077577480L;
 
+	private static final SingleFlightRefresher refresher = new SingleFlightRefresher();
+
 	private transient final OAuth2ServiceProvider<A> serviceProvider;
 
-	private String accessToken;
-	
-	private String refreshToken;
-	
-	private Long expireTime;
+	// serialized form kept from when the tokens were plain fields
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("accessToken", String.class),
+		new ObjectStreamField("refreshToken", String.class),
+		new ObjectStreamField("expireTime", Long.class)
+	};
+
+	private transient volatile Grant<A> grant;
+
+	// the persisted state a connection restored from ConnectionData creates its grant from on first use
+	private transient volatile ConnectionData data;
+
+	private transient volatile RefreshLock refreshLock;
 
-	private transient A api;
-	
 	private transient A apiProxy;
 
 	/**
@@ -69,8 +84,7 @@ public class OAuth2Connection<A> extends AbstractConnection<A> {
 			OAuth2ServiceProvider<A> serviceProvider, ApiAdapter<A> apiAdapter) {
 		super(apiAdapter);
 		this.serviceProvider = serviceProvider;
-		initAccessTokens(accessToken, refreshToken, expireTime);
-		initApi();
+		initGrant(accessToken, refreshToken, expireTime);
 		initApiProxy();
 		initKey(providerId, providerUserId);
 	}
@@ -78,6 +92,7 @@ public class OAuth2Connection<A> extends AbstractConnection<A> {
 	/**
 	 * Creates a new {@link OAuth2Connection} from the data provided.
 	 * Designed to be called when re-constituting an existing {@link Connection} from {@link ConnectionData}.
+	 * The tokens are not read from the data until the connection is first used, so data that decrypts them on access isn't decrypted for connections that are only listed.
 	 * @param data the data holding the state of this connection
 	 * @param serviceProvider the OAuth2-based ServiceProvider
 	 * @param apiAdapter the ApiAdapter for the ServiceProvider
@@ -85,24 +100,30 @@ public class OAuth2Connection<A> extends AbstractConnection<A> {
 	public OAuth2Connection(ConnectionData data, OAuth2ServiceProvider<A> serviceProvider, ApiAdapter<A> apiAdapter) {
 		super(data, apiAdapter);
 		this.serviceProvider = serviceProvider;
-		initAccessTokens(data.getAccessToken(), data.getRefreshToken(), data.getExpireTime());
-		initApi();
+		this.data = data;
 		initApiProxy();
 	}
 
 	// implementing Connection
 
 	public boolean hasExpired() {
-		synchronized (getMonitor()) {
+		ConnectionData data = this.data;
+		if (data != null) {
+			// the expiry time is all it takes: don't decrypt the tokens for it
+			Long expireTime = data.getExpireTime();
 			return expireTime != null && System.currentTimeMillis() >= expireTime;
 		}
+		return getGrant().hasExpired();
 	}
 
 	public void refresh() {
+		// refreshes are serialized so a refresh token is never redeemed twice; API calls keep using the current grant meanwhile
 		synchronized (getMonitor()) {
-			AccessGrant accessGrant = serviceProvider.getOAuthOperations().refreshAccess(refreshToken, null);
-			initAccessTokens(accessGrant.getAccessToken(), accessGrant.getRefreshToken(), accessGrant.getExpireTime());
-			initApi();
+			final Grant<A> grant = getGrant();
+			AccessGrant accessGrant = refresher.refresh(getKey(), grant.accessToken, grant.refreshToken, refreshLock,
+					() -> serviceProvider.getOAuthOperations().refreshAccess(grant.refreshToken, null));
+			String refreshToken = accessGrant.getRefreshToken() != null ? accessGrant.getRefreshToken() : grant.refreshToken;
+			initGrant(accessGrant.getAccessToken(), refreshToken, accessGrant.getExpireTime());
 		}
 	}
 
@@ -110,30 +131,44 @@ public class OAuth2Connection<A> extends AbstractConnection<A> {
 		if (apiProxy != null) {
 			return apiProxy;
 		} else {
-			synchronized (getMonitor()) {
-				return api;
-			}
+			return getGrant().getApi(serviceProvider);
 		}
 	}
 
 	public ConnectionData createData() {
-		synchronized (getMonitor()) {
-			return new ConnectionData(getKey().getProviderId(), getKey().getProviderUserId(), getDisplayName(), getProfileUrl(), getImageUrl(), accessToken, null, refreshToken, expireTime);
+		ConnectionData data = this.data;
+		if (data != null && hasValuesOf(data)) {
+			// not used since it was restored: hand back its data as is, so tokens it decrypts on access stay undecrypted
+			return data;
 		}
+		Grant<A> grant = getGrant();
+		return new ConnectionData(getKey().getProviderId(), getKey().getProviderUserId(), getDisplayName(), getProfileUrl(), getImageUrl(), grant.accessToken, null, grant.refreshToken, grant.expireTime);
 	}
 
 	// internal helpers
-	
-	private void initAccessTokens(String accessToken, String refreshToken, Long expireTime) {
-		this.accessToken = accessToken;
-		this.expireTime = expireTime;		
-		if (refreshToken != null) {
-			this.refreshToken = refreshToken;
+
+	void setRefreshLock(RefreshLock refreshLock) {
+		this.refreshLock = refreshLock;
+	}
+
+	private Grant<A> getGrant() {
+		Grant<A> grant = this.grant;
+		if (grant == null) {
+			synchronized (getMonitor()) {
+				grant = this.grant;
+				if (grant == null) {
+					ConnectionData data = this.data;
+					initGrant(data.getAccessToken(), data.getRefreshToken(), data.getExpireTime());
+					this.data = null;
+					grant = this.grant;
+				}
+			}
 		}
+		return grant;
 	}
-	
-	private void initApi() {
-		api = serviceProvider.getApi(accessToken);
+
+	private void initGrant(String accessToken, String refreshToken, Long expireTime) {
+		grant = new Grant<A>(accessToken, refreshToken, expireTime);
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -147,17 +182,69 @@ public class OAuth2Connection<A> extends AbstractConnection<A> {
 	private class ApiInvocationHandler implements InvocationHandler {
 
 		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-			synchronized (getMonitor()) {
-				if (hasExpired()) {
-					throw new ExpiredAuthorizationException(getKey().getProviderId());
-				}
-				try {
-					return method.invoke(OAuth2Connection.this.api, args);
-				} catch (InvocationTargetException e) {
-					throw e.getTargetException();
+			Grant<A> grant = getGrant();
+			if (grant.hasExpired()) {
+				throw new ExpiredAuthorizationException(getKey().getProviderId());
+			}
+			try {
+				return method.invoke(grant.getApi(serviceProvider), args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+	}
+
+	private static final class Grant<A> {
+
+		private final String accessToken;
+
+		private final String refreshToken;
+
+		private final Long expireTime;
+
+		private volatile A api;
+
+		public Grant(String accessToken, String refreshToken, Long expireTime) {
+			this.accessToken = accessToken;
+			this.refreshToken = refreshToken;
+			this.expireTime = expireTime;
+		}
+
+		public boolean hasExpired() {
+			return expireTime != null && System.currentTimeMillis() >= expireTime;
+		}
+
+		// the service provider is not serialized, so a deserialized connection has no API binding
+		public A getApi(OAuth2ServiceProvider<A> serviceProvider) {
+			A api = this.api;
+			if (api == null && serviceProvider != null) {
+				synchronized (this) {
+					api = this.api;
+					if (api == null) {
+						api = serviceProvider.getApi(accessToken);
+						this.api = api;
+					}
 				}
 			}
+			return api;
 		}
+
+	}
+
+	// serialization
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		Grant<A> grant = getGrant();
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("accessToken", grant.accessToken);
+		fields.put("refreshToken", grant.refreshToken);
+		fields.put("expireTime", grant.expireTime);
+		out.writeFields();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		grant = new Grant<A>((String) fields.get("accessToken", null), (String) fields.get("refreshToken", null), (Long) fields.get("expireTime", null));
 	}
 
 	// equas() and hashCode() generated by Eclipse
@@ -165,9 +252,10 @@ public class OAuth2Connection<A> extends AbstractConnection<A> {
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
-		result = prime * result + ((accessToken == null) ? 0 : accessToken.hashCode());
-		result = prime * result + ((expireTime == null) ? 0 : expireTime.hashCode());
-		result = prime * result + ((refreshToken == null) ? 0 : refreshToken.hashCode());
+		Grant<A> grant = getGrant();
+		result = prime * result + ((grant.accessToken == null) ? 0 : grant.accessToken.hashCode());
+		result = prime * result + ((grant.expireTime == null) ? 0 : grant.expireTime.hashCode());
+		result = prime * result + ((grant.refreshToken == null) ? 0 : grant.refreshToken.hashCode());
 		return result;
 	}
 
@@ -178,18 +266,21 @@ public class OAuth2Connection<A> extends AbstractConnection<A> {
 		if (getClass() != obj.getClass()) return false;
 		@SuppressWarnings("rawtypes")
 		OAuth2Connection other = (OAuth2Connection) obj;
-		
-		if (accessToken == null) {
-			if (other.accessToken != null) return false;
-		} else if (!accessToken.equals(other.accessToken)) return false;
-
-		if (expireTime == null) {
-			if (other.expireTime != null) return false;
-		} else if (!expireTime.equals(other.expireTime)) return false;
-		
-		if (refreshToken == null) {
-			if (other.refreshToken != null) return false;
-		} else if (!refreshToken.equals(other.refreshToken)) return false;
+		Grant<A> grant = getGrant();
+		@SuppressWarnings("rawtypes")
+		Grant otherGrant = other.getGrant();
+
+		if (grant.accessToken == null) {
+			if (otherGrant.accessToken != null) return false;
+		} else if (!grant.accessToken.equals(otherGrant.accessToken)) return false;
+
+		if (grant.expireTime == null) {
+			if (otherGrant.expireTime != null) return false;
+		} else if (!grant.expireTime.equals(otherGrant.expireTime)) return false;
+
+		if (grant.refreshToken == null) {
+			if (otherGrant.refreshToken != null) return false;
+		} else if (!grant.refreshToken.equals(otherGrant.refreshToken)) return false;
 
 		return true;
 	}
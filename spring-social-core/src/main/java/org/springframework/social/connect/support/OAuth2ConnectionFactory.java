@@ -24,6 +24,7 @@ import org.springframework.social.connect.ConnectionFactory;
 import org.springframework.social.oauth2.AccessGrant;
 import org.springframework.social.oauth2.OAuth2Operations;
 import org.springframework.social.oauth2.OAuth2ServiceProvider;
+import org.springframework.social.oauth2.ReactiveOAuth2Operations;
 
 /**
  * Factory for creating OAuth2-based {@link Connection}s.
@@ -34,6 +35,10 @@ import org.springframework.social.oauth2.OAuth2ServiceProvider;
 public class OAuth2ConnectionFactory<S> extends ConnectionFactory<S> {
 
 	private String scope = null;
+
+	private RefreshLock refreshLock;
+
+	private ReactiveOAuth2Operations reactiveOAuthOperations;
 	
 	/**
 	 * Create a {@link OAuth2ConnectionFactory}.
@@ -57,6 +62,15 @@ public class OAuth2ConnectionFactory<S> extends ConnectionFactory<S> {
 	public String getScope() {
 		return scope;
 	}
+
+	/**
+	 * Sets the lock used to coordinate refreshes of the connections created by this factory across processes.
+	 * Null by default, meaning that refreshes are only coalesced within this process.
+	 * @param refreshLock the cluster-wide refresh lock
+	 */
+	public void setRefreshLock(RefreshLock refreshLock) {
+		this.refreshLock = refreshLock;
+	}
 	
 	/**
 	 * Generates a value for the state parameter.
@@ -83,6 +97,23 @@ public class OAuth2ConnectionFactory<S> extends ConnectionFactory<S> {
 		return getOAuth2ServiceProvider().getOAuthOperations();
 	}
 
+	/**
+	 * Sets the {@link ReactiveOAuth2Operations} reactive applications use to conduct the OAuth2 flow with the provider without blocking.
+	 * Null by default, in which case the reactive controllers fall back to running the blocking {@link #getOAuthOperations() OAuth2Operations} on a scheduler meant for blocking work.
+	 * @param reactiveOAuthOperations the reactive counterpart of the provider's OAuth2Operations
+	 */
+	public void setReactiveOAuthOperations(ReactiveOAuth2Operations reactiveOAuthOperations) {
+		this.reactiveOAuthOperations = reactiveOAuthOperations;
+	}
+
+	/**
+	 * Get the {@link ReactiveOAuth2Operations} that allows reactive applications to conduct the OAuth2 flow with the provider without blocking.
+	 * @return the ReactiveOAuth2Operations, or null if none has been {@link #setReactiveOAuthOperations(ReactiveOAuth2Operations) set}
+	 */
+	public ReactiveOAuth2Operations getReactiveOAuthOperations() {
+		return reactiveOAuthOperations;
+	}
+
 	/**
 	 * Create a OAuth2-based {@link Connection} from the {@link AccessGrant} returned after {@link #getOAuthOperations() completing the OAuth2 flow}.
 	 * @param accessGrant the access grant
@@ -90,8 +121,10 @@ public class OAuth2ConnectionFactory<S> extends ConnectionFactory<S> {
 	 * @see OAuth2Operations#exchangeForAccess(String, String, org.springframework.util.MultiValueMap)
 	 */
 	public Connection<S> createConnection(AccessGrant accessGrant) {
-		return new OAuth2Connection<S>(getProviderId(), extractProviderUserId(accessGrant), accessGrant.getAccessToken(),
-				accessGrant.getRefreshToken(), accessGrant.getExpireTime(), getOAuth2ServiceProvider(), getApiAdapter());		
+		OAuth2Connection<S> connection = new OAuth2Connection<S>(getProviderId(), extractProviderUserId(accessGrant), accessGrant.getAccessToken(),
+				accessGrant.getRefreshToken(), accessGrant.getExpireTime(), getOAuth2ServiceProvider(), getApiAdapter());
+		connection.setRefreshLock(refreshLock);
+		return connection;
 	}
 
 	/**
@@ -99,7 +132,9 @@ public class OAuth2ConnectionFactory<S> extends ConnectionFactory<S> {
 	 * @param data connection data from which to create the connection
 	 */
 	public Connection<S> createConnection(ConnectionData data) {
-		return new OAuth2Connection<S>(data, getOAuth2ServiceProvider(), getApiAdapter());
+		OAuth2Connection<S> connection = new OAuth2Connection<S>(data, getOAuth2ServiceProvider(), getApiAdapter());
+		connection.setRefreshLock(refreshLock);
+		return connection;
 	}
 	
 	// subclassing hooks
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.support;
+
+import java.util.Set;
+
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.ConnectionRepository;
+import org.springframework.social.connect.ReactiveConnectionRepository;
+import org.springframework.social.connect.ReactiveUsersConnectionRepository;
+import org.springframework.social.connect.UsersConnectionRepository;
+import org.springframework.util.Assert;
+import org.springframework.util.MultiValueMap;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Exposes a blocking {@link UsersConnectionRepository}, such as the JDBC repository, as a {@link ReactiveUsersConnectionRepository}.
+ * Each operation of the blocking repository runs on a {@link Scheduler} meant for blocking work, so callers on an event loop thread are never held up by it.
+ */
+public class ReactiveUsersConnectionRepositoryAdapter implements ReactiveUsersConnectionRepository {
+
+	private final UsersConnectionRepository usersConnectionRepository;
+
+	private final Scheduler scheduler;
+
+	/**
+	 * Creates an adapter running the operations of the given repository on the elastic scheduler.
+	 * @param usersConnectionRepository the blocking repository
+	 * @see Schedulers#elastic()
+	 */
+	public ReactiveUsersConnectionRepositoryAdapter(UsersConnectionRepository usersConnectionRepository) {
+		this(usersConnectionRepository, Schedulers.elastic());
+	}
+
+	/**
+	 * Creates an adapter running the operations of the given repository on the given scheduler.
+	 * @param usersConnectionRepository the blocking repository
+	 * @param scheduler the scheduler to run the blocking operations on
+	 */
+	public ReactiveUsersConnectionRepositoryAdapter(UsersConnectionRepository usersConnectionRepository, Scheduler scheduler) {
+		Assert.notNull(usersConnectionRepository, "usersConnectionRepository cannot be null");
+		Assert.notNull(scheduler, "scheduler cannot be null");
+		this.usersConnectionRepository = usersConnectionRepository;
+		this.scheduler = scheduler;
+	}
+
+	public Flux<String> findUserIdsWithConnection(Connection<?> connection) {
+		return Mono.fromCallable(() -> usersConnectionRepository.findUserIdsWithConnection(connection)).subscribeOn(scheduler).flatMapIterable(userIds -> userIds);
+	}
+
+	public Flux<String> findUserIdsConnectedTo(String providerId, Set<String> providerUserIds) {
+		return Mono.fromCallable(() -> usersConnectionRepository.findUserIdsConnectedTo(providerId, providerUserIds)).subscribeOn(scheduler).flatMapIterable(userIds -> userIds);
+	}
+
+	public ReactiveConnectionRepository createConnectionRepository(String userId) {
+		return new ConnectionRepositoryAdapter(usersConnectionRepository.createConnectionRepository(userId));
+	}
+
+	// internal helpers
+
+	private class ConnectionRepositoryAdapter implements ReactiveConnectionRepository {
+
+		private final ConnectionRepository connectionRepository;
+
+		public ConnectionRepositoryAdapter(ConnectionRepository connectionRepository) {
+			this.connectionRepository = connectionRepository;
+		}
+
+		public Mono<MultiValueMap<String, Connection<?>>> findAllConnections() {
+			return Mono.fromCallable(connectionRepository::findAllConnections).subscribeOn(scheduler);
+		}
+
+		public Flux<Connection<?>> findConnections(String providerId) {
+			return Mono.fromCallable(() -> connectionRepository.findConnections(providerId)).subscribeOn(scheduler).flatMapIterable(connections -> connections);
+		}
+
+		public <A> Flux<Connection<A>> findConnections(Class<A> apiType) {
+			return Mono.fromCallable(() -> connectionRepository.findConnections(apiType)).subscribeOn(scheduler).flatMapIterable(connections -> connections);
+		}
+
+		public Mono<MultiValueMap<String, Connection<?>>> findConnectionsToUsers(MultiValueMap<String, String> providerUserIds) {
+			return Mono.fromCallable(() -> connectionRepository.findConnectionsToUsers(providerUserIds)).subscribeOn(scheduler);
+		}
+
+		public Mono<Connection<?>> getConnection(ConnectionKey connectionKey) {
+			return Mono.<Connection<?>>fromCallable(() -> connectionRepository.getConnection(connectionKey)).subscribeOn(scheduler);
+		}
+
+		public <A> Mono<Connection<A>> getConnection(Class<A> apiType, String providerUserId) {
+			return Mono.fromCallable(() -> connectionRepository.getConnection(apiType, providerUserId)).subscribeOn(scheduler);
+		}
+
+		public <A> Mono<Connection<A>> getPrimaryConnection(Class<A> apiType) {
+			return Mono.fromCallable(() -> connectionRepository.getPrimaryConnection(apiType)).subscribeOn(scheduler);
+		}
+
+		public Mono<Connection<?>> findPrimaryConnection(String providerId) {
+			return findConnections(providerId).next();
+		}
+
+		public <A> Mono<Connection<A>> findPrimaryConnection(Class<A> apiType) {
+			return Mono.fromCallable(() -> connectionRepository.findPrimaryConnection(apiType)).subscribeOn(scheduler);
+		}
+
+		public Mono<Void> addConnection(Connection<?> connection) {
+			return Mono.<Void>fromRunnable(() -> connectionRepository.addConnection(connection)).subscribeOn(scheduler);
+		}
+
+		public Mono<Void> updateConnection(Connection<?> connection) {
+			return Mono.<Void>fromRunnable(() -> connectionRepository.updateConnection(connection)).subscribeOn(scheduler);
+		}
+
+		public Mono<Void> removeConnections(String providerId) {
+			return Mono.<Void>fromRunnable(() -> connectionRepository.removeConnections(providerId)).subscribeOn(scheduler);
+		}
+
+		public Mono<Void> removeConnection(ConnectionKey connectionKey) {
+			return Mono.<Void>fromRunnable(() -> connectionRepository.removeConnection(connectionKey)).subscribeOn(scheduler);
+		}
+
+	}
+
+}
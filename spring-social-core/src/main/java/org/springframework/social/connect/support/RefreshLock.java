@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.support;
+
+import java.util.function.Supplier;
+
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.oauth2.AccessGrant;
+
+/**
+ * SPI for coordinating the refresh of an {@link OAuth2Connection} across processes, e.g. the nodes of a cluster sharing a connection repository.
+ * Refreshes of a connection within a single process are already coalesced into one request to the token endpoint;
+ * a RefreshLock extends this guarantee to every process refreshing the same connection, so that a rotated refresh token is only ever redeemed once.
+ * Registered with {@link OAuth2ConnectionFactory#setRefreshLock(RefreshLock)}.
+ * @see org.springframework.social.connect.jdbc.JdbcRefreshLock
+ */
+public interface RefreshLock {
+
+	/**
+	 * Refreshes the access grant of a connection while holding a lock shared by all processes refreshing it.
+	 * Once the lock is held, implementations should check whether another process has refreshed the connection in the meantime
+	 * and, if so, return the grant it obtained instead of invoking the refresh.
+	 * Several local users may be connected to the same provider user: only a grant obtained by redeeming the given refresh token may be returned, never another user's.
+	 * @param connectionKey the key of the connection being refreshed
+	 * @param accessToken the access token being replaced
+	 * @param refreshToken the refresh token to redeem
+	 * @param refresh requests a new access grant from the provider's token endpoint
+	 * @return the new access grant
+	 */
+	AccessGrant refresh(ConnectionKey connectionKey, String accessToken, String refreshToken, Supplier<AccessGrant> refresh);
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.support;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.oauth2.AccessGrant;
+
+/**
+ * Coalesces concurrent refreshes of the same connection into a single request to the provider's token endpoint.
+ * The first caller for a given connection and refresh token performs the refresh; callers arriving while it is in flight wait for and share its outcome.
+ * A successful refresh is kept for a short while after it completes and handed to callers that arrive late with the refresh token it redeemed,
+ * so a rotated refresh token isn't redeemed again by a caller that hadn't seen the new one yet.
+ */
+final class SingleFlightRefresher {
+
+	private final ConcurrentMap<List<String>, Flight> flights = new ConcurrentHashMap<List<String>, Flight>();
+
+	private final long completedFlightTimeToLive;
+
+	private volatile long nextPurge;
+
+	public SingleFlightRefresher() {
+		this(DEFAULT_COMPLETED_FLIGHT_TIME_TO_LIVE);
+	}
+
+	/**
+	 * Creates a refresher keeping each successful refresh for the given number of milliseconds after it completes.
+	 */
+	SingleFlightRefresher(long completedFlightTimeToLive) {
+		this.completedFlightTimeToLive = completedFlightTimeToLive;
+	}
+
+	public AccessGrant refresh(ConnectionKey connectionKey, String accessToken, String refreshToken, RefreshLock refreshLock, Supplier<AccessGrant> refresh) {
+		purgeCompletedFlights();
+		List<String> id = Arrays.asList(connectionKey.getProviderId(), connectionKey.getProviderUserId(), refreshToken);
+		Flight flight = new Flight();
+		Flight existing;
+		while ((existing = flights.putIfAbsent(id, flight)) != null) {
+			if (!existing.expired()) {
+				return await(existing.result);
+			}
+			flights.remove(id, existing);
+		}
+		try {
+			AccessGrant accessGrant = refreshLock != null ? refreshLock.refresh(connectionKey, accessToken, refreshToken, refresh) : refresh.get();
+			flight.completedAt = System.currentTimeMillis();
+			flight.result.complete(accessGrant);
+			return accessGrant;
+		} catch (RuntimeException | Error e) {
+			// failures aren't kept: the next caller tries again
+			flights.remove(id, flight);
+			flight.result.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	// internal helpers
+
+	private void purgeCompletedFlights() {
+		long now = System.currentTimeMillis();
+		if (now >= nextPurge) {
+			// at most once per time-to-live
+			nextPurge = now + completedFlightTimeToLive;
+			flights.values().removeIf(Flight::expired);
+		}
+	}
+
+	private AccessGrant await(CompletableFuture<AccessGrant> flight) {
+		try {
+			return flight.join();
+		} catch (CompletionException e) {
+			// rethrow what the refreshing thread got, so every caller sees the same failure
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	private final class Flight {
+
+		private final CompletableFuture<AccessGrant> result = new CompletableFuture<AccessGrant>();
+
+		// set before the result is completed, so it is visible to whoever sees the result done
+		private volatile long completedAt;
+
+		public boolean expired() {
+			return result.isDone() && !result.isCompletedExceptionally() && System.currentTimeMillis() - completedAt >= completedFlightTimeToLive;
+		}
+
+	}
+
+	private static final long DEFAULT_COMPLETED_FLIGHT_TIME_TO_LIVE = 60 * 1000L;
+
+}
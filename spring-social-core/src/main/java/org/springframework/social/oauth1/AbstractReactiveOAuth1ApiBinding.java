@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth1;
+
+import org.springframework.social.ApiBinding;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Base class for OAuth 1-based provider API bindings performing non-blocking API calls with a {@link WebClient}.
+ * The reactive counterpart of {@link AbstractOAuth1ApiBinding}: operations return {@link reactor.core.publisher.Mono} or {@link reactor.core.publisher.Flux}
+ * results instead of blocking the calling thread, so calls to several providers can proceed concurrently on a small number of event loop threads.
+ * Requires Spring WebFlux, and Reactor Netty unless {@link #configureWebClient(WebClient.Builder)} sets another connector.
+ */
+public abstract class AbstractReactiveOAuth1ApiBinding implements ApiBinding {
+
+	private final OAuth1Credentials credentials;
+
+	private final WebClient webClient;
+
+	/**
+	 * Constructs the API template without user authorization. This is useful for accessing operations on a provider's API that do not require user authorization.
+	 */
+	protected AbstractReactiveOAuth1ApiBinding() {
+		credentials = null;
+		WebClient.Builder builder = WebClient.builder();
+		configureWebClient(builder);
+		webClient = builder.build();
+	}
+
+	/**
+	 * Constructs the API template with OAuth credentials necessary to perform operations on behalf of a user.
+	 * @param consumerKey the application's consumer key
+	 * @param consumerSecret the application's consumer secret
+	 * @param accessToken the access token
+	 * @param accessTokenSecret the access token secret
+	 */
+	protected AbstractReactiveOAuth1ApiBinding(String consumerKey, String consumerSecret, String accessToken, String accessTokenSecret) {
+		Assert.notNull(consumerKey, "Constructor argument 'consumerKey' cannot be null.");
+		Assert.notNull(consumerSecret, "Constructor argument 'consumerSecret' cannot be null.");
+		Assert.notNull(accessToken, "Constructor argument 'accessToken' cannot be null.");
+		Assert.notNull(accessTokenSecret, "Constructor argument 'accessTokenSecret' cannot be null.");
+		credentials = new OAuth1Credentials(consumerKey, consumerSecret, accessToken, accessTokenSecret);
+		WebClient.Builder builder = WebClient.builder().filter(new OAuth1ExchangeFilterFunction(credentials));
+		configureWebClient(builder);
+		webClient = builder.build();
+	}
+
+	// implementing ApiBinding
+
+	public boolean isAuthorized() {
+		return credentials != null;
+	}
+
+	// public implementation operations
+
+	/**
+	 * Obtains a reference to the reactive REST client backing this API binding and used to perform API calls.
+	 * Callers may use the WebClient to invoke other API operations not yet modeled by the binding interface.
+	 * @return a reference to the {@link WebClient} that backs this API binding.
+	 */
+	public WebClient getWebClient() {
+		return webClient;
+	}
+
+	// subclassing hooks
+
+	/**
+	 * Subclassing hook to enable customization of the WebClient used to consume provider API resources.
+	 * An example use case might be to set a base URL, default headers, codecs or a custom connector.
+	 * Note that this method is called after the filter signing requests has been registered.
+	 * @param builder the builder of the WebClient to configure.
+	 */
+	protected void configureWebClient(WebClient.Builder builder) {
+	}
+
+}
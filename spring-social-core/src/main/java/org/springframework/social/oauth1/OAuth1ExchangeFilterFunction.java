@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth1;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ExchangeFilterFunction implementation that performs OAuth1 request signing before a request for a protected resource is sent.
+ * The reactive counterpart of {@link OAuth1RequestInterceptor}.
+ * The signature covers form-encoded body parameters, so a form-encoded body is collected before the Authorization header is computed and the request is committed;
+ * other bodies are signed without them and streamed through as they are.
+ */
+class OAuth1ExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private final SigningSupport signingUtils;
+
+	private final OAuth1Credentials oauth1Credentials;
+
+	/**
+	 * Creates an OAuth 1.0 protected resource request filter.
+	 * @param oauth1Credentials the consumer and access token credentials
+	 */
+	public OAuth1ExchangeFilterFunction(OAuth1Credentials oauth1Credentials) {
+		this.oauth1Credentials = oauth1Credentials;
+		this.signingUtils = new SigningSupport();
+	}
+
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		ClientRequest protectedResourceRequest = ClientRequest.from(request)
+				.body((outputMessage, context) -> request.body().insert(new SigningRequest(outputMessage), context))
+				.build();
+		return next.exchange(protectedResourceRequest);
+	}
+
+	// internal helpers
+
+	private class SigningRequest extends ClientHttpRequestDecorator {
+
+		public SigningRequest(ClientHttpRequest delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			MediaType contentType = getHeaders().getContentType();
+			if (contentType == null || !MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(contentType)) {
+				// only form-encoded parameters are part of the signature
+				sign(EMPTY_BODY);
+				return super.writeWith(body);
+			}
+			return Flux.from(body).collectList().flatMap(buffers -> {
+				sign(toByteArray(buffers));
+				return super.writeWith(Flux.fromIterable(buffers));
+			});
+		}
+
+		@Override
+		public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			// streamed bodies are never form-encoded
+			sign(EMPTY_BODY);
+			return super.writeAndFlushWith(body);
+		}
+
+		@Override
+		public Mono<Void> setComplete() {
+			sign(EMPTY_BODY);
+			return super.setComplete();
+		}
+
+		private void sign(byte[] body) {
+			getHeaders().set("Authorization", signingUtils.buildAuthorizationHeaderValue(getMethod(), getURI(), getHeaders().getContentType(), body, oauth1Credentials));
+		}
+
+		private byte[] toByteArray(List<? extends DataBuffer> buffers) {
+			int length = 0;
+			for (DataBuffer buffer : buffers) {
+				length += buffer.readableByteCount();
+			}
+			byte[] bytes = new byte[length];
+			int offset = 0;
+			for (DataBuffer buffer : buffers) {
+				ByteBuffer byteBuffer = buffer.asByteBuffer();
+				int count = byteBuffer.remaining();
+				byteBuffer.get(bytes, offset, count);
+				offset += count;
+			}
+			return bytes;
+		}
+
+	}
+
+	private static final byte[] EMPTY_BODY = new byte[0];
+
+}
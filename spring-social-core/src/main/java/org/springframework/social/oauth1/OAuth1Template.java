@@ -110,11 +110,7 @@ public class OAuth1Template implements OAuth1Operations {
 	}
 	
 	public OAuthToken fetchRequestToken(String callbackUrl, MultiValueMap<String, String> additionalParameters) {
-		Map<String, String> oauthParameters = new HashMap<String, String>(1, 1);
-		if (version == OAuth1Version.CORE_10_REVISION_A) {
-			oauthParameters.put("oauth_callback", callbackUrl);
-		}
-		return exchangeForToken(requestTokenUrl, oauthParameters, additionalParameters, null);
+		return exchangeForToken(requestTokenUrl, requestTokenParameters(callbackUrl), additionalParameters, null);
 	}
 
 	public String buildAuthorizeUrl(String requestToken, OAuth1Parameters parameters) {
@@ -126,12 +122,7 @@ public class OAuth1Template implements OAuth1Operations {
 	}
 
 	public OAuthToken exchangeForAccessToken(AuthorizedRequestToken requestToken, MultiValueMap<String, String> additionalParameters) {
-		Map<String, String> tokenParameters = new HashMap<String, String>(2, 1);
-		tokenParameters.put("oauth_token", requestToken.getValue());
-		if (version == OAuth1Version.CORE_10_REVISION_A) {
-			tokenParameters.put("oauth_verifier", requestToken.getVerifier());
-		}
-		return exchangeForToken(accessTokenUrl, tokenParameters, additionalParameters, requestToken.getSecret());
+		return exchangeForToken(accessTokenUrl, accessTokenParameters(requestToken), additionalParameters, requestToken.getSecret());
 	}
 
 	// subclassing hooks
@@ -165,6 +156,42 @@ public class OAuth1Template implements OAuth1Operations {
 	protected void addCustomAuthorizationParameters(MultiValueMap<String, String> parameters) {
 	}
 	
+	// token requests, shared with ReactiveOAuth1Template
+
+	URI getRequestTokenUrl() {
+		return requestTokenUrl;
+	}
+
+	URI getAccessTokenUrl() {
+		return accessTokenUrl;
+	}
+
+	Map<String, String> requestTokenParameters(String callbackUrl) {
+		Map<String, String> oauthParameters = new HashMap<String, String>(1, 1);
+		if (version == OAuth1Version.CORE_10_REVISION_A) {
+			oauthParameters.put("oauth_callback", callbackUrl);
+		}
+		return oauthParameters;
+	}
+
+	Map<String, String> accessTokenParameters(AuthorizedRequestToken requestToken) {
+		Map<String, String> tokenParameters = new HashMap<String, String>(2, 1);
+		tokenParameters.put("oauth_token", requestToken.getValue());
+		if (version == OAuth1Version.CORE_10_REVISION_A) {
+			tokenParameters.put("oauth_verifier", requestToken.getVerifier());
+		}
+		return tokenParameters;
+	}
+
+	String buildAuthorizationHeaderValue(URI tokenUrl, Map<String, String> tokenParameters, MultiValueMap<String, String> additionalParameters, String tokenSecret) {
+		Map<String, String> oauthParameters = signingUtils.commonOAuthParameters(consumerKey);
+		oauthParameters.putAll(tokenParameters);
+		if (additionalParameters == null) {
+			additionalParameters = EmptyMultiValueMap.instance();
+		}
+		return signingUtils.buildAuthorizationHeaderValue(HttpMethod.POST, tokenUrl, oauthParameters, additionalParameters, consumerSecret, tokenSecret);
+	}
+
 	// internal helpers
 
 	private RestTemplate createRestTemplate() {
@@ -194,15 +221,6 @@ public class OAuth1Template implements OAuth1Operations {
 		return createOAuthToken(body.getFirst("oauth_token"), body.getFirst("oauth_token_secret"), body);
 	}
 
-	private String buildAuthorizationHeaderValue(URI tokenUrl, Map<String, String> tokenParameters, MultiValueMap<String, String> additionalParameters, String tokenSecret) {
-		Map<String, String> oauthParameters = signingUtils.commonOAuthParameters(consumerKey);
-		oauthParameters.putAll(tokenParameters);
-		if (additionalParameters == null) {
-			additionalParameters = EmptyMultiValueMap.instance();
-		}
-		return signingUtils.buildAuthorizationHeaderValue(HttpMethod.POST, tokenUrl, oauthParameters, additionalParameters, consumerSecret, tokenSecret);
-	}
-
 	private String buildAuthUrl(String baseAuthUrl, String requestToken, OAuth1Parameters parameters) {
 		StringBuilder authUrl = new StringBuilder(baseAuthUrl).append('?').append("oauth_token").append('=').append(formEncode(requestToken));
 		addCustomAuthorizationParameters(parameters);
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth1;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.springframework.social.support.FormDecoder;
+import org.springframework.social.support.ReactiveLoggingErrorHandler;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveOAuth1Operations implementation that uses a {@link WebClient} to make the OAuth calls.
+ * Builds URLs and signs token requests exactly as {@link OAuth1Template} does, and signals the same exceptions for error responses.
+ */
+public class ReactiveOAuth1Template implements ReactiveOAuth1Operations {
+
+	private final OAuth1Template urlsAndSigning;
+
+	private WebClient webClient;
+
+	public ReactiveOAuth1Template(String consumerKey, String consumerSecret, String requestTokenUrl, String authorizeUrl, String accessTokenUrl) {
+		this(consumerKey, consumerSecret, requestTokenUrl, authorizeUrl, accessTokenUrl, OAuth1Version.CORE_10_REVISION_A);
+	}
+
+	public ReactiveOAuth1Template(String consumerKey, String consumerSecret, String requestTokenUrl, String authorizeUrl, String accessTokenUrl, OAuth1Version version) {
+		this(consumerKey, consumerSecret, requestTokenUrl, authorizeUrl, null, accessTokenUrl, version);
+	}
+
+	public ReactiveOAuth1Template(String consumerKey, String consumerSecret, String requestTokenUrl, String authorizeUrl, String authenticateUrl, String accessTokenUrl) {
+		this(consumerKey, consumerSecret, requestTokenUrl, authorizeUrl, authenticateUrl, accessTokenUrl, OAuth1Version.CORE_10_REVISION_A);
+	}
+
+	public ReactiveOAuth1Template(String consumerKey, String consumerSecret, String requestTokenUrl, String authorizeUrl, String authenticateUrl, String accessTokenUrl, OAuth1Version version) {
+		this.urlsAndSigning = new OAuth1Template(consumerKey, consumerSecret, requestTokenUrl, authorizeUrl, authenticateUrl, accessTokenUrl, version) {
+			@Override
+			protected void addCustomAuthorizationParameters(MultiValueMap<String, String> parameters) {
+				ReactiveOAuth1Template.this.addCustomAuthorizationParameters(parameters);
+			}
+		};
+	}
+
+	// implementing ReactiveOAuth1Operations
+
+	public OAuth1Version getVersion() {
+		return urlsAndSigning.getVersion();
+	}
+
+	public Mono<OAuthToken> fetchRequestToken(String callbackUrl, MultiValueMap<String, String> additionalParameters) {
+		return exchangeForToken(urlsAndSigning.getRequestTokenUrl(), urlsAndSigning.requestTokenParameters(callbackUrl), additionalParameters, null);
+	}
+
+	public String buildAuthorizeUrl(String requestToken, OAuth1Parameters parameters) {
+		return urlsAndSigning.buildAuthorizeUrl(requestToken, parameters);
+	}
+
+	public String buildAuthenticateUrl(String requestToken, OAuth1Parameters parameters) {
+		return urlsAndSigning.buildAuthenticateUrl(requestToken, parameters);
+	}
+
+	public Mono<OAuthToken> exchangeForAccessToken(AuthorizedRequestToken requestToken, MultiValueMap<String, String> additionalParameters) {
+		return exchangeForToken(urlsAndSigning.getAccessTokenUrl(), urlsAndSigning.accessTokenParameters(requestToken), additionalParameters, requestToken.getSecret());
+	}
+
+	// subclassing hooks
+
+	/**
+	 * Exposes the consumer key to be read by subclasses.
+	 * @return the consumer key to be read by subclasses.
+	 */
+	protected String getConsumerKey() {
+		return urlsAndSigning.getConsumerKey();
+	}
+
+	/**
+	 * Creates an {@link OAuthToken} given the response from the request token or access token exchange with the provider.
+	 * May be overridden to create a custom {@link OAuthToken}.
+	 * @param tokenValue the token value received from the provider.
+	 * @param tokenSecret the token secret received from the provider.
+	 * @param response all parameters from the response received in the request/access token exchange.
+	 * @return an {@link OAuthToken}
+	 */
+	protected OAuthToken createOAuthToken(String tokenValue, String tokenSecret, MultiValueMap<String, String> response) {
+		return new OAuthToken(tokenValue, tokenSecret);
+	}
+
+	/**
+	 * Subclassing hook to add custom authorization parameters to the authorization URL.
+	 * Default implementation adds no parameters.
+	 * @param parameters custom parameters for authorization
+	 */
+	protected void addCustomAuthorizationParameters(MultiValueMap<String, String> parameters) {
+	}
+
+	/**
+	 * Creates the {@link WebClient} used to communicate with the provider's OAuth 1 API.
+	 * This implementation logs error responses and signals them as {@link org.springframework.web.client.HttpStatusCodeException}s.
+	 * May be overridden to customize how the WebClient is created.
+	 * @return a {@link WebClient} used to communicate with the provider's OAuth 1 API
+	 */
+	protected WebClient createWebClient() {
+		return WebClient.builder().filter(new ReactiveLoggingErrorHandler()).build();
+	}
+
+	/**
+	 * Returns the WebClient, creating it on first use.
+	 * @return the {@link WebClient} used to communicate with the provider's OAuth 1 API
+	 */
+	protected WebClient getWebClient() {
+		if (webClient == null) {
+			webClient = createWebClient();
+		}
+		return webClient;
+	}
+
+	// internal helpers
+
+	private Mono<OAuthToken> exchangeForToken(URI tokenUrl, Map<String, String> tokenParameters, MultiValueMap<String, String> additionalParameters, String tokenSecret) {
+		String authorization = urlsAndSigning.buildAuthorizationHeaderValue(tokenUrl, tokenParameters, additionalParameters, tokenSecret);
+		WebClient.RequestBodySpec request = getWebClient().post().uri(tokenUrl).header("Authorization", authorization);
+		WebClient.RequestHeadersSpec<?> requestWithBody = additionalParameters != null ? request.body(BodyInserters.fromFormData(additionalParameters)) : request;
+		return requestWithBody.retrieve().bodyToMono(String.class).defaultIfEmpty("").map(body -> {
+			// always read the response as x-www-url-formencoded even if contentType not set properly by provider
+			MultiValueMap<String, String> response = FormDecoder.decode(body);
+			return createOAuthToken(response.getFirst("oauth_token"), response.getFirst("oauth_token_secret"), response);
+		});
+	}
+
+}
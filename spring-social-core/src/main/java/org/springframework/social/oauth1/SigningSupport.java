@@ -15,14 +15,14 @@
  */
 package org.springframework.social.oauth1;
 
-import java.io.ByteArrayOutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.BitSet;
 import java.util.Collections;
@@ -40,7 +40,6 @@ import javax.crypto.spec.SecretKeySpec;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.MediaType;
-import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -54,17 +53,20 @@ class SigningSupport {
 	 * The elements in additionalParameters are expected to not be encoded.
 	 */
 	public String buildAuthorizationHeaderValue(HttpMethod method, URI targetUrl, Map<String, String> oauthParameters, MultiValueMap<String, String> additionalParameters, String consumerSecret, String tokenSecret) {
-		StringBuilder header = new StringBuilder();
+		StringBuilder header = new StringBuilder(256);
 		header.append("OAuth ");
 		for (Entry<String, String> entry : oauthParameters.entrySet()) {
-			header.append(oauthEncode(entry.getKey())).append("=\"").append(oauthEncode(entry.getValue())).append("\", ");
+			appendEncoded(header, entry.getKey());
+			header.append("=\"");
+			appendEncoded(header, entry.getValue());
+			header.append("\", ");
 		}
-		MultiValueMap<String, String> collectedParameters = new LinkedMultiValueMap<String, String>((int) ((oauthParameters.size() + additionalParameters.size()) / .75 + 1));
-		collectedParameters.setAll(oauthParameters);
-		collectedParameters.putAll(additionalParameters);		
-		String baseString = buildBaseString(method, getBaseStringUri(targetUrl), collectedParameters);
+		String[] encodedParameters = encodeParameters(oauthParameters, additionalParameters);
+		String baseString = buildBaseString(method, getBaseStringUri(targetUrl), encodedParameters);
 		String signature = calculateSignature(baseString, consumerSecret, tokenSecret);
-		header.append(oauthEncode("oauth_signature")).append("=\"").append(oauthEncode(signature)).append("\"");
+		header.append("oauth_signature=\"");
+		appendEncoded(header, signature);
+		header.append("\"");
 		return header.toString();
 	}
 
@@ -73,10 +75,18 @@ class SigningSupport {
 	 * Expects that the request's query parameters are form-encoded.
 	 */
 	public String buildAuthorizationHeaderValue(HttpRequest request, byte[] body, OAuth1Credentials oauth1Credentials) {
+		return buildAuthorizationHeaderValue(request.getMethod(), request.getURI(), request.getHeaders().getContentType(), body, oauth1Credentials);
+	}
+
+	/**
+	 * Builds an authorization header from the parts of a request, for requests that are not {@link HttpRequest}s such as reactive client requests.
+	 * Expects that the request's query parameters are form-encoded.
+	 */
+	public String buildAuthorizationHeaderValue(HttpMethod method, URI uri, MediaType contentType, byte[] body, OAuth1Credentials oauth1Credentials) {
 		Map<String, String> oauthParameters = commonOAuthParameters(oauth1Credentials.getConsumerKey());
 		oauthParameters.put("oauth_token", oauth1Credentials.getAccessToken());
-		MultiValueMap<String, String> additionalParameters = union(readFormParameters(request.getHeaders().getContentType(), body), parseFormParameters(request.getURI().getRawQuery()));
-		return buildAuthorizationHeaderValue(request.getMethod(), request.getURI(), oauthParameters, additionalParameters, oauth1Credentials.getConsumerSecret(), oauth1Credentials.getAccessTokenSecret());
+		MultiValueMap<String, String> additionalParameters = union(readFormParameters(contentType, body), parseFormParameters(uri.getRawQuery()));
+		return buildAuthorizationHeaderValue(method, uri, oauthParameters, additionalParameters, oauth1Credentials.getConsumerSecret(), oauth1Credentials.getAccessTokenSecret());
 	}
 	
 	Map<String, String> commonOAuthParameters(String consumerKey) {
@@ -91,10 +101,7 @@ class SigningSupport {
 	}
 	
 	String buildBaseString(HttpMethod method, String targetUrl, MultiValueMap<String, String> collectedParameters) {
-		StringBuilder builder = new StringBuilder();
-		builder.append(method.name()).append('&').append(oauthEncode(targetUrl)).append('&');		
-		builder.append(oauthEncode(normalizeParameters(collectedParameters)));
-		return builder.toString();
+		return buildBaseString(method, targetUrl, encodeParameters(EMPTY_PARAMETERS, collectedParameters));
 	}
 
 	// testing hooks
@@ -129,62 +136,89 @@ class SigningSupport {
 
 	// internal helpers
 	
-	private String normalizeParameters(MultiValueMap<String, String> collectedParameters) {
+	private String buildBaseString(HttpMethod method, String targetUrl, String[] encodedParameters) {
+		int length = method.name().length() + targetUrl.length() * 3 + 2;
+		for (String parameter : encodedParameters) {
+			length += parameter.length() + 8;
+		}
+		StringBuilder builder = new StringBuilder(length);
+		builder.append(method.name()).append('&');
+		appendEncoded(builder, targetUrl);
+		builder.append('&');
+		// the normalized parameter string is encoded once more, per https://tools.ietf.org/html/rfc5849#section-3.4.1.1
+		// encoded pairs only contain unreserved characters, '%' and the name/value separator, so this can be done in place
+		for (int i = 0; i < encodedParameters.length; i++) {
+			if (i > 0) {
+				builder.append("%26");
+			}
+			String parameter = encodedParameters[i];
+			for (int j = 0; j < parameter.length(); j++) {
+				char c = parameter.charAt(j);
+				if (c == PAIR_SEPARATOR) {
+					builder.append("%3D");
+				} else if (c == '%') {
+					builder.append("%25");
+				} else {
+					builder.append(c);
+				}
+			}
+		}
+		return builder.toString();
+	}
+
+	private String[] encodeParameters(Map<String, String> oauthParameters, MultiValueMap<String, String> additionalParameters) {
 		// Normalizes the collected parameters for baseString calculation, per https://tools.ietf.org/html/rfc5849#section-3.4.1.3.2
-		MultiValueMap<String, String> sortedEncodedParameters = new TreeMultiValueMap<String, String>();
-		for (Iterator<Entry<String, List<String>>> entryIt = collectedParameters.entrySet().iterator(); entryIt.hasNext();) {
-			Entry<String, List<String>> entry = entryIt.next();
-			String collectedName = entry.getKey();
-			List<String> collectedValues = entry.getValue();	
-			List<String> encodedValues = new ArrayList<String>(collectedValues.size());
-			sortedEncodedParameters.put(oauthEncode(collectedName), encodedValues);
-			for (Iterator<String> valueIt = collectedValues.iterator(); valueIt.hasNext();) {
-				String value = valueIt.next();
-				encodedValues.add(value != null ? oauthEncode(value) : "");
+		// Each parameter is encoded as name, separator, value; the separator sorts before any encoded character so a plain sort orders by name, then value
+		int count = 0;
+		for (String name : oauthParameters.keySet()) {
+			if (!additionalParameters.containsKey(name)) {
+				count++;
 			}
-			Collections.sort(encodedValues);
 		}
-		StringBuilder paramsBuilder = new StringBuilder();
-		for (Iterator<Entry<String, List<String>>> entryIt = sortedEncodedParameters.entrySet().iterator(); entryIt.hasNext();) {
-			Entry<String, List<String>> entry = entryIt.next();
-			String name = entry.getKey();
-			List<String> values = entry.getValue();
-			for (Iterator<String> valueIt = values.iterator(); valueIt.hasNext();) {
-				String value = valueIt.next();
-				paramsBuilder.append(name).append('=').append(value);
-				if (valueIt.hasNext()) {
-					paramsBuilder.append("&");
-				}
+		for (List<String> values : additionalParameters.values()) {
+			count += values.size();
+		}
+		String[] encodedParameters = new String[count];
+		int i = 0;
+		StringBuilder pair = new StringBuilder(64);
+		for (Entry<String, String> entry : oauthParameters.entrySet()) {
+			// additional parameters take precedence over oauth parameters of the same name
+			if (!additionalParameters.containsKey(entry.getKey())) {
+				encodedParameters[i++] = encodePair(pair, entry.getKey(), entry.getValue());
 			}
-			if (entryIt.hasNext()) {
-				paramsBuilder.append("&");
+		}
+		for (Entry<String, List<String>> entry : additionalParameters.entrySet()) {
+			for (String value : entry.getValue()) {
+				encodedParameters[i++] = encodePair(pair, entry.getKey(), value);
 			}
 		}
-		return paramsBuilder.toString();
+		Arrays.sort(encodedParameters);
+		return encodedParameters;
+	}
+
+	private String encodePair(StringBuilder pair, String name, String value) {
+		pair.setLength(0);
+		appendEncoded(pair, name);
+		pair.append(PAIR_SEPARATOR);
+		if (value != null) {
+			appendEncoded(pair, value);
+		}
+		return pair.toString();
 	}
 
 	private String calculateSignature(String baseString, String consumerSecret, String tokenSecret) {
-		String key = oauthEncode(consumerSecret) + "&" + (tokenSecret != null ? oauthEncode(tokenSecret) : "");
-		return sign(baseString, key);
+		StringBuilder key = new StringBuilder(64);
+		appendEncoded(key, consumerSecret);
+		key.append('&');
+		if (tokenSecret != null) {
+			appendEncoded(key, tokenSecret);
+		}
+		return sign(baseString, key.toString());
 	}
 
 	private String sign(String signatureBaseString, String key) {
-		try {
-			Mac mac = Mac.getInstance(HMAC_SHA1_MAC_NAME);
-			SecretKeySpec spec = new SecretKeySpec(key.getBytes(), HMAC_SHA1_MAC_NAME);
-			mac.init(spec);
-			byte[] text = signatureBaseString.getBytes(UTF8_CHARSET_NAME);
-			byte[] signatureBytes = mac.doFinal(text);
-			signatureBytes = Base64.getEncoder().encode(signatureBytes);
-			String signature = new String(signatureBytes, UTF8_CHARSET_NAME);
-			return signature;
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalStateException(e);
-		} catch (InvalidKeyException e) {
-			throw new IllegalStateException(e);
-		} catch (UnsupportedEncodingException shouldntHappen) {
-			throw new IllegalStateException(shouldntHappen);
-		} 
+		byte[] signatureBytes = MAC.get().sign(key, signatureBaseString.getBytes(StandardCharsets.UTF_8));
+		return Base64.getEncoder().encodeToString(signatureBytes);
 	}
 
 	private MultiValueMap<String, String> readFormParameters(MediaType bodyType, byte[] bodyBytes) {
@@ -277,38 +311,29 @@ class SigningSupport {
 		UNRESERVED = unreserved;		
 	}
 	
-	private static String oauthEncode(String param) {
-		try {
-			// See https://tools.ietf.org/html/rfc5849#section-3.6
-			byte[] bytes = encode(param.getBytes(UTF8_CHARSET_NAME), UNRESERVED);
-			return new String(bytes, "US-ASCII");
-		} catch (Exception shouldntHappen) {
-			throw new IllegalStateException(shouldntHappen);
+	// See https://tools.ietf.org/html/rfc5849#section-3.6
+	private static void appendEncoded(StringBuilder builder, String param) {
+		for (int i = 0; i < param.length(); i++) {
+			char c = param.charAt(i);
+			if (c >= 0x80) {
+				// the leading characters are ASCII, so the remainder starts on a code point boundary
+				for (byte b : param.substring(i).getBytes(StandardCharsets.UTF_8)) {
+					appendEncoded(builder, b & 0xFF);
+				}
+				return;
+			}
+			appendEncoded(builder, c);
 		}
 	}
 
-	private static byte[] encode(byte[] source, BitSet notEncoded) {
-		Assert.notNull(source, "'source' must not be null");
-		ByteArrayOutputStream bos = new ByteArrayOutputStream(source.length * 2);
-		for (int i = 0; i < source.length; i++) {
-			int b = source[i];
-			if (b < 0) {
-				b += 256;
-			}
-			if (notEncoded.get(b)) {
-				bos.write(b);
-			}
-			else {
-				bos.write('%');
-				char hex1 = Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16));
-				char hex2 = Character.toUpperCase(Character.forDigit(b & 0xF, 16));
-				bos.write(hex1);
-				bos.write(hex2);
-			}
+	private static void appendEncoded(StringBuilder builder, int b) {
+		if (UNRESERVED.get(b)) {
+			builder.append((char) b);
+		} else {
+			builder.append('%').append(HEX_DIGITS[b >> 4]).append(HEX_DIGITS[b & 0xF]);
 		}
-		return bos.toByteArray();
 	}
-	
+
 	private static String formDecode(String encoded) {
 		try {
 			return URLDecoder.decode(encoded, UTF8_CHARSET_NAME);
@@ -317,6 +342,50 @@ class SigningSupport {
 		}
 	}
 
+	// Mac instances are expensive to look up and not thread-safe; each thread keeps one and only re-keys it when the secrets change
+	private static final ThreadLocal<KeyedMac> MAC = new ThreadLocal<KeyedMac>() {
+		@Override
+		protected KeyedMac initialValue() {
+			return new KeyedMac();
+		}
+	};
+
+	private static final class KeyedMac {
+
+		private final Mac mac;
+
+		private String key;
+
+		public KeyedMac() {
+			try {
+				mac = Mac.getInstance(HMAC_SHA1_MAC_NAME);
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		public byte[] sign(String key, byte[] text) {
+			if (!key.equals(this.key)) {
+				this.key = null;
+				try {
+					mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.US_ASCII), HMAC_SHA1_MAC_NAME));
+				} catch (InvalidKeyException e) {
+					throw new IllegalStateException(e);
+				}
+				this.key = key;
+			}
+			// doFinal resets the Mac to its initialized state, ready for the next signature with the same key
+			return mac.doFinal(text);
+		}
+
+	}
+
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	private static final char PAIR_SEPARATOR = '\0';
+
+	private static final Map<String, String> EMPTY_PARAMETERS = Collections.emptyMap();
+
 	private static final String HMAC_SHA1_SIGNATURE_NAME = "HMAC-SHA1";
 
 	private static final String HMAC_SHA1_MAC_NAME = "HmacSHA1";
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.http.MediaType;
@@ -32,7 +33,9 @@ import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.social.ApiBinding;
+import org.springframework.social.oauth2.AccessTokenBoundRestTemplate.SharedRestTemplate;
 import org.springframework.social.support.ClientHttpRequestFactorySelector;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -74,6 +77,27 @@ public abstract class AbstractOAuth2ApiBinding implements ApiBinding, Initializi
 		configureRestTemplate(restTemplate);
 	}
 
+	/**
+	 * Constructs the API template with OAuth credentials necessary to perform operations on behalf of a user, optionally sharing its RestTemplate configuration with the other instances of the binding class.
+	 * When shared, the message converters, request factory, error handler and interceptors are created and {@link #configureRestTemplate(RestTemplate) configured} once per binding class, OAuth2 version and token strategy,
+	 * and the access token is supplied per request. Constructing the binding then allocates no message converters or ObjectMappers.
+	 * Bindings opting in must configure their RestTemplate in {@link #getMessageConverters()} and {@link #configureRestTemplate(RestTemplate)} without relying on per-instance state,
+	 * as those are only called for the first instance.
+	 * Changes made to {@link #getRestTemplate()} only apply to this instance.
+	 * @param accessToken the access token
+	 * @param tokenStrategy Specifies how access tokens are sent on API requests.
+	 * @param shareRestTemplate true to share the RestTemplate configuration with the other instances of the binding class
+	 */
+	protected AbstractOAuth2ApiBinding(String accessToken, TokenStrategy tokenStrategy, boolean shareRestTemplate) {
+		this.accessToken = accessToken;
+		if (shareRestTemplate) {
+			restTemplate = new AccessTokenBoundRestTemplate(getSharedRestTemplate(getOAuth2Version(), tokenStrategy), accessToken);
+		} else {
+			restTemplate = createRestTemplate(accessToken, getOAuth2Version(), tokenStrategy);
+			configureRestTemplate(restTemplate);
+		}
+	}
+
 	/**
 	 * Set the ClientHttpRequestFactory. This is useful when custom configuration of the request factory is required, such as configuring custom SSL details.
 	 * @param requestFactory the request factory
@@ -193,6 +217,18 @@ public abstract class AbstractOAuth2ApiBinding implements ApiBinding, Initializi
 		return client;
 	}
 
+	private SharedRestTemplate getSharedRestTemplate(OAuth2Version version, TokenStrategy tokenStrategy) {
+		return sharedRestTemplates.computeIfAbsent(Arrays.asList(getClass(), version, tokenStrategy), key -> {
+			SharedRestTemplate client = new SharedRestTemplate(getMessageConverters());
+			client.setRequestFactory(ClientHttpRequestFactorySelector.getRequestFactory());
+			List<ClientHttpRequestInterceptor> interceptors = new LinkedList<ClientHttpRequestInterceptor>();
+			interceptors.add(tokenStrategy.contextInterceptor(version));
+			client.setInterceptors(interceptors);
+			configureRestTemplate(client);
+			return client;
+		});
+	}
+
 	// Temporary: The RestTemplate that accepts a list of message converters wasn't added until Spring 3.2.7.
 	//            Remove this method and use that constructor exclusively when 3.1.x support is no longer necessary (Spring Social 2.0).
 	private RestTemplate createRestTemplateWithCulledMessageConverters() {
@@ -238,5 +274,7 @@ public abstract class AbstractOAuth2ApiBinding implements ApiBinding, Initializi
 	protected void postConstructionConfiguration() {
 	}
 
+	private static final ConcurrentMap<List<Object>, SharedRestTemplate> sharedRestTemplates = new ConcurrentReferenceHashMap<List<Object>, SharedRestTemplate>();
+
 
 }
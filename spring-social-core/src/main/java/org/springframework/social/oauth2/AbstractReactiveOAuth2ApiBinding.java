@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth2;
+
+import org.springframework.social.ApiBinding;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Base class for OAuth 2-based provider API bindings performing non-blocking API calls with a {@link WebClient}.
+ * The reactive counterpart of {@link AbstractOAuth2ApiBinding}: operations return {@link reactor.core.publisher.Mono} or {@link reactor.core.publisher.Flux}
+ * results instead of blocking the calling thread, so calls to several providers can proceed concurrently on a small number of event loop threads.
+ * Requires Spring WebFlux, and Reactor Netty unless {@link #configureWebClient(WebClient.Builder)} sets another connector.
+ */
+public abstract class AbstractReactiveOAuth2ApiBinding implements ApiBinding {
+
+	private final String accessToken;
+
+	private final WebClient webClient;
+
+	/**
+	 * Constructs the API template without user authorization. This is useful for accessing operations on a provider's API that do not require user authorization.
+	 */
+	protected AbstractReactiveOAuth2ApiBinding() {
+		accessToken = null;
+		WebClient.Builder builder = WebClient.builder();
+		configureWebClient(builder);
+		webClient = builder.build();
+	}
+
+	/**
+	 * Constructs the API template with OAuth credentials necessary to perform operations on behalf of a user.
+	 * @param accessToken the access token
+	 */
+	protected AbstractReactiveOAuth2ApiBinding(String accessToken) {
+		this(accessToken, TokenStrategy.AUTHORIZATION_HEADER);
+	}
+
+	/**
+	 * Constructs the API template with OAuth credentials necessary to perform operations on behalf of a user.
+	 * @param accessToken the access token
+	 * @param tokenStrategy Specifies how access tokens are sent on API requests. Defaults to sending them in Authorization header.
+	 */
+	protected AbstractReactiveOAuth2ApiBinding(String accessToken, TokenStrategy tokenStrategy) {
+		this.accessToken = accessToken;
+		WebClient.Builder builder = WebClient.builder().filter(new OAuth2ExchangeFilterFunction(accessToken, getOAuth2Version(), tokenStrategy));
+		configureWebClient(builder);
+		webClient = builder.build();
+	}
+
+	// implementing ApiBinding
+
+	public boolean isAuthorized() {
+		return accessToken != null;
+	}
+
+	// public implementation operations
+
+	/**
+	 * Obtains a reference to the reactive REST client backing this API binding and used to perform API calls.
+	 * Callers may use the WebClient to invoke other API operations not yet modeled by the binding interface.
+	 * @return a reference to the {@link WebClient} that backs this API binding.
+	 */
+	public WebClient getWebClient() {
+		return webClient;
+	}
+
+	// subclassing hooks
+
+	/**
+	 * Returns the version of OAuth2 the API implements.
+	 * By default, returns {@link OAuth2Version#BEARER} indicating versions of OAuth2 that apply the bearer token scheme.
+	 * Subclasses may override to return another version.
+	 * @see OAuth2Version
+	 * @return the version of OAuth 2 in play.
+	 */
+	protected OAuth2Version getOAuth2Version() {
+		return OAuth2Version.BEARER;
+	}
+
+	/**
+	 * Subclassing hook to enable customization of the WebClient used to consume provider API resources.
+	 * An example use case might be to set a base URL, default headers, codecs or a custom connector.
+	 * Note that this method is called after the filter adding the access token to requests has been registered.
+	 * @param builder the builder of the WebClient to configure.
+	 */
+	protected void configureWebClient(WebClient.Builder builder) {
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth2;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * RestTemplate of an API binding sharing its configuration with the other bindings of a provider.
+ * Reuses the message converters, request factory, error handler, URI template handler and interceptors of the shared RestTemplate,
+ * so creating one allocates no converters or ObjectMappers of its own.
+ * Binds the binding's access token to {@link AccessTokenContext} while each request executes, for the shared interceptors to add it.
+ */
+class AccessTokenBoundRestTemplate extends RestTemplate {
+
+	private final String accessToken;
+
+	public AccessTokenBoundRestTemplate(SharedRestTemplate sharedRestTemplate, String accessToken) {
+		super(sharedRestTemplate.getMessageConverters());
+		setRequestFactory(sharedRestTemplate.getTargetRequestFactory());
+		setErrorHandler(sharedRestTemplate.getErrorHandler());
+		setUriTemplateHandler(sharedRestTemplate.getUriTemplateHandler());
+		setInterceptors(new ArrayList<>(sharedRestTemplate.getInterceptors()));
+		this.accessToken = accessToken;
+	}
+
+	@Override
+	protected <T> T doExecute(URI url, HttpMethod method, RequestCallback requestCallback, ResponseExtractor<T> responseExtractor) throws RestClientException {
+		String previous = AccessTokenContext.bind(accessToken);
+		try {
+			return super.doExecute(url, method, requestCallback, responseExtractor);
+		} finally {
+			AccessTokenContext.restore(previous);
+		}
+	}
+
+	/**
+	 * The RestTemplate shared by the bindings of a provider, configured once and never handed out to callers.
+	 * Remembers the request factory it was given, as {@link #getRequestFactory()} wraps it with the interceptors.
+	 */
+	static class SharedRestTemplate extends RestTemplate {
+
+		private ClientHttpRequestFactory targetRequestFactory = super.getRequestFactory();
+
+		public SharedRestTemplate(List<HttpMessageConverter<?>> messageConverters) {
+			super(messageConverters);
+		}
+
+		@Override
+		public void setRequestFactory(ClientHttpRequestFactory requestFactory) {
+			super.setRequestFactory(requestFactory);
+			this.targetRequestFactory = requestFactory;
+		}
+
+		public ClientHttpRequestFactory getTargetRequestFactory() {
+			return targetRequestFactory;
+		}
+
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth2;
+
+/**
+ * Holds the access token of the API binding a request is being executed for, on the thread executing it.
+ * Lets the interceptors of a RestTemplate shared by many bindings add the right token to each request.
+ * @see AccessTokenBoundRestTemplate
+ */
+final class AccessTokenContext {
+
+	private static final ThreadLocal<String> accessToken = new ThreadLocal<String>();
+
+	private AccessTokenContext() {
+	}
+
+	/**
+	 * Returns the access token bound to the current thread.
+	 * @return the access token, or null if none is bound
+	 */
+	public static String getAccessToken() {
+		return accessToken.get();
+	}
+
+	/**
+	 * Binds an access token to the current thread.
+	 * @param token the access token to bind
+	 * @return the previously bound access token, to be {@link #restore(String) restored} once the request has executed
+	 */
+	public static String bind(String token) {
+		String previous = accessToken.get();
+		accessToken.set(token);
+		return previous;
+	}
+
+	/**
+	 * Restores the access token that was bound before the last call to {@link #bind(String)}.
+	 * @param previous the access token returned by {@link #bind(String)}
+	 */
+	public static void restore(String previous) {
+		if (previous != null) {
+			accessToken.set(previous);
+		} else {
+			accessToken.remove();
+		}
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth2;
+
+import org.springframework.social.support.URIBuilder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * ExchangeFilterFunction implementation that adds the OAuth2 access token to protected resource requests before they are exchanged.
+ * The reactive counterpart of {@link OAuth2RequestInterceptor} and {@link OAuth2TokenParameterRequestInterceptor},
+ * carrying the token as the {@link TokenStrategy} says.
+ * Unlike those, never falls back to the {@link AccessTokenContext}: a thread-bound token means nothing once the exchange moves to an event loop.
+ */
+class OAuth2ExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private final String accessToken;
+
+	private final OAuth2Version oauth2Version;
+
+	private final TokenStrategy tokenStrategy;
+
+	public OAuth2ExchangeFilterFunction(String accessToken, OAuth2Version oauth2Version, TokenStrategy tokenStrategy) {
+		this.accessToken = accessToken;
+		this.oauth2Version = oauth2Version;
+		this.tokenStrategy = tokenStrategy;
+	}
+
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		if (accessToken == null) {
+			return next.exchange(request);
+		}
+		switch (tokenStrategy) {
+		case ACCESS_TOKEN_PARAMETER:
+			return next.exchange(withParameter(request, "access_token"));
+		case OAUTH_TOKEN_PARAMETER:
+			return next.exchange(withParameter(request, "oauth_token"));
+		default:
+			return next.exchange(ClientRequest.from(request).headers(headers -> headers.set("Authorization", oauth2Version.getAuthorizationHeaderValue(accessToken))).build());
+		}
+	}
+
+	// internal helpers
+
+	private ClientRequest withParameter(ClientRequest request, String parameterName) {
+		return ClientRequest.method(request.method(), URIBuilder.fromUri(request.url()).queryParam(parameterName, accessToken).build())
+				.headers(headers -> headers.addAll(request.headers()))
+				.cookies(cookies -> cookies.addAll(request.cookies()))
+				.attributes(attributes -> attributes.putAll(request.attributes()))
+				.body(request.body())
+				.build();
+	}
+
+}
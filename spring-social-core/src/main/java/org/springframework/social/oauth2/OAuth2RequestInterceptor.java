@@ -25,6 +25,7 @@ import org.springframework.social.support.HttpRequestDecorator;
 
 /**
  * ClientHttpRequestInterceptor implementation that adds the OAuth2 access token to protected resource requests before execution.
+ * Constructed with a null access token, adds the one bound to the {@link AccessTokenContext} instead, so one interceptor may serve many bindings.
  * @author Keith Donald
  * @author Craig Walls
  */
@@ -38,8 +39,12 @@ class OAuth2RequestInterceptor implements ClientHttpRequestInterceptor {
 		this.accessToken = accessToken;
 		this.oauth2Version = oauth2Version;
 	}
-	
+
 	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		String accessToken = this.accessToken != null ? this.accessToken : AccessTokenContext.getAccessToken();
+		if (accessToken == null) {
+			return execution.execute(request, body);
+		}
 		HttpRequest protectedResourceRequest = new HttpRequestDecorator(request);
 		protectedResourceRequest.getHeaders().set("Authorization", oauth2Version.getAuthorizationHeaderValue(accessToken));
 		return execution.execute(protectedResourceRequest, body);
@@ -131,34 +131,11 @@ public class OAuth2Template implements OAuth2Operations {
 	}
 
 	public AccessGrant exchangeForAccess(String authorizationCode, String redirectUri, MultiValueMap<String, String> additionalParameters) {
-		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
-		if (useParametersForClientAuthentication) {
-			params.set("client_id", clientId);
-			params.set("client_secret", clientSecret);
-		}
-		params.set("code", authorizationCode);
-		params.set("redirect_uri", redirectUri);
-		params.set("grant_type", "authorization_code");
-		if (additionalParameters != null) {
-			params.putAll(additionalParameters);
-		}
-		return postForAccessGrant(accessTokenUrl, params);
+		return postForAccessGrant(accessTokenUrl, authorizationCodeParameters(authorizationCode, redirectUri, additionalParameters));
 	}
-	
 
 	public AccessGrant exchangeCredentialsForAccess(String username, String password, MultiValueMap<String, String> additionalParameters) {
-		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
-		if (useParametersForClientAuthentication) {
-			params.set("client_id", clientId);
-			params.set("client_secret", clientSecret);
-		}
-		params.set("username", username);
-		params.set("password", password);
-		params.set("grant_type", "password");
-		if (additionalParameters != null) {
-			params.putAll(additionalParameters);
-		}
-		return postForAccessGrant(accessTokenUrl, params);
+		return postForAccessGrant(accessTokenUrl, credentialsParameters(username, password, additionalParameters));
 	}
 
 	@Deprecated
@@ -168,17 +145,7 @@ public class OAuth2Template implements OAuth2Operations {
 	}
 	
 	public AccessGrant refreshAccess(String refreshToken, MultiValueMap<String, String> additionalParameters) {
-		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
-		if (useParametersForClientAuthentication) {
-			params.set("client_id", clientId);
-			params.set("client_secret", clientSecret);
-		}
-		params.set("refresh_token", refreshToken);
-		params.set("grant_type", "refresh_token");
-		if (additionalParameters != null) {
-			params.putAll(additionalParameters);
-		}
-		return postForAccessGrant(accessTokenUrl, params);
+		return postForAccessGrant(accessTokenUrl, refreshParameters(refreshToken, additionalParameters));
 	}
 
 	public AccessGrant authenticateClient() {
@@ -186,16 +153,7 @@ public class OAuth2Template implements OAuth2Operations {
 	}
 	
 	public AccessGrant authenticateClient(String scope) {
-		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
-		if (useParametersForClientAuthentication) {
-			params.set("client_id", clientId);
-			params.set("client_secret", clientSecret);
-		}
-		params.set("grant_type", "client_credentials");
-		if (scope != null) {
-			params.set("scope", scope);
-		}
-		return postForAccessGrant(accessTokenUrl, params);
+		return postForAccessGrant(accessTokenUrl, clientCredentialsParameters(scope));
 	}
 
     // subclassing hooks
@@ -272,8 +230,69 @@ public class OAuth2Template implements OAuth2Operations {
 		return restTemplate;
 	}
 	
+	// parameters of the access token requests, shared with ReactiveOAuth2Template
+
+	MultiValueMap<String, String> authorizationCodeParameters(String authorizationCode, String redirectUri, MultiValueMap<String, String> additionalParameters) {
+		MultiValueMap<String, String> params = clientParameters();
+		params.set("code", authorizationCode);
+		params.set("redirect_uri", redirectUri);
+		params.set("grant_type", "authorization_code");
+		if (additionalParameters != null) {
+			params.putAll(additionalParameters);
+		}
+		return params;
+	}
+
+	MultiValueMap<String, String> credentialsParameters(String username, String password, MultiValueMap<String, String> additionalParameters) {
+		MultiValueMap<String, String> params = clientParameters();
+		params.set("username", username);
+		params.set("password", password);
+		params.set("grant_type", "password");
+		if (additionalParameters != null) {
+			params.putAll(additionalParameters);
+		}
+		return params;
+	}
+
+	MultiValueMap<String, String> refreshParameters(String refreshToken, MultiValueMap<String, String> additionalParameters) {
+		MultiValueMap<String, String> params = clientParameters();
+		params.set("refresh_token", refreshToken);
+		params.set("grant_type", "refresh_token");
+		if (additionalParameters != null) {
+			params.putAll(additionalParameters);
+		}
+		return params;
+	}
+
+	MultiValueMap<String, String> clientCredentialsParameters(String scope) {
+		MultiValueMap<String, String> params = clientParameters();
+		params.set("grant_type", "client_credentials");
+		if (scope != null) {
+			params.set("scope", scope);
+		}
+		return params;
+	}
+
+	// Retrieves object from map into an Integer, regardless of the object's actual type. Allows for flexibility in object type (eg, "3600" vs 3600).
+	static Long getIntegerValue(Map<String, Object> map, String key) {
+		try {
+			return Long.valueOf(String.valueOf(map.get(key))); // normalize to String before creating integer value;			
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
 	// internal helpers
 
+	private MultiValueMap<String, String> clientParameters() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		if (useParametersForClientAuthentication) {
+			params.set("client_id", clientId);
+			params.set("client_secret", clientSecret);
+		}
+		return params;
+	}
+
 	private String buildAuthUrl(String baseAuthUrl, GrantType grantType, OAuth2Parameters parameters) {
 		StringBuilder authUrl = new StringBuilder(baseAuthUrl);
 		if (grantType == GrantType.AUTHORIZATION_CODE) {
@@ -309,13 +328,4 @@ public class OAuth2Template implements OAuth2Operations {
 		return createAccessGrant((String) result.get("access_token"), (String) result.get("scope"), (String) result.get("refresh_token"), getIntegerValue(result, "expires_in"), result);
 	}
 
-	// Retrieves object from map into an Integer, regardless of the object's actual type. Allows for flexibility in object type (eg, "3600" vs 3600).
-	private Long getIntegerValue(Map<String, Object> map, String key) {
-		try {
-			return Long.valueOf(String.valueOf(map.get(key))); // normalize to String before creating integer value;			
-		} catch (NumberFormatException e) {
-			return null;
-		}
-	}
-
 }
@@ -25,6 +25,7 @@ import org.springframework.social.support.HttpRequestDecorator;
 
 /**
  * ClientHttpRequestInterceptor implementation that adds the OAuth2 access token as a query parameter to protected resource requests before execution.
+ * Constructed with a null access token, adds the one bound to the {@link AccessTokenContext} instead, so one interceptor may serve many bindings.
  * @author Craig Walls
  */
 class OAuth2TokenParameterRequestInterceptor implements ClientHttpRequestInterceptor {
@@ -52,6 +53,10 @@ class OAuth2TokenParameterRequestInterceptor implements ClientHttpRequestInterce
 	}
 
 	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		String accessToken = this.accessToken != null ? this.accessToken : AccessTokenContext.getAccessToken();
+		if (accessToken == null) {
+			return execution.execute(request, body);
+		}
 		HttpRequestDecorator protectedResourceRequest = new HttpRequestDecorator(request);
 		protectedResourceRequest.addParameter(parameterName, accessToken);
 		return execution.execute(protectedResourceRequest, body);
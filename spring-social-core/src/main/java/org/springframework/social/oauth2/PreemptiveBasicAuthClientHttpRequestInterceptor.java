@@ -48,8 +48,12 @@ class PreemptiveBasicAuthClientHttpRequestInterceptor implements ClientHttpReque
 	}
 
 	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
-		request.getHeaders().set("Authorization", "Basic " + new String(Base64.getEncoder().encode((username + ":" + password).getBytes(charset)), charset));
+		request.getHeaders().set("Authorization", authorizationHeaderValue(username, password, charset));
 		return execution.execute(request, body);
 	}
 
+	static String authorizationHeaderValue(String username, String password, Charset charset) {
+		return "Basic " + new String(Base64.getEncoder().encode((username + ":" + password).getBytes(charset)), charset);
+	}
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth2;
+
+import org.springframework.util.MultiValueMap;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A non-blocking service interface for the OAuth2 flow.
+ * The reactive counterpart of {@link OAuth2Operations}: access grants are obtained without blocking the calling thread,
+ * so connect and sign-in callbacks may complete on reactive stacks such as Spring WebFlux.
+ */
+public interface ReactiveOAuth2Operations {
+
+	/**
+	 * Construct the URL to redirect the user to for authorization via OAuth2's "Authorization Code Grant".
+	 * @param parameters authorization parameters needed to build the URL
+	 * @return the absolute authorize URL to redirect the user to for authorization
+	 * @see OAuth2Operations#buildAuthorizeUrl(OAuth2Parameters)
+	 */
+	String buildAuthorizeUrl(OAuth2Parameters parameters);
+
+	/**
+	 * Construct the URL to redirect the user to for authorization.
+	 * @param grantType specifies whether to use client-side or server-side OAuth flow
+	 * @param parameters authorization parameters needed to build the URL
+	 * @return the absolute authorize URL to redirect the user to for authorization
+	 * @see OAuth2Operations#buildAuthorizeUrl(GrantType, OAuth2Parameters)
+	 */
+	String buildAuthorizeUrl(GrantType grantType, OAuth2Parameters parameters);
+
+	/**
+	 * Construct the URL to redirect the user to for authentication via OAuth2's "Authorization Code Grant".
+	 * @param parameters authorization parameters needed to build the URL
+	 * @return the absolute authenticate URL to redirect the user to for authorization
+	 * @see OAuth2Operations#buildAuthenticateUrl(OAuth2Parameters)
+	 */
+	String buildAuthenticateUrl(OAuth2Parameters parameters);
+
+	/**
+	 * Construct the URL to redirect the user to for authentication.
+	 * @param grantType specifies whether to use client-side or server-side OAuth flow
+	 * @param parameters authorization parameters needed to build the URL
+	 * @return the absolute authenticate URL to redirect the user to for authorization
+	 * @see OAuth2Operations#buildAuthenticateUrl(GrantType, OAuth2Parameters)
+	 */
+	String buildAuthenticateUrl(GrantType grantType, OAuth2Parameters parameters);
+
+	/**
+	 * Exchange the authorization code for an access grant.
+	 * @param authorizationCode the authorization code returned by the provider upon user authorization
+	 * @param redirectUri the authorization callback url; this value must match the redirectUri registered with the provider
+	 * @param additionalParameters any additional parameters to be sent when exchanging the authorization code for an access grant. Should not be encoded.
+	 * @return the access grant.
+	 */
+	Mono<AccessGrant> exchangeForAccess(String authorizationCode, String redirectUri, MultiValueMap<String, String> additionalParameters);
+
+	/**
+	 * Exchanges user credentials for an access grant using OAuth2's Resource Owner Credentials Grant (aka, "password" grant).
+	 * @param username the user's username on the provider
+	 * @param password the user's password on the provider
+	 * @param additionalParameters any additional parameters to be sent when exchanging the credentials for an access grant. Should not be encoded.
+	 * @return the access grant.
+	 */
+	Mono<AccessGrant> exchangeCredentialsForAccess(String username, String password, MultiValueMap<String, String> additionalParameters);
+
+	/**
+	 * Refreshes a previous access grant.
+	 * @param refreshToken the refresh token from the previous access grant.
+	 * @param additionalParameters any additional parameters to be sent when refreshing a previous access grant. Should not be encoded.
+	 * @return the access grant.
+	 */
+	Mono<AccessGrant> refreshAccess(String refreshToken, MultiValueMap<String, String> additionalParameters);
+
+	/**
+	 * Retrieves the client access grant using OAuth 2 client password flow.
+	 * This is an access grant that is based on the client id and password (a.k.a. client secret).
+	 * @return the access grant of the client only (not user related)
+	 */
+	Mono<AccessGrant> authenticateClient();
+
+	/**
+	 * Retrieves the client access grant using OAuth 2 client password flow.
+	 * This is an access grant that is based on the client id and password (a.k.a. client secret).
+	 * @param scope optional scope to get for the access grant
+	 * @return the access grant of the client only (not user related)
+	 */
+	Mono<AccessGrant> authenticateClient(String scope);
+
+}
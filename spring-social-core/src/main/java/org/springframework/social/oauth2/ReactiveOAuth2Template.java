@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth2;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.social.support.FormDecoder;
+import org.springframework.social.support.ReactiveLoggingErrorHandler;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveOAuth2Operations implementation that uses a {@link WebClient} to make the OAuth calls.
+ * Builds URLs and request parameters exactly as {@link OAuth2Template} does, and signals the same exceptions for error responses.
+ */
+public class ReactiveOAuth2Template implements ReactiveOAuth2Operations {
+
+	private final String clientId;
+
+	private final String clientSecret;
+
+	private final String accessTokenUrl;
+
+	private final OAuth2Template urlsAndParameters;
+
+	private boolean useParametersForClientAuthentication;
+
+	private WebClient webClient;
+
+	/**
+	 * Constructs a ReactiveOAuth2Template for a given set of client credentials.
+	 * Assumes that the authorization URL is the same as the authentication URL.
+	 * @param clientId the client ID
+	 * @param clientSecret the client secret
+	 * @param authorizeUrl the base URL to redirect to when doing authorization code or implicit grant authorization
+	 * @param accessTokenUrl the URL at which an authorization code, refresh token, or user credentials may be exchanged for an access token.
+	 */
+	public ReactiveOAuth2Template(String clientId, String clientSecret, String authorizeUrl, String accessTokenUrl) {
+		this(clientId, clientSecret, authorizeUrl, null, accessTokenUrl);
+	}
+
+	/**
+	 * Constructs a ReactiveOAuth2Template for a given set of client credentials.
+	 * @param clientId the client ID
+	 * @param clientSecret the client secret
+	 * @param authorizeUrl the base URL to redirect to when doing authorization code or implicit grant authorization
+	 * @param authenticateUrl the URL to redirect to when doing authentication via authorization code grant
+	 * @param accessTokenUrl the URL at which an authorization code, refresh token, or user credentials may be exchanged for an access token
+	 */
+	public ReactiveOAuth2Template(String clientId, String clientSecret, String authorizeUrl, String authenticateUrl, String accessTokenUrl) {
+		this.urlsAndParameters = new OAuth2Template(clientId, clientSecret, authorizeUrl, authenticateUrl, accessTokenUrl);
+		this.clientId = clientId;
+		this.clientSecret = clientSecret;
+		this.accessTokenUrl = accessTokenUrl;
+	}
+
+	/**
+	 * Set to true to pass client credentials to the provider as parameters instead of using HTTP Basic authentication.
+	 * @param useParametersForClientAuthentication true if the client credentials should be passed as parameters; false if passed via HTTP Basic
+	 */
+	public void setUseParametersForClientAuthentication(boolean useParametersForClientAuthentication) {
+		this.useParametersForClientAuthentication = useParametersForClientAuthentication;
+		urlsAndParameters.setUseParametersForClientAuthentication(useParametersForClientAuthentication);
+	}
+
+	public String buildAuthorizeUrl(OAuth2Parameters parameters) {
+		return urlsAndParameters.buildAuthorizeUrl(parameters);
+	}
+
+	public String buildAuthorizeUrl(GrantType grantType, OAuth2Parameters parameters) {
+		return urlsAndParameters.buildAuthorizeUrl(grantType, parameters);
+	}
+
+	public String buildAuthenticateUrl(OAuth2Parameters parameters) {
+		return urlsAndParameters.buildAuthenticateUrl(parameters);
+	}
+
+	public String buildAuthenticateUrl(GrantType grantType, OAuth2Parameters parameters) {
+		return urlsAndParameters.buildAuthenticateUrl(grantType, parameters);
+	}
+
+	public Mono<AccessGrant> exchangeForAccess(String authorizationCode, String redirectUri, MultiValueMap<String, String> additionalParameters) {
+		return postForAccessGrant(accessTokenUrl, urlsAndParameters.authorizationCodeParameters(authorizationCode, redirectUri, additionalParameters));
+	}
+
+	public Mono<AccessGrant> exchangeCredentialsForAccess(String username, String password, MultiValueMap<String, String> additionalParameters) {
+		return postForAccessGrant(accessTokenUrl, urlsAndParameters.credentialsParameters(username, password, additionalParameters));
+	}
+
+	public Mono<AccessGrant> refreshAccess(String refreshToken, MultiValueMap<String, String> additionalParameters) {
+		return postForAccessGrant(accessTokenUrl, urlsAndParameters.refreshParameters(refreshToken, additionalParameters));
+	}
+
+	public Mono<AccessGrant> authenticateClient() {
+		return authenticateClient(null);
+	}
+
+	public Mono<AccessGrant> authenticateClient(String scope) {
+		return postForAccessGrant(accessTokenUrl, urlsAndParameters.clientCredentialsParameters(scope));
+	}
+
+	// subclassing hooks
+
+	/**
+	 * Creates the {@link WebClient} used to communicate with the provider's OAuth 2 API.
+	 * This implementation logs error responses and signals them as {@link org.springframework.web.client.HttpStatusCodeException}s, and sends the client credentials with HTTP Basic authentication
+	 * unless {@link #setUseParametersForClientAuthentication(boolean) configured} to pass them as parameters.
+	 * May be overridden to customize how the WebClient is created.
+	 * @return a {@link WebClient} used to communicate with the provider's OAuth 2 API
+	 */
+	protected WebClient createWebClient() {
+		WebClient.Builder builder = WebClient.builder().filter(new ReactiveLoggingErrorHandler());
+		if (!useParametersForClientAuthentication) {
+			String authorization = PreemptiveBasicAuthClientHttpRequestInterceptor.authorizationHeaderValue(clientId, clientSecret, StandardCharsets.UTF_8);
+			builder.filter((request, next) -> next.exchange(ClientRequest.from(request).headers(headers -> headers.set("Authorization", authorization)).build()));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Posts the request for an access grant to the provider.
+	 * The default implementation expects a JSON or form-encoded response to be bound to a Map. The information in the Map will be used to create an {@link AccessGrant}.
+	 * If all you need to do is capture provider-specific data in the response, you should override createAccessGrant() instead.
+	 * @param accessTokenUrl the URL of the provider's access token endpoint.
+	 * @param parameters the parameters to post to the access token endpoint.
+	 * @return the access grant.
+	 * @see OAuth2Template#postForAccessGrant(String, MultiValueMap)
+	 */
+	protected Mono<AccessGrant> postForAccessGrant(String accessTokenUrl, MultiValueMap<String, String> parameters) {
+		return getWebClient().post().uri(accessTokenUrl)
+				.accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED)
+				.body(BodyInserters.fromFormData(parameters))
+				.exchange()
+				.flatMap(this::readResult)
+				.switchIfEmpty(Mono.defer(() -> Mono.error(new RestClientException("access token endpoint returned empty result"))))
+				.map(this::extractAccessGrant);
+	}
+
+	/**
+	 * Creates an {@link AccessGrant} given the response from the access token exchange with the provider.
+	 * May be overridden to create a custom AccessGrant that captures provider-specific information from the access token response.
+	 * @param accessToken the access token value received from the provider
+	 * @param scope the scope of the access token
+	 * @param refreshToken a refresh token value received from the provider
+	 * @param expiresIn the time (in seconds) remaining before the access token expires.
+	 * @param response all parameters from the response received in the access token exchange.
+	 * @return an {@link AccessGrant}
+	 */
+	protected AccessGrant createAccessGrant(String accessToken, String scope, String refreshToken, Long expiresIn, Map<String, Object> response) {
+		return new AccessGrant(accessToken, scope, refreshToken, expiresIn);
+	}
+
+	/**
+	 * Returns the WebClient, creating it on first use.
+	 * @return the {@link WebClient} used to communicate with the provider's OAuth 2 API
+	 */
+	protected WebClient getWebClient() {
+		// Lazily create WebClient to make sure all parameters have had a chance to be set.
+		if (webClient == null) {
+			webClient = createWebClient();
+		}
+		return webClient;
+	}
+
+	// internal helpers
+
+	private Mono<Map<String, Object>> readResult(ClientResponse response) {
+		boolean formEncoded = response.headers().contentType().map(MediaType.APPLICATION_FORM_URLENCODED::isCompatibleWith).orElse(false);
+		if (formEncoded) {
+			return response.bodyToMono(String.class).map(body -> {
+				Map<String, Object> result = new LinkedHashMap<String, Object>();
+				result.putAll(FormDecoder.decode(body).toSingleValueMap());
+				return result;
+			});
+		}
+		return response.bodyToMono(MAP_TYPE);
+	}
+
+	private AccessGrant extractAccessGrant(Map<String, Object> result) {
+		return createAccessGrant((String) result.get("access_token"), (String) result.get("scope"), (String) result.get("refresh_token"), OAuth2Template.getIntegerValue(result, "expires_in"), result);
+	}
+
+	private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE = new ParameterizedTypeReference<Map<String, Object>>() {};
+
+}
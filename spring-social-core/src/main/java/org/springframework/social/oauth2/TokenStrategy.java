@@ -50,4 +50,11 @@ public enum TokenStrategy {
 	
 	abstract ClientHttpRequestInterceptor interceptor(String accessToken, OAuth2Version oauth2Version);
 
+	/**
+	 * Returns an interceptor carrying the access token bound to the {@link AccessTokenContext} of the executing thread.
+	 */
+	ClientHttpRequestInterceptor contextInterceptor(OAuth2Version oauth2Version) {
+		return interceptor(null, oauth2Version);
+	}
+
 }
@@ -15,6 +15,7 @@
  */
 package org.springframework.social.support;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URI;
@@ -29,6 +30,7 @@ import java.util.Properties;
 import javax.net.ssl.SSLContext;
 
 import org.apache.http.HttpHost;
+import org.apache.http.client.HttpClient;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.TrustStrategy;
@@ -42,11 +44,14 @@ import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
 
 
 /**
  * Chooses a request factory. Picks a HttpComponentsClientRequestFactory factory if Apache HttpComponents HttpClient is in the classpath.
  * If not, falls back to SimpleClientHttpRequestFactory.
+ * The HttpComponents request factories all send their requests through a single {@link HttpClientPool},
+ * so API bindings and OAuth templates share pooled connections instead of each opening their own.
  * @author Craig Walls
  * @author Roy Clarkson
  */
@@ -61,7 +66,7 @@ public class ClientHttpRequestFactorySelector {
 		String proxyHost = properties.getProperty("http.proxyHost");
 		int proxyPort = properties.containsKey("http.proxyPort") ? Integer.valueOf(properties.getProperty("http.proxyPort")) : 80;
 		if (HTTP_COMPONENTS_AVAILABLE) {
-			return HttpComponentsClientRequestFactoryCreator.createRequestFactory(proxyHost, proxyPort);
+			return new SelectedPoolRequestFactory(HttpComponentsClientRequestFactoryCreator.getHttpClientPool(proxyHost, proxyPort));
 		} else {
 			SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
 			if (proxyHost != null) {
@@ -71,6 +76,28 @@ public class ClientHttpRequestFactorySelector {
 		}
 	}
 	
+	/**
+	 * Returns the pool backing the HttpComponents request factories returned by {@link #getRequestFactory()}, for instance to read its statistics.
+	 * Unless {@link #setHttpClientPool(HttpClientPool) set}, this is a pool with default settings honoring the http.proxyHost and http.proxyPort system properties.
+	 * @return the shared HttpClient pool
+	 */
+	public static HttpClientPool getHttpClientPool() {
+		Properties properties = System.getProperties();
+		String proxyHost = properties.getProperty("http.proxyHost");
+		int proxyPort = properties.containsKey("http.proxyPort") ? Integer.valueOf(properties.getProperty("http.proxyPort")) : 80;
+		return HttpComponentsClientRequestFactoryCreator.getHttpClientPool(proxyHost, proxyPort);
+	}
+
+	/**
+	 * Sets the pool backing the HttpComponents request factories returned by {@link #getRequestFactory()}.
+	 * Request factories handed out earlier switch to the new pool on their next request.
+	 * The pool with default settings, if one was created, is destroyed; a pool set here is left for its owner to destroy.
+	 * @param httpClientPool the pool to share; null to go back to a pool with default settings
+	 */
+	public static void setHttpClientPool(HttpClientPool httpClientPool) {
+		HttpComponentsClientRequestFactoryCreator.setHttpClientPool(httpClientPool);
+	}
+
 	/**
 	 * Decorates a request factory to buffer responses so that the responses may be repeatedly read.
 	 * @param requestFactory the request factory to be decorated for buffering
@@ -80,12 +107,35 @@ public class ClientHttpRequestFactorySelector {
 		return new BufferingClientHttpRequestFactory(requestFactory);
 	}
 	
+	private static class SelectedPoolRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+		public SelectedPoolRequestFactory(HttpClientPool httpClientPool) {
+			super(httpClientPool.getHttpClient());
+		}
+
+		@Override
+		public HttpClient getHttpClient() {
+			// looked up on every request, so the factory follows the pool should it have been replaced and destroyed meanwhile
+			return getHttpClientPool().getHttpClient();
+		}
+
+		@Override
+		public void destroy() {
+			// the client is shared with the other request factories of the pool
+		}
+
+	}
+
 	private static final boolean HTTP_COMPONENTS_AVAILABLE = ClassUtils.isPresent("org.apache.http.client.HttpClient", ClientHttpRequestFactory.class.getClassLoader());
 
 	public static class HttpComponentsClientRequestFactoryCreator {
 		
 		private static boolean isAllTrust = false;
-		
+
+		private static volatile HttpClientPool httpClientPool;
+
+		private static volatile DefaultHttpClientPool defaultHttpClientPool;
+
 		public static ClientHttpRequestFactory createRequestFactory(String proxyHost, int proxyPort) {
 			
 			HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory() {
@@ -107,6 +157,46 @@ public class ClientHttpRequestFactorySelector {
 			
 		}
 
+		static void setHttpClientPool(HttpClientPool httpClientPool) {
+			synchronized (HttpComponentsClientRequestFactoryCreator.class) {
+				HttpComponentsClientRequestFactoryCreator.httpClientPool = httpClientPool;
+				if (httpClientPool != null) {
+					close(defaultHttpClientPool);
+					defaultHttpClientPool = null;
+				}
+			}
+		}
+
+		static HttpClientPool getHttpClientPool(String proxyHost, int proxyPort) {
+			HttpClientPool httpClientPool = HttpComponentsClientRequestFactoryCreator.httpClientPool;
+			if (httpClientPool != null) {
+				return httpClientPool;
+			}
+			DefaultHttpClientPool defaultHttpClientPool = HttpComponentsClientRequestFactoryCreator.defaultHttpClientPool;
+			if (defaultHttpClientPool == null || !defaultHttpClientPool.matches(proxyHost, proxyPort, isAllTrust)) {
+				synchronized (HttpComponentsClientRequestFactoryCreator.class) {
+					defaultHttpClientPool = HttpComponentsClientRequestFactoryCreator.defaultHttpClientPool;
+					if (defaultHttpClientPool == null || !defaultHttpClientPool.matches(proxyHost, proxyPort, isAllTrust)) {
+						// the request factories handed out for the previous default pool look up the new one on their next request
+						close(HttpComponentsClientRequestFactoryCreator.defaultHttpClientPool);
+						defaultHttpClientPool = new DefaultHttpClientPool(proxyHost, proxyPort, isAllTrust);
+						HttpComponentsClientRequestFactoryCreator.defaultHttpClientPool = defaultHttpClientPool;
+					}
+				}
+			}
+			return defaultHttpClientPool;
+		}
+
+		private static void close(HttpClientPool httpClientPool) {
+			if (httpClientPool != null) {
+				try {
+					httpClientPool.destroy();
+				} catch (IOException e) {
+					// the pool is being dropped: nothing more to do about its connections
+				}
+			}
+		}
+
 		private static CloseableHttpClient getClient(HttpHost proxy) {
 			return HttpClients.custom()
 					.setProxy(proxy)
@@ -140,7 +230,29 @@ public class ClientHttpRequestFactorySelector {
 			}
 			return null;
 		}
-		
+
+		private static class DefaultHttpClientPool extends HttpClientPool {
+
+			private final String proxyHost;
+
+			private final int proxyPort;
+
+			private final boolean allTrust;
+
+			public DefaultHttpClientPool(String proxyHost, int proxyPort, boolean allTrust) {
+				this.proxyHost = proxyHost;
+				this.proxyPort = proxyPort;
+				this.allTrust = allTrust;
+				setProxy(proxyHost, proxyPort);
+				setAllTrust(allTrust);
+			}
+
+			public boolean matches(String proxyHost, int proxyPort, boolean allTrust) {
+				return ObjectUtils.nullSafeEquals(this.proxyHost, proxyHost) && (proxyHost == null || this.proxyPort == proxyPort) && this.allTrust == allTrust;
+			}
+
+		}
+
 	}
 
 	/**
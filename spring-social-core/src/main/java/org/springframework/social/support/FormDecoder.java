@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.support;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Decodes "application/x-www-form-urlencoded" content.
+ * Used by the reactive OAuth templates to read token responses, as WebClient has no reader for form data,
+ * and some providers return form-encoded tokens without setting the content type properly.
+ */
+public final class FormDecoder {
+
+	private FormDecoder() {
+	}
+
+	/**
+	 * Decodes the given form-encoded content.
+	 * @param body the form-encoded content, such as "oauth_token=1234&amp;oauth_token_secret=5678"
+	 * @return the decoded parameters, in order of appearance; a parameter with no "=" maps to a null value
+	 */
+	public static MultiValueMap<String, String> decode(String body) {
+		MultiValueMap<String, String> result = new LinkedMultiValueMap<String, String>();
+		for (String pair : StringUtils.tokenizeToStringArray(body, "&")) {
+			int index = pair.indexOf('=');
+			if (index == -1) {
+				result.add(formDecode(pair), null);
+			} else {
+				result.add(formDecode(pair.substring(0, index)), formDecode(pair.substring(index + 1)));
+			}
+		}
+		return result;
+	}
+
+	// internal helpers
+
+	private static String formDecode(String encoded) {
+		try {
+			return URLDecoder.decode(encoded, "UTF-8");
+		} catch (UnsupportedEncodingException ex) {
+			// should not happen, UTF-8 is always supported
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
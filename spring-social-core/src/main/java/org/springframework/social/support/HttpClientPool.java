@@ -0,0 +1,313 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.support;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHost;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.ssl.SSLContexts;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.Assert;
+
+/**
+ * A connection-pooled Apache HttpComponents client shared by every request factory it creates.
+ * Handing the same pool to all API bindings and OAuth templates lets them reuse open connections, keep-alive and TLS sessions
+ * instead of each binding opening its own connections to the provider.
+ * The client is built on first use; settings changed afterwards have no effect.
+ * Once {@link #destroy() destroyed}, the pool and the request factories it created can no longer be used.
+ * By default, {@link ClientHttpRequestFactorySelector#getRequestFactory()} hands out request factories backed by a pool with default settings.
+ * Configure and install another one with {@link ClientHttpRequestFactorySelector#setHttpClientPool(HttpClientPool)}.
+ */
+public class HttpClientPool implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(HttpClientPool.class);
+
+	private int maxTotal = DEFAULT_MAX_TOTAL;
+
+	private int defaultMaxPerRoute = DEFAULT_MAX_PER_ROUTE;
+
+	private final Map<HttpHost, Integer> maxPerRoute = new LinkedHashMap<HttpHost, Integer>();
+
+	private int connectTimeout = -1;
+
+	private int readTimeout = -1;
+
+	private int connectionRequestTimeout = -1;
+
+	private int maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+
+	private HttpHost proxy;
+
+	private boolean allTrust;
+
+	private volatile PoolingHttpClientConnectionManager connectionManager;
+
+	private volatile CloseableHttpClient httpClient;
+
+	private volatile boolean destroyed;
+
+	/**
+	 * Sets the maximum number of connections open across all routes. Defaults to 200.
+	 * @param maxTotal the maximum number of pooled connections
+	 */
+	public void setMaxTotal(int maxTotal) {
+		Assert.isTrue(maxTotal > 0, "maxTotal must be greater than 0");
+		this.maxTotal = maxTotal;
+	}
+
+	/**
+	 * Sets the maximum number of connections open to a single host, unless overridden for the host. Defaults to 20.
+	 * @param defaultMaxPerRoute the maximum number of pooled connections per host
+	 */
+	public void setDefaultMaxPerRoute(int defaultMaxPerRoute) {
+		Assert.isTrue(defaultMaxPerRoute > 0, "defaultMaxPerRoute must be greater than 0");
+		this.defaultMaxPerRoute = defaultMaxPerRoute;
+	}
+
+	/**
+	 * Sets the maximum number of connections open to the host of the given URL, overriding the {@link #setDefaultMaxPerRoute(int) default limit}.
+	 * @param url a URL of the host, such as "https://api.example.com"
+	 * @param max the maximum number of pooled connections to the host
+	 */
+	public void setMaxPerRoute(String url, int max) {
+		Assert.isTrue(max > 0, "max must be greater than 0");
+		URI uri = URI.create(url);
+		this.maxPerRoute.put(new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme()), max);
+	}
+
+	/**
+	 * Sets the number of milliseconds to wait for a connection to be established. Defaults to the system's timeout.
+	 * @param connectTimeout the connect timeout, in milliseconds; 0 to wait indefinitely
+	 */
+	public void setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	/**
+	 * Sets the number of milliseconds to wait for data on an established connection. Defaults to the system's timeout.
+	 * @param readTimeout the socket read timeout, in milliseconds; 0 to wait indefinitely
+	 */
+	public void setReadTimeout(int readTimeout) {
+		this.readTimeout = readTimeout;
+	}
+
+	/**
+	 * Sets the number of milliseconds to wait for a pooled connection when all connections to the route are in use. Defaults to waiting indefinitely.
+	 * @param connectionRequestTimeout the connection request timeout, in milliseconds; 0 to wait indefinitely
+	 */
+	public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+		this.connectionRequestTimeout = connectionRequestTimeout;
+	}
+
+	/**
+	 * Sets the number of seconds a pooled connection may stay idle before it is closed by a background thread. Defaults to 30.
+	 * @param maxIdleTime the maximum idle time, in seconds; 0 to never evict idle connections
+	 */
+	public void setMaxIdleTime(int maxIdleTime) {
+		Assert.isTrue(maxIdleTime >= 0, "maxIdleTime cannot be negative");
+		this.maxIdleTime = maxIdleTime;
+	}
+
+	/**
+	 * Sends all requests through an HTTP proxy.
+	 * @param proxyHost the proxy host name; null for no proxy
+	 * @param proxyPort the proxy port
+	 */
+	public void setProxy(String proxyHost, int proxyPort) {
+		this.proxy = proxyHost != null ? new HttpHost(proxyHost, proxyPort) : null;
+	}
+
+	/**
+	 * Trust all SSL certificates.
+	 * For use in a test environment. Not recommended for general use.
+	 * @param allTrust if true, all certificates will be trusted.
+	 */
+	public void setAllTrust(boolean allTrust) {
+		this.allTrust = allTrust;
+	}
+
+	/**
+	 * Creates a request factory sending requests through the pooled client.
+	 * Destroying the returned factory leaves the pool open; close it with {@link #destroy()}.
+	 * @return a request factory backed by this pool
+	 * @throws IllegalStateException if the pool has been destroyed
+	 */
+	public ClientHttpRequestFactory createRequestFactory() {
+		return new PooledRequestFactory(this);
+	}
+
+	/**
+	 * Returns the pooled client, building it on first use.
+	 * @return the shared HttpClient
+	 * @throws IllegalStateException if the pool has been destroyed
+	 */
+	public CloseableHttpClient getHttpClient() {
+		CloseableHttpClient httpClient = this.httpClient;
+		if (httpClient == null) {
+			synchronized (this) {
+				httpClient = this.httpClient;
+				if (httpClient == null) {
+					if (destroyed) {
+						throw new IllegalStateException("HttpClientPool has been destroyed");
+					}
+					httpClient = buildHttpClient();
+					this.httpClient = httpClient;
+				}
+			}
+		}
+		return httpClient;
+	}
+
+	/**
+	 * Returns the number of leased, available and pending connections across all routes, and the pool's maximum size.
+	 * @return the total pool statistics
+	 */
+	public PoolStats getTotalStats() {
+		PoolingHttpClientConnectionManager connectionManager = this.connectionManager;
+		return connectionManager != null ? connectionManager.getTotalStats() : new PoolStats(0, 0, 0, maxTotal);
+	}
+
+	/**
+	 * Returns the pool statistics of each route the pool has opened connections to.
+	 * @return the pool statistics keyed by target host, such as "https://api.example.com:443"
+	 */
+	public Map<String, PoolStats> getRouteStats() {
+		Map<String, PoolStats> routeStats = new LinkedHashMap<String, PoolStats>();
+		PoolingHttpClientConnectionManager connectionManager = this.connectionManager;
+		if (connectionManager != null) {
+			for (HttpRoute route : connectionManager.getRoutes()) {
+				routeStats.put(route.getTargetHost().toURI(), connectionManager.getStats(route));
+			}
+		}
+		return routeStats;
+	}
+
+	/**
+	 * Closes the pooled client and all of its connections, stopping its idle connection eviction thread.
+	 * Request factories created by this pool throw {@link IllegalStateException} should they be used again.
+	 */
+	public synchronized void destroy() throws IOException {
+		destroyed = true;
+		if (httpClient != null) {
+			httpClient.close();
+			httpClient = null;
+			connectionManager = null;
+		}
+	}
+
+	// internal helpers
+
+	private CloseableHttpClient buildHttpClient() {
+		HttpClientBuilder builder = HttpClientBuilder.create().useSystemProperties();
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry());
+		connectionManager.setMaxTotal(maxTotal);
+		connectionManager.setDefaultMaxPerRoute(defaultMaxPerRoute);
+		for (Map.Entry<HttpHost, Integer> entry : maxPerRoute.entrySet()) {
+			HttpHost host = entry.getKey();
+			boolean secure = "https".equalsIgnoreCase(host.getSchemeName());
+			int port = host.getPort() != -1 ? host.getPort() : (secure ? 443 : 80);
+			HttpHost target = new HttpHost(host.getHostName(), port, host.getSchemeName());
+			connectionManager.setMaxPerRoute(proxy != null ? new HttpRoute(target, null, proxy, secure) : new HttpRoute(target, null, secure), entry.getValue());
+		}
+		builder.setConnectionManager(connectionManager);
+		builder.setDefaultRequestConfig(RequestConfig.custom()
+				.setConnectTimeout(connectTimeout)
+				.setSocketTimeout(readTimeout)
+				.setConnectionRequestTimeout(connectionRequestTimeout)
+				.setExpectContinueEnabled(false)
+				.build());
+		if (maxIdleTime > 0) {
+			builder.evictIdleConnections(maxIdleTime, TimeUnit.SECONDS);
+			builder.evictExpiredConnections();
+		}
+		if (proxy != null) {
+			builder.setProxy(proxy);
+		}
+		this.connectionManager = connectionManager;
+		return builder.build();
+	}
+
+	private Registry<ConnectionSocketFactory> socketFactoryRegistry() {
+		return RegistryBuilder.<ConnectionSocketFactory>create()
+				.register("http", PlainConnectionSocketFactory.getSocketFactory())
+				.register("https", allTrust ? allTrustSocketFactory() : SSLConnectionSocketFactory.getSystemSocketFactory())
+				.build();
+	}
+
+	private SSLConnectionSocketFactory allTrustSocketFactory() {
+		try {
+			SSLContext sslContext = SSLContexts.custom().loadTrustMaterial(null, (X509Certificate[] chain, String authType) -> true).build();
+			return new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE);
+		} catch (GeneralSecurityException e) {
+			logger.warn("Unable to create an all-trusting SSLContext; falling back to the system's", e);
+			return SSLConnectionSocketFactory.getSystemSocketFactory();
+		}
+	}
+
+	private static class PooledRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+		private final HttpClientPool httpClientPool;
+
+		public PooledRequestFactory(HttpClientPool httpClientPool) {
+			super(httpClientPool.getHttpClient());
+			this.httpClientPool = httpClientPool;
+		}
+
+		@Override
+		public HttpClient getHttpClient() {
+			// asked of the pool on every request, so the factory fails fast once the pool has been destroyed
+			return httpClientPool.getHttpClient();
+		}
+
+		@Override
+		public void destroy() {
+			// the client is shared with the other request factories of the pool
+		}
+
+	}
+
+	private static final int DEFAULT_MAX_TOTAL = 200;
+
+	private static final int DEFAULT_MAX_PER_ROUTE = 20;
+
+	private static final int DEFAULT_MAX_IDLE_TIME = 30;
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.support;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive counterpart of {@link LoggingErrorHandler}, for WebClients.
+ * Logs the body of error responses and signals the same exceptions RestTemplate's default error handling throws,
+ * so callers handle errors alike whether they use the blocking or the reactive OAuth templates.
+ */
+public class ReactiveLoggingErrorHandler implements ExchangeFilterFunction {
+
+	private static final Log LOG = LogFactory.getLog(ReactiveLoggingErrorHandler.class);
+
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		return next.exchange(request).flatMap(response -> {
+			HttpStatus statusCode = response.statusCode();
+			if (!statusCode.isError()) {
+				return Mono.just(response);
+			}
+			return response.bodyToFlux(byte[].class).reduce(EMPTY_BODY, ReactiveLoggingErrorHandler::concat).flatMap(body -> {
+				Charset charset = response.headers().contentType().map(MediaType::getCharset).orElse(null);
+				if (LOG.isErrorEnabled()) {
+					LOG.error("Response body: " + new String(body, charset != null ? charset : StandardCharsets.ISO_8859_1));
+				}
+				return Mono.error(createException(response, statusCode, body, charset));
+			});
+		});
+	}
+
+	// internal helpers
+
+	private RuntimeException createException(ClientResponse response, HttpStatus statusCode, byte[] body, Charset charset) {
+		switch (statusCode.series()) {
+		case CLIENT_ERROR:
+			return new HttpClientErrorException(statusCode, statusCode.getReasonPhrase(), response.headers().asHttpHeaders(), body, charset);
+		case SERVER_ERROR:
+			return new HttpServerErrorException(statusCode, statusCode.getReasonPhrase(), response.headers().asHttpHeaders(), body, charset);
+		default:
+			return new UnknownHttpStatusCodeException(statusCode.value(), statusCode.getReasonPhrase(), response.headers().asHttpHeaders(), body, charset);
+		}
+	}
+
+	private static byte[] concat(byte[] head, byte[] tail) {
+		byte[] result = Arrays.copyOf(head, head.length + tail.length);
+		System.arraycopy(tail, 0, result, head.length, tail.length);
+		return result;
+	}
+
+	private static final byte[] EMPTY_BODY = new byte[0];
+
+}
@@ -0,0 +1,18 @@
+-- The UserConnection table for PostgreSQL, as created by JdbcUsersConnectionSchemaInitializer.
+-- The UserConnectionProviderUser index answers the provider user lookups made on every provider sign-in from the index alone; the "include" clause requires PostgreSQL 11.
+-- To add it to an existing table, run its "create index" statement on its own.
+
+create table UserConnection (userId varchar(255) not null,
+	providerId varchar(255) not null,
+	providerUserId varchar(255),
+	rank int not null,
+	displayName varchar(255),
+	profileUrl varchar(512),
+	imageUrl varchar(512),
+	accessToken varchar(512) not null,
+	secret varchar(512),
+	refreshToken varchar(512),
+	expireTime bigint,
+	primary key (userId, providerId, providerUserId));
+create unique index UserConnectionRank on UserConnection(userId, providerId, rank);
+create index UserConnectionProviderUser on UserConnection(providerId, providerUserId) include (userId);
@@ -16,4 +16,5 @@ create table UserConnection (userId varchar(255) not null,
 	refreshToken varchar(512),
 	expireTime bigint,
 	primary key (userId, providerId, providerUserId));
-create unique index UserConnectionRank on UserConnection(userId, providerId, rank);
\ No newline at end of file
+create unique index UserConnectionRank on UserConnection(userId, providerId, rank);
+create index UserConnectionProviderUser on UserConnection(providerId, providerUserId, userId);
\ No newline at end of file
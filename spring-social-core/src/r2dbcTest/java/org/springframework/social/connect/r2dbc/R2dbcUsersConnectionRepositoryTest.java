@@ -0,0 +1,350 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.r2dbc;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.social.connect.ApiAdapter;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.ConnectionValues;
+import org.springframework.social.connect.DuplicateConnectionException;
+import org.springframework.social.connect.FakeApi;
+import org.springframework.social.connect.FakeApiAdapter;
+import org.springframework.social.connect.NoSuchConnectionException;
+import org.springframework.social.connect.NotConnectedException;
+import org.springframework.social.connect.ReactiveConnectionRepository;
+import org.springframework.social.connect.UserProfile;
+import org.springframework.social.connect.UserProfileBuilder;
+import org.springframework.social.connect.support.ConnectionFactoryRegistry;
+import org.springframework.social.connect.support.OAuth2ConnectionFactory;
+import org.springframework.social.oauth2.AbstractOAuth2ServiceProvider;
+import org.springframework.social.oauth2.GenericOAuth2ConnectionFactory;
+import org.springframework.social.oauth2.OAuth2Template;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestOperations;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+public class R2dbcUsersConnectionRepositoryTest {
+
+	private static final ConnectionData FACEBOOK_DATA_1 = new ConnectionData("facebook", "9", null, null, null, "234567890", null, "345678901", System.currentTimeMillis() + 3600000);
+
+	private static final ConnectionData FACEBOOK_DATA_2 = new ConnectionData("facebook", "10", "Keith Donald", "https://facebook.com/kdonald", null, "456789012", null, null, null);
+
+	private static final ConnectionData TWITTER_DATA = new ConnectionData("twitter", "8", "@kdonald", "https://twitter.com/kdonald", "https://twitter.com/kdonald/picture", "123456789", "987654321", "refresh_token", null);
+
+	private ConnectionFactory databaseConnectionFactory;
+
+	private ConnectionFactoryRegistry connectionFactoryRegistry;
+
+	private R2dbcUsersConnectionRepository usersConnectionRepository;
+
+	private ReactiveConnectionRepository connectionRepository;
+
+	@Before
+	public void setUp() throws IOException {
+		databaseConnectionFactory = H2ConnectionFactory.inMemory("r2dbc-" + UUID.randomUUID());
+		executeScript("org/springframework/social/connect/jdbc/JdbcUsersConnectionRepository.sql", "");
+		connectionFactoryRegistry = new ConnectionFactoryRegistry();
+		connectionFactoryRegistry.addConnectionFactory(new GenericOAuth2ConnectionFactory("facebook", "clientId", "clientSecret", "https://facebook.com/authorize", "https://facebook.com/token", new StubApiAdapter()));
+		connectionFactoryRegistry.addConnectionFactory(new OAuth2ConnectionFactory<FakeApi>("twitter", new FakeServiceProvider(), new FakeApiAdapter()));
+		usersConnectionRepository = new R2dbcUsersConnectionRepository(databaseConnectionFactory, connectionFactoryRegistry, new ReversingTextEncryptor());
+		connectionRepository = usersConnectionRepository.createConnectionRepository("1");
+	}
+
+	@Test
+	public void findAllConnections() {
+		addConnection("1", FACEBOOK_DATA_1);
+		addConnection("1", FACEBOOK_DATA_2);
+		addConnection("1", TWITTER_DATA);
+		MultiValueMap<String, Connection<?>> connections = connectionRepository.findAllConnections().block();
+		assertEquals(2, connections.size());
+		assertEquals(2, connections.get("facebook").size());
+		assertEquals("9", connections.get("facebook").get(0).getKey().getProviderUserId());
+		assertEquals("10", connections.get("facebook").get(1).getKey().getProviderUserId());
+		assertEquals(1, connections.get("twitter").size());
+	}
+
+	@Test
+	public void findAllConnectionsEmptyResult() {
+		MultiValueMap<String, Connection<?>> connections = connectionRepository.findAllConnections().block();
+		assertEquals(2, connections.size());
+		assertTrue(connections.get("facebook").isEmpty());
+		assertTrue(connections.get("twitter").isEmpty());
+	}
+
+	@Test
+	public void findConnectionsByRank() {
+		addConnection("1", FACEBOOK_DATA_2);
+		addConnection("1", FACEBOOK_DATA_1);
+		List<Connection<?>> connections = connectionRepository.findConnections("facebook").collectList().block();
+		assertEquals(2, connections.size());
+		assertEquals("10", connections.get(0).getKey().getProviderUserId());
+		assertEquals("9", connections.get(1).getKey().getProviderUserId());
+		assertEquals("10", connectionRepository.findPrimaryConnection("facebook").block().getKey().getProviderUserId());
+		assertNull(connectionRepository.findPrimaryConnection("twitter").block());
+	}
+
+	@Test
+	public void findConnectionsByApiType() {
+		addConnection("1", FACEBOOK_DATA_2);
+		addConnection("1", FACEBOOK_DATA_1);
+		List<Connection<RestOperations>> connections = connectionRepository.findConnections(RestOperations.class).collectList().block();
+		assertEquals(2, connections.size());
+		assertEquals("10", connections.get(0).getKey().getProviderUserId());
+		assertEquals("10", connectionRepository.findPrimaryConnection(RestOperations.class).block().getKey().getProviderUserId());
+		assertEquals("10", connectionRepository.getPrimaryConnection(RestOperations.class).block().getKey().getProviderUserId());
+		assertEquals("Keith Donald", connectionRepository.getConnection(RestOperations.class, "10").block().getDisplayName());
+	}
+
+	@Test(expected = NotConnectedException.class)
+	public void getPrimaryConnectionNotConnected() {
+		connectionRepository.getPrimaryConnection(RestOperations.class).block();
+	}
+
+	@Test
+	public void findConnectionsToUsers() {
+		addConnection("1", FACEBOOK_DATA_1);
+		addConnection("1", FACEBOOK_DATA_2);
+		addConnection("1", TWITTER_DATA);
+		MultiValueMap<String, String> providerUsers = new LinkedMultiValueMap<String, String>();
+		providerUsers.add("facebook", "10");
+		providerUsers.add("facebook", "11");
+		providerUsers.add("facebook", "9");
+		providerUsers.add("twitter", "8");
+		MultiValueMap<String, Connection<?>> connections = connectionRepository.findConnectionsToUsers(providerUsers).block();
+		assertEquals(2, connections.size());
+		assertEquals("10", connections.get("facebook").get(0).getKey().getProviderUserId());
+		assertNull(connections.get("facebook").get(1));
+		assertEquals("9", connections.get("facebook").get(2).getKey().getProviderUserId());
+		assertEquals("8", connections.get("twitter").get(0).getKey().getProviderUserId());
+	}
+
+	@Test
+	public void getConnection() {
+		addConnection("1", TWITTER_DATA);
+		ConnectionData data = connectionRepository.getConnection(new ConnectionKey("twitter", "8")).block().createData();
+		assertEquals("@kdonald", data.getDisplayName());
+		assertEquals("https://twitter.com/kdonald", data.getProfileUrl());
+		assertEquals("https://twitter.com/kdonald/picture", data.getImageUrl());
+		assertEquals("123456789", data.getAccessToken());
+		assertEquals("refresh_token", data.getRefreshToken());
+		assertNull(data.getExpireTime());
+	}
+
+	@Test(expected = NoSuchConnectionException.class)
+	public void getConnectionNoSuchConnection() {
+		addConnection("2", TWITTER_DATA);
+		connectionRepository.getConnection(new ConnectionKey("twitter", "8")).block();
+	}
+
+	@Test
+	public void addConnectionEncryptsTokens() {
+		addConnection("1", FACEBOOK_DATA_1);
+		assertEquals("098765432", queryForString("select accessToken from UserConnection where providerUserId = '9'"));
+		assertEquals("109876543", queryForString("select refreshToken from UserConnection where providerUserId = '9'"));
+		assertEquals(FACEBOOK_DATA_1.getExpireTime(), connectionRepository.findPrimaryConnection("facebook").block().createData().getExpireTime());
+	}
+
+	@Test(expected = DuplicateConnectionException.class)
+	public void addConnectionDuplicate() {
+		addConnection("1", FACEBOOK_DATA_1);
+		addConnection("1", FACEBOOK_DATA_1);
+	}
+
+	@Test
+	public void addConnectionsConcurrently() {
+		Flux.range(1, 10)
+			.flatMap(i -> connectionRepository.addConnection(createConnection(new ConnectionData("facebook", "user" + i, null, null, null, "accessToken", null, null, null))).subscribeOn(Schedulers.parallel()))
+			.blockLast();
+		assertEquals(10, connectionRepository.findConnections("facebook").collectList().block().size());
+	}
+
+	@Test
+	public void updateConnection() {
+		addConnection("1", FACEBOOK_DATA_1);
+		ConnectionData data = new ConnectionData("facebook", "9", "Keith", null, null, "updatedAccessToken", null, "updatedRefreshToken", null);
+		connectionRepository.updateConnection(connectionFactoryRegistry.getConnectionFactory("facebook").createConnection(data)).block();
+		ConnectionData updated = connectionRepository.getConnection(new ConnectionKey("facebook", "9")).block().createData();
+		assertEquals("Keith", updated.getDisplayName());
+		assertEquals("updatedAccessToken", updated.getAccessToken());
+		assertEquals("updatedRefreshToken", updated.getRefreshToken());
+		assertNull(updated.getExpireTime());
+	}
+
+	@Test
+	public void removeConnections() {
+		addConnection("1", FACEBOOK_DATA_1);
+		addConnection("1", FACEBOOK_DATA_2);
+		addConnection("1", TWITTER_DATA);
+		connectionRepository.removeConnections("facebook").block();
+		assertEquals(Long.valueOf(0), connectionRepository.findConnections("facebook").count().block());
+		assertEquals(Long.valueOf(1), connectionRepository.findConnections("twitter").count().block());
+	}
+
+	@Test
+	public void removeConnection() {
+		addConnection("1", FACEBOOK_DATA_1);
+		addConnection("1", FACEBOOK_DATA_2);
+		connectionRepository.removeConnection(new ConnectionKey("facebook", "9")).block();
+		List<Connection<?>> connections = connectionRepository.findConnections("facebook").collectList().block();
+		assertEquals(1, connections.size());
+		assertEquals("10", connections.get(0).getKey().getProviderUserId());
+	}
+
+	@Test
+	public void findUserIdsWithConnection() {
+		addConnection("1", FACEBOOK_DATA_1);
+		addConnection("2", FACEBOOK_DATA_1);
+		List<String> userIds = usersConnectionRepository.findUserIdsWithConnection(createConnection(FACEBOOK_DATA_1)).collectList().block();
+		assertEquals(new HashSet<String>(Arrays.asList("1", "2")), new HashSet<String>(userIds));
+	}
+
+	@Test
+	public void findUserIdsWithConnectionSignUp() {
+		usersConnectionRepository.setConnectionSignUp(connection -> "batman");
+		usersConnectionRepository.setConnectionSignUpScheduler(Schedulers.immediate());
+		List<String> userIds = usersConnectionRepository.findUserIdsWithConnection(createConnection(TWITTER_DATA)).collectList().block();
+		assertEquals(Collections.singletonList("batman"), userIds);
+		assertNotNull(usersConnectionRepository.createConnectionRepository("batman").getConnection(new ConnectionKey("twitter", "8")).block());
+	}
+
+	@Test
+	public void findUserIdsWithConnectionSignUpReturningNull() {
+		usersConnectionRepository.setConnectionSignUp(connection -> null);
+		assertTrue(usersConnectionRepository.findUserIdsWithConnection(createConnection(TWITTER_DATA)).collectList().block().isEmpty());
+	}
+
+	@Test
+	public void findUserIdsConnectedTo() {
+		addConnection("1", FACEBOOK_DATA_1);
+		addConnection("2", FACEBOOK_DATA_2);
+		addConnection("3", TWITTER_DATA);
+		List<String> userIds = usersConnectionRepository.findUserIdsConnectedTo("facebook", new HashSet<String>(Arrays.asList("9", "10", "11"))).collectList().block();
+		assertEquals(new HashSet<String>(Arrays.asList("1", "2")), new HashSet<String>(userIds));
+		assertTrue(usersConnectionRepository.findUserIdsConnectedTo("facebook", Collections.<String>emptySet()).collectList().block().isEmpty());
+	}
+
+	@Test
+	public void tablePrefix() throws IOException {
+		executeScript("org/springframework/social/connect/jdbc/JdbcUsersConnectionRepository.sql", "Prefix_");
+		usersConnectionRepository.setTablePrefix("Prefix_");
+		ReactiveConnectionRepository prefixedConnectionRepository = usersConnectionRepository.createConnectionRepository("1");
+		prefixedConnectionRepository.addConnection(createConnection(TWITTER_DATA)).block();
+		assertEquals("8", queryForString("select providerUserId from Prefix_UserConnection"));
+		assertNull(queryForString("select providerUserId from UserConnection"));
+		assertEquals(Collections.singletonList("1"), usersConnectionRepository.findUserIdsWithConnection(createConnection(TWITTER_DATA)).collectList().block());
+	}
+
+	private Connection<?> createConnection(ConnectionData data) {
+		return connectionFactoryRegistry.getConnectionFactory(data.getProviderId()).createConnection(data);
+	}
+
+	private void addConnection(String userId, ConnectionData data) {
+		usersConnectionRepository.createConnectionRepository(userId).addConnection(createConnection(data)).block();
+	}
+
+	private String queryForString(String sql) {
+		return Mono.<io.r2dbc.spi.Connection>from(databaseConnectionFactory.create())
+				.flatMapMany(connection -> Flux.from(connection.createStatement(sql).execute())
+						.concatMap(result -> result.map((row, rowMetadata) -> row.get(0, String.class)))
+						.concatWith(Mono.from(connection.close()).then(Mono.<String>empty())))
+				.next().block();
+	}
+
+	private void executeScript(String path, String tablePrefix) throws IOException {
+		String script = new String(FileCopyUtils.copyToByteArray(new ClassPathResource(path).getInputStream()), StandardCharsets.UTF_8);
+		StringBuilder sql = new StringBuilder();
+		for (String line : StringUtils.tokenizeToStringArray(script, "\n")) {
+			if (!line.startsWith("--")) {
+				sql.append(line).append('\n');
+			}
+		}
+		for (String statement : StringUtils.tokenizeToStringArray(sql.toString(), ";")) {
+			String prefixed = statement.replace("UserConnection", tablePrefix + "UserConnection");
+			Mono.<io.r2dbc.spi.Connection>from(databaseConnectionFactory.create())
+					.flatMapMany(connection -> Flux.from(connection.createStatement(prefixed).execute())
+							.concatMap(Result::getRowsUpdated)
+							.concatWith(Mono.from(connection.close()).then(Mono.<Integer>empty())))
+					.blockLast();
+		}
+	}
+
+	private static class ReversingTextEncryptor implements TextEncryptor {
+
+		public String encrypt(String text) {
+			return new StringBuilder(text).reverse().toString();
+		}
+
+		public String decrypt(String encryptedText) {
+			return new StringBuilder(encryptedText).reverse().toString();
+		}
+
+	}
+
+	private static class FakeServiceProvider extends AbstractOAuth2ServiceProvider<FakeApi> {
+
+		public FakeServiceProvider() {
+			super(new OAuth2Template("clientId", "clientSecret", "https://twitter.com/authorize", "https://twitter.com/token"));
+		}
+
+		public FakeApi getApi(String accessToken) {
+			return new FakeApi() {};
+		}
+
+	}
+
+	private static class StubApiAdapter implements ApiAdapter<RestOperations> {
+
+		public boolean test(RestOperations api) {
+			return true;
+		}
+
+		public void setConnectionValues(RestOperations api, ConnectionValues values) {
+		}
+
+		public UserProfile fetchUserProfile(RestOperations api) {
+			return new UserProfileBuilder().build();
+		}
+
+		public void updateStatus(RestOperations api, String message) {
+		}
+
+	}
+
+}
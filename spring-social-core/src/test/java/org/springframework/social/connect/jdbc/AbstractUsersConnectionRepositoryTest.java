@@ -2,14 +2,20 @@ package org.springframework.social.connect.jdbc;
 
 import static org.hamcrest.Matchers.hasItems;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -17,6 +23,7 @@ import org.springframework.social.connect.ApiAdapter;
 import org.springframework.social.connect.Connection;
 import org.springframework.social.connect.ConnectionData;
 import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.ConnectionPage;
 import org.springframework.social.connect.ConnectionRepository;
 import org.springframework.social.connect.ConnectionSignUp;
 import org.springframework.social.connect.ConnectionValues;
@@ -25,7 +32,9 @@ import org.springframework.social.connect.NoSuchConnectionException;
 import org.springframework.social.connect.NotConnectedException;
 import org.springframework.social.connect.UserProfile;
 import org.springframework.social.connect.UserProfileBuilder;
+import org.springframework.social.connect.UsersConnectionImporter;
 import org.springframework.social.connect.UsersConnectionRepository;
+import org.springframework.social.connect.UsersConnectionScanner;
 import org.springframework.social.connect.support.ConnectionFactoryRegistry;
 import org.springframework.social.connect.support.OAuth1ConnectionFactory;
 import org.springframework.social.connect.support.OAuth2ConnectionFactory;
@@ -78,6 +87,14 @@ public abstract class AbstractUsersConnectionRepositoryTest {
 	
 	protected abstract UsersConnectionRepository getUsersConnectionRepository();
 	protected abstract ConnectionRepository getConnectionRepository();
+
+	protected UsersConnectionImporter getUsersConnectionImporter() {
+		return (UsersConnectionImporter) getUsersConnectionRepository();
+	}
+
+	protected UsersConnectionScanner getUsersConnectionScanner() {
+		return (UsersConnectionScanner) getUsersConnectionRepository();
+	}
 	
 	protected TestFacebookConnectionFactory getFacebookConnectionFactory() {
 		return facebookConnectionFactory;
@@ -159,6 +176,61 @@ public abstract class AbstractUsersConnectionRepositoryTest {
 		assertThat(localUserIds, hasItems(getUserId1(), getUserId2()));
 	}
 
+	@Test
+	public void findUserIdsConnectedToProviderUsers() {
+		insertTwitterConnection();
+		insertFacebookConnection1();
+		insertFacebookConnection3();
+		insertFacebookConnectionSameFacebookUser();
+		MultiValueMap<String, String> providerUsers = new LinkedMultiValueMap<String, String>();
+		providerUsers.add("facebook", FACEBOOK_CONNECTION_3_PROVIDER_USER_ID);
+		providerUsers.add("facebook", "bogus");
+		providerUsers.add("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID);
+		providerUsers.add("twitter", TWITTER_CONNECTION_1_PROVIDER_USER_ID);
+		providerUsers.add("linkedin", "bogus");
+		Map<String, Map<String, String>> userIdsConnectedTo = getUsersConnectionRepository().findUserIdsConnectedTo(providerUsers);
+		assertEquals(2, userIdsConnectedTo.size());
+		assertEquals(2, userIdsConnectedTo.get("facebook").size());
+		assertEquals(getUserId2(), userIdsConnectedTo.get("facebook").get(FACEBOOK_CONNECTION_3_PROVIDER_USER_ID));
+		String lowestUserId = getUserId1().compareTo(getUserId2()) < 0 ? getUserId1() : getUserId2();
+		assertEquals(lowestUserId, userIdsConnectedTo.get("facebook").get(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID));
+		assertEquals(1, userIdsConnectedTo.get("twitter").size());
+		assertEquals(getUserId1(), userIdsConnectedTo.get("twitter").get(TWITTER_CONNECTION_1_PROVIDER_USER_ID));
+	}
+
+	@Test
+	public void findUserIdsConnectedToProviderUsersNotConnected() {
+		insertFacebookConnection1();
+		MultiValueMap<String, String> providerUsers = new LinkedMultiValueMap<String, String>();
+		providerUsers.add("facebook", "bogus");
+		providerUsers.add("twitter", TWITTER_CONNECTION_1_PROVIDER_USER_ID);
+		assertTrue(getUsersConnectionRepository().findUserIdsConnectedTo(providerUsers).isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void findConnectionsForUsers() {
+		insertTwitterConnection();
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		insertFacebookConnection3();
+		MultiValueMap<String, Connection<?>> connectionsForUsers = getUsersConnectionRepository().findConnectionsForUsers(
+				new HashSet<String>(Arrays.asList(getUserId1(), getUserId2(), "bogus")), "facebook");
+		assertEquals(2, connectionsForUsers.size());
+		assertEquals(2, connectionsForUsers.get(getUserId1()).size());
+		assertFacebookConnection((Connection<TestFacebookApi>) connectionsForUsers.getFirst(getUserId1()));
+		assertEquals(FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, connectionsForUsers.get(getUserId1()).get(1).getKey().getProviderUserId());
+		assertEquals(1, connectionsForUsers.get(getUserId2()).size());
+		assertEquals(FACEBOOK_CONNECTION_3_PROVIDER_USER_ID, connectionsForUsers.getFirst(getUserId2()).getKey().getProviderUserId());
+	}
+
+	@Test
+	public void findConnectionsForUsersEmptyResult() {
+		insertTwitterConnection();
+		assertTrue(getUsersConnectionRepository().findConnectionsForUsers(new HashSet<String>(Arrays.asList(getUserId1(), getUserId2())), "facebook").isEmpty());
+		assertTrue(getUsersConnectionRepository().findConnectionsForUsers(new HashSet<String>(), "twitter").isEmpty());
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void findAllConnections() {
@@ -205,6 +277,48 @@ public abstract class AbstractUsersConnectionRepositoryTest {
 		assertTrue(getConnectionRepository().findConnections("facebook").isEmpty());
 	}
 
+	@Test
+	public void findConnectionsByProviderIdPaged() {
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		ConnectionPage page = getConnectionRepository().findConnections("facebook", 0, 1);
+		assertEquals(1, page.getConnections().size());
+		assertEquals(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, page.getConnections().get(0).getKey().getProviderUserId());
+		assertTrue(page.hasMore());
+		page = getConnectionRepository().findConnections("facebook", page.getLastRank(), 1);
+		assertEquals(1, page.getConnections().size());
+		assertEquals(FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, page.getConnections().get(0).getKey().getProviderUserId());
+		assertFalse(page.hasMore());
+		page = getConnectionRepository().findConnections("facebook", page.getLastRank(), 1);
+		assertTrue(page.getConnections().isEmpty());
+		assertFalse(page.hasMore());
+	}
+
+	@Test
+	public void findConnectionsByProviderIdPagedAfterRemove() {
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		getConnectionRepository().removeConnection(new ConnectionKey("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID));
+		ConnectionPage page = getConnectionRepository().findConnections("facebook", 0, 10);
+		assertEquals(1, page.getConnections().size());
+		assertEquals(FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, page.getConnections().get(0).getKey().getProviderUserId());
+		assertFalse(page.hasMore());
+		assertTrue(getConnectionRepository().findConnections("facebook", page.getLastRank(), 10).getConnections().isEmpty());
+	}
+
+	@Test
+	public void findConnectionsByProviderIdPagedRemoveBetweenPages() {
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		ConnectionPage page = getConnectionRepository().findConnections("facebook", 0, 1);
+		assertEquals(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, page.getConnections().get(0).getKey().getProviderUserId());
+		getConnectionRepository().removeConnection(new ConnectionKey("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID));
+		page = getConnectionRepository().findConnections("facebook", page.getLastRank(), 1);
+		assertEquals(1, page.getConnections().size());
+		assertEquals(FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, page.getConnections().get(0).getKey().getProviderUserId());
+		assertFalse(page.hasMore());
+	}
+
 	@Test
 	public void findConnectionsByApi() {
 		insertFacebookConnection1();
@@ -336,6 +450,79 @@ public abstract class AbstractUsersConnectionRepositoryTest {
 		getConnectionRepository().addConnection(connection);
 	}
 
+	@Test
+	public void addConnections() {
+		insertFacebookConnection1();
+		getConnectionRepository().addConnections(Arrays.<Connection<?>>asList(
+				getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_3), getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_2)));
+		List<Connection<?>> connections = getConnectionRepository().findConnections("facebook");
+		assertEquals(3, connections.size());
+		assertEquals(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, connections.get(0).getKey().getProviderUserId());
+		assertEquals(FACEBOOK_CONNECTION_3_PROVIDER_USER_ID, connections.get(1).getKey().getProviderUserId());
+		assertEquals(FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, connections.get(2).getKey().getProviderUserId());
+	}
+
+	@Test(expected = DuplicateConnectionException.class)
+	public void addConnectionsDuplicate() {
+		insertFacebookConnection1();
+		getConnectionRepository().addConnections(Arrays.<Connection<?>>asList(
+				getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_2), getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_1)));
+	}
+
+	@Test
+	public void importConnections() {
+		insertFacebookConnection1();
+		int imported = getUsersConnectionImporter().importConnections(Stream.of(
+				new SimpleImmutableEntry<String, ConnectionData>(getUserId1(), FACEBOOK_DATA_2),
+				new SimpleImmutableEntry<String, ConnectionData>(getUserId2(), FACEBOOK_DATA_3),
+				new SimpleImmutableEntry<String, ConnectionData>(getUserId1(), TWITTER_DATA)));
+		assertEquals(3, imported);
+		List<Connection<?>> connections = getConnectionRepository().findConnections("facebook");
+		assertEquals(2, connections.size());
+		assertEquals(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, connections.get(0).getKey().getProviderUserId());
+		assertEquals(FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, connections.get(1).getKey().getProviderUserId());
+		assertTwitterConnection(getConnectionRepository().getPrimaryConnection(TestTwitterApi.class));
+		Connection<?> facebook = getUsersConnectionRepository().createConnectionRepository(getUserId2()).findPrimaryConnection(TestFacebookApi.class);
+		assertEquals(new ConnectionKey("facebook", FACEBOOK_CONNECTION_3_PROVIDER_USER_ID), facebook.getKey());
+	}
+
+	@Test(expected = DuplicateConnectionException.class)
+	public void importConnectionsDuplicate() {
+		insertFacebookConnection1();
+		getUsersConnectionImporter().importConnections(Stream.of(
+				new SimpleImmutableEntry<String, ConnectionData>(getUserId1(), FACEBOOK_DATA_2),
+				new SimpleImmutableEntry<String, ConnectionData>(getUserId1(), FACEBOOK_DATA_1)));
+	}
+
+	@Test(expected = DuplicateConnectionException.class)
+	public void importConnectionsStreamedTwice() {
+		getUsersConnectionImporter().importConnections(Stream.of(
+				new SimpleImmutableEntry<String, ConnectionData>(getUserId1(), FACEBOOK_DATA_1),
+				new SimpleImmutableEntry<String, ConnectionData>(getUserId1(), FACEBOOK_DATA_1)));
+	}
+
+	@Test
+	public void scanConnections() {
+		insertTwitterConnection();
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		insertFacebookConnection3();
+		insertFacebookConnectionSameFacebookUser();
+		List<String> scanned = new ArrayList<String>();
+		getUsersConnectionScanner().scanConnections("facebook", (userId, data) -> {
+			assertEquals("facebook", data.getProviderId());
+			scanned.add(userId + ":" + data.getProviderUserId());
+		});
+		assertEquals(Arrays.asList(getUserId1() + ":" + FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, getUserId2() + ":" + FACEBOOK_CONNECTION_3_PROVIDER_USER_ID,
+				getUserId1() + ":" + FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, getUserId2() + ":" + FACEBOOK_CONNECTION_1_PROVIDER_USER_ID), scanned);
+	}
+
+	@Test
+	public void scanConnectionsNoConnections() {
+		insertTwitterConnection();
+		getUsersConnectionScanner().scanConnections("facebook", (userId, data) -> fail("Unexpected connection " + data));
+	}
+
 	@Test
 	public void updateConnectionProfileFields() {
 		insertTwitterConnection();
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.social.ExpiredAuthorizationException;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.oauth2.AccessGrant;
+
+public class JdbcRefreshLockTest {
+
+	private static final ConnectionKey KEY = new ConnectionKey("facebook", "9");
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private AtomicInteger refreshes = new AtomicInteger();
+
+	@Before
+	public void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("classpath:org/springframework/social/connect/jdbc/JdbcUsersConnectionRepository.sql").build();
+		jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.update("insert into UserConnection (userId, providerId, providerUserId, `rank`, accessToken, refreshToken, expireTime) values ('1', 'facebook', '9', 1, 'access1', 'refresh1', 0)");
+	}
+
+	@After
+	public void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	public void refreshPersistsGrant() {
+		AccessGrant accessGrant = new JdbcRefreshLock(database, Encryptors.noOpText()).refresh(KEY, "access1", "refresh1", () -> newGrant("access2", "refresh2"));
+		assertEquals("access2", accessGrant.getAccessToken());
+		assertEquals(1, refreshes.get());
+		assertEquals("access2", jdbcTemplate.queryForObject("select accessToken from UserConnection where userId = '1'", String.class));
+		assertEquals("refresh2", jdbcTemplate.queryForObject("select refreshToken from UserConnection where userId = '1'", String.class));
+		assertEquals(accessGrant.getExpireTime(), jdbcTemplate.queryForObject("select expireTime from UserConnection where userId = '1'", Long.class));
+	}
+
+	@Test
+	public void refreshKeepsRefreshTokenWhenNotRotated() {
+		new JdbcRefreshLock(database, Encryptors.noOpText()).refresh(KEY, "access1", "refresh1", () -> newGrant("access2", null));
+		assertEquals("refresh1", jdbcTemplate.queryForObject("select refreshToken from UserConnection where userId = '1'", String.class));
+	}
+
+	@Test
+	public void alreadyRefreshedByAnotherProcess() {
+		jdbcTemplate.update("update UserConnection set accessToken = 'access2', expireTime = ?", System.currentTimeMillis() + 3600 * 1000L);
+		AccessGrant accessGrant = new JdbcRefreshLock(database, Encryptors.noOpText()).refresh(KEY, "access1", "refresh1", () -> newGrant("access3", "refresh3"));
+		assertEquals(0, refreshes.get());
+		assertEquals("access2", accessGrant.getAccessToken());
+		assertEquals("refresh1", accessGrant.getRefreshToken());
+		assertTrue(accessGrant.getExpireTime() > System.currentTimeMillis() + 3500 * 1000L);
+	}
+
+	@Test(expected = ExpiredAuthorizationException.class)
+	public void rotatedByAnotherProcessBeforeLookup() {
+		jdbcTemplate.update("update UserConnection set accessToken = 'access2', refreshToken = 'refresh2'");
+		try {
+			new JdbcRefreshLock(database, Encryptors.noOpText()).refresh(KEY, "access1", "refresh1", () -> newGrant("access3", "refresh3"));
+		} finally {
+			assertEquals(0, refreshes.get());
+		}
+	}
+
+	@Test
+	public void otherUsersOfProviderUserUntouched() {
+		jdbcTemplate.update("insert into UserConnection (userId, providerId, providerUserId, `rank`, accessToken, refreshToken, expireTime) values ('2', 'facebook', '9', 1, 'access9', 'refresh9', ?)",
+				System.currentTimeMillis() + 3600 * 1000L);
+		AccessGrant accessGrant = new JdbcRefreshLock(database, Encryptors.noOpText()).refresh(KEY, "access1", "refresh1", () -> newGrant("access2", "refresh2"));
+		assertEquals("access2", accessGrant.getAccessToken());
+		assertEquals(1, refreshes.get());
+		assertEquals("access2", jdbcTemplate.queryForObject("select accessToken from UserConnection where userId = '1'", String.class));
+		assertEquals("access9", jdbcTemplate.queryForObject("select accessToken from UserConnection where userId = '2'", String.class));
+		assertEquals("refresh9", jdbcTemplate.queryForObject("select refreshToken from UserConnection where userId = '2'", String.class));
+	}
+
+	@Test
+	public void notPersisted() {
+		AccessGrant accessGrant = new JdbcRefreshLock(database, Encryptors.noOpText()).refresh(new ConnectionKey("twitter", "1"), "access1", "refresh1", () -> newGrant("access2", "refresh2"));
+		assertEquals("access2", accessGrant.getAccessToken());
+		assertEquals(1, refreshes.get());
+	}
+
+	@Test
+	public void concurrentRefreshFromTwoProcesses() throws Exception {
+		final JdbcRefreshLock process1 = new JdbcRefreshLock(database, Encryptors.noOpText());
+		final JdbcRefreshLock process2 = new JdbcRefreshLock(database, Encryptors.noOpText());
+		final CountDownLatch refreshing = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<AccessGrant> first = executor.submit(() -> process1.refresh(KEY, "access1", "refresh1", () -> {
+				refreshing.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return newGrant("access2", "refresh2");
+			}));
+			assertTrue(refreshing.await(10, TimeUnit.SECONDS));
+			Future<AccessGrant> second = executor.submit(() -> process2.refresh(KEY, "access1", "refresh1", () -> newGrant("access3", "refresh3")));
+			// the second process blocks on the row lock held by the first
+			Thread.sleep(100);
+			release.countDown();
+			assertEquals("access2", first.get(10, TimeUnit.SECONDS).getAccessToken());
+			assertEquals("access2", second.get(10, TimeUnit.SECONDS).getAccessToken());
+			assertEquals(1, refreshes.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private AccessGrant newGrant(String accessToken, String refreshToken) {
+		refreshes.incrementAndGet();
+		return new AccessGrant(accessToken, null, refreshToken, 3600L);
+	}
+
+}
@@ -15,8 +15,33 @@
  */
 package org.springframework.social.connect.jdbc;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -25,7 +50,9 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.datasource.embedded.ConnectionProperties;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseConfigurer;
@@ -33,9 +60,18 @@ import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseFactory;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.social.connect.Connection;
 import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionKey;
 import org.springframework.social.connect.ConnectionRepository;
+import org.springframework.social.connect.DuplicateConnectionException;
 import org.springframework.social.connect.UsersConnectionRepository;
+import org.springframework.social.connect.support.CachingUsersConnectionRepository;
+import org.springframework.social.connect.support.OAuth2Connection;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 
 public class JdbcUsersConnectionRepositoryTest extends AbstractUsersConnectionRepositoryTest {
 
@@ -108,6 +144,14 @@ public class JdbcUsersConnectionRepositoryTest extends AbstractUsersConnectionRe
 		}
 	}
 	
+	private EmbeddedDatabase createReplica() {
+		EmbeddedDatabaseFactory factory = new EmbeddedDatabaseFactory();
+		factory.setGenerateUniqueDatabaseName(true);
+		factory.setDatabaseType(EmbeddedDatabaseType.H2);
+		factory.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource(getSchemaSql(), getClass())));
+		return factory.getDatabase();
+	}
+
 	protected void insertFooConnection() {
 		dataAccessor.update("insert into " + getTablePrefix() + "UserConnection (userId, providerId, providerUserId, rank, displayName, profileUrl, imageUrl, accessToken, secret, refreshToken, expireTime) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
 				getUserId1(), "foo", "123", 1, "james", null, null, "234", "123", null, System.currentTimeMillis() + 3600000);
@@ -153,9 +197,414 @@ public class JdbcUsersConnectionRepositoryTest extends AbstractUsersConnectionRe
 		insertConnection(FACEBOOK_DATA_1, getUserId2(), 1);
 	}
 	
+	@Test
+	public void findConnectionsForUsersSplitsInClause() {
+		insertFacebookConnection1();
+		insertFacebookConnection3();
+		usersConnectionRepository.setInClauseLimit(1);
+		MultiValueMap<String, Connection<?>> connectionsForUsers = usersConnectionRepository.findConnectionsForUsers(
+				new HashSet<String>(Arrays.asList(getUserId1(), getUserId2(), "bogus")), "facebook");
+		assertEquals(2, connectionsForUsers.size());
+		assertEquals(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, connectionsForUsers.getFirst(getUserId1()).getKey().getProviderUserId());
+		assertEquals(FACEBOOK_CONNECTION_3_PROVIDER_USER_ID, connectionsForUsers.getFirst(getUserId2()).getKey().getProviderUserId());
+	}
+
+	@Test
+	public void findUserIdsConnectedToSplitsInClause() {
+		insertTwitterConnection();
+		insertFacebookConnection1();
+		insertFacebookConnection3();
+		usersConnectionRepository.setInClauseLimit(1);
+		assertEquals(new HashSet<String>(Arrays.asList(getUserId1(), getUserId2())), usersConnectionRepository.findUserIdsConnectedTo("facebook",
+				new HashSet<String>(Arrays.asList(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, "bogus", FACEBOOK_CONNECTION_3_PROVIDER_USER_ID))));
+		MultiValueMap<String, String> providerUsers = new LinkedMultiValueMap<String, String>();
+		providerUsers.add("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID);
+		providerUsers.add("facebook", FACEBOOK_CONNECTION_3_PROVIDER_USER_ID);
+		providerUsers.add("twitter", TWITTER_CONNECTION_1_PROVIDER_USER_ID);
+		usersConnectionRepository.setInClauseLimit(2);
+		Map<String, Map<String, String>> userIdsConnectedTo = usersConnectionRepository.findUserIdsConnectedTo(providerUsers);
+		assertEquals(Arrays.asList("facebook", "twitter"), new ArrayList<String>(userIdsConnectedTo.keySet()));
+		assertEquals(getUserId1(), userIdsConnectedTo.get("facebook").get(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID));
+		assertEquals(getUserId2(), userIdsConnectedTo.get("facebook").get(FACEBOOK_CONNECTION_3_PROVIDER_USER_ID));
+		assertEquals(getUserId1(), userIdsConnectedTo.get("twitter").get(TWITTER_CONNECTION_1_PROVIDER_USER_ID));
+	}
+
+	@Test
+	public void findConnectionsToUsersSplitsInClause() {
+		insertTwitterConnection();
+		insertFacebookConnection2();
+		insertFacebookConnection1();
+		usersConnectionRepository.setInClauseLimit(2);
+		MultiValueMap<String, String> providerUsers = new LinkedMultiValueMap<String, String>();
+		providerUsers.add("twitter", "bogus");
+		providerUsers.add("twitter", TWITTER_CONNECTION_1_PROVIDER_USER_ID);
+		providerUsers.add("facebook", FACEBOOK_CONNECTION_2_PROVIDER_USER_ID);
+		providerUsers.add("facebook", "bogus");
+		providerUsers.add("facebook", FACEBOOK_CONNECTION_2_PROVIDER_USER_ID);
+		providerUsers.add("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID);
+		MultiValueMap<String, Connection<?>> connectionsForUsers = usersConnectionRepository.createConnectionRepository(getUserId1()).findConnectionsToUsers(providerUsers);
+		assertEquals(2, connectionsForUsers.size());
+		assertNull(connectionsForUsers.getFirst("twitter"));
+		assertEquals(TWITTER_CONNECTION_1_PROVIDER_USER_ID, connectionsForUsers.get("twitter").get(1).getKey().getProviderUserId());
+		assertEquals(4, connectionsForUsers.get("facebook").size());
+		assertEquals(FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, connectionsForUsers.getFirst("facebook").getKey().getProviderUserId());
+		assertNull(connectionsForUsers.get("facebook").get(1));
+		assertNull(connectionsForUsers.get("facebook").get(2));
+		assertEquals(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, connectionsForUsers.get("facebook").get(3).getKey().getProviderUserId());
+	}
+
+	@Test
+	public void addConnectionConcurrently() throws Exception {
+		final int threads = 8;
+		final int connectionsPerThread = 5;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<Future<?>>();
+		for (int thread = 0; thread < threads; thread++) {
+			final int threadIndex = thread;
+			results.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < connectionsPerThread; i++) {
+					ConnectionData data = new ConnectionData("facebook", threadIndex + "-" + i, null, null, null, "accessToken", null, null, null);
+					connectionRepository.addConnection(getFacebookConnectionFactory().createConnection(data));
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		try {
+			for (Future<?> result : results) {
+				result.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		List<Integer> ranks = dataAccessor.queryForList("select rank from " + getTablePrefix() + "UserConnection where userId = ? and providerId = 'facebook' order by rank", Integer.class, getUserId1());
+		assertEquals(threads * connectionsPerThread, ranks.size());
+		for (int i = 0; i < ranks.size(); i++) {
+			assertEquals(Integer.valueOf(i + 1), ranks.get(i));
+		}
+	}
+
+	@Test
+	public void addConnectionRetriesRankCollision() {
+		insertFacebookConnection1();
+		final AtomicInteger inserts = new AtomicInteger();
+		JdbcTemplate collidingJdbcTemplate = new JdbcTemplate(database) {
+			@Override
+			public int update(String sql, Object... args) {
+				if (sql.startsWith("insert") && inserts.incrementAndGet() == 1) {
+					// as if a concurrent insert had taken the rank; leaves a row for the savepoint to undo
+					dataAccessor.update("insert into " + getTablePrefix() + "UserConnection (userId, providerId, providerUserId, rank, accessToken) values ('1', 'facebook', 'undone', 100, 'accessToken')");
+					throw new DuplicateKeyException("rank taken");
+				}
+				return super.update(sql, args);
+			}
+		};
+		final ConnectionRepository collidingConnectionRepository = new JdbcConnectionRepository(getUserId1(), collidingJdbcTemplate, getConnectionFactoryRegistry(), Encryptors.noOpText(), getTablePrefix());
+		new TransactionTemplate(new DataSourceTransactionManager(database)).execute(status -> {
+			collidingConnectionRepository.addConnection(getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_2));
+			return null;
+		});
+		assertEquals(2, inserts.get());
+		List<Connection<?>> connections = connectionRepository.findConnections("facebook");
+		assertEquals(2, connections.size());
+		assertEquals(FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, connections.get(1).getKey().getProviderUserId());
+	}
+
+	@Test
+	public void addSameConnectionConcurrently() throws Exception {
+		final int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+		for (int thread = 0; thread < threads; thread++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				try {
+					connectionRepository.addConnection(getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_1));
+					return true;
+				} catch (DuplicateConnectionException e) {
+					return false;
+				}
+			}));
+		}
+		start.countDown();
+		int added = 0;
+		try {
+			for (Future<Boolean> result : results) {
+				if (result.get(30, TimeUnit.SECONDS)) {
+					added++;
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, added);
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test
+	public void importConnectionsInBatches() {
+		insertFacebookConnection1();
+		JdbcUsersConnectionRepository encryptingRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), Encryptors.text("password", "5c0744940b5c369b"));
+		encryptingRepository.setTablePrefix(getTablePrefix());
+		encryptingRepository.setBatchSize(2);
+		List<Entry<String, ConnectionData>> connections = new ArrayList<Entry<String, ConnectionData>>();
+		for (int i = 0; i < 5; i++) {
+			connections.add(new SimpleImmutableEntry<String, ConnectionData>(i % 2 == 0 ? getUserId1() : getUserId2(), new ConnectionData("facebook", "import" + i, null, null, null, "accessToken" + i, null, null, null)));
+		}
+		assertEquals(5, encryptingRepository.importConnections(connections.stream()));
+		List<Integer> ranks = dataAccessor.queryForList("select rank from " + getTablePrefix() + "UserConnection where userId = ? and providerId = 'facebook' order by rank", Integer.class, getUserId1());
+		assertEquals(Arrays.asList(1, 2, 3, 4), ranks);
+		assertEquals(Arrays.asList(1, 2), dataAccessor.queryForList("select rank from " + getTablePrefix() + "UserConnection where userId = ? and providerId = 'facebook' order by rank", Integer.class, getUserId2()));
+		assertNotEquals("accessToken4", dataAccessor.queryForObject("select accessToken from " + getTablePrefix() + "UserConnection where providerUserId = 'import4'", String.class));
+		Connection<?> imported = encryptingRepository.createConnectionRepository(getUserId1()).getConnection(new ConnectionKey("facebook", "import4"));
+		assertEquals("accessToken4", imported.createData().getAccessToken());
+	}
+
+	@Test
+	public void importConnectionsDuplicateAcrossBatches() {
+		JdbcUsersConnectionRepository batchingRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), Encryptors.noOpText());
+		batchingRepository.setTablePrefix(getTablePrefix());
+		batchingRepository.setBatchSize(1);
+		try {
+			batchingRepository.importConnections(Stream.of(
+					new SimpleImmutableEntry<String, ConnectionData>(getUserId1(), FACEBOOK_DATA_1),
+					new SimpleImmutableEntry<String, ConnectionData>(getUserId1(), FACEBOOK_DATA_2),
+					new SimpleImmutableEntry<String, ConnectionData>(getUserId1(), FACEBOOK_DATA_1)));
+			fail("Expected DuplicateConnectionException");
+		} catch (DuplicateConnectionException e) {
+			assertEquals(new ConnectionKey("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID), e.getConnectionKey());
+		}
+	}
+
+	@Test
+	public void addConnectionsDuplicateWithinTransaction() {
+		insertFacebookConnection1();
+		try {
+			new TransactionTemplate(new DataSourceTransactionManager(database)).execute(status -> {
+				connectionRepository.addConnections(Arrays.<Connection<?>>asList(
+						getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_2), getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_1)));
+				return null;
+			});
+			fail("Expected DuplicateConnectionException");
+		} catch (DuplicateConnectionException e) {
+			assertEquals(new ConnectionKey("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID), e.getConnectionKey());
+		}
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test
+	public void readsFromReadReplica() {
+		EmbeddedDatabase replica = createReplica();
+		try {
+			JdbcUsersConnectionRepository replicatedRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), Encryptors.noOpText());
+			replicatedRepository.setTablePrefix(getTablePrefix());
+			replicatedRepository.setReadDataSource(replica);
+			insertFacebookConnection1();
+			assertTrue(replicatedRepository.findUserIdsConnectedTo("facebook", Collections.singleton(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID)).isEmpty());
+			assertTrue(replicatedRepository.createConnectionRepository(getUserId1()).findConnections("facebook").isEmpty());
+			replicatedRepository.createConnectionRepository(getUserId2()).addConnection(getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_3));
+			assertEquals(Integer.valueOf(2), dataAccessor.queryForObject("select count(*) from " + getTablePrefix() + "UserConnection", Integer.class));
+			// read your writes: the user who added the connection reads it back from the primary
+			assertEquals(FACEBOOK_CONNECTION_3_PROVIDER_USER_ID, replicatedRepository.createConnectionRepository(getUserId2()).getPrimaryConnection(TestFacebookApi.class).getKey().getProviderUserId());
+			assertTrue(replicatedRepository.createConnectionRepository(getUserId1()).findConnections("facebook").isEmpty());
+			assertTrue(replicatedRepository.findUserIdsConnectedTo("facebook", Collections.singleton(FACEBOOK_CONNECTION_3_PROVIDER_USER_ID)).isEmpty());
+		} finally {
+			replica.shutdown();
+		}
+	}
+
+	@Test
+	public void readsFromReadReplicaWithoutReadYourWritesWindow() {
+		EmbeddedDatabase replica = createReplica();
+		try {
+			JdbcUsersConnectionRepository replicatedRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), Encryptors.noOpText());
+			replicatedRepository.setTablePrefix(getTablePrefix());
+			replicatedRepository.setReadDataSource(replica);
+			replicatedRepository.setReadYourWritesWindow(0);
+			ConnectionRepository replicatedConnectionRepository = replicatedRepository.createConnectionRepository(getUserId1());
+			replicatedConnectionRepository.addConnection(getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_1));
+			assertTrue(replicatedConnectionRepository.findConnections("facebook").isEmpty());
+			assertEquals(1, connectionRepository.findConnections("facebook").size());
+		} finally {
+			replica.shutdown();
+		}
+	}
+
+	@Test
+	public void readsFromPrimaryWithinTransaction() {
+		EmbeddedDatabase replica = createReplica();
+		try {
+			JdbcUsersConnectionRepository replicatedRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), Encryptors.noOpText());
+			replicatedRepository.setTablePrefix(getTablePrefix());
+			replicatedRepository.setReadDataSource(replica);
+			insertFacebookConnection1();
+			assertEquals(Integer.valueOf(1), new TransactionTemplate(new DataSourceTransactionManager(database)).execute(status ->
+					replicatedRepository.createConnectionRepository(getUserId1()).findConnections("facebook").size()));
+		} finally {
+			replica.shutdown();
+		}
+	}
+
+	@Test
+	public void findUserIdsWithConnectionChecksPrimaryBeforeSignUp() {
+		EmbeddedDatabase replica = createReplica();
+		try {
+			JdbcUsersConnectionRepository replicatedRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), Encryptors.noOpText());
+			replicatedRepository.setTablePrefix(getTablePrefix());
+			replicatedRepository.setReadDataSource(replica);
+			replicatedRepository.setConnectionSignUp(connection -> {
+				fail("Expected the existing user to be found on the primary");
+				return null;
+			});
+			insertFacebookConnection1();
+			assertEquals(Arrays.asList(getUserId1()), replicatedRepository.findUserIdsWithConnection(getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_1)));
+		} finally {
+			replica.shutdown();
+		}
+	}
+
+	@Test
+	public void findUserIdsWithConnectionChecksPrimaryWithoutSignUp() {
+		EmbeddedDatabase replica = createReplica();
+		try {
+			JdbcUsersConnectionRepository replicatedRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), Encryptors.noOpText());
+			replicatedRepository.setTablePrefix(getTablePrefix());
+			replicatedRepository.setReadDataSource(replica);
+			insertFacebookConnection1();
+			assertEquals(Arrays.asList(getUserId1()), replicatedRepository.findUserIdsWithConnection(getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_1)));
+		} finally {
+			replica.shutdown();
+		}
+	}
+
+	@Test
+	public void scanConnectionsInPages() {
+		CountingTextEncryptor textEncryptor = new CountingTextEncryptor();
+		JdbcUsersConnectionRepository countingRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), textEncryptor);
+		countingRepository.setTablePrefix(getTablePrefix());
+		countingRepository.setFetchSize(2);
+		for (int i = 0; i < 5; i++) {
+			insertConnection(new ConnectionData("facebook", "scan" + i, null, null, null, "accessToken" + i, null, null, null), getUserId1(), i + 1);
+			insertConnection(new ConnectionData("facebook", "scan" + i, null, null, null, "accessToken" + i, null, null, null), getUserId2(), i + 1);
+		}
+		final List<String> scanned = new ArrayList<String>();
+		final List<ConnectionData> scannedData = new ArrayList<ConnectionData>();
+		countingRepository.scanConnections("facebook", (userId, data) -> {
+			scanned.add(userId + ":" + data.getProviderUserId());
+			scannedData.add(data);
+		});
+		assertEquals(10, scanned.size());
+		assertEquals(getUserId1() + ":scan0", scanned.get(0));
+		assertEquals(getUserId2() + ":scan0", scanned.get(1));
+		assertEquals(getUserId2() + ":scan4", scanned.get(9));
+		assertEquals(0, textEncryptor.decryptions.get());
+		assertEquals("accessToken4", scannedData.get(9).getAccessToken());
+		assertEquals("accessToken4", scannedData.get(9).getAccessToken());
+		assertEquals(1, textEncryptor.decryptions.get());
+		assertEquals(new ConnectionData("facebook", "scan4", null, null, null, "accessToken4", null, null, scannedData.get(9).getExpireTime()), scannedData.get(9));
+	}
+
+	@Test
+	public void scanExpiringConnectionsReadsExpireTimeWithoutDecrypting() {
+		CountingTextEncryptor textEncryptor = new CountingTextEncryptor();
+		JdbcUsersConnectionRepository countingRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), textEncryptor);
+		countingRepository.setTablePrefix(getTablePrefix());
+		insertConnection(new ConnectionData("facebook", "expiring", null, null, null, "accessToken", null, "refreshToken", null), getUserId1(), 1);
+		final List<Long> expireTimes = new ArrayList<Long>();
+		countingRepository.scanExpiringConnections(System.currentTimeMillis() + 7200000, 10, (userId, connection, expireTime) -> {
+			assertEquals(getUserId1(), userId);
+			expireTimes.add(expireTime);
+			return true;
+		});
+		assertEquals(1, expireTimes.size());
+		assertEquals(dataAccessor.queryForObject("select expireTime from " + getTablePrefix() + "UserConnection", Long.class), expireTimes.get(0));
+		assertEquals(0, textEncryptor.decryptions.get());
+	}
+
+	@Test
+	public void findConnectionsDecryptsOnFirstUse() {
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		CountingTextEncryptor textEncryptor = new CountingTextEncryptor();
+		JdbcUsersConnectionRepository countingUsersRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), textEncryptor);
+		countingUsersRepository.setTablePrefix(getTablePrefix());
+		ConnectionRepository countingRepository = countingUsersRepository.createConnectionRepository(getUserId1());
+		List<Connection<?>> connections = countingRepository.findConnections("facebook");
+		assertEquals(2, connections.size());
+		assertEquals(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, connections.get(0).getKey().getProviderUserId());
+		assertEquals(null, connections.get(0).getDisplayName());
+		assertFalse(connections.get(0).hasExpired());
+		assertEquals(0, textEncryptor.decryptions.get());
+		assertEquals("234567890", ((TestFacebookApi) connections.get(0).getApi()).getAccessToken());
+		int decryptions = textEncryptor.decryptions.get();
+		assertEquals(2, decryptions);
+		assertEquals(FACEBOOK_DATA_1.getRefreshToken(), connections.get(0).createData().getRefreshToken());
+		connections.get(0).getApi();
+		assertEquals(decryptions, textEncryptor.decryptions.get());
+		assertEquals(getFacebookConnectionFactory().createConnection(connections.get(0).createData()), connections.get(0));
+		assertEquals(connections.get(1), getFacebookConnectionFactory().createConnection(connections.get(1).createData()));
+	}
+
+	@Test
+	public void findConnectionsThroughCacheDecryptsOnFirstUse() {
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		CountingTextEncryptor textEncryptor = new CountingTextEncryptor();
+		JdbcUsersConnectionRepository countingUsersRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), textEncryptor);
+		countingUsersRepository.setTablePrefix(getTablePrefix());
+		ConnectionRepository cachingRepository = new CachingUsersConnectionRepository(countingUsersRepository, getConnectionFactoryRegistry()).createConnectionRepository(getUserId1());
+		assertEquals(2, cachingRepository.findConnections("facebook").size());
+		List<Connection<?>> connections = cachingRepository.findConnections("facebook");
+		assertEquals(0, textEncryptor.decryptions.get());
+		assertEquals("234567890", ((TestFacebookApi) connections.get(0).getApi()).getAccessToken());
+		assertEquals(2, textEncryptor.decryptions.get());
+		assertEquals("234567890", ((TestFacebookApi) cachingRepository.findConnections("facebook").get(0).getApi()).getAccessToken());
+		assertEquals(2, textEncryptor.decryptions.get());
+	}
+
+	@Test
+	public void restoredConnectionCreatesApiBindingOnGetApiOnly() throws IOException {
+		final AtomicInteger apiBindings = new AtomicInteger();
+		TestFacebookServiceProvider serviceProvider = new TestFacebookServiceProvider() {
+			@Override
+			public TestFacebookApi getApi(String accessToken) {
+				apiBindings.incrementAndGet();
+				return super.getApi(accessToken);
+			}
+		};
+		OAuth2Connection<TestFacebookApi> connection = new OAuth2Connection<TestFacebookApi>(FACEBOOK_DATA_1, serviceProvider, new TestFacebookApiAdapter());
+		assertEquals(FACEBOOK_DATA_1, connection.createData());
+		assertEquals(getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_1).hashCode(), connection.hashCode());
+		assertEquals(getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_1), connection);
+		new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(connection);
+		assertEquals(FACEBOOK_DATA_1, connection.createData());
+		assertEquals(0, apiBindings.get());
+		assertEquals("234567890", connection.getApi().getAccessToken());
+		assertEquals(1, apiBindings.get());
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void noSuchConnectionFactory() {
 		insertFooConnection();
 		getConnectionRepository().findAllConnections();	
 	}
+
+	private static class CountingTextEncryptor implements TextEncryptor {
+
+		private final AtomicInteger decryptions = new AtomicInteger();
+
+		public String encrypt(String text) {
+			return text;
+		}
+
+		public String decrypt(String encryptedText) {
+			decryptions.incrementAndGet();
+			return encryptedText;
+		}
+
+	}
+
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+public class JdbcUsersConnectionSchemaInitializerTest {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@Before
+	public void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		jdbcTemplate = new JdbcTemplate(database);
+	}
+
+	@After
+	public void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	public void initialize() {
+		JdbcUsersConnectionSchemaInitializer initializer = new JdbcUsersConnectionSchemaInitializer(database);
+		assertTrue(initializer.initialize());
+		assertFalse(initializer.initialize());
+		jdbcTemplate.update("insert into UserConnection (userId, providerId, providerUserId, `rank`, accessToken) values ('1', 'facebook', '9', 1, 'accessToken')");
+		assertEquals("1", jdbcTemplate.queryForObject("select userId from UserConnection where providerId = 'facebook' and providerUserId = '9'", String.class));
+	}
+
+	@Test
+	public void initializeWithTablePrefix() {
+		JdbcUsersConnectionSchemaInitializer initializer = new JdbcUsersConnectionSchemaInitializer(database);
+		initializer.setTablePrefix("SOCIAL_");
+		initializer.afterPropertiesSet();
+		assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject("select count(*) from SOCIAL_UserConnection", Integer.class));
+		assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject("select count(*) from information_schema.indexes where index_name = 'USERCONNECTIONPROVIDERUSER' and table_name = 'SOCIAL_USERCONNECTION' and ordinal_position = 1", Integer.class));
+	}
+
+	@Test
+	public void findUserIdsWithConnectionUsesProviderUserIndex() {
+		new JdbcUsersConnectionSchemaInitializer(database).initialize();
+		UserConnectionSql sql = new UserConnectionSql("", UserConnectionSql.detectDatabaseName(database));
+		String plan = jdbcTemplate.queryForObject("explain " + sql.findUserIdsWithConnection, String.class, "facebook", "9");
+		assertTrue(plan, plan.contains("USERCONNECTIONPROVIDERUSER"));
+		assertFalse(plan, plan.contains("tableScan"));
+	}
+
+	@Test
+	public void findUserIdsConnectedToUsesProviderUserIndex() {
+		new JdbcUsersConnectionSchemaInitializer(database).initialize();
+		UserConnectionSql sql = new UserConnectionSql("", UserConnectionSql.detectDatabaseName(database));
+		MapSqlParameterSource parameters = new MapSqlParameterSource("providerId", "facebook").addValue("providerUserIds", Arrays.asList("9", "10"));
+		String plan = new NamedParameterJdbcTemplate(jdbcTemplate).queryForObject("explain " + sql.findUserIdsConnectedTo, parameters, String.class);
+		assertTrue(plan, plan.contains("USERCONNECTIONPROVIDERUSER"));
+	}
+
+}
@@ -10,4 +10,5 @@ create table SOCIAL_UserConnection (userId varchar not null,
 					refreshToken varchar,
 					expireTime bigint,
 					primary key (userId, providerId, providerUserId));
-create unique index UserConnectionRank on SOCIAL_UserConnection(userId, providerId, rank);
\ No newline at end of file
+create unique index UserConnectionRank on SOCIAL_UserConnection(userId, providerId, rank);
+create index UserConnectionProviderUser on SOCIAL_UserConnection(providerId, providerUserId, userId);
\ No newline at end of file
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.social.connect.ApiAdapter;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionValues;
+import org.springframework.social.connect.UserProfile;
+import org.springframework.social.connect.UserProfileBuilder;
+import org.springframework.social.connect.support.ConnectionFactoryRegistry;
+import org.springframework.social.oauth2.GenericOAuth2ConnectionFactory;
+import org.springframework.web.client.RestOperations;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class TokenRefreshSchedulerTest {
+
+	// a provider of its own for each test, so refreshes completed by earlier tests aren't handed to this one
+	private final String providerId = "stub-" + UUID.randomUUID();
+
+	private StubTokenEndpoint tokenEndpoint;
+
+	private HttpServer server;
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private GenericOAuth2ConnectionFactory connectionFactory;
+
+	private JdbcUsersConnectionRepository usersConnectionRepository;
+
+	private TokenRefreshScheduler scheduler;
+
+	@Before
+	public void setUp() throws IOException {
+		tokenEndpoint = new StubTokenEndpoint();
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/oauth/token", tokenEndpoint);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		String baseUrl = "http://localhost:" + server.getAddress().getPort();
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("classpath:org/springframework/social/connect/jdbc/JdbcUsersConnectionRepository.sql").build();
+		jdbcTemplate = new JdbcTemplate(database);
+		connectionFactory = new GenericOAuth2ConnectionFactory(providerId, "clientId", "clientSecret", baseUrl + "/oauth/authorize", baseUrl + "/oauth/token", new StubApiAdapter());
+		ConnectionFactoryRegistry registry = new ConnectionFactoryRegistry();
+		registry.addConnectionFactory(connectionFactory);
+		usersConnectionRepository = new JdbcUsersConnectionRepository(database, registry, Encryptors.noOpText());
+		scheduler = new TokenRefreshScheduler(usersConnectionRepository);
+		scheduler.setMaxJitter(0);
+		scheduler.setScanInterval(3600);
+	}
+
+	@After
+	public void tearDown() {
+		scheduler.stop();
+		server.stop(0);
+		database.shutdown();
+	}
+
+	@Test
+	public void refreshExpiringConnections() throws Exception {
+		long now = System.currentTimeMillis();
+		addConnection("1", "expiring", "refresh1", now + 60 * 1000L);
+		addConnection("1", "valid", "refresh2", now + 3600 * 1000L);
+		addConnection("2", "noRefreshToken", null, now + 60 * 1000L);
+		addConnection("2", "expired", "refresh3", now - 1000L);
+		scheduler.start();
+		waitForAccessToken("1", "expiring", "refreshed-refresh1");
+		waitForAccessToken("2", "expired", "refreshed-refresh3");
+		assertEquals("access-valid", getAccessToken("1", "valid"));
+		assertEquals("access-noRefreshToken", getAccessToken("2", "noRefreshToken"));
+		assertEquals(2, tokenEndpoint.requests.get());
+		long expireTime = jdbcTemplate.queryForObject("select expireTime from UserConnection where providerUserId = 'expiring'", Long.class);
+		assertTrue(expireTime > now + 3000 * 1000L);
+		assertEquals("refresh1", jdbcTemplate.queryForObject("select refreshToken from UserConnection where providerUserId = 'expiring'", String.class));
+	}
+
+	@Test
+	public void providerConcurrencyLimit() throws Exception {
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 6; i++) {
+			addConnection("user" + i, "providerUser" + i, "refresh" + i, now + 60 * 1000L);
+		}
+		tokenEndpoint.latency = 50;
+		scheduler.setPoolSize(4);
+		scheduler.setProviderConcurrencyLimits(Collections.singletonMap(providerId, 1));
+		scheduler.start();
+		for (int i = 0; i < 6; i++) {
+			waitForAccessToken("user" + i, "providerUser" + i, "refreshed-refresh" + i);
+		}
+		assertEquals(6, tokenEndpoint.requests.get());
+		assertEquals(1, tokenEndpoint.maxConcurrentRequests.get());
+	}
+
+	@Test
+	public void failedRefreshRetriedOnNextScan() throws Exception {
+		addConnection("1", "expiring", "refresh1", System.currentTimeMillis() + 60 * 1000L);
+		tokenEndpoint.failures.set(1);
+		scheduler.setRetryDelay(0);
+		scheduler.start();
+		while (tokenEndpoint.requests.get() == 0) {
+			Thread.sleep(10);
+		}
+		assertEquals("access-expiring", getAccessToken("1", "expiring"));
+		waitForScan();
+		waitForAccessToken("1", "expiring", "refreshed-refresh1");
+		assertEquals(2, tokenEndpoint.requests.get());
+	}
+
+	@Test
+	public void failedRefreshBackedOff() throws Exception {
+		addConnection("1", "revoked", "refresh1", System.currentTimeMillis() - 1000L);
+		tokenEndpoint.failures.set(1);
+		scheduler.start();
+		waitForPendingRefreshes();
+		assertEquals(0, scheduler.refreshExpiringConnections());
+		assertEquals(1, tokenEndpoint.requests.get());
+		assertEquals("access-revoked", getAccessToken("1", "revoked"));
+	}
+
+	@Test
+	public void failedRefreshesDontStarveExpiringConnections() throws Exception {
+		long now = System.currentTimeMillis();
+		addConnection("1", "revoked1", "refresh1", now - 2000L);
+		addConnection("1", "revoked2", "refresh2", now - 1000L);
+		addConnection("2", "expiring", "refresh3", now + 60 * 1000L);
+		tokenEndpoint.failures.set(2);
+		scheduler.setBatchSize(1);
+		scheduler.start();
+		long deadline = System.currentTimeMillis() + 10000;
+		while (tokenEndpoint.requests.get() < 3) {
+			assertTrue("timed out waiting for the expiring connection to be scanned", System.currentTimeMillis() < deadline);
+			scheduler.refreshExpiringConnections();
+			Thread.sleep(10);
+		}
+		waitForAccessToken("2", "expiring", "refreshed-refresh3");
+		assertEquals("access-revoked1", getAccessToken("1", "revoked1"));
+		assertEquals("access-revoked2", getAccessToken("1", "revoked2"));
+		assertEquals(3, tokenEndpoint.requests.get());
+	}
+
+	@Test
+	public void refreshReadsFromPrimary() throws Exception {
+		EmbeddedDatabase replica = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("classpath:org/springframework/social/connect/jdbc/JdbcUsersConnectionRepository.sql").build();
+		try {
+			usersConnectionRepository.setReadDataSource(replica);
+			addConnection("1", "expiring", "refresh1", System.currentTimeMillis() + 60 * 1000L);
+			scheduler.start();
+			waitForAccessToken("1", "expiring", "refreshed-refresh1");
+		} finally {
+			replica.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void refreshExpiringConnectionsNotStarted() {
+		scheduler.refreshExpiringConnections();
+	}
+
+	private void addConnection(String userId, String providerUserId, String refreshToken, long expireTime) {
+		ConnectionData data = new ConnectionData(providerId, providerUserId, null, null, null, "access-" + providerUserId, null, refreshToken, expireTime);
+		usersConnectionRepository.createConnectionRepository(userId).addConnection(connectionFactory.createConnection(data));
+	}
+
+	private String getAccessToken(String userId, String providerUserId) {
+		return jdbcTemplate.queryForObject("select accessToken from UserConnection where userId = ? and providerUserId = ?", String.class, userId, providerUserId);
+	}
+
+	private void waitForAccessToken(String userId, String providerUserId, String accessToken) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!accessToken.equals(getAccessToken(userId, providerUserId))) {
+			assertTrue("timed out waiting for " + providerUserId + " to be refreshed", System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	private void waitForScan() throws InterruptedException {
+		// the failed refresh is no longer pending once it has been rescheduled
+		long deadline = System.currentTimeMillis() + 10000;
+		while (scheduler.refreshExpiringConnections() == 0) {
+			assertTrue("timed out waiting for the failed refresh to complete", System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	private void waitForPendingRefreshes() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (tokenEndpoint.requests.get() == 0 || tokenEndpoint.concurrentRequests.get() > 0) {
+			assertTrue("timed out waiting for the refresh", System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+		// let the worker record the failure
+		Thread.sleep(100);
+	}
+
+	private static class StubTokenEndpoint implements HttpHandler {
+
+		private final AtomicInteger requests = new AtomicInteger();
+
+		private final AtomicInteger concurrentRequests = new AtomicInteger();
+
+		private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+
+		private final AtomicInteger failures = new AtomicInteger();
+
+		private volatile long latency;
+
+		public void handle(HttpExchange exchange) throws IOException {
+			int concurrent = concurrentRequests.incrementAndGet();
+			maxConcurrentRequests.accumulateAndGet(concurrent, Math::max);
+			try {
+				Thread.sleep(latency);
+				String body = new String(readFully(exchange), StandardCharsets.UTF_8);
+				String refreshToken = null;
+				for (String pair : body.split("&")) {
+					if (pair.startsWith("refresh_token=")) {
+						refreshToken = URLDecoder.decode(pair.substring("refresh_token=".length()), "UTF-8");
+					}
+				}
+				requests.incrementAndGet();
+				if (failures.getAndDecrement() > 0) {
+					respond(exchange, 400, "{\"error\":\"temporarily_unavailable\"}");
+				} else {
+					respond(exchange, 200, "{\"access_token\":\"refreshed-" + refreshToken + "\",\"expires_in\":3600}");
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				concurrentRequests.decrementAndGet();
+			}
+		}
+
+		private byte[] readFully(HttpExchange exchange) throws IOException {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			for (int read; (read = exchange.getRequestBody().read(buffer)) != -1;) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+
+		private void respond(HttpExchange exchange, int status, String json) throws IOException {
+			byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(status, bytes.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(bytes);
+			out.close();
+		}
+
+	}
+
+	private static class StubApiAdapter implements ApiAdapter<RestOperations> {
+
+		public boolean test(RestOperations api) {
+			return true;
+		}
+
+		public void setConnectionValues(RestOperations api, ConnectionValues values) {
+		}
+
+		public UserProfile fetchUserProfile(RestOperations api) {
+			return new UserProfileBuilder().build();
+		}
+
+		public void updateStatus(RestOperations api, String message) {
+		}
+
+	}
+
+}
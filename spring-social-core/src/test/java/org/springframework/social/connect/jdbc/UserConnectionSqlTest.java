@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.jdbc;
+
+import static java.util.Arrays.*;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class UserConnectionSqlTest {
+
+	@Test
+	public void statements() {
+		UserConnectionSql sql = new UserConnectionSql("SOCIAL_", "h2");
+		assertTrue(sql.findConnections.startsWith(sql.selectFromUserConnection));
+		assertTrue(sql.selectFromUserConnection.endsWith(" from SOCIAL_UserConnection"));
+		assertTrue(sql.addConnection.startsWith("insert into SOCIAL_UserConnection "));
+	}
+
+	@Test
+	public void rankQuotedForMySqlOnly() {
+		assertTrue(new UserConnectionSql("", "mysql").findConnections.endsWith(" order by `rank`"));
+		assertTrue(new UserConnectionSql("", "mariadb").findConnections.endsWith(" order by `rank`"));
+		assertTrue(new UserConnectionSql("", "postgresql").findConnections.endsWith(" order by rank"));
+		assertTrue(new UserConnectionSql("", "h2").findConnections.endsWith(" order by rank"));
+		assertTrue(new UserConnectionSql("", null).findConnections.endsWith(" order by rank"));
+		assertFalse(new UserConnectionSql("", "postgresql").addConnection.contains("`"));
+	}
+
+	@Test
+	public void padInClause() {
+		assertEquals(Collections.emptyList(), UserConnectionSql.padInClause(Collections.<String>emptyList(), 500));
+		assertEquals(asList("a"), UserConnectionSql.padInClause(asList("a"), 500));
+		assertEquals(asList("a", "b"), UserConnectionSql.padInClause(asList("a", "b"), 500));
+		assertEquals(asList("a", "b", "c", "c"), UserConnectionSql.padInClause(asList("a", "b", "c"), 500));
+		assertEquals(8, UserConnectionSql.padInClause(asList("a", "b", "c", "d", "e"), 500).size());
+	}
+
+	@Test
+	public void padInClauseToLimit() {
+		assertEquals(asList("a", "b", "c", "d", "e", "e"), UserConnectionSql.padInClause(asList("a", "b", "c", "d", "e"), 6));
+		assertEquals(asList("a", "b", "c"), UserConnectionSql.padInClause(asList("a", "b", "c"), 3));
+		assertEquals(asList("a", "b", "c"), UserConnectionSql.padInClause(asList("a", "b", "c"), 2));
+	}
+
+}
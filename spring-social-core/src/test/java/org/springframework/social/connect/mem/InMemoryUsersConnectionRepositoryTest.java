@@ -15,12 +15,30 @@
  */
 package org.springframework.social.connect.mem;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.Before;
+import org.junit.Test;
 import org.springframework.social.connect.Connection;
 import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionKey;
 import org.springframework.social.connect.ConnectionRepository;
+import org.springframework.social.connect.ConnectionSignUp;
 import org.springframework.social.connect.UsersConnectionRepository;
 import org.springframework.social.connect.jdbc.AbstractUsersConnectionRepositoryTest;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 
 public class InMemoryUsersConnectionRepositoryTest extends AbstractUsersConnectionRepositoryTest {
 
@@ -46,6 +64,132 @@ public class InMemoryUsersConnectionRepositoryTest extends AbstractUsersConnecti
 		return usersConnectionRepository;
 	}
 
+	@Test
+	public void findUserIdsWithConnectionAfterRemoveConnection() {
+		insertFacebookConnection1();
+		insertFacebookConnectionSameFacebookUser();
+		Connection<?> connection = connectionRepository.getConnection(new ConnectionKey("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID));
+		assertEquals(2, usersConnectionRepository.findUserIdsWithConnection(connection).size());
+		connectionRepository.removeConnection(connection.getKey());
+		assertEquals(Arrays.asList(getUserId2()), usersConnectionRepository.findUserIdsWithConnection(connection));
+		usersConnectionRepository.createConnectionRepository(getUserId2()).removeConnections("facebook");
+		assertTrue(usersConnectionRepository.findUserIdsWithConnection(connection).isEmpty());
+	}
+
+	@Test
+	public void findUserIdsConnectedToAfterRemoveConnections() {
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		insertFacebookConnection3();
+		Set<String> providerUserIds = new HashSet<String>(Arrays.asList(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID, FACEBOOK_CONNECTION_2_PROVIDER_USER_ID, FACEBOOK_CONNECTION_3_PROVIDER_USER_ID));
+		assertEquals(new HashSet<String>(Arrays.asList(getUserId1(), getUserId2())), usersConnectionRepository.findUserIdsConnectedTo("facebook", providerUserIds));
+		connectionRepository.removeConnections("facebook");
+		assertEquals(new HashSet<String>(Arrays.asList(getUserId2())), usersConnectionRepository.findUserIdsConnectedTo("facebook", providerUserIds));
+		assertTrue(usersConnectionRepository.findUserIdsConnectedTo("twitter", providerUserIds).isEmpty());
+	}
+
+	@Test
+	public void findUserIdsConnectedToProviderUsersByDefault() {
+		insertTwitterConnection();
+		insertFacebookConnection1();
+		insertFacebookConnection3();
+		insertFacebookConnectionSameFacebookUser();
+		UsersConnectionRepository defaultRepository = new UsersConnectionRepository() {
+			public List<String> findUserIdsWithConnection(Connection<?> connection) {
+				return usersConnectionRepository.findUserIdsWithConnection(connection);
+			}
+			public Set<String> findUserIdsConnectedTo(String providerId, Set<String> providerUserIds) {
+				return usersConnectionRepository.findUserIdsConnectedTo(providerId, providerUserIds);
+			}
+			public ConnectionRepository createConnectionRepository(String userId) {
+				return usersConnectionRepository.createConnectionRepository(userId);
+			}
+			public void setConnectionSignUp(ConnectionSignUp connectionSignUp) {
+			}
+		};
+		MultiValueMap<String, String> providerUsers = new LinkedMultiValueMap<String, String>();
+		providerUsers.add("facebook", FACEBOOK_CONNECTION_3_PROVIDER_USER_ID);
+		providerUsers.add("facebook", "bogus");
+		providerUsers.add("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID);
+		providerUsers.add("twitter", TWITTER_CONNECTION_1_PROVIDER_USER_ID);
+		providerUsers.add("linkedin", "bogus");
+		Map<String, Map<String, String>> userIdsConnectedTo = defaultRepository.findUserIdsConnectedTo(providerUsers);
+		assertEquals(usersConnectionRepository.findUserIdsConnectedTo(providerUsers), userIdsConnectedTo);
+		assertEquals(Arrays.asList(FACEBOOK_CONNECTION_3_PROVIDER_USER_ID, FACEBOOK_CONNECTION_1_PROVIDER_USER_ID), new ArrayList<String>(userIdsConnectedTo.get("facebook").keySet()));
+		assertEquals(getUserId1(), userIdsConnectedTo.get("facebook").get(FACEBOOK_CONNECTION_1_PROVIDER_USER_ID));
+	}
+
+	@Test
+	public void removeConnectionFromMiddleOfList() {
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		connectionRepository.addConnection(getFacebookConnectionFactory().createConnection(FACEBOOK_DATA_3));
+		connectionRepository.removeConnection(new ConnectionKey("facebook", FACEBOOK_CONNECTION_1_PROVIDER_USER_ID));
+		assertEquals(2, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test
+	public void findConnectionsReturnsSnapshot() {
+		insertFacebookConnection1();
+		List<Connection<?>> connections = connectionRepository.findConnections("facebook");
+		insertFacebookConnection2();
+		assertEquals(1, connections.size());
+		assertEquals(2, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test
+	public void concurrentAccess() throws Exception {
+		final int threadCount = 8;
+		final int connectionsPerThread = 250;
+		final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < threadCount; t++) {
+			final int thread = t;
+			threads.add(new Thread(() -> {
+				try {
+					barrier.await();
+					for (int i = 0; i < connectionsPerThread; i++) {
+						String providerUserId = thread + "-" + i;
+						// every thread races to create the same user's repository
+						ConnectionRepository repository = usersConnectionRepository.createConnectionRepository(getUserId2());
+						repository.addConnection(getFacebookConnectionFactory().createConnection(
+								new ConnectionData("facebook", providerUserId, null, null, null, "token", null, null, null)));
+						for (Connection<?> connection : repository.findConnections("facebook")) {
+							assertNotNull(connection);
+						}
+						assertNotNull(repository.findPrimaryConnection(TestFacebookApi.class));
+						if (i % 2 == 1) {
+							repository.removeConnection(new ConnectionKey("facebook", providerUserId));
+						}
+					}
+				} catch (Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		if (failure.get() != null) {
+			throw new AssertionError("Concurrent access failed", failure.get());
+		}
+		ConnectionRepository repository = usersConnectionRepository.createConnectionRepository(getUserId2());
+		assertEquals(threadCount * connectionsPerThread / 2, repository.findConnections("facebook").size());
+		Set<String> providerUserIds = new HashSet<String>();
+		for (int t = 0; t < threadCount; t++) {
+			for (int i = 0; i < connectionsPerThread; i++) {
+				providerUserIds.add(t + "-" + i);
+			}
+		}
+		assertEquals(new HashSet<String>(Arrays.asList(getUserId2())), usersConnectionRepository.findUserIdsConnectedTo("facebook", providerUserIds));
+		assertTrue(usersConnectionRepository.findUserIdsWithConnection(getFacebookConnectionFactory().createConnection(
+				new ConnectionData("facebook", "0-1", null, null, null, "token", null, null, null))).isEmpty());
+	}
+
 	// PRIVATE SUPPORT METHODS
 	
 	private void insertFacebookConnection(ConnectionData data, String userId) {
@@ -17,11 +17,24 @@ package org.springframework.social.connect.oauth2;
 
 import static org.junit.Assert.*;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
+import org.springframework.social.ExpiredAuthorizationException;
+import org.springframework.social.connect.ApiAdapter;
 import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionValues;
 import org.springframework.social.connect.FakeApi;
 import org.springframework.social.connect.FakeApiAdapter;
+import org.springframework.social.connect.UserProfile;
+import org.springframework.social.connect.UserProfileBuilder;
 import org.springframework.social.connect.support.OAuth2Connection;
+import org.springframework.social.oauth2.OAuth2Operations;
+import org.springframework.social.oauth2.OAuth2ServiceProvider;
 import org.springframework.util.SerializationUtils;
 
 public class OAuth2ConnectionTest {
@@ -37,4 +50,95 @@ public class OAuth2ConnectionTest {
 		OAuth2Connection<FakeApi> connectionFromArray = (OAuth2Connection<FakeApi>) SerializationUtils.deserialize(byteArray);
 		assertEquals(connection, connectionFromArray);
 	}
+
+	@Test
+	public void apiCallsProceedConcurrently() throws Exception {
+		OAuth2Connection<TokenApi> connection = new OAuth2Connection<TokenApi>(
+				new ConnectionData("a", "b", "c", "d", "e", "f", "g", "h", System.currentTimeMillis() + 60000L), 
+				new TokenServiceProvider(), new TokenApiAdapter());
+		final TokenApi api = connection.getApi();
+		final CountDownLatch latch = new CountDownLatch(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Boolean> first = executor.submit(() -> api.awaitOthers(latch));
+			Future<Boolean> second = executor.submit(() -> api.awaitOthers(latch));
+			// both calls only return once they are in flight at the same time
+			assertTrue(first.get(10, TimeUnit.SECONDS));
+			assertTrue(second.get(10, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void refresh() {
+		OAuth2Connection<TokenApi> connection = new OAuth2Connection<TokenApi>(
+				new ConnectionData("a", "b", "c", "d", "e", "f", "g", "h", 123L), 
+				new TokenServiceProvider(), new TokenApiAdapter());
+		TokenApi api = connection.getApi();
+		assertTrue(connection.hasExpired());
+		connection.refresh();
+		assertFalse(connection.hasExpired());
+		assertEquals("12345", api.getAccessToken());
+		ConnectionData data = connection.createData();
+		assertEquals("12345", data.getAccessToken());
+		assertEquals("23456", data.getRefreshToken());
+	}
+
+	@Test(expected = ExpiredAuthorizationException.class)
+	public void apiCallOnExpiredConnection() {
+		OAuth2Connection<TokenApi> connection = new OAuth2Connection<TokenApi>(
+				new ConnectionData("a", "b", "c", "d", "e", "f", "g", "h", 123L), 
+				new TokenServiceProvider(), new TokenApiAdapter());
+		connection.getApi().getAccessToken();
+	}
+
+	public interface TokenApi {
+
+		String getAccessToken();
+
+		boolean awaitOthers(CountDownLatch latch) throws InterruptedException;
+
+	}
+
+	private static class TokenServiceProvider implements OAuth2ServiceProvider<TokenApi> {
+
+		private final OAuth2Operations oauth2Operations = new StubOAuth2Operations();
+
+		public OAuth2Operations getOAuthOperations() {
+			return oauth2Operations;
+		}
+
+		public TokenApi getApi(final String accessToken) {
+			return new TokenApi() {
+				public String getAccessToken() {
+					return accessToken;
+				}
+				public boolean awaitOthers(CountDownLatch latch) throws InterruptedException {
+					latch.countDown();
+					return latch.await(5, TimeUnit.SECONDS);
+				}
+			};
+		}
+
+	}
+
+	private static class TokenApiAdapter implements ApiAdapter<TokenApi> {
+
+		public boolean test(TokenApi api) {
+			return true;
+		}
+
+		public void setConnectionValues(TokenApi api, ConnectionValues values) {
+		}
+
+		public UserProfile fetchUserProfile(TokenApi api) {
+			return new UserProfileBuilder().build();
+		}
+
+		public void updateStatus(TokenApi api, String message) {
+		}
+
+	}
+
 }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.support;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.ConnectionRepository;
+import org.springframework.social.connect.UsersConnectionRepository;
+import org.springframework.social.connect.jdbc.AbstractUsersConnectionRepositoryTest;
+import org.springframework.social.connect.jdbc.JdbcUsersConnectionRepository;
+
+public class CachingUsersConnectionRepositoryTest extends AbstractUsersConnectionRepositoryTest {
+
+	private EmbeddedDatabase database;
+
+	private JdbcUsersConnectionRepository targetRepository;
+
+	private TestCachingUsersConnectionRepository usersConnectionRepository;
+
+	private ConnectionRepository connectionRepository;
+
+	@Before
+	public void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("classpath:org/springframework/social/connect/jdbc/JdbcUsersConnectionRepository.sql").build();
+		targetRepository = new JdbcUsersConnectionRepository(database, getConnectionFactoryRegistry(), Encryptors.noOpText());
+		usersConnectionRepository = new TestCachingUsersConnectionRepository(targetRepository, getConnectionFactoryRegistry());
+		connectionRepository = usersConnectionRepository.createConnectionRepository(getUserId1());
+	}
+
+	@After
+	public void tearDown() {
+		if (database != null) {
+			database.shutdown();
+		}
+	}
+
+	@Test
+	public void findConnectionsServedFromCache() {
+		insertFacebookConnection1();
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+		addConnectionBehindCache(FACEBOOK_DATA_2, getUserId1());
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+		assertEquals(1, usersConnectionRepository.createConnectionRepository(getUserId1()).findAllConnections().get("facebook").size());
+	}
+
+	@Test
+	public void addConnectionInvalidatesCache() {
+		insertFacebookConnection1();
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+		insertFacebookConnection2();
+		assertEquals(2, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test
+	public void removeConnectionInvalidatesCache() {
+		insertFacebookConnection1();
+		insertFacebookConnection2();
+		assertEquals(2, connectionRepository.findConnections("facebook").size());
+		connectionRepository.removeConnection(new ConnectionKey("facebook", FACEBOOK_CONNECTION_2_PROVIDER_USER_ID));
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+		connectionRepository.removeConnections("facebook");
+		assertNull(connectionRepository.findPrimaryConnection(TestFacebookApi.class));
+	}
+
+	@Test
+	public void cacheEntryExpires() {
+		usersConnectionRepository.setTimeToLive(60);
+		insertFacebookConnection1();
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+		addConnectionBehindCache(FACEBOOK_DATA_2, getUserId1());
+		usersConnectionRepository.currentTime += 59 * 1000L;
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+		usersConnectionRepository.currentTime += 1000L;
+		assertEquals(2, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test
+	public void leastRecentlyUsedUserEvicted() {
+		usersConnectionRepository.setMaxSize(1);
+		insertFacebookConnection1();
+		insertFacebookConnection3();
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+		assertEquals(1, usersConnectionRepository.createConnectionRepository(getUserId2()).findConnections("facebook").size());
+		addConnectionBehindCache(FACEBOOK_DATA_2, getUserId1());
+		assertEquals(2, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test
+	public void evict() {
+		insertFacebookConnection1();
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+		addConnectionBehindCache(FACEBOOK_DATA_2, getUserId1());
+		usersConnectionRepository.evict(getUserId1());
+		assertEquals(2, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test
+	public void loadRacingEvictionNotCached() {
+		insertFacebookConnection1();
+		usersConnectionRepository.getConnectionData(getUserId1(), evictingDuringLoad(getUserId1()));
+		addConnectionBehindCache(FACEBOOK_DATA_2, getUserId1());
+		assertEquals(2, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test
+	public void loadRacingEvictionOfAnotherUserCached() {
+		insertFacebookConnection1();
+		usersConnectionRepository.getConnectionData(getUserId1(), evictingDuringLoad(getUserId2()));
+		addConnectionBehindCache(FACEBOOK_DATA_2, getUserId1());
+		assertEquals(1, connectionRepository.findConnections("facebook").size());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void importConnectionsUnsupportedByTarget() {
+		new CachingUsersConnectionRepository(repositoryOnly(targetRepository), getConnectionFactoryRegistry()).importConnections(Stream.empty());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void scanConnectionsUnsupportedByTarget() {
+		new CachingUsersConnectionRepository(repositoryOnly(targetRepository), getConnectionFactoryRegistry()).scanConnections("facebook", (userId, data) -> fail("Unexpected connection " + data));
+	}
+
+	@Override
+	protected UsersConnectionRepository getUsersConnectionRepository() {
+		return usersConnectionRepository;
+	}
+
+	@Override
+	protected ConnectionRepository getConnectionRepository() {
+		return connectionRepository;
+	}
+
+	@Override
+	protected void insertTwitterConnection() {
+		Connection<TestTwitterApi> twitterConnection = getTwitterConnectionFactory().createConnection(TWITTER_DATA);
+		connectionRepository.addConnection(twitterConnection);
+	}
+
+	@Override
+	protected void insertFacebookConnection1() {
+		insertFacebookConnection(FACEBOOK_DATA_1, getUserId1());
+	}
+
+	@Override
+	protected void insertFacebookConnection2() {
+		insertFacebookConnection(FACEBOOK_DATA_2, getUserId1());
+	}
+
+	@Override
+	protected void insertFacebookConnection3() {
+		insertFacebookConnection(FACEBOOK_DATA_3, getUserId2());
+	}
+
+	@Override
+	protected void insertFacebookConnectionSameFacebookUser() {
+		insertFacebookConnection(FACEBOOK_DATA_1, getUserId2());
+	}
+
+	@Override
+	protected String getUserId1() {
+		return "1";
+	}
+
+	@Override
+	protected String getUserId2() {
+		return "2";
+	}
+
+	private void insertFacebookConnection(ConnectionData data, String userId) {
+		usersConnectionRepository.createConnectionRepository(userId).addConnection(getFacebookConnectionFactory().createConnection(data));
+	}
+
+	private void addConnectionBehindCache(ConnectionData data, String userId) {
+		targetRepository.createConnectionRepository(userId).addConnection(getFacebookConnectionFactory().createConnection(data));
+	}
+
+	private ConnectionRepository evictingDuringLoad(String evictedUserId) {
+		ConnectionRepository target = targetRepository.createConnectionRepository(getUserId1());
+		return (ConnectionRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ConnectionRepository.class }, (proxy, method, args) -> {
+			if (method.getName().equals("findAllConnections")) {
+				usersConnectionRepository.evict(evictedUserId);
+			}
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		});
+	}
+
+	private UsersConnectionRepository repositoryOnly(UsersConnectionRepository target) {
+		return (UsersConnectionRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { UsersConnectionRepository.class }, (proxy, method, args) -> {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		});
+	}
+
+	private static class TestCachingUsersConnectionRepository extends CachingUsersConnectionRepository {
+
+		private long currentTime = 1000L;
+
+		public TestCachingUsersConnectionRepository(UsersConnectionRepository targetRepository, ConnectionFactoryRegistry connectionFactoryLocator) {
+			super(targetRepository, connectionFactoryLocator);
+		}
+
+		@Override
+		protected long currentTimeMillis() {
+			return currentTime;
+		}
+
+	}
+
+}
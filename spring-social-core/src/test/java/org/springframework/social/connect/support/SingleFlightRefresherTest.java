@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.support;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.oauth2.AccessGrant;
+
+public class SingleFlightRefresherTest {
+
+	private final SingleFlightRefresher refresher = new SingleFlightRefresher();
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+	private final AtomicInteger refreshes = new AtomicInteger();
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void concurrentRefreshesShareOneGrant() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<Future<AccessGrant>> results = refreshConcurrently(() -> {
+			await(release);
+			return new AccessGrant("access" + refreshes.incrementAndGet(), null, "refresh2", 3600L);
+		});
+		// give every thread time to join the refresh in flight
+		Thread.sleep(200);
+		release.countDown();
+		AccessGrant accessGrant = results.get(0).get(10, TimeUnit.SECONDS);
+		for (Future<AccessGrant> result : results) {
+			assertSame(accessGrant, result.get(10, TimeUnit.SECONDS));
+		}
+		assertEquals(1, refreshes.get());
+	}
+
+	@Test
+	public void concurrentRefreshesShareOneFailure() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<Future<AccessGrant>> results = refreshConcurrently(() -> {
+			await(release);
+			refreshes.incrementAndGet();
+			throw new IllegalStateException("invalid_grant");
+		});
+		Thread.sleep(200);
+		release.countDown();
+		for (Future<AccessGrant> result : results) {
+			try {
+				result.get(10, TimeUnit.SECONDS);
+				fail("expected the refresh to fail");
+			} catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof IllegalStateException);
+			}
+		}
+		assertEquals(1, refreshes.get());
+	}
+
+	@Test
+	public void lateRefreshSharesCompletedGrant() {
+		ConnectionKey key = new ConnectionKey("facebook", "9");
+		AccessGrant accessGrant = refresher.refresh(key, "access", "refresh", null, () -> new AccessGrant("access" + refreshes.incrementAndGet()));
+		assertSame(accessGrant, refresher.refresh(key, "access", "refresh", null, () -> new AccessGrant("access" + refreshes.incrementAndGet())));
+		assertEquals(1, refreshes.get());
+	}
+
+	@Test
+	public void lateRefreshWithNewRefreshTokenNotCoalesced() {
+		ConnectionKey key = new ConnectionKey("facebook", "9");
+		refresher.refresh(key, "access", "refresh", null, () -> new AccessGrant("access" + refreshes.incrementAndGet()));
+		refresher.refresh(key, "access1", "refresh1", null, () -> new AccessGrant("access" + refreshes.incrementAndGet()));
+		assertEquals(2, refreshes.get());
+	}
+
+	@Test
+	public void sequentialRefreshesNotCoalescedOnceExpired() {
+		SingleFlightRefresher refresher = new SingleFlightRefresher(0);
+		ConnectionKey key = new ConnectionKey("facebook", "9");
+		refresher.refresh(key, "access", "refresh", null, () -> new AccessGrant("access" + refreshes.incrementAndGet()));
+		refresher.refresh(key, "access", "refresh", null, () -> new AccessGrant("access" + refreshes.incrementAndGet()));
+		assertEquals(2, refreshes.get());
+	}
+
+	@Test
+	public void failedRefreshNotKept() {
+		ConnectionKey key = new ConnectionKey("facebook", "9");
+		try {
+			refresher.refresh(key, "access", "refresh", null, () -> {
+				refreshes.incrementAndGet();
+				throw new IllegalStateException("temporarily_unavailable");
+			});
+			fail("expected the refresh to fail");
+		} catch (IllegalStateException e) {
+		}
+		assertEquals("access2", refresher.refresh(key, "access", "refresh", null, () -> new AccessGrant("access" + refreshes.incrementAndGet())).getAccessToken());
+	}
+
+	@Test
+	public void refreshesOfOtherConnectionsNotCoalesced() {
+		ConnectionKey key = new ConnectionKey("facebook", "9");
+		refresher.refresh(key, "access", "refresh", null, () -> 
+			refresher.refresh(new ConnectionKey("facebook", "10"), "access", "refresh", null, () -> new AccessGrant("access" + refreshes.incrementAndGet())));
+		assertEquals(1, refreshes.get());
+	}
+
+	@Test
+	public void refreshThroughLock() {
+		final List<ConnectionKey> lockedKeys = new ArrayList<ConnectionKey>();
+		RefreshLock refreshLock = (connectionKey, accessToken, refreshToken, refresh) -> {
+			lockedKeys.add(connectionKey);
+			return refresh.get();
+		};
+		AccessGrant accessGrant = refresher.refresh(new ConnectionKey("facebook", "9"), "access", "refresh", refreshLock, () -> new AccessGrant("access2"));
+		assertEquals("access2", accessGrant.getAccessToken());
+		assertEquals(1, lockedKeys.size());
+	}
+
+	private List<Future<AccessGrant>> refreshConcurrently(Supplier<AccessGrant> refresh) {
+		CyclicBarrier barrier = new CyclicBarrier(THREADS);
+		List<Future<AccessGrant>> results = new ArrayList<Future<AccessGrant>>();
+		for (int i = 0; i < THREADS; i++) {
+			results.add(executor.submit(() -> {
+				barrier.await();
+				return refresher.refresh(new ConnectionKey("facebook", "9"), "access", "refresh", null, refresh);
+			}));
+		}
+		return results;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static final int THREADS = 8;
+
+}
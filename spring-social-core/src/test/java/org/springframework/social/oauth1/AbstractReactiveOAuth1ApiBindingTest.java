@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth1;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import com.sun.net.httpserver.HttpServer;
+
+import reactor.core.publisher.Mono;
+
+public class AbstractReactiveOAuth1ApiBindingTest {
+
+	private HttpServer server;
+
+	private String baseUrl;
+
+	private volatile String authorization;
+
+	private volatile String body;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/statuses", exchange -> {
+			authorization = exchange.getRequestHeaders().getFirst("Authorization");
+			body = new String(readFully(exchange.getRequestBody()), StandardCharsets.UTF_8);
+			byte[] bytes = "OK".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "text/plain");
+			exchange.sendResponseHeaders(200, bytes.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(bytes);
+			out.close();
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		baseUrl = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	public void signGetRequest() throws Exception {
+		ReactiveSocialTemplate template = new ReactiveSocialTemplate(baseUrl);
+		assertTrue(template.isAuthorized());
+		assertEquals("OK", template.getStatuses("a b").block(TIMEOUT));
+		assertEquals("", body);
+		assertSignature(HttpMethod.GET, URI.create(baseUrl + "/statuses?q=a%20b"), new LinkedMultiValueMap<String, String>());
+	}
+
+	@Test
+	public void signFormPostRequest() throws Exception {
+		ReactiveSocialTemplate template = new ReactiveSocialTemplate(baseUrl);
+		assertEquals("OK", template.updateStatus("Hello there!").block(TIMEOUT));
+		assertEquals("status=Hello+there%21", body);
+		MultiValueMap<String, String> formParameters = new LinkedMultiValueMap<String, String>();
+		formParameters.add("status", "Hello there!");
+		assertSignature(HttpMethod.POST, URI.create(baseUrl + "/statuses"), formParameters);
+	}
+
+	@Test
+	public void signJsonPostRequest() throws Exception {
+		ReactiveSocialTemplate template = new ReactiveSocialTemplate(baseUrl);
+		assertEquals("OK", template.postJson("{\"status\":\"Hello there!\"}").block(TIMEOUT));
+		assertEquals("{\"status\":\"Hello there!\"}", body);
+		assertSignature(HttpMethod.POST, URI.create(baseUrl + "/statuses"), new LinkedMultiValueMap<String, String>());
+	}
+
+	private void assertSignature(HttpMethod method, URI uri, MultiValueMap<String, String> parameters) throws Exception {
+		assertNotNull(authorization);
+		assertTrue(authorization.startsWith("OAuth "));
+		Map<String, String> oauthParameters = new HashMap<String, String>();
+		for (String pair : authorization.substring("OAuth ".length()).split(", ")) {
+			String[] nameValue = pair.split("=", 2);
+			oauthParameters.put(nameValue[0], URLDecoder.decode(nameValue[1].substring(1, nameValue[1].length() - 1), "UTF-8"));
+		}
+		assertEquals("consumer_key", oauthParameters.get("oauth_consumer_key"));
+		assertEquals("access_token", oauthParameters.get("oauth_token"));
+		String signature = oauthParameters.remove("oauth_signature");
+		MultiValueMap<String, String> additionalParameters = new LinkedMultiValueMap<String, String>(parameters);
+		if (uri.getRawQuery() != null) {
+			for (String pair : uri.getRawQuery().split("&")) {
+				String[] nameValue = pair.split("=", 2);
+				additionalParameters.add(nameValue[0], URLDecoder.decode(nameValue[1], "UTF-8"));
+			}
+		}
+		String expected = new SigningSupport().buildAuthorizationHeaderValue(method, uri, oauthParameters, additionalParameters, "consumer_secret", "access_token_secret");
+		assertTrue(expected.endsWith("oauth_signature=\"" + encode(signature) + "\""));
+	}
+
+	private String encode(String value) throws Exception {
+		return URLEncoder.encode(value, "UTF-8").replace("+", "%20").replace("*", "%2A").replace("%7E", "~");
+	}
+
+	private static byte[] readFully(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		for (int read; (read = in.read(buffer)) != -1;) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	private static class ReactiveSocialTemplate extends AbstractReactiveOAuth1ApiBinding {
+
+		private final String baseUrl;
+
+		public ReactiveSocialTemplate(String baseUrl) {
+			super("consumer_key", "consumer_secret", "access_token", "access_token_secret");
+			this.baseUrl = baseUrl;
+		}
+
+		public Mono<String> getStatuses(String query) {
+			return getWebClient().get().uri(baseUrl + "/statuses?q={q}", query).retrieve().bodyToMono(String.class);
+		}
+
+		public Mono<String> updateStatus(String status) {
+			MultiValueMap<String, String> form = new LinkedMultiValueMap<String, String>();
+			form.add("status", status);
+			return getWebClient().post().uri(baseUrl + "/statuses").body(BodyInserters.fromFormData(form)).retrieve().bodyToMono(String.class);
+		}
+
+		public Mono<String> postJson(String json) {
+			return getWebClient().post().uri(baseUrl + "/statuses").contentType(MediaType.APPLICATION_JSON).body(BodyInserters.fromObject(json)).retrieve().bodyToMono(String.class);
+		}
+
+	}
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+}
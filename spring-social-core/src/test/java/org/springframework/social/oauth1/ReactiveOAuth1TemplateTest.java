@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth1;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class ReactiveOAuth1TemplateTest {
+
+	private HttpServer server;
+
+	private String baseUrl;
+
+	private volatile String authorization;
+
+	private volatile String requestBody;
+
+	private volatile int responseStatus = 200;
+
+	private ReactiveOAuth1Template oauth10a;
+
+	private ReactiveOAuth1Template oauth10;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/oauth", exchange -> {
+			authorization = exchange.getRequestHeaders().getFirst("Authorization");
+			requestBody = StreamUtils.copyToString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+			String resource = exchange.getRequestURI().getPath().endsWith("request_token") ? "requestToken.formencoded" : "accessToken.formencoded";
+			byte[] bytes = StreamUtils.copyToByteArray(getClass().getResourceAsStream(resource));
+			// providers don't always set the content type properly
+			exchange.getResponseHeaders().set("Content-Type", "text/plain");
+			exchange.sendResponseHeaders(responseStatus, bytes.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(bytes);
+			out.close();
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		baseUrl = "http://localhost:" + server.getAddress().getPort();
+		oauth10a = new ReactiveOAuth1Template("consumer_key", "consumer_secret", baseUrl + "/oauth/request_token", AUTHORIZE_URL, baseUrl + "/oauth/access_token");
+		oauth10 = new ReactiveOAuth1Template("consumer_key", "consumer_secret", baseUrl + "/oauth/request_token", AUTHORIZE_URL, baseUrl + "/oauth/access_token", OAuth1Version.CORE_10);
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	public void buildAuthorizeUrl_customAuthorizeParameters() {
+		ReactiveOAuth1Template custom = new ReactiveOAuth1Template("consumer_key", "consumer_secret", baseUrl + "/oauth/request_token", AUTHORIZE_URL, baseUrl + "/oauth/access_token") {
+			@Override
+			protected void addCustomAuthorizationParameters(MultiValueMap<String, String> parameters) {
+				parameters.add("custom_parameter", "custom_parameter_value");
+			}
+		};
+		OAuth1Parameters parameters = new OAuth1Parameters(null);
+		parameters.setCallbackUrl("https://www.someclient.com/oauth/callback");
+		assertEquals(AUTHORIZE_URL + "?oauth_token=request_token&oauth_callback=https%3A%2F%2Fwww.someclient.com%2Foauth%2Fcallback&custom_parameter=custom_parameter_value",
+				custom.buildAuthorizeUrl("request_token", parameters));
+	}
+
+	@Test
+	public void fetchNewRequestToken_OAuth10a() {
+		OAuthToken requestToken = oauth10a.fetchRequestToken("https://www.someclient.com/oauth/callback", null).block(TIMEOUT);
+		assertEquals("1234567890", requestToken.getValue());
+		assertEquals("abcdefghijklmnop", requestToken.getSecret());
+		assertTrue(authorization.contains("oauth_callback=\"https%3A%2F%2Fwww.someclient.com%2Foauth%2Fcallback\""));
+		assertTrue(authorization.contains("oauth_consumer_key=\"consumer_key\""));
+		assertTrue(authorization.contains("oauth_signature_method=\"HMAC-SHA1\""));
+		assertTrue(authorization.contains("oauth_signature=\""));
+		assertEquals("", requestBody);
+	}
+
+	@Test
+	public void fetchNewRequestToken_OAuth10() {
+		oauth10.fetchRequestToken("https://www.someclient.com/oauth/callback", null).block(TIMEOUT);
+		assertFalse(authorization.contains("oauth_callback"));
+	}
+
+	@Test
+	public void exchangeForAccessToken_OAuth10a() {
+		MultiValueMap<String, String> additionalParameters = new LinkedMultiValueMap<String, String>();
+		additionalParameters.add("x_auth_mode", "client_auth");
+		OAuthToken accessToken = oauth10a.exchangeForAccessToken(new AuthorizedRequestToken(new OAuthToken("1234567890", "abcdefghijklmnop"), "verifier"), additionalParameters).block(TIMEOUT);
+		assertEquals("9876543210", accessToken.getValue());
+		assertEquals("ponmlkjihgfedcba", accessToken.getSecret());
+		assertTrue(authorization.contains("oauth_token=\"1234567890\""));
+		assertTrue(authorization.contains("oauth_verifier=\"verifier\""));
+		assertEquals("x_auth_mode=client_auth", requestBody);
+	}
+
+	@Test
+	public void exchangeForAccessToken_OAuth10() {
+		oauth10.exchangeForAccessToken(new AuthorizedRequestToken(new OAuthToken("1234567890", "abcdefghijklmnop"), "verifier"), null).block(TIMEOUT);
+		assertTrue(authorization.contains("oauth_token=\"1234567890\""));
+		assertFalse(authorization.contains("oauth_verifier"));
+	}
+
+	@Test
+	public void fetchNewRequestToken_errorResponse() {
+		responseStatus = 401;
+		try {
+			oauth10a.fetchRequestToken("https://www.someclient.com/oauth/callback", null).block(TIMEOUT);
+			fail("Expected HttpClientErrorException");
+		} catch (HttpClientErrorException e) {
+			assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+		}
+	}
+
+	private static final String AUTHORIZE_URL = "https://www.someprovider.com/oauth/authorize";
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+}
@@ -144,6 +144,16 @@ public class SigningSupportTest {
 		assertEquals("oauth_version%3D1.0", parameterParts[5]);
 	}
 
+	@Test
+	public void buildBaseString_nonAsciiParameters() {
+		SigningSupport signingUtils = new SigningSupport();
+		LinkedMultiValueMap<String, String> collectedParameters = new LinkedMultiValueMap<String, String>();
+		collectedParameters.add("status", "caf\u00e9 \ud83d\ude00");
+		collectedParameters.add("a~", null);
+		String baseString = signingUtils.buildBaseString(HttpMethod.GET, "https://example.com/r\u00e9sum\u00e9", collectedParameters);
+		assertEquals("GET&https%3A%2F%2Fexample.com%2Fr%C3%A9sum%C3%A9&a~%3D%26status%3Dcaf%25C3%25A9%2520%25F0%259F%2598%2580", baseString);
+	}
+
 	private void assertAuthorizationHeader(String authorizationHeader, String expectedSignature) {
 		List<String> headerElements = normalizedHeaderElements(authorizationHeader);
 		assertEquals("OAuth", headerElements.get(0));
@@ -15,18 +15,28 @@
  */
 package org.springframework.social.oauth2;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.junit.Test;
 import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.util.ClassUtils;
 import org.springframework.web.client.RestTemplate;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
 /**
  * Test methods for {@link AbstractOAuth2ApiBinding}, to verify the extension point where it's embedded
@@ -59,6 +69,58 @@ public class AbstractOAuth2ApiBindingTest {
 		assertThat(ClassUtils.isCglibProxy(template.getSubSocialTemplate().getRestTemplate()), is(true));
 	}
 
+	@Test
+	public void sharedRestTemplate() {
+		int configurations = SharingSocialTemplate.configurations.get();
+		SharingSocialTemplate template1 = new SharingSocialTemplate("token1", TokenStrategy.AUTHORIZATION_HEADER);
+		SharingSocialTemplate template2 = new SharingSocialTemplate("token2", TokenStrategy.AUTHORIZATION_HEADER);
+		RestTemplate restTemplate1 = template1.getRestTemplate();
+		RestTemplate restTemplate2 = template2.getRestTemplate();
+		assertThat(restTemplate1, not(sameInstance(restTemplate2)));
+		assertThat(restTemplate1.getMessageConverters().get(0), sameInstance(restTemplate2.getMessageConverters().get(0)));
+		assertThat(restTemplate1.getErrorHandler(), sameInstance(restTemplate2.getErrorHandler()));
+		assertThat(SharingSocialTemplate.configurations.get(), is(configurations + 1));
+
+		MockRestServiceServer mockServer1 = MockRestServiceServer.createServer(restTemplate1);
+		mockServer1.expect(requestTo("https://api.someprovider.com/me")).andExpect(method(HttpMethod.GET))
+				.andExpect(header("Authorization", "Bearer token1"))
+				.andRespond(withSuccess("{\"id\":\"1\"}", MediaType.APPLICATION_JSON));
+		MockRestServiceServer mockServer2 = MockRestServiceServer.createServer(restTemplate2);
+		mockServer2.expect(requestTo("https://api.someprovider.com/me")).andExpect(method(HttpMethod.GET))
+				.andExpect(header("Authorization", "Bearer token2"))
+				.andRespond(withSuccess("{\"id\":\"2\"}", MediaType.APPLICATION_JSON));
+		assertThat(restTemplate1.getForObject("https://api.someprovider.com/me", String.class), equalTo("{\"id\":\"1\"}"));
+		assertThat(restTemplate2.getForObject("https://api.someprovider.com/me", String.class), equalTo("{\"id\":\"2\"}"));
+		mockServer1.verify();
+		mockServer2.verify();
+		assertThat(AccessTokenContext.getAccessToken(), is(nullValue()));
+	}
+
+	@Test
+	public void sharedRestTemplate_tokenParameter() {
+		SharingSocialTemplate template = new SharingSocialTemplate("token3", TokenStrategy.ACCESS_TOKEN_PARAMETER);
+		MockRestServiceServer mockServer = MockRestServiceServer.createServer(template.getRestTemplate());
+		mockServer.expect(requestTo("https://api.someprovider.com/me?access_token=token3")).andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+		template.getRestTemplate().getForObject("https://api.someprovider.com/me", String.class);
+		mockServer.verify();
+	}
+
+	private static class SharingSocialTemplate extends AbstractOAuth2ApiBinding {
+
+		private static final AtomicInteger configurations = new AtomicInteger();
+
+		public SharingSocialTemplate(String accessToken, TokenStrategy tokenStrategy) {
+			super(accessToken, tokenStrategy, true);
+		}
+
+		@Override
+		protected void configureRestTemplate(RestTemplate restTemplate) {
+			configurations.incrementAndGet();
+		}
+
+	}
+
 	/**
 	 * Imaginary social service that extends the {@link AbstractOAuth2ApiBinding}. Used to
 	 * demonstrate default behavior of pass through on {@link RestTemplate}.
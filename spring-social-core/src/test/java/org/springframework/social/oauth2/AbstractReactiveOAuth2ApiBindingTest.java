@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth2;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.sun.net.httpserver.HttpServer;
+
+import reactor.core.publisher.Mono;
+
+public class AbstractReactiveOAuth2ApiBindingTest {
+
+	private HttpServer server;
+
+	private String baseUrl;
+
+	private volatile String authorization;
+
+	private volatile String query;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/me", exchange -> {
+			authorization = exchange.getRequestHeaders().getFirst("Authorization");
+			query = exchange.getRequestURI().getRawQuery();
+			byte[] bytes = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, bytes.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(bytes);
+			out.close();
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		baseUrl = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	public void authorizationHeader() {
+		ReactiveSocialTemplate template = new ReactiveSocialTemplate("access_token", TokenStrategy.AUTHORIZATION_HEADER, baseUrl);
+		assertTrue(template.isAuthorized());
+		assertEquals("{\"id\":\"1\"}", template.getProfile().block(TIMEOUT));
+		assertEquals("Bearer access_token", authorization);
+		assertEquals("fields=id", query);
+	}
+
+	@Test
+	public void accessTokenParameter() {
+		ReactiveSocialTemplate template = new ReactiveSocialTemplate("access_token", TokenStrategy.ACCESS_TOKEN_PARAMETER, baseUrl);
+		template.getProfile().block(TIMEOUT);
+		assertNull(authorization);
+		assertEquals("fields=id&access_token=access_token", query);
+	}
+
+	@Test
+	public void oauthTokenParameter() {
+		ReactiveSocialTemplate template = new ReactiveSocialTemplate("access_token", TokenStrategy.OAUTH_TOKEN_PARAMETER, baseUrl);
+		template.getProfile().block(TIMEOUT);
+		assertEquals("fields=id&oauth_token=access_token", query);
+	}
+
+	@Test
+	public void unauthorized() {
+		ReactiveSocialTemplate template = new ReactiveSocialTemplate(baseUrl);
+		assertFalse(template.isAuthorized());
+		template.getProfile().block(TIMEOUT);
+		assertNull(authorization);
+		assertEquals("fields=id", query);
+	}
+
+	@Test
+	public void nullAccessTokenIgnoresAccessTokenContext() {
+		ReactiveSocialTemplate template = new ReactiveSocialTemplate(null, TokenStrategy.AUTHORIZATION_HEADER, baseUrl);
+		String previous = AccessTokenContext.bind("context_token");
+		try {
+			template.getProfile().block(TIMEOUT);
+		} finally {
+			AccessTokenContext.restore(previous);
+		}
+		assertNull(authorization);
+		assertEquals("fields=id", query);
+	}
+
+	private static class ReactiveSocialTemplate extends AbstractReactiveOAuth2ApiBinding {
+
+		private final String baseUrl;
+
+		public ReactiveSocialTemplate(String baseUrl) {
+			super();
+			this.baseUrl = baseUrl;
+		}
+
+		public ReactiveSocialTemplate(String accessToken, TokenStrategy tokenStrategy, String baseUrl) {
+			super(accessToken, tokenStrategy);
+			this.baseUrl = baseUrl;
+		}
+
+		@Override
+		protected void configureWebClient(WebClient.Builder builder) {
+			builder.defaultHeader("Accept", "application/json");
+		}
+
+		public Mono<String> getProfile() {
+			return getWebClient().get().uri(baseUrl + "/me?fields=id").retrieve().bodyToMono(String.class);
+		}
+
+	}
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.oauth2;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class ReactiveOAuth2TemplateTest {
+
+	private HttpServer server;
+
+	private String accessTokenUrl;
+
+	private volatile String authorization;
+
+	private volatile String requestBody;
+
+	private volatile int responseStatus = 200;
+
+	private volatile String responseContentType = "application/json";
+
+	private volatile String responseBody;
+
+	private ReactiveOAuth2Template oAuth2Template;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/oauth/token", exchange -> {
+			authorization = exchange.getRequestHeaders().getFirst("Authorization");
+			requestBody = StreamUtils.copyToString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+			byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", responseContentType);
+			exchange.sendResponseHeaders(responseStatus, bytes.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(bytes);
+			out.close();
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		accessTokenUrl = "http://localhost:" + server.getAddress().getPort() + "/oauth/token";
+		oAuth2Template = new ReactiveOAuth2Template("client_id", "client_secret", AUTHORIZE_URL, accessTokenUrl);
+		responseBody = StreamUtils.copyToString(getClass().getResourceAsStream("accessToken.json"), StandardCharsets.UTF_8);
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	public void buildAuthorizeUrl() {
+		OAuth2Parameters parameters = new OAuth2Parameters();
+		parameters.setRedirectUri("https://www.someclient.com/connect/foo");
+		parameters.setScope("read,write");
+		OAuth2Template blockingTemplate = new OAuth2Template("client_id", "client_secret", AUTHORIZE_URL, accessTokenUrl);
+		assertEquals(blockingTemplate.buildAuthorizeUrl(parameters), oAuth2Template.buildAuthorizeUrl(parameters));
+		assertEquals(blockingTemplate.buildAuthorizeUrl(GrantType.IMPLICIT_GRANT, parameters), oAuth2Template.buildAuthorizeUrl(GrantType.IMPLICIT_GRANT, parameters));
+		assertEquals(blockingTemplate.buildAuthenticateUrl(parameters), oAuth2Template.buildAuthenticateUrl(parameters));
+	}
+
+	@Test
+	public void exchangeForAccess_jsonResponse() {
+		AccessGrant accessGrant = oAuth2Template.exchangeForAccess("code", "https://www.someclient.com/callback", null).block(TIMEOUT);
+		assertEquals("8d0a88a5c4f1ae4937ad864cafa8e857", accessGrant.getAccessToken());
+		assertEquals("6b0411401bf8751e34f57feb29fb8e32", accessGrant.getRefreshToken());
+		assertEquals("read", accessGrant.getScope());
+		long approximateExpirationTime = System.currentTimeMillis() + 40735000;
+		assertTrue(approximateExpirationTime - accessGrant.getExpireTime() < 1000);
+		assertEquals("Basic " + Base64.getEncoder().encodeToString("client_id:client_secret".getBytes(StandardCharsets.UTF_8)), authorization);
+		assertEquals("code=code&redirect_uri=https%3A%2F%2Fwww.someclient.com%2Fcallback&grant_type=authorization_code", requestBody);
+	}
+
+	@Test
+	public void exchangeForAccess_paramBasedClientAuthentication() {
+		oAuth2Template.setUseParametersForClientAuthentication(true);
+		MultiValueMap<String, String> additionalParameters = new LinkedMultiValueMap<String, String>();
+		additionalParameters.set("extra", "value");
+		AccessGrant accessGrant = oAuth2Template.exchangeForAccess("code", "https://www.someclient.com/callback", additionalParameters).block(TIMEOUT);
+		assertEquals("8d0a88a5c4f1ae4937ad864cafa8e857", accessGrant.getAccessToken());
+		assertNull(authorization);
+		assertEquals("client_id=client_id&client_secret=client_secret&code=code&redirect_uri=https%3A%2F%2Fwww.someclient.com%2Fcallback&grant_type=authorization_code&extra=value", requestBody);
+	}
+
+	@Test
+	public void exchangeForAccess_formEncodedResponse() {
+		responseContentType = "application/x-www-form-urlencoded";
+		responseBody = "access_token=8d0a88a5c4f1ae4937ad864cafa8e857&expires_in=3600";
+		AccessGrant accessGrant = oAuth2Template.exchangeForAccess("code", "https://www.someclient.com/callback", null).block(TIMEOUT);
+		assertEquals("8d0a88a5c4f1ae4937ad864cafa8e857", accessGrant.getAccessToken());
+		assertNull(accessGrant.getRefreshToken());
+		assertTrue(accessGrant.getExpireTime() > System.currentTimeMillis() + 3590 * 1000L);
+	}
+
+	@Test
+	public void exchangeCredentialsForAccess() {
+		oAuth2Template.exchangeCredentialsForAccess("habuma", "letmein", null).block(TIMEOUT);
+		assertEquals("username=habuma&password=letmein&grant_type=password", requestBody);
+	}
+
+	@Test
+	public void refreshAccess() {
+		AccessGrant accessGrant = oAuth2Template.refreshAccess("r3fr35h_t0k3n", null).block(TIMEOUT);
+		assertEquals("8d0a88a5c4f1ae4937ad864cafa8e857", accessGrant.getAccessToken());
+		assertEquals("refresh_token=r3fr35h_t0k3n&grant_type=refresh_token", requestBody);
+	}
+
+	@Test
+	public void authenticateClient() {
+		oAuth2Template.authenticateClient("read").block(TIMEOUT);
+		assertEquals("grant_type=client_credentials&scope=read", requestBody);
+	}
+
+	@Test
+	public void exchangeForAccess_errorResponse() {
+		responseStatus = 400;
+		responseBody = "{\"error\":\"invalid_grant\"}";
+		try {
+			oAuth2Template.exchangeForAccess("code", "https://www.someclient.com/callback", null).block(TIMEOUT);
+			fail("Expected HttpClientErrorException");
+		} catch (HttpClientErrorException e) {
+			assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+			assertEquals("{\"error\":\"invalid_grant\"}", e.getResponseBodyAsString());
+		}
+	}
+
+	private static final String AUTHORIZE_URL = "https://www.someprovider.com/oauth/authorize";
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+}
@@ -15,6 +15,7 @@
  */
 package org.springframework.social.support;
 
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 import java.io.ByteArrayInputStream;
@@ -29,6 +30,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
 public class ClientHttpRequestFactorySelectorTest {
 
@@ -69,6 +71,64 @@ public class ClientHttpRequestFactorySelectorTest {
 //		assertEquals(80, proxy.getPort());
 	}
 
+	@Test
+	public void getRequestFactory_sharesHttpClient() {
+		HttpComponentsClientHttpRequestFactory requestFactory1 = (HttpComponentsClientHttpRequestFactory) ClientHttpRequestFactorySelector.getRequestFactory();
+		HttpComponentsClientHttpRequestFactory requestFactory2 = (HttpComponentsClientHttpRequestFactory) ClientHttpRequestFactorySelector.getRequestFactory();
+		assertNotSame(requestFactory1, requestFactory2);
+		assertSame(requestFactory1.getHttpClient(), requestFactory2.getHttpClient());
+		assertSame(ClientHttpRequestFactorySelector.getHttpClientPool().getHttpClient(), requestFactory1.getHttpClient());
+	}
+
+	@Test
+	public void getRequestFactory_withProxyUsesAnotherPool() {
+		HttpClientPool defaultPool = ClientHttpRequestFactorySelector.getHttpClientPool();
+		System.getProperties().setProperty("http.proxyHost", "someproxyhost");
+		HttpClientPool proxyPool = ClientHttpRequestFactorySelector.getHttpClientPool();
+		assertNotSame(defaultPool, proxyPool);
+		assertSame(proxyPool, ClientHttpRequestFactorySelector.getHttpClientPool());
+	}
+
+	@Test
+	public void getRequestFactory_withProxyClosesReplacedPool() {
+		HttpClientPool defaultPool = ClientHttpRequestFactorySelector.getHttpClientPool();
+		defaultPool.getHttpClient();
+		System.getProperties().setProperty("http.proxyHost", "someproxyhost");
+		ClientHttpRequestFactorySelector.getHttpClientPool();
+		try {
+			defaultPool.getHttpClient();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void getRequestFactory_followsReplacedPool() throws Exception {
+		HttpComponentsClientHttpRequestFactory requestFactory = (HttpComponentsClientHttpRequestFactory) ClientHttpRequestFactorySelector.getRequestFactory();
+		HttpClientPool httpClientPool = new HttpClientPool();
+		ClientHttpRequestFactorySelector.setHttpClientPool(httpClientPool);
+		try {
+			assertSame(httpClientPool.getHttpClient(), requestFactory.getHttpClient());
+		} finally {
+			ClientHttpRequestFactorySelector.setHttpClientPool(null);
+			httpClientPool.destroy();
+		}
+		assertSame(ClientHttpRequestFactorySelector.getHttpClientPool().getHttpClient(), requestFactory.getHttpClient());
+	}
+
+	@Test
+	public void setHttpClientPool() {
+		HttpClientPool httpClientPool = new HttpClientPool();
+		ClientHttpRequestFactorySelector.setHttpClientPool(httpClientPool);
+		try {
+			HttpComponentsClientHttpRequestFactory requestFactory = (HttpComponentsClientHttpRequestFactory) ClientHttpRequestFactorySelector.getRequestFactory();
+			assertSame(httpClientPool.getHttpClient(), requestFactory.getHttpClient());
+		} finally {
+			ClientHttpRequestFactorySelector.setHttpClientPool(null);
+		}
+	}
+
 	@Test
 	public void bufferRequests() throws Exception {
 		ClientHttpRequest mockRequest = mock(ClientHttpRequest.class);
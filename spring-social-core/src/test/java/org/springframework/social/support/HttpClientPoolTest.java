@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.support;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import org.apache.http.pool.PoolStats;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class HttpClientPoolTest {
+
+	private final Set<InetSocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+
+	private HttpServer server;
+
+	private String baseUrl;
+
+	private HttpClientPool httpClientPool;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", exchange -> {
+			clientAddresses.add(exchange.getRemoteAddress());
+			byte[] bytes = "OK".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "text/plain");
+			exchange.sendResponseHeaders(200, bytes.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(bytes);
+			out.close();
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		baseUrl = "http://localhost:" + server.getAddress().getPort();
+		httpClientPool = new HttpClientPool();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		httpClientPool.destroy();
+		server.stop(0);
+	}
+
+	@Test
+	public void connectionsReusedAcrossRequestFactories() {
+		for (int i = 0; i < 5; i++) {
+			RestTemplate restTemplate = new RestTemplate(httpClientPool.createRequestFactory());
+			assertEquals("OK", restTemplate.getForObject(baseUrl + "/resource", String.class));
+		}
+		assertEquals(1, clientAddresses.size());
+		PoolStats totalStats = httpClientPool.getTotalStats();
+		assertEquals(0, totalStats.getLeased());
+		assertEquals(1, totalStats.getAvailable());
+		assertEquals(200, totalStats.getMax());
+		Map<String, PoolStats> routeStats = httpClientPool.getRouteStats();
+		assertEquals(1, routeStats.size());
+		assertEquals(1, routeStats.get(baseUrl).getAvailable());
+	}
+
+	@Test
+	public void maxPerRoute() {
+		httpClientPool.setMaxTotal(50);
+		httpClientPool.setDefaultMaxPerRoute(5);
+		httpClientPool.setMaxPerRoute(baseUrl, 2);
+		new RestTemplate(httpClientPool.createRequestFactory()).getForObject(baseUrl + "/resource", String.class);
+		assertEquals(50, httpClientPool.getTotalStats().getMax());
+		assertEquals(2, httpClientPool.getRouteStats().get(baseUrl).getMax());
+	}
+
+	@Test
+	public void statsBeforeFirstUse() {
+		assertEquals(0, httpClientPool.getTotalStats().getAvailable());
+		assertTrue(httpClientPool.getRouteStats().isEmpty());
+	}
+
+	@Test
+	public void destroyingRequestFactoryLeavesPoolOpen() throws Exception {
+		RestTemplate restTemplate = new RestTemplate(httpClientPool.createRequestFactory());
+		((org.springframework.beans.factory.DisposableBean) httpClientPool.createRequestFactory()).destroy();
+		assertEquals("OK", restTemplate.getForObject(baseUrl + "/resource", String.class));
+	}
+
+	@Test
+	public void requestFactoryFailsOncePoolDestroyed() throws Exception {
+		RestTemplate restTemplate = new RestTemplate(httpClientPool.createRequestFactory());
+		assertEquals("OK", restTemplate.getForObject(baseUrl + "/resource", String.class));
+		httpClientPool.destroy();
+		assertEquals(0, httpClientPool.getTotalStats().getAvailable());
+		try {
+			restTemplate.getForObject(baseUrl + "/resource", String.class);
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertEquals(0, httpClientPool.getTotalStats().getAvailable());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void createRequestFactoryOncePoolDestroyed() throws Exception {
+		httpClientPool.destroy();
+		httpClientPool.createRequestFactory();
+	}
+
+}
@@ -28,10 +28,12 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpStatus;
 import org.springframework.social.connect.Connection;
 import org.springframework.social.connect.ConnectionFactory;
 import org.springframework.social.connect.ConnectionFactoryLocator;
 import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.ConnectionPage;
 import org.springframework.social.connect.ConnectionRepository;
 import org.springframework.social.connect.DuplicateConnectionException;
 import org.springframework.social.connect.support.OAuth1ConnectionFactory;
@@ -48,6 +50,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.filter.HiddenHttpMethodFilter;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.view.RedirectView;
 import org.springframework.web.util.UriUtils;
 import org.springframework.web.util.UrlPathHelper;
@@ -90,6 +93,8 @@ public class ConnectController implements InitializingBean {
 	private SessionStrategy sessionStrategy = new HttpSessionSessionStrategy();
 
 	private String applicationUrl = null;
+
+	private int connectionsPageSize = 0;
 	
 	/**
 	 * Constructs a ConnectController.
@@ -167,6 +172,16 @@ public class ConnectController implements InitializingBean {
 		this.connectionStatusUrlPath = connectionStatusUrlPath;
 	}
 	
+	/**
+	 * Sets the maximum number of connections shown at once on a provider's connection status page.
+	 * When set, the page shows the connections ranked after the "afterRank" request parameter and exposes the rank to continue after as the "nextRank" model attribute if there are more.
+	 * Defaults to 0, showing all of the user's connections to the provider.
+	 * @param connectionsPageSize the number of connections per page, or 0 to show all connections
+	 */
+	public void setConnectionsPageSize(int connectionsPageSize) {
+		this.connectionsPageSize = connectionsPageSize;
+	}
+
 	/**
 	 * Sets a strategy to use when persisting information that is to survive past the boundaries of a request.
 	 * The default strategy is to set the data as attributes in the HTTP Session.
@@ -221,11 +236,38 @@ public class ConnectController implements InitializingBean {
 	 */
 	@RequestMapping(value="/{providerId}", method=RequestMethod.GET)
 	public String connectionStatus(@PathVariable String providerId, NativeWebRequest request, Model model) {
+		return connectionStatus(providerId, 0, request, model);
+	}
+
+	/**
+	 * Render a page of the connections to the service provider to the user as HTML in their web browser.
+	 * Shows all connections unless a {@link #setConnectionsPageSize(int) connections page size} is set.
+	 * @param providerId the ID of the provider to show connection status
+	 * @param afterRank the rank of the last connection shown on the previous page, 0 for the first page
+	 * @param request the request
+	 * @param model the model
+	 * @return the view name of the connection status page for the provider
+	 * @throws ResponseStatusException with a 400 Bad Request status if afterRank is negative
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.GET, params="afterRank")
+	public String connectionStatus(@PathVariable String providerId, @RequestParam("afterRank") int afterRank, NativeWebRequest request, Model model) {
+		if (afterRank < 0) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "afterRank cannot be negative");
+		}
 		setNoCache(request);
 		processFlash(request, model);
-		List<Connection<?>> connections = connectionRepository.findConnections(providerId);
+		List<Connection<?>> connections;
+		if (connectionsPageSize > 0) {
+			ConnectionPage page = connectionRepository.findConnections(providerId, afterRank, connectionsPageSize);
+			connections = page.getConnections();
+			if (page.hasMore()) {
+				model.addAttribute("nextRank", page.getLastRank());
+			}
+		} else {
+			connections = connectionRepository.findConnections(providerId);
+		}
 		setNoCache(request);
-		if (connections.isEmpty()) {
+		if (connections.isEmpty() && afterRank == 0) {
 			return connectView(providerId); 
 		} else {
 			model.addAttribute("connections", connections);
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.web.reactive;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionFactory;
+import org.springframework.social.connect.ConnectionFactoryLocator;
+import org.springframework.social.connect.ConnectionKey;
+import org.springframework.social.connect.DuplicateConnectionException;
+import org.springframework.social.connect.ReactiveConnectionRepository;
+import org.springframework.social.connect.ReactiveUsersConnectionRepository;
+import org.springframework.social.connect.support.OAuth1ConnectionFactory;
+import org.springframework.social.connect.support.OAuth2ConnectionFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.util.Assert;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.reactive.result.view.RedirectView;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Generic UI controller for managing the account-to-service-provider connection flow in Spring WebFlux applications.
+ * Covers the same requests as the Spring MVC {@link org.springframework.social.connect.web.ConnectController}:
+ * <ul>
+ * <li>GET /connect/{providerId}  - Get a web page showing connection status to {providerId}.</li>
+ * <li>POST /connect/{providerId} - Initiate an connection with {providerId}.</li>
+ * <li>GET /connect/{providerId}?oauth_verifier||code - Receive {providerId} authorization callback and establish the connection.</li>
+ * <li>DELETE /connect/{providerId} - Disconnect from {providerId}.</li>
+ * </ul>
+ * State that must survive past the boundaries of a request is kept in the {@link org.springframework.web.server.WebSession}.
+ * The connections of the user the {@link ReactiveUserIdSource} resolves are managed through a {@link ReactiveUsersConnectionRepository}.
+ */
+@Controller
+@RequestMapping("/connect")
+public class ReactiveConnectController implements InitializingBean {
+
+	private final static Log logger = LogFactory.getLog(ReactiveConnectController.class);
+
+	private final ConnectionFactoryLocator connectionFactoryLocator;
+
+	private final ReactiveUsersConnectionRepository usersConnectionRepository;
+
+	private ReactiveUserIdSource userIdSource = exchange -> exchange.getPrincipal().map(Principal::getName);
+
+	private ReactiveConnectSupport connectSupport;
+
+	private String viewPath = "connect/";
+
+	private String connectionStatusUrlPath = "/connect/";
+
+	private String applicationUrl = null;
+
+	/**
+	 * Constructs a ReactiveConnectController.
+	 * @param connectionFactoryLocator the locator for {@link ConnectionFactory} instances needed to establish connections
+	 * @param usersConnectionRepository the global store for service provider connections across all users
+	 */
+	public ReactiveConnectController(ConnectionFactoryLocator connectionFactoryLocator, ReactiveUsersConnectionRepository usersConnectionRepository) {
+		this.connectionFactoryLocator = connectionFactoryLocator;
+		this.usersConnectionRepository = usersConnectionRepository;
+	}
+
+	/**
+	 * Sets the strategy resolving the local user whose connections are managed.
+	 * Defaults to the name of the exchange's {@link ServerWebExchange#getPrincipal() principal}.
+	 * @param userIdSource the user id source
+	 */
+	public void setUserIdSource(ReactiveUserIdSource userIdSource) {
+		Assert.notNull(userIdSource, "userIdSource cannot be null");
+		this.userIdSource = userIdSource;
+	}
+
+	/**
+	 * Configures the base secure URL for the application this controller is being used in e.g. <code>https://myapp.com</code>. Defaults to null.
+	 * If specified, will be used to generate OAuth callback URLs.
+	 * If not specified, OAuth callback URLs are generated from the request URI.
+	 * @param applicationUrl the application URL value
+	 * @see org.springframework.social.connect.web.ConnectController#setApplicationUrl(String)
+	 */
+	public void setApplicationUrl(String applicationUrl) {
+		this.applicationUrl = applicationUrl;
+	}
+
+	/**
+	 * Sets the path to connection status views.
+	 * Prepended to provider-specific views (e.g., "connect/facebookConnected") to create the complete view name.
+	 * Defaults to "connect/".
+	 * @param viewPath The path to connection status views.
+	 */
+	public void setViewPath(String viewPath) {
+		this.viewPath = viewPath;
+	}
+
+	/**
+	 * Sets the URL path prefix for connection status redirects.
+	 * @param connectionStatusUrlPath the URL path prefix for connection status redirects.
+	 */
+	public void setConnectionStatusUrlPath(String connectionStatusUrlPath) {
+		this.connectionStatusUrlPath = connectionStatusUrlPath;
+	}
+
+	/**
+	 * Render the status of connections across all providers to the user as HTML in their web browser.
+	 * @param exchange the current exchange
+	 * @param model the model
+	 * @return the view name of the connection status page for all providers
+	 */
+	@RequestMapping(method=RequestMethod.GET)
+	public Mono<String> connectionStatus(ServerWebExchange exchange, Model model) {
+		setNoCache(exchange);
+		return processFlash(exchange, model)
+				.then(connectionRepository(exchange))
+				.flatMap(ReactiveConnectionRepository::findAllConnections)
+				.map(connections -> {
+					model.addAttribute("providerIds", connectionFactoryLocator.registeredProviderIds());
+					model.addAttribute("connectionMap", connections);
+					return connectView();
+				});
+	}
+
+	/**
+	 * Render the status of the connections to the service provider to the user as HTML in their web browser.
+	 * @param providerId the ID of the provider to show connection status
+	 * @param exchange the current exchange
+	 * @param model the model
+	 * @return the view name of the connection status page for the provider
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.GET)
+	public Mono<String> connectionStatus(@PathVariable String providerId, ServerWebExchange exchange, Model model) {
+		setNoCache(exchange);
+		return processFlash(exchange, model)
+				.then(connectionRepository(exchange))
+				.flatMap(connectionRepository -> connectionRepository.findConnections(providerId).collectList())
+				.map(connections -> {
+					if (connections.isEmpty()) {
+						return connectView(providerId);
+					} else {
+						model.addAttribute("connections", connections);
+						return connectedView(providerId);
+					}
+				});
+	}
+
+	/**
+	 * Process a connect form submission by commencing the process of establishing a connection to the provider on behalf of the member.
+	 * For OAuth1, fetches a new request token from the provider, temporarily stores it in the session, then redirects the member to the provider's site for authorization.
+	 * For OAuth2, redirects the user to the provider's site for authorization.
+	 * @param providerId the provider ID to connect to
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the provider's authorization page or to the connection status page if there is an error
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.POST)
+	public Mono<RedirectView> connect(@PathVariable String providerId, ServerWebExchange exchange) {
+		ConnectionFactory<?> connectionFactory = connectionFactoryLocator.getConnectionFactory(providerId);
+		return connectSupport.buildOAuthUrl(connectionFactory, exchange, new LinkedMultiValueMap<String, String>())
+				.map(RedirectView::new)
+				.onErrorResume(e -> setSessionAttribute(exchange, PROVIDER_ERROR_ATTRIBUTE, e)
+						.then(Mono.fromSupplier(() -> connectionStatusRedirect(providerId, exchange))));
+	}
+
+	/**
+	 * Process the authorization callback from an OAuth 1 service provider.
+	 * On authorization verification, connects the user's local account to the account they hold at the service provider.
+	 * Removes the request token from the session since it is no longer valid after the connection is established.
+	 * @param providerId the provider ID to connect to
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the connection status page
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.GET, params="oauth_token")
+	public Mono<RedirectView> oauth1Callback(@PathVariable String providerId, ServerWebExchange exchange) {
+		return Mono.defer(() -> {
+			OAuth1ConnectionFactory<?> connectionFactory = (OAuth1ConnectionFactory<?>) connectionFactoryLocator.getConnectionFactory(providerId);
+			return connectSupport.completeConnection(connectionFactory, exchange);
+		})
+		.flatMap(connection -> addConnection(connection, exchange))
+		.onErrorResume(e -> {
+			logger.warn("Exception while handling OAuth1 callback (" + e.getMessage() + "). Redirecting to " + providerId +" connection status page.");
+			return setSessionAttribute(exchange, PROVIDER_ERROR_ATTRIBUTE, e);
+		})
+		.then(Mono.fromSupplier(() -> connectionStatusRedirect(providerId, exchange)));
+	}
+
+	/**
+	 * Process the authorization callback from an OAuth 2 service provider.
+	 * On authorization verification, connects the user's local account to the account they hold at the service provider.
+	 * @param providerId the provider ID to connect to
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the connection status page
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.GET, params="code")
+	public Mono<RedirectView> oauth2Callback(@PathVariable String providerId, ServerWebExchange exchange) {
+		return Mono.defer(() -> {
+			OAuth2ConnectionFactory<?> connectionFactory = (OAuth2ConnectionFactory<?>) connectionFactoryLocator.getConnectionFactory(providerId);
+			return connectSupport.completeConnection(connectionFactory, exchange);
+		})
+		.flatMap(connection -> addConnection(connection, exchange))
+		.onErrorResume(e -> {
+			logger.warn("Exception while handling OAuth2 callback (" + e.getMessage() + "). Redirecting to " + providerId +" connection status page.");
+			return setSessionAttribute(exchange, PROVIDER_ERROR_ATTRIBUTE, e);
+		})
+		.then(Mono.fromSupplier(() -> connectionStatusRedirect(providerId, exchange)));
+	}
+
+	/**
+	 * Process an error callback from an OAuth 2 authorization as described at https://tools.ietf.org/html/rfc6749#section-4.1.2.1.
+	 * @param providerId the provider ID that the connection was attempted for
+	 * @param error the error parameter sent from the provider
+	 * @param errorDescription the error_description parameter sent from the provider
+	 * @param errorUri the error_uri parameter sent from the provider
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the connection status page
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.GET, params="error")
+	public Mono<RedirectView> oauth2ErrorCallback(@PathVariable String providerId,
+			@RequestParam("error") String error,
+			@RequestParam(value="error_description", required=false) String errorDescription,
+			@RequestParam(value="error_uri", required=false) String errorUri,
+			ServerWebExchange exchange) {
+		Map<String, String> errorMap = new HashMap<String, String>();
+		errorMap.put("error", error);
+		if (errorDescription != null) { errorMap.put("errorDescription", errorDescription); }
+		if (errorUri != null) { errorMap.put("errorUri", errorUri); }
+		return setSessionAttribute(exchange, AUTHORIZATION_ERROR_ATTRIBUTE, errorMap)
+				.then(Mono.fromSupplier(() -> connectionStatusRedirect(providerId, exchange)));
+	}
+
+	/**
+	 * Remove all provider connections for a user account.
+	 * Note: requires a {@link org.springframework.web.filter.reactive.HiddenHttpMethodFilter} to convert web browser POSTs to DELETE requests.
+	 * @param providerId the provider ID to remove the connections for
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the connection status page
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.DELETE)
+	public Mono<RedirectView> removeConnections(@PathVariable String providerId, ServerWebExchange exchange) {
+		return connectionRepository(exchange)
+				.flatMap(connectionRepository -> connectionRepository.removeConnections(providerId))
+				.then(Mono.fromSupplier(() -> connectionStatusRedirect(providerId, exchange)));
+	}
+
+	/**
+	 * Remove a single provider connection associated with a user account.
+	 * Note: requires a {@link org.springframework.web.filter.reactive.HiddenHttpMethodFilter} to convert web browser POSTs to DELETE requests.
+	 * @param providerId the provider ID to remove connections for
+	 * @param providerUserId the user's ID at the provider
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the connection status page
+	 */
+	@RequestMapping(value="/{providerId}/{providerUserId}", method=RequestMethod.DELETE)
+	public Mono<RedirectView> removeConnection(@PathVariable String providerId, @PathVariable String providerUserId, ServerWebExchange exchange) {
+		return connectionRepository(exchange)
+				.flatMap(connectionRepository -> connectionRepository.removeConnection(new ConnectionKey(providerId, providerUserId)))
+				.then(Mono.fromSupplier(() -> connectionStatusRedirect(providerId, exchange)));
+	}
+
+	// subclassing hooks
+
+	/**
+	 * Returns the view name of a general connection status page, typically displaying the user's connection status for all providers.
+	 * Defaults to "connect/status". May be overridden to return a custom view name.
+	 * @return the view name of the connection status page
+	 */
+	protected String connectView() {
+		return viewPath + "status";
+	}
+
+	/**
+	 * Returns the view name of a page to display for a provider when the user is not connected to the provider.
+	 * Defaults to "connect/{providerId}Connect". May be overridden to return a custom view name.
+	 * @param providerId the ID of the provider to display the connection status for.
+	 * @return the view name of a page to display when the user isn't connected to the provider
+	 */
+	protected String connectView(String providerId) {
+		return viewPath + providerId + "Connect";
+	}
+
+	/**
+	 * Returns the view name of a page to display for a provider when the user is connected to the provider.
+	 * Defaults to "connect/{providerId}Connected". May be overridden to return a custom view name.
+	 * @param providerId the ID of the provider to display the connection status for.
+	 * @return the view name of a page to display when the user is connected to the provider
+	 */
+	protected String connectedView(String providerId) {
+		return viewPath + providerId + "Connected";
+	}
+
+	/**
+	 * Returns a RedirectView with the URL to redirect to after a connection is created or deleted.
+	 * Defaults to "/connect/{providerId}" relative to the application's context path.
+	 * May be overridden to handle custom redirection needs.
+	 * @param providerId the ID of the provider for which a connection was created or deleted.
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the page to be displayed after a connection is created or deleted
+	 */
+	protected RedirectView connectionStatusRedirect(String providerId, ServerWebExchange exchange) {
+		return new RedirectView(connectionStatusUrlPath + providerId);
+	}
+
+	// From InitializingBean
+	public void afterPropertiesSet() throws Exception {
+		this.connectSupport = new ReactiveConnectSupport();
+		if (applicationUrl != null) {
+			this.connectSupport.setApplicationUrl(applicationUrl);
+		}
+	}
+
+	// internal helpers
+
+	private Mono<ReactiveConnectionRepository> connectionRepository(ServerWebExchange exchange) {
+		return userIdSource.getUserId(exchange)
+				.switchIfEmpty(Mono.defer(() -> Mono.error(new IllegalStateException("Unable to get a ReactiveConnectionRepository: no user signed in"))))
+				.map(usersConnectionRepository::createConnectionRepository);
+	}
+
+	private Mono<Void> addConnection(Connection<?> connection, ServerWebExchange exchange) {
+		return connectionRepository(exchange)
+				.flatMap(connectionRepository -> connectionRepository.addConnection(connection))
+				.onErrorResume(DuplicateConnectionException.class, e -> setSessionAttribute(exchange, DUPLICATE_CONNECTION_ATTRIBUTE, e));
+	}
+
+	private Mono<Void> setSessionAttribute(ServerWebExchange exchange, String name, Object value) {
+		return exchange.getSession().doOnNext(session -> session.getAttributes().put(name, value)).then();
+	}
+
+	private Mono<Void> processFlash(ServerWebExchange exchange, Model model) {
+		return exchange.getSession().doOnNext(session -> {
+			Map<String, Object> attributes = session.getAttributes();
+			convertSessionAttributeToModelAttribute(DUPLICATE_CONNECTION_ATTRIBUTE, attributes, model);
+			convertSessionAttributeToModelAttribute(PROVIDER_ERROR_ATTRIBUTE, attributes, model);
+			Object authorizationError = attributes.remove(AUTHORIZATION_ERROR_ATTRIBUTE);
+			if (authorizationError != null) {
+				model.addAttribute(AUTHORIZATION_ERROR_ATTRIBUTE, authorizationError);
+			}
+		}).then();
+	}
+
+	private void convertSessionAttributeToModelAttribute(String attributeName, Map<String, Object> sessionAttributes, Model model) {
+		if (sessionAttributes.remove(attributeName) != null) {
+			model.addAttribute(attributeName, Boolean.TRUE);
+		}
+	}
+
+	private void setNoCache(ServerWebExchange exchange) {
+		HttpHeaders headers = exchange.getResponse().getHeaders();
+		headers.set("Pragma", "no-cache");
+		headers.setExpires(1L);
+		headers.set("Cache-Control", "no-cache");
+		headers.add("Cache-Control", "no-store");
+	}
+
+	protected static final String DUPLICATE_CONNECTION_ATTRIBUTE = "social_addConnection_duplicate";
+
+	protected static final String PROVIDER_ERROR_ATTRIBUTE = "social_provider_error";
+
+	protected static final String AUTHORIZATION_ERROR_ATTRIBUTE = "social_authorization_error";
+
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.web.reactive;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionFactory;
+import org.springframework.social.connect.support.OAuth1ConnectionFactory;
+import org.springframework.social.connect.support.OAuth2ConnectionFactory;
+import org.springframework.social.oauth1.AuthorizedRequestToken;
+import org.springframework.social.oauth1.OAuth1Operations;
+import org.springframework.social.oauth1.OAuth1Parameters;
+import org.springframework.social.oauth1.OAuth1Version;
+import org.springframework.social.oauth1.OAuthToken;
+import org.springframework.social.oauth1.ReactiveOAuth1Operations;
+import org.springframework.social.oauth2.AccessGrant;
+import org.springframework.social.oauth2.OAuth2Operations;
+import org.springframework.social.oauth2.OAuth2Parameters;
+import org.springframework.social.oauth2.ReactiveOAuth2Operations;
+import org.springframework.util.Assert;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Provides common connect support and utilities for Spring WebFlux environments.
+ * The reactive counterpart of {@link org.springframework.social.connect.web.ConnectSupport}, keeping the OAuth state in the {@link org.springframework.web.server.WebSession}.
+ * Used by {@link ReactiveConnectController} and {@link ReactiveProviderSignInController}.
+ * Token exchanges go through the connection factory's reactive OAuth operations when it has been given some;
+ * otherwise the blocking OAuth operations run on a {@link #setScheduler(Scheduler) scheduler} meant for blocking work, as does the creation of the connection,
+ * which may fetch the user's profile through the blocking API binding.
+ */
+public class ReactiveConnectSupport {
+
+	private final static Log logger = LogFactory.getLog(ReactiveConnectSupport.class);
+
+	private boolean useAuthenticateUrl;
+
+	private String applicationUrl;
+
+	private String callbackUrl;
+
+	private Scheduler scheduler = Schedulers.elastic();
+
+	/**
+	 * Flag indicating if this instance will support OAuth-based authentication instead of the traditional user authorization.
+	 * Setting this flag to true has {@link #buildOAuthUrl(ConnectionFactory, ServerWebExchange, MultiValueMap) buildOAuthUrl} return the provider's authenticate URL.
+	 * @param useAuthenticateUrl whether to use the authenticate url or not
+	 * @see org.springframework.social.connect.web.ConnectSupport#setUseAuthenticateUrl(boolean)
+	 */
+	public void setUseAuthenticateUrl(boolean useAuthenticateUrl) {
+		this.useAuthenticateUrl = useAuthenticateUrl;
+	}
+
+	/**
+	 * Configures the base secure URL for the application e.g. <code>https://myapp.com</code>. Defaults to null.
+	 * If specified, will be used to generate OAuth callback URLs; if not, they are generated from the request URI.
+	 * @param applicationUrl the application URL value
+	 * @see org.springframework.social.connect.web.ConnectSupport#setApplicationUrl(String)
+	 */
+	public void setApplicationUrl(String applicationUrl) {
+		this.applicationUrl = applicationUrl;
+	}
+
+	/**
+	 * Configures a specific callback URL that is to be used instead of calculating one based on the application URL or current request URL.
+	 * @param callbackUrl the callback URL to send to providers during authorization. Default is null.
+	 */
+	public void setCallbackUrl(String callbackUrl) {
+		this.callbackUrl = callbackUrl;
+	}
+
+	/**
+	 * Sets the scheduler blocking OAuth operations and connection creation run on. Defaults to {@link Schedulers#elastic()}.
+	 * @param scheduler the scheduler for blocking work
+	 */
+	public void setScheduler(Scheduler scheduler) {
+		Assert.notNull(scheduler, "scheduler cannot be null");
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Builds the provider URL to redirect the user to for connection authorization.
+	 * For OAuth1, fetches a request token and stores it in the session; for OAuth2, stores the state parameter in the session.
+	 * @param connectionFactory the service provider's connection factory e.g. FacebookConnectionFactory
+	 * @param exchange the current exchange
+	 * @param additionalParameters parameters to add to the authorization URL.
+	 * @return the URL to redirect the user to for authorization; signals IllegalArgumentException if the connection factory is neither OAuth1 nor OAuth2 based
+	 */
+	public Mono<String> buildOAuthUrl(ConnectionFactory<?> connectionFactory, ServerWebExchange exchange, MultiValueMap<String, String> additionalParameters) {
+		if (connectionFactory instanceof OAuth1ConnectionFactory) {
+			return buildOAuth1Url((OAuth1ConnectionFactory<?>) connectionFactory, exchange, additionalParameters);
+		} else if (connectionFactory instanceof OAuth2ConnectionFactory) {
+			return buildOAuth2Url((OAuth2ConnectionFactory<?>) connectionFactory, exchange, additionalParameters);
+		} else {
+			return Mono.error(new IllegalArgumentException("ConnectionFactory not supported"));
+		}
+	}
+
+	/**
+	 * Complete the connection to the OAuth1 provider.
+	 * @param connectionFactory the service provider's connection factory e.g. FacebookConnectionFactory
+	 * @param exchange the current exchange
+	 * @return a new connection to the service provider
+	 */
+	public Mono<Connection<?>> completeConnection(OAuth1ConnectionFactory<?> connectionFactory, ServerWebExchange exchange) {
+		String verifier = exchange.getRequest().getQueryParams().getFirst("oauth_verifier");
+		return extractCachedRequestToken(exchange)
+				.flatMap(requestToken -> exchangeForAccessToken(connectionFactory, new AuthorizedRequestToken(requestToken, verifier)))
+				.flatMap(accessToken -> Mono.<Connection<?>>fromCallable(() -> connectionFactory.createConnection(accessToken)).subscribeOn(scheduler));
+	}
+
+	/**
+	 * Complete the connection to the OAuth2 provider.
+	 * @param connectionFactory the service provider's connection factory e.g. FacebookConnectionFactory
+	 * @param exchange the current exchange
+	 * @return a new connection to the service provider
+	 */
+	public Mono<Connection<?>> completeConnection(OAuth2ConnectionFactory<?> connectionFactory, ServerWebExchange exchange) {
+		Mono<Void> stateVerification = connectionFactory.supportsStateParameter() ? verifyStateParameter(exchange) : Mono.empty();
+		String code = exchange.getRequest().getQueryParams().getFirst("code");
+		return stateVerification
+				.then(Mono.defer(() -> exchangeForAccess(connectionFactory, code, callbackUrl(exchange))))
+				.doOnError(HttpClientErrorException.class, e -> {
+					logger.warn("HttpClientErrorException while completing connection: " + e.getMessage());
+					logger.warn("      Response body: " + e.getResponseBodyAsString());
+				})
+				.flatMap(accessGrant -> Mono.<Connection<?>>fromCallable(() -> connectionFactory.createConnection(accessGrant)).subscribeOn(scheduler));
+	}
+
+	protected String callbackUrl(ServerWebExchange exchange) {
+		if (callbackUrl != null) {
+			return callbackUrl;
+		}
+		if (applicationUrl != null) {
+			return applicationUrl + exchange.getRequest().getPath().pathWithinApplication().value();
+		} else {
+			return UriComponentsBuilder.fromUri(exchange.getRequest().getURI()).replaceQuery(null).fragment(null).build().toUriString();
+		}
+	}
+
+	// internal helpers
+
+	private Mono<String> buildOAuth1Url(OAuth1ConnectionFactory<?> connectionFactory, ServerWebExchange exchange, MultiValueMap<String, String> additionalParameters) {
+		return getRequestParameters(exchange).flatMap(requestParameters -> {
+			OAuth1Version version = getVersion(connectionFactory);
+			OAuth1Parameters parameters = new OAuth1Parameters(additionalParameters);
+			parameters.putAll(requestParameters);
+			if (version == OAuth1Version.CORE_10) {
+				parameters.setCallbackUrl(callbackUrl(exchange));
+			}
+			String requestTokenCallbackUrl = version == OAuth1Version.CORE_10_REVISION_A ? callbackUrl(exchange) : null;
+			return fetchRequestToken(connectionFactory, requestTokenCallbackUrl, requestParameters)
+					.flatMap(requestToken -> exchange.getSession().map(session -> {
+						session.getAttributes().put(OAUTH_TOKEN_ATTRIBUTE, requestToken);
+						return buildOAuth1Url(connectionFactory, requestToken.getValue(), parameters);
+					}));
+		});
+	}
+
+	private String buildOAuth1Url(OAuth1ConnectionFactory<?> connectionFactory, String requestToken, OAuth1Parameters parameters) {
+		ReactiveOAuth1Operations reactiveOperations = connectionFactory.getReactiveOAuthOperations();
+		if (reactiveOperations != null) {
+			return useAuthenticateUrl ? reactiveOperations.buildAuthenticateUrl(requestToken, parameters) : reactiveOperations.buildAuthorizeUrl(requestToken, parameters);
+		}
+		OAuth1Operations oauthOperations = connectionFactory.getOAuthOperations();
+		return useAuthenticateUrl ? oauthOperations.buildAuthenticateUrl(requestToken, parameters) : oauthOperations.buildAuthorizeUrl(requestToken, parameters);
+	}
+
+	private OAuth1Version getVersion(OAuth1ConnectionFactory<?> connectionFactory) {
+		ReactiveOAuth1Operations reactiveOperations = connectionFactory.getReactiveOAuthOperations();
+		return reactiveOperations != null ? reactiveOperations.getVersion() : connectionFactory.getOAuthOperations().getVersion();
+	}
+
+	private Mono<OAuthToken> fetchRequestToken(OAuth1ConnectionFactory<?> connectionFactory, String callbackUrl, MultiValueMap<String, String> requestParameters) {
+		ReactiveOAuth1Operations reactiveOperations = connectionFactory.getReactiveOAuthOperations();
+		if (reactiveOperations != null) {
+			return reactiveOperations.fetchRequestToken(callbackUrl, requestParameters);
+		}
+		return Mono.fromCallable(() -> connectionFactory.getOAuthOperations().fetchRequestToken(callbackUrl, requestParameters)).subscribeOn(scheduler);
+	}
+
+	private Mono<OAuthToken> exchangeForAccessToken(OAuth1ConnectionFactory<?> connectionFactory, AuthorizedRequestToken requestToken) {
+		ReactiveOAuth1Operations reactiveOperations = connectionFactory.getReactiveOAuthOperations();
+		if (reactiveOperations != null) {
+			return reactiveOperations.exchangeForAccessToken(requestToken, null);
+		}
+		return Mono.fromCallable(() -> connectionFactory.getOAuthOperations().exchangeForAccessToken(requestToken, null)).subscribeOn(scheduler);
+	}
+
+	private Mono<String> buildOAuth2Url(OAuth2ConnectionFactory<?> connectionFactory, ServerWebExchange exchange, MultiValueMap<String, String> additionalParameters) {
+		return getRequestParameters(exchange).flatMap(requestParameters -> {
+			OAuth2Parameters parameters = new OAuth2Parameters(additionalParameters);
+			for (Map.Entry<String, List<String>> entry : requestParameters.entrySet()) {
+				if (!entry.getKey().equals("scope")) {
+					parameters.put(entry.getKey(), entry.getValue());
+				}
+			}
+			parameters.setRedirectUri(callbackUrl(exchange));
+			String scope = requestParameters.getFirst("scope");
+			if (scope != null) {
+				parameters.setScope(scope);
+			} else if (connectionFactory.getScope() != null) {
+				parameters.setScope(connectionFactory.getScope());
+			}
+			String state = connectionFactory.generateState();
+			parameters.add("state", state);
+			return exchange.getSession().map(session -> {
+				session.getAttributes().put(OAUTH2_STATE_ATTRIBUTE, state);
+				return buildOAuth2Url(connectionFactory, parameters);
+			});
+		});
+	}
+
+	private String buildOAuth2Url(OAuth2ConnectionFactory<?> connectionFactory, OAuth2Parameters parameters) {
+		ReactiveOAuth2Operations reactiveOperations = connectionFactory.getReactiveOAuthOperations();
+		if (reactiveOperations != null) {
+			return useAuthenticateUrl ? reactiveOperations.buildAuthenticateUrl(parameters) : reactiveOperations.buildAuthorizeUrl(parameters);
+		}
+		OAuth2Operations oauthOperations = connectionFactory.getOAuthOperations();
+		return useAuthenticateUrl ? oauthOperations.buildAuthenticateUrl(parameters) : oauthOperations.buildAuthorizeUrl(parameters);
+	}
+
+	private Mono<AccessGrant> exchangeForAccess(OAuth2ConnectionFactory<?> connectionFactory, String code, String redirectUri) {
+		ReactiveOAuth2Operations reactiveOperations = connectionFactory.getReactiveOAuthOperations();
+		if (reactiveOperations != null) {
+			return reactiveOperations.exchangeForAccess(code, redirectUri, null);
+		}
+		return Mono.fromCallable(() -> connectionFactory.getOAuthOperations().exchangeForAccess(code, redirectUri, null)).subscribeOn(scheduler);
+	}
+
+	private Mono<Void> verifyStateParameter(ServerWebExchange exchange) {
+		String state = exchange.getRequest().getQueryParams().getFirst("state");
+		return exchange.getSession().flatMap(session -> {
+			Object originalState = session.getAttributes().remove(OAUTH2_STATE_ATTRIBUTE);
+			if (state == null || !state.equals(originalState)) {
+				return Mono.error(new IllegalStateException("The OAuth2 'state' parameter is missing or doesn't match."));
+			}
+			return Mono.empty();
+		});
+	}
+
+	private Mono<OAuthToken> extractCachedRequestToken(ServerWebExchange exchange) {
+		return exchange.getSession().flatMap(session -> {
+			OAuthToken requestToken = (OAuthToken) session.getAttributes().remove(OAUTH_TOKEN_ATTRIBUTE);
+			if (requestToken == null) {
+				return Mono.error(new IllegalStateException("No OAuth request token in the session."));
+			}
+			return Mono.just(requestToken);
+		});
+	}
+
+	private Mono<MultiValueMap<String, String>> getRequestParameters(ServerWebExchange exchange) {
+		// the request parameters of a servlet request include both the query and the form parameters
+		return exchange.getFormData().map(formData -> {
+			MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+			parameters.addAll(exchange.getRequest().getQueryParams());
+			parameters.addAll(formData);
+			return parameters;
+		});
+	}
+
+	private static final String OAUTH_TOKEN_ATTRIBUTE = "oauthToken";
+
+	private static final String OAUTH2_STATE_ATTRIBUTE = "oauth2State";
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.web.reactive;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionFactory;
+import org.springframework.social.connect.ConnectionFactoryLocator;
+import org.springframework.social.connect.ReactiveUsersConnectionRepository;
+import org.springframework.social.connect.support.OAuth1ConnectionFactory;
+import org.springframework.social.connect.support.OAuth2ConnectionFactory;
+import org.springframework.social.connect.web.ProviderSignInAttempt;
+import org.springframework.social.support.URIBuilder;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.reactive.result.view.RedirectView;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring WebFlux Controller for handling the provider user sign-in flow.
+ * Covers the same requests as the Spring MVC {@link org.springframework.social.connect.web.ProviderSignInController}:
+ * <ul>
+ * <li>POST /signin/{providerId}  - Initiate user sign-in with {providerId}.</li>
+ * <li>GET /signin/{providerId}?oauth_token&amp;oauth_verifier||code - Receive {providerId} authentication callback and establish the connection.</li>
+ * </ul>
+ * A {@link ProviderSignInAttempt} is left in the {@link org.springframework.web.server.WebSession} when no local user is associated with the provider user.
+ */
+@Controller
+@RequestMapping("/signin")
+public class ReactiveProviderSignInController implements InitializingBean {
+
+	private final static Log logger = LogFactory.getLog(ReactiveProviderSignInController.class);
+
+	private final ConnectionFactoryLocator connectionFactoryLocator;
+
+	private final ReactiveUsersConnectionRepository usersConnectionRepository;
+
+	private final ReactiveSignInAdapter signInAdapter;
+
+	private String applicationUrl;
+
+	private String signInUrl = "/signin";
+
+	private String signUpUrl = "/signup";
+
+	private String postSignInUrl = "/";
+
+	private ReactiveConnectSupport connectSupport;
+
+	/**
+	 * Creates a new reactive provider sign-in controller.
+	 * @param connectionFactoryLocator the locator of {@link ConnectionFactory connection factories} used to support provider sign-in.
+	 * @param usersConnectionRepository the global store for service provider connections across all users.
+	 * @param signInAdapter handles user sign-in
+	 */
+	public ReactiveProviderSignInController(ConnectionFactoryLocator connectionFactoryLocator, ReactiveUsersConnectionRepository usersConnectionRepository, ReactiveSignInAdapter signInAdapter) {
+		this.connectionFactoryLocator = connectionFactoryLocator;
+		this.usersConnectionRepository = usersConnectionRepository;
+		this.signInAdapter = signInAdapter;
+	}
+
+	/**
+	 * Sets the URL of the application's sign in page.
+	 * Defaults to "/signin".
+	 * @param signInUrl the signIn URL
+	 */
+	public void setSignInUrl(String signInUrl) {
+		this.signInUrl = signInUrl;
+	}
+
+	/**
+	 * Sets the URL to redirect the user to if no local user account can be mapped when signing in using a provider.
+	 * Defaults to "/signup".
+	 * @param signUpUrl the signUp URL
+	 */
+	public void setSignUpUrl(String signUpUrl) {
+		this.signUpUrl = signUpUrl;
+	}
+
+	/**
+	 * Sets the default URL to redirect the user to after signing in using a provider.
+	 * Defaults to "/".
+	 * @param postSignInUrl the postSignIn URL
+	 */
+	public void setPostSignInUrl(String postSignInUrl) {
+		this.postSignInUrl = postSignInUrl;
+	}
+
+	/**
+	 * Configures the base secure URL for the application this controller is being used in e.g. <code>https://myapp.com</code>. Defaults to null.
+	 * If specified, will be used to generate OAuth callback URLs.
+	 * If not specified, OAuth callback URLs are generated from the request URI.
+	 * @param applicationUrl the application URL value
+	 * @see org.springframework.social.connect.web.ProviderSignInController#setApplicationUrl(String)
+	 */
+	public void setApplicationUrl(String applicationUrl) {
+		this.applicationUrl = applicationUrl;
+	}
+
+	/**
+	 * Process a sign-in form submission by commencing the process of establishing a connection to the provider on behalf of the user.
+	 * For OAuth1, fetches a new request token from the provider, temporarily stores it in the session, then redirects the user to the provider's site for authentication authorization.
+	 * For OAuth2, redirects the user to the provider's site for authentication authorization.
+	 * @param providerId the provider ID to authorize against
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the provider's authorization page or to the application's signin page if there is an error
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.POST)
+	public Mono<RedirectView> signIn(@PathVariable String providerId, ServerWebExchange exchange) {
+		return Mono.defer(() -> {
+			ConnectionFactory<?> connectionFactory = connectionFactoryLocator.getConnectionFactory(providerId);
+			return connectSupport.buildOAuthUrl(connectionFactory, exchange, new LinkedMultiValueMap<String, String>());
+		})
+		.map(RedirectView::new)
+		.onErrorResume(e -> {
+			logger.error("Exception while building authorization URL: ", e);
+			return Mono.just(redirect(URIBuilder.fromUri(signInUrl).queryParam("error", "provider").build().toString()));
+		});
+	}
+
+	/**
+	 * Process the authentication callback from an OAuth 1 service provider.
+	 * Signs the local user associated with the connected provider account in by delegating to {@link ReactiveSignInAdapter#signIn(String, Connection, ServerWebExchange)},
+	 * or redirects to the signup page with a {@link ProviderSignInAttempt} exposed in the WebSession if there is no such user.
+	 * @param providerId the provider ID to authorize against
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the target page or the signInUrl if an error occurs
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.GET, params="oauth_token")
+	public Mono<RedirectView> oauth1Callback(@PathVariable String providerId, ServerWebExchange exchange) {
+		return Mono.defer(() -> {
+			OAuth1ConnectionFactory<?> connectionFactory = (OAuth1ConnectionFactory<?>) connectionFactoryLocator.getConnectionFactory(providerId);
+			return connectSupport.completeConnection(connectionFactory, exchange);
+		})
+		.flatMap(connection -> handleSignIn(connection, exchange))
+		.onErrorResume(e -> {
+			logger.error("Exception while completing OAuth 1.0(a) connection: ", e);
+			return Mono.just(redirect(URIBuilder.fromUri(signInUrl).queryParam("error", "provider").build().toString()));
+		});
+	}
+
+	/**
+	 * Process the authentication callback from an OAuth 2 service provider.
+	 * Signs the local user associated with the connected provider account in by delegating to {@link ReactiveSignInAdapter#signIn(String, Connection, ServerWebExchange)},
+	 * or redirects to the signup page with a {@link ProviderSignInAttempt} exposed in the WebSession if there is no such user.
+	 * @param providerId the provider ID to authorize against
+	 * @param code the OAuth 2 authorization code
+	 * @param exchange the current exchange
+	 * @return a RedirectView to the target page or the signInUrl if an error occurs
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.GET, params="code")
+	public Mono<RedirectView> oauth2Callback(@PathVariable String providerId, @RequestParam("code") String code, ServerWebExchange exchange) {
+		return Mono.defer(() -> {
+			OAuth2ConnectionFactory<?> connectionFactory = (OAuth2ConnectionFactory<?>) connectionFactoryLocator.getConnectionFactory(providerId);
+			return connectSupport.completeConnection(connectionFactory, exchange);
+		})
+		.flatMap(connection -> handleSignIn(connection, exchange))
+		.onErrorResume(e -> {
+			logger.error("Exception while completing OAuth 2 connection: ", e);
+			return Mono.just(redirect(URIBuilder.fromUri(signInUrl).queryParam("error", "provider").build().toString()));
+		});
+	}
+
+	/**
+	 * Process an error callback from an OAuth 2 authorization as described at https://tools.ietf.org/html/rfc6749#section-4.1.2.1.
+	 * Simply carries the error parameters through to the sign-in page.
+	 * @param providerId The Provider ID
+	 * @param error An error parameter sent on the redirect from the provider
+	 * @param errorDescription An optional error description sent from the provider
+	 * @param errorUri An optional error URI sent from the provider
+	 * @return a RedirectView to the signInUrl
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.GET, params="error")
+	public RedirectView oauth2ErrorCallback(@PathVariable String providerId,
+			@RequestParam("error") String error,
+			@RequestParam(value="error_description", required=false) String errorDescription,
+			@RequestParam(value="error_uri", required=false) String errorUri) {
+		logger.warn("Error during authorization: " + error);
+		URIBuilder uriBuilder = URIBuilder.fromUri(signInUrl).queryParam("error", error);
+		if (errorDescription != null ) { uriBuilder.queryParam("error_description", errorDescription); }
+		if (errorUri != null ) { uriBuilder.queryParam("error_uri", errorUri); }
+		return redirect(uriBuilder.build().toString());
+	}
+
+	/**
+	 * Process the authentication callback when neither the oauth_token or code parameter is given, likely indicating that the user denied authorization with the provider.
+	 * Redirects to application's sign in URL, as set in the signInUrl property.
+	 * @return A RedirectView to the sign in URL
+	 */
+	@RequestMapping(value="/{providerId}", method=RequestMethod.GET)
+	public RedirectView canceledAuthorizationCallback() {
+		return redirect(signInUrl);
+	}
+
+	// From InitializingBean
+	public void afterPropertiesSet() throws Exception {
+		this.connectSupport = new ReactiveConnectSupport();
+		this.connectSupport.setUseAuthenticateUrl(true);
+		if (this.applicationUrl != null) {
+			this.connectSupport.setApplicationUrl(applicationUrl);
+		}
+	}
+
+	// internal helpers
+
+	private Mono<RedirectView> handleSignIn(Connection<?> connection, ServerWebExchange exchange) {
+		return usersConnectionRepository.findUserIdsWithConnection(connection).collectList().flatMap(userIds -> {
+			if (userIds.size() == 0) {
+				return exchange.getSession().map(session -> {
+					session.getAttributes().put(ProviderSignInAttempt.SESSION_ATTRIBUTE, new ProviderSignInAttempt(connection));
+					return redirect(signUpUrl);
+				});
+			} else if (userIds.size() == 1) {
+				String userId = userIds.get(0);
+				return usersConnectionRepository.createConnectionRepository(userId).updateConnection(connection)
+						.then(Mono.defer(() -> signInAdapter.signIn(userId, connection, exchange)))
+						.map(this::redirect)
+						.defaultIfEmpty(redirect(postSignInUrl));
+			} else {
+				return Mono.just(redirect(URIBuilder.fromUri(signInUrl).queryParam("error", "multiple_users").build().toString()));
+			}
+		});
+	}
+
+	private RedirectView redirect(String url) {
+		return new RedirectView(url);
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.web.reactive;
+
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionFactoryLocator;
+import org.springframework.social.connect.DuplicateConnectionException;
+import org.springframework.social.connect.ReactiveUsersConnectionRepository;
+import org.springframework.social.connect.web.ProviderSignInAttempt;
+import org.springframework.web.server.WebSession;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Helper methods that support provider user sign-in scenarios in Spring WebFlux applications.
+ * The reactive counterpart of {@link org.springframework.social.connect.web.ProviderSignInUtils},
+ * working with the {@link ProviderSignInAttempt} {@link ReactiveProviderSignInController} leaves in the {@link WebSession}.
+ */
+public class ReactiveProviderSignInUtils {
+
+	private final ConnectionFactoryLocator connectionFactoryLocator;
+
+	private final ReactiveUsersConnectionRepository usersConnectionRepository;
+
+	public ReactiveProviderSignInUtils(ConnectionFactoryLocator connectionFactoryLocator, ReactiveUsersConnectionRepository usersConnectionRepository) {
+		this.connectionFactoryLocator = connectionFactoryLocator;
+		this.usersConnectionRepository = usersConnectionRepository;
+	}
+
+	/**
+	 * Get the connection to the provider user the client attempted to sign-in as.
+	 * Using this connection you may fetch a {@link Connection#fetchUserProfile() provider user profile} and use that to pre-populate a local user registration/signup form.
+	 * Must be called before doPostSignUp() or else the sign-in attempt will have been cleared from the session.
+	 * @param session the current user session, holding the sign-in attempt
+	 * @return the connection, or an empty Mono if no provider sign-in has been attempted for the current user session
+	 */
+	public Mono<Connection<?>> getConnectionFromSession(WebSession session) {
+		return Mono.justOrEmpty(getProviderUserSignInAttempt(session)).map(signInAttempt -> signInAttempt.getConnection(connectionFactoryLocator));
+	}
+
+	/**
+	 * Add the connection to the provider user the client attempted to sign-in with to the new local user's set of connections.
+	 * Should be called after signing-up a new user in the context of a provider sign-in attempt.
+	 * Ensures provider sign-in attempt session context is cleaned up once the connection is added.
+	 * Does nothing if no provider sign-in was attempted for the current user session (is safe to call in that case).
+	 * @param userId the local application's user ID
+	 * @param session the current user session, holding the sign-in attempt
+	 * @return completes once the connection is added; signals {@link DuplicateConnectionException} if the user already has this connection
+	 */
+	public Mono<Void> doPostSignUp(String userId, WebSession session) {
+		return getConnectionFromSession(session)
+				.flatMap(connection -> usersConnectionRepository.createConnectionRepository(userId).addConnection(connection))
+				.then(Mono.fromRunnable(() -> session.getAttributes().remove(ProviderSignInAttempt.SESSION_ATTRIBUTE)));
+	}
+
+	// internal helpers
+
+	private ProviderSignInAttempt getProviderUserSignInAttempt(WebSession session) {
+		return (ProviderSignInAttempt) session.getAttributes().get(ProviderSignInAttempt.SESSION_ATTRIBUTE);
+	}
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.web.reactive;
+
+import org.springframework.social.connect.Connection;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Signs a user in to the application after a successful provider sign-in with {@link ReactiveProviderSignInController}.
+ * The reactive counterpart of {@link org.springframework.social.connect.web.SignInAdapter}.
+ */
+public interface ReactiveSignInAdapter {
+
+	/**
+	 * Complete a provider sign-in attempt by signing in the local user account with the specified id.
+	 * @param localUserId the local user id
+	 * @param connection the connection
+	 * @param exchange the current exchange, for access to the session
+	 * @return the URL that ReactiveProviderSignInController should redirect to after sign in, or an empty Mono to redirect to its postSignInUrl
+	 */
+	Mono<String> signIn(String localUserId, Connection<?> connection, ServerWebExchange exchange);
+
+}
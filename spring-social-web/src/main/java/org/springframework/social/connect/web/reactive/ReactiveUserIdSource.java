@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.web.reactive;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Strategy interface used by {@link ReactiveConnectController} to determine the local user the connections of an exchange belong to.
+ * The reactive counterpart of {@link org.springframework.social.UserIdSource}, which relies on thread-bound state WebFlux applications don't have.
+ */
+public interface ReactiveUserIdSource {
+
+	/**
+	 * Resolves the id of the local user making the request.
+	 * @param exchange the current exchange
+	 * @return the user id, or an empty Mono if no user is signed in
+	 */
+	Mono<String> getUserId(ServerWebExchange exchange);
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Spring WebFlux Controllers for controlling ServiceProvider connect and sign-in operations.
+ */
+package org.springframework.social.connect.web.reactive;
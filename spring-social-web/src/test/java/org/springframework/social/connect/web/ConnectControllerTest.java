@@ -101,6 +101,40 @@ public class ConnectControllerTest {
 			.andExpect(request().attribute("social.provider.error", nullValue()));
 	}
 
+	@Test
+	public void connectionStatus_paged() throws Exception {
+		ConnectionFactoryRegistry connectionFactoryLocator = new ConnectionFactoryRegistry();
+		ConnectionFactory<TestApi2> connectionFactory = new StubOAuth2ConnectionFactory("clientId", "clientSecret", THROW_EXCEPTION);
+		connectionFactoryLocator.addConnectionFactory(connectionFactory);
+		StubConnectionRepository connectionRepository = new StubConnectionRepository();
+		for (int i = 1; i <= 3; i++) {
+			connectionRepository.addConnection(connectionFactory.createConnection(new ConnectionData("oauth2Provider", "provider2User" + i, null, null, null, null, null, null, null)));
+		}
+		ConnectController connectController = new ConnectController(connectionFactoryLocator, connectionRepository);
+		connectController.setConnectionsPageSize(2);
+		MockMvc mockMvc = standaloneSetup(connectController).build();
+
+		mockMvc.perform(get("/connect/oauth2Provider"))
+			.andExpect(view().name("connect/oauth2ProviderConnected"))
+			.andExpect(model().attribute("connections", hasSize(2)))
+			.andExpect(model().attribute("nextRank", 2));
+		mockMvc.perform(get("/connect/oauth2Provider").param("afterRank", "2"))
+			.andExpect(view().name("connect/oauth2ProviderConnected"))
+			.andExpect(model().attribute("connections", hasSize(1)))
+			.andExpect(model().attributeDoesNotExist("nextRank"));
+	}
+
+	@Test
+	public void connectionStatus_negativeAfterRank() throws Exception {
+		ConnectionFactoryRegistry connectionFactoryLocator = new ConnectionFactoryRegistry();
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth2ConnectionFactory("clientId", "clientSecret", THROW_EXCEPTION));
+		ConnectController connectController = new ConnectController(connectionFactoryLocator, new StubConnectionRepository());
+		connectController.setConnectionsPageSize(2);
+		MockMvc mockMvc = standaloneSetup(connectController).build();
+		mockMvc.perform(get("/connect/oauth2Provider").param("afterRank", "-1"))
+			.andExpect(status().isBadRequest());
+	}
+
 	@Test
 	public void connectionStatus_withErrorsInFlashScope() throws Exception {
 		ConnectionFactoryRegistry connectionFactoryLocator = new ConnectionFactoryRegistry();
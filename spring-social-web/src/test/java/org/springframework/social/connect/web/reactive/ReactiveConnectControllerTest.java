@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.web.reactive;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.social.connect.web.test.StubOAuthTemplateBehavior.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.ConnectionData;
+import org.springframework.social.connect.ConnectionRepository;
+import org.springframework.social.connect.mem.InMemoryUsersConnectionRepository;
+import org.springframework.social.connect.support.ConnectionFactoryRegistry;
+import org.springframework.social.connect.support.OAuth2ConnectionFactory;
+import org.springframework.social.connect.support.ReactiveUsersConnectionRepositoryAdapter;
+import org.springframework.social.connect.web.test.StubOAuth1ConnectionFactory;
+import org.springframework.social.connect.web.test.StubOAuth2ConnectionFactory;
+import org.springframework.social.oauth1.OAuthToken;
+import org.springframework.social.oauth2.AccessGrant;
+import org.springframework.social.oauth2.ReactiveOAuth2Operations;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.result.view.View;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebSession;
+import org.springframework.web.server.session.InMemoryWebSessionStore;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+public class ReactiveConnectControllerTest {
+
+	private ConnectionFactoryRegistry connectionFactoryLocator;
+
+	private ConnectionRepository connectionRepository;
+
+	private ReactiveConnectController connectController;
+
+	private WebSession session;
+
+	private Map<String, ?> renderedModel;
+
+	@Before
+	public void setUp() {
+		connectionFactoryLocator = new ConnectionFactoryRegistry();
+		InMemoryUsersConnectionRepository usersConnectionRepository = new InMemoryUsersConnectionRepository(connectionFactoryLocator);
+		connectionRepository = usersConnectionRepository.createConnectionRepository("kdonald");
+		connectController = new ReactiveConnectController(connectionFactoryLocator, new ReactiveUsersConnectionRepositoryAdapter(usersConnectionRepository, Schedulers.immediate()));
+		connectController.setUserIdSource(exchange -> Mono.just("kdonald"));
+		session = new InMemoryWebSessionStore().createWebSession().block();
+	}
+
+	@Test
+	public void connectionStatus() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth1ConnectionFactory("clientId", "clientSecret"));
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth2ConnectionFactory("clientId", "clientSecret"));
+		session.getAttributes().put(ReactiveConnectController.PROVIDER_ERROR_ATTRIBUTE, new IllegalStateException());
+		webTestClient().get().uri("/connect").exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueEquals("View", "connect/status")
+			.expectHeader().valueEquals("Cache-Control", "no-cache", "no-store");
+		assertEquals(Boolean.TRUE, renderedModel.get(ReactiveConnectController.PROVIDER_ERROR_ATTRIBUTE));
+		assertFalse(session.getAttributes().containsKey(ReactiveConnectController.PROVIDER_ERROR_ATTRIBUTE));
+		assertNotNull(renderedModel.get("connectionMap"));
+	}
+
+	@Test
+	public void connectionStatus_providerId() throws Exception {
+		StubOAuth2ConnectionFactory connectionFactory = new StubOAuth2ConnectionFactory("clientId", "clientSecret");
+		connectionFactoryLocator.addConnectionFactory(connectionFactory);
+		webTestClient().get().uri("/connect/oauth2Provider").exchange()
+			.expectHeader().valueEquals("View", "connect/oauth2ProviderConnect");
+		connectionRepository.addConnection(connectionFactory.createConnection(new ConnectionData("oauth2Provider", "provider2User1", null, null, null, null, null, null, null)));
+		webTestClient().get().uri("/connect/oauth2Provider").exchange()
+			.expectHeader().valueEquals("View", "connect/oauth2ProviderConnected");
+		assertEquals(1, ((List<?>) renderedModel.get("connections")).size());
+	}
+
+	@Test
+	public void connect_OAuth1Provider() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth1ConnectionFactory("clientId", "clientSecret"));
+		webTestClient().post().uri("/connect/oauth1Provider").exchange()
+			.expectStatus().isSeeOther()
+			.expectHeader().valueEquals("Location", "https://someprovider.com/oauth/authorize?oauth_token=requestToken");
+		OAuthToken requestToken = (OAuthToken) session.getAttributes().get("oauthToken");
+		assertEquals("requestToken", requestToken.getValue());
+		assertEquals("requestTokenSecret", requestToken.getSecret());
+	}
+
+	@Test
+	public void connect_OAuth1Provider_exceptionWhileFetchingRequestToken() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth1ConnectionFactory("clientId", "clientSecret", THROW_EXCEPTION));
+		webTestClient().post().uri("/connect/oauth1Provider").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth1Provider");
+		assertNotNull(session.getAttributes().get(ReactiveConnectController.PROVIDER_ERROR_ATTRIBUTE));
+	}
+
+	@Test
+	public void connect_OAuth2Provider() throws Exception {
+		OAuth2ConnectionFactory<?> connectionFactory = new StubOAuth2ConnectionFactory("clientId", "clientSecret");
+		connectionFactory.setScope("read,write");
+		connectionFactoryLocator.addConnectionFactory(connectionFactory);
+		webTestClient().post().uri("/connect/oauth2Provider").contentType(MediaType.APPLICATION_FORM_URLENCODED).syncBody("display=popup").exchange()
+			.expectHeader().valueEquals("Location", "https://someprovider.com/oauth/authorize?client_id=clientId&response_type=code" +
+					"&display=popup&redirect_uri=http%3A%2F%2Flocalhost%2Fconnect%2Foauth2Provider&scope=read%2Cwrite&state=STATE");
+		assertEquals("STATE", session.getAttributes().get("oauth2State"));
+	}
+
+	@Test
+	public void oauth1Callback() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth1ConnectionFactory("clientId", "clientSecret"));
+		session.getAttributes().put("oauthToken", new OAuthToken("requestToken", "requestTokenSecret"));
+		webTestClient().get().uri("/connect/oauth1Provider?oauth_token=requestToken&oauth_verifier=verifier").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth1Provider");
+		List<Connection<?>> connections = connectionRepository.findConnections("oauth1Provider");
+		assertEquals(1, connections.size());
+		assertEquals("accessToken", connections.get(0).createData().getAccessToken());
+		assertFalse(session.getAttributes().containsKey("oauthToken"));
+	}
+
+	@Test
+	public void oauth1Callback_exceptionWhileFetchingAccessToken() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth1ConnectionFactory("clientId", "clientSecret", THROW_EXCEPTION));
+		session.getAttributes().put("oauthToken", new OAuthToken("requestToken", "requestTokenSecret"));
+		webTestClient().get().uri("/connect/oauth1Provider?oauth_token=requestToken&oauth_verifier=verifier").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth1Provider");
+		assertTrue(connectionRepository.findConnections("oauth1Provider").isEmpty());
+		assertNotNull(session.getAttributes().get(ReactiveConnectController.PROVIDER_ERROR_ATTRIBUTE));
+	}
+
+	@Test
+	public void oauth2Callback() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth2ConnectionFactory("clientId", "clientSecret"));
+		session.getAttributes().put("oauth2State", "STATE");
+		webTestClient().get().uri("/connect/oauth2Provider?code=oauth2Code&state=STATE").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth2Provider");
+		List<Connection<?>> connections = connectionRepository.findConnections("oauth2Provider");
+		assertEquals(1, connections.size());
+		assertEquals("accessToken", connections.get(0).createData().getAccessToken());
+	}
+
+	@Test
+	public void oauth2Callback_reactiveOAuthOperations() throws Exception {
+		OAuth2ConnectionFactory<?> connectionFactory = new StubOAuth2ConnectionFactory("clientId", "clientSecret", THROW_EXCEPTION);
+		ReactiveOAuth2Operations reactiveOAuthOperations = mock(ReactiveOAuth2Operations.class);
+		when(reactiveOAuthOperations.exchangeForAccess(eq("oauth2Code"), eq("http://localhost/connect/oauth2Provider"), isNull())).thenReturn(Mono.just(new AccessGrant("reactiveAccessToken")));
+		connectionFactory.setReactiveOAuthOperations(reactiveOAuthOperations);
+		connectionFactoryLocator.addConnectionFactory(connectionFactory);
+		session.getAttributes().put("oauth2State", "STATE");
+		webTestClient().get().uri("/connect/oauth2Provider?code=oauth2Code&state=STATE").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth2Provider");
+		List<Connection<?>> connections = connectionRepository.findConnections("oauth2Provider");
+		assertEquals(1, connections.size());
+		assertEquals("reactiveAccessToken", connections.get(0).createData().getAccessToken());
+	}
+
+	@Test
+	public void oauth2Callback_stateMismatch() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth2ConnectionFactory("clientId", "clientSecret"));
+		session.getAttributes().put("oauth2State", "STATE");
+		webTestClient().get().uri("/connect/oauth2Provider?code=oauth2Code&state=OTHER").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth2Provider");
+		assertTrue(connectionRepository.findConnections("oauth2Provider").isEmpty());
+		assertNotNull(session.getAttributes().get(ReactiveConnectController.PROVIDER_ERROR_ATTRIBUTE));
+	}
+
+	@Test
+	public void oauth2Callback_duplicateConnection() throws Exception {
+		StubOAuth2ConnectionFactory connectionFactory = new StubOAuth2ConnectionFactory("clientId", "clientSecret");
+		connectionFactoryLocator.addConnectionFactory(connectionFactory);
+		connectionRepository.addConnection(connectionFactory.createConnection(new AccessGrant("accessToken")));
+		session.getAttributes().put("oauth2State", "STATE");
+		webTestClient().get().uri("/connect/oauth2Provider?code=oauth2Code&state=STATE").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth2Provider");
+		assertNotNull(session.getAttributes().get(ReactiveConnectController.DUPLICATE_CONNECTION_ATTRIBUTE));
+	}
+
+	@Test
+	public void oauth2ErrorCallback() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth2ConnectionFactory("clientId", "clientSecret"));
+		webTestClient().get().uri("/connect/oauth2Provider?error=access_denied&error_description=Access+denied").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth2Provider");
+		@SuppressWarnings("unchecked")
+		Map<String, String> errorMap = (Map<String, String>) session.getAttributes().get(ReactiveConnectController.AUTHORIZATION_ERROR_ATTRIBUTE);
+		assertEquals("access_denied", errorMap.get("error"));
+		assertEquals("Access denied", errorMap.get("errorDescription"));
+	}
+
+	@Test
+	public void removeConnections() throws Exception {
+		StubOAuth2ConnectionFactory connectionFactory = new StubOAuth2ConnectionFactory("clientId", "clientSecret");
+		connectionFactoryLocator.addConnectionFactory(connectionFactory);
+		connectionRepository.addConnection(connectionFactory.createConnection(new ConnectionData("oauth2Provider", "provider2User1", null, null, null, null, null, null, null)));
+		connectionRepository.addConnection(connectionFactory.createConnection(new ConnectionData("oauth2Provider", "provider2User2", null, null, null, null, null, null, null)));
+		webTestClient().delete().uri("/connect/oauth2Provider/provider2User1").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth2Provider");
+		assertEquals(1, connectionRepository.findConnections("oauth2Provider").size());
+		webTestClient().delete().uri("/connect/oauth2Provider").exchange()
+			.expectHeader().valueEquals("Location", "/connect/oauth2Provider");
+		assertTrue(connectionRepository.findConnections("oauth2Provider").isEmpty());
+	}
+
+	private WebTestClient webTestClient() throws Exception {
+		connectController.afterPropertiesSet();
+		return WebTestClient.bindToController(connectController)
+				.webSessionManager(exchange -> Mono.just(session))
+				.viewResolvers(registry -> registry.viewResolver((viewName, locale) -> Mono.just(new View() {
+					public List<MediaType> getSupportedMediaTypes() {
+						return Collections.singletonList(MediaType.TEXT_HTML);
+					}
+					public Mono<Void> render(Map<String, ?> model, MediaType contentType, ServerWebExchange exchange) {
+						renderedModel = model;
+						exchange.getResponse().getHeaders().set("View", viewName);
+						return exchange.getResponse().setComplete();
+					}
+				})))
+				.configureClient().baseUrl("http://localhost")
+				.build();
+	}
+
+}
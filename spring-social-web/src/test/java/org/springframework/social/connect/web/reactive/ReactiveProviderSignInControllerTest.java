@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.web.reactive;
+
+import static org.junit.Assert.*;
+import static org.springframework.social.connect.web.test.StubOAuthTemplateBehavior.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.social.connect.mem.InMemoryUsersConnectionRepository;
+import org.springframework.social.connect.support.ConnectionFactoryRegistry;
+import org.springframework.social.connect.support.ReactiveUsersConnectionRepositoryAdapter;
+import org.springframework.social.connect.web.ProviderSignInAttempt;
+import org.springframework.social.connect.web.test.StubOAuth1ConnectionFactory;
+import org.springframework.social.connect.web.test.StubOAuth2ConnectionFactory;
+import org.springframework.social.oauth2.AccessGrant;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.WebSession;
+import org.springframework.web.server.session.InMemoryWebSessionStore;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+public class ReactiveProviderSignInControllerTest {
+
+	private ConnectionFactoryRegistry connectionFactoryLocator;
+
+	private InMemoryUsersConnectionRepository usersConnectionRepository;
+
+	private ReactiveProviderSignInController signInController;
+
+	private WebSession session;
+
+	private String signedInUserId;
+
+	@Before
+	public void setUp() {
+		connectionFactoryLocator = new ConnectionFactoryRegistry();
+		usersConnectionRepository = new InMemoryUsersConnectionRepository(connectionFactoryLocator);
+		signInController = new ReactiveProviderSignInController(connectionFactoryLocator, new ReactiveUsersConnectionRepositoryAdapter(usersConnectionRepository, Schedulers.immediate()),
+				(userId, connection, exchange) -> {
+					signedInUserId = userId;
+					return Mono.empty();
+				});
+		session = new InMemoryWebSessionStore().createWebSession().block();
+	}
+
+	@Test
+	public void signIn_OAuth2Provider() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth2ConnectionFactory("clientId", "clientSecret"));
+		webTestClient().post().uri("/signin/oauth2Provider").exchange()
+			.expectStatus().is3xxRedirection()
+			.expectHeader().valueMatches("Location", "https://someprovider\\.com/oauth/authorize\\?client_id=clientId&response_type=code&redirect_uri=http%3A%2F%2Flocalhost%2Fsignin%2Foauth2Provider&state=.*");
+		assertNotNull(session.getAttributes().get("oauth2State"));
+	}
+
+	@Test
+	public void signIn_OAuth1Provider_exceptionWhileFetchingRequestToken() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth1ConnectionFactory("clientId", "clientSecret", THROW_EXCEPTION));
+		webTestClient().post().uri("/signin/oauth1Provider").exchange()
+			.expectHeader().valueEquals("Location", "/signin?error=provider");
+	}
+
+	@Test
+	public void oauth2Callback_noMatchingUser() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth2ConnectionFactory("clientId", "clientSecret"));
+		session.getAttributes().put("oauth2State", "STATE");
+		webTestClient().get().uri("/signin/oauth2Provider?code=oauth2Code&state=STATE").exchange()
+			.expectHeader().valueEquals("Location", "/signup");
+		assertTrue(session.getAttributes().get(ProviderSignInAttempt.SESSION_ATTRIBUTE) instanceof ProviderSignInAttempt);
+		assertNull(signedInUserId);
+	}
+
+	@Test
+	public void oauth2Callback_matchingUser() throws Exception {
+		StubOAuth2ConnectionFactory connectionFactory = new StubOAuth2ConnectionFactory("clientId", "clientSecret");
+		connectionFactoryLocator.addConnectionFactory(connectionFactory);
+		usersConnectionRepository.createConnectionRepository("kdonald").addConnection(connectionFactory.createConnection(new AccessGrant("oldAccessToken")));
+		session.getAttributes().put("oauth2State", "STATE");
+		signInController.setPostSignInUrl("/postSignIn");
+		webTestClient().get().uri("/signin/oauth2Provider?code=oauth2Code&state=STATE").exchange()
+			.expectHeader().valueEquals("Location", "/postSignIn");
+		assertEquals("kdonald", signedInUserId);
+		assertEquals("accessToken", usersConnectionRepository.createConnectionRepository("kdonald").findConnections("oauth2Provider").get(0).createData().getAccessToken());
+	}
+
+	@Test
+	public void oauth2Callback_multipleMatchingUsers() throws Exception {
+		StubOAuth2ConnectionFactory connectionFactory = new StubOAuth2ConnectionFactory("clientId", "clientSecret");
+		connectionFactoryLocator.addConnectionFactory(connectionFactory);
+		usersConnectionRepository.createConnectionRepository("kdonald").addConnection(connectionFactory.createConnection(new AccessGrant("accessToken")));
+		usersConnectionRepository.createConnectionRepository("rclarkson").addConnection(connectionFactory.createConnection(new AccessGrant("accessToken")));
+		session.getAttributes().put("oauth2State", "STATE");
+		webTestClient().get().uri("/signin/oauth2Provider?code=oauth2Code&state=STATE").exchange()
+			.expectHeader().valueEquals("Location", "/signin?error=multiple_users");
+		assertNull(signedInUserId);
+	}
+
+	@Test
+	public void oauth2ErrorCallback() throws Exception {
+		connectionFactoryLocator.addConnectionFactory(new StubOAuth2ConnectionFactory("clientId", "clientSecret"));
+		webTestClient().get().uri("/signin/oauth2Provider?error=access_denied").exchange()
+			.expectHeader().valueEquals("Location", "/signin?error=access_denied");
+	}
+
+	private WebTestClient webTestClient() throws Exception {
+		signInController.afterPropertiesSet();
+		return WebTestClient.bindToController(signInController)
+				.webSessionManager(exchange -> Mono.just(session))
+				.configureClient().baseUrl("http://localhost")
+				.build();
+	}
+
+}
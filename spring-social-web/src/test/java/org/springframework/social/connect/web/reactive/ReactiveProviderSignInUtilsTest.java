@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.connect.web.reactive;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.social.connect.Connection;
+import org.springframework.social.connect.mem.InMemoryUsersConnectionRepository;
+import org.springframework.social.connect.support.ConnectionFactoryRegistry;
+import org.springframework.social.connect.support.ReactiveUsersConnectionRepositoryAdapter;
+import org.springframework.social.connect.web.ProviderSignInAttempt;
+import org.springframework.social.connect.web.test.StubOAuth2ConnectionFactory;
+import org.springframework.social.oauth2.AccessGrant;
+import org.springframework.web.server.WebSession;
+import org.springframework.web.server.session.InMemoryWebSessionStore;
+
+import reactor.core.scheduler.Schedulers;
+
+public class ReactiveProviderSignInUtilsTest {
+
+	private StubOAuth2ConnectionFactory connectionFactory;
+
+	private InMemoryUsersConnectionRepository usersConnectionRepository;
+
+	private ReactiveProviderSignInUtils providerSignInUtils;
+
+	private WebSession session;
+
+	@Before
+	public void setUp() {
+		ConnectionFactoryRegistry connectionFactoryLocator = new ConnectionFactoryRegistry();
+		connectionFactory = new StubOAuth2ConnectionFactory("clientId", "clientSecret");
+		connectionFactoryLocator.addConnectionFactory(connectionFactory);
+		usersConnectionRepository = new InMemoryUsersConnectionRepository(connectionFactoryLocator);
+		providerSignInUtils = new ReactiveProviderSignInUtils(connectionFactoryLocator, new ReactiveUsersConnectionRepositoryAdapter(usersConnectionRepository, Schedulers.immediate()));
+		session = new InMemoryWebSessionStore().createWebSession().block();
+	}
+
+	@Test
+	public void getConnectionFromSession() {
+		session.getAttributes().put(ProviderSignInAttempt.SESSION_ATTRIBUTE, new ProviderSignInAttempt(connectionFactory.createConnection(new AccessGrant("accessToken"))));
+		Connection<?> connection = providerSignInUtils.getConnectionFromSession(session).block();
+		assertEquals("oauth2Provider", connection.getKey().getProviderId());
+		assertEquals("accessToken", connection.createData().getAccessToken());
+	}
+
+	@Test
+	public void getConnectionFromSession_noSignInAttempt() {
+		assertNull(providerSignInUtils.getConnectionFromSession(session).block());
+	}
+
+	@Test
+	public void doPostSignUp() {
+		session.getAttributes().put(ProviderSignInAttempt.SESSION_ATTRIBUTE, new ProviderSignInAttempt(connectionFactory.createConnection(new AccessGrant("accessToken"))));
+		providerSignInUtils.doPostSignUp("kdonald", session).block();
+		assertEquals("accessToken", usersConnectionRepository.createConnectionRepository("kdonald").findConnections("oauth2Provider").get(0).createData().getAccessToken());
+		assertNull(session.getAttributes().get(ProviderSignInAttempt.SESSION_ATTRIBUTE));
+	}
+
+	@Test
+	public void doPostSignUp_noSignInAttempt() {
+		providerSignInUtils.doPostSignUp("kdonald", session).block();
+		assertTrue(usersConnectionRepository.createConnectionRepository("kdonald").findConnections("oauth2Provider").isEmpty());
+	}
+
+}